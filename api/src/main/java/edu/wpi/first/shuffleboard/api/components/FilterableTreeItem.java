@@ -8,7 +8,9 @@ import org.fxmisc.easybind.EasyBind;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
 
 import javafx.beans.property.ObjectProperty;
@@ -35,6 +37,7 @@ public class FilterableTreeItem<T extends SourceEntry> extends TreeItem<T> {
 
   private final ObservableList<TreeItem<T>> sourceList = FXCollections.observableArrayList();
   private final List<TreeItem<T>> sourceCopy = new ArrayList<>();
+  private final Map<String, TreeItem<T>> childrenByName = new HashMap<>();
   private final FilteredList<TreeItem<T>> filteredList = new FilteredList<>(sourceList);
   private final SortedList<TreeItem<T>> sortedList = new SortedList<>(filteredList, comparator);
 
@@ -44,6 +47,20 @@ public class FilterableTreeItem<T extends SourceEntry> extends TreeItem<T> {
   public FilterableTreeItem(T value) {
     super(value);
     EasyBind.listBind(sourceCopy, sourceList);
+    sourceList.addListener((ListChangeListener<TreeItem<T>>) c -> {
+      while (c.next()) {
+        for (TreeItem<T> removed : c.getRemoved()) {
+          if (removed.getValue() != null) {
+            childrenByName.remove(removed.getValue().getName(), removed);
+          }
+        }
+        for (TreeItem<T> added : c.getAddedSubList()) {
+          if (added.getValue() != null) {
+            childrenByName.put(added.getValue().getName(), added);
+          }
+        }
+      }
+    });
     sortedList.setComparator(comparator);
     filteredList.predicateProperty().bind(
         EasyBind.monadic(predicate)
@@ -70,6 +87,18 @@ public class FilterableTreeItem<T extends SourceEntry> extends TreeItem<T> {
     return sourceList;
   }
 
+  /**
+   * Gets the child of this item whose entry has the given name, including children that are hidden by the current
+   * predicate. Children are indexed by the name of their entry at the time they were added.
+   *
+   * @param name the name of the child's source entry
+   *
+   * @return the child with the given name, or null if there is no such child
+   */
+  public final TreeItem<T> getChild(String name) {
+    return childrenByName.get(name);
+  }
+
   public final TreeItemPredicate<T> getPredicate() {
     return predicate.get();
   }
@@ -86,14 +115,22 @@ public class FilterableTreeItem<T extends SourceEntry> extends TreeItem<T> {
    * Recursively sorts all children of this item. Children are sorted by branches first, then alphanumerically.
    */
   public void sortChildren() {
-    // Forces the list to re-sort
-    sortedList.setComparator(null);
-    sortedList.setComparator(comparator);
+    resortChildren();
     sourceList.stream()
         .flatMap(TypeUtils.castStream(FilterableTreeItem.class))
         .forEach(FilterableTreeItem::sortChildren);
   }
 
+  /**
+   * Re-sorts the direct children of this item. New children are inserted in sorted order, so this only needs to be
+   * called when an existing child changes position, such as when a leaf gains children and becomes a branch.
+   */
+  void resortChildren() {
+    // Forces the list to re-sort
+    sortedList.setComparator(null);
+    sortedList.setComparator(comparator);
+  }
+
   protected Predicate<TreeItem<T>> createListFilter(TreeItemPredicate<T> predicate) {
     if (predicate == TreeItemPredicate.ALWAYS) {
       return always;
@@ -1,5 +1,6 @@
 package edu.wpi.first.shuffleboard.api.components;
 
+import javafx.scene.Parent;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 
@@ -8,11 +9,24 @@ import javafx.scene.image.ImageView;
  * respect the fitWidth/fitHeight properties if those properties are bound to the size of a parent container.
  *
  * <p>This code is taken from <a href="https://stackoverflow.com/a/35202191">https://stackoverflow.com/a/35202191</a>
+ *
+ * <p>If the view is {@link #rotateProperty() rotated} by a quarter turn, its width and height are swapped when sizing
+ * it so the rotated image fits in the space given to it by its parent.
  */
 public class ResizableImageView extends ImageView {
 
   public ResizableImageView() {
     setPreserveRatio(false);
+    rotateProperty().addListener(__ -> {
+      Parent parent = getParent();
+      if (parent != null) {
+        parent.requestLayout();
+      }
+    });
+  }
+
+  private boolean isQuarterTurn() {
+    return Math.abs(getRotate() % 180) == 90;
   }
 
   @Override
@@ -26,7 +40,7 @@ public class ResizableImageView extends ImageView {
     if (image == null) {
       return minWidth(height);
     }
-    return image.getWidth();
+    return isQuarterTurn() ? image.getHeight() : image.getWidth();
   }
 
   @Override
@@ -45,7 +59,7 @@ public class ResizableImageView extends ImageView {
     if (image == null) {
       return minHeight(width);
     }
-    return image.getHeight();
+    return isQuarterTurn() ? image.getWidth() : image.getHeight();
   }
 
   @Override
@@ -60,8 +74,13 @@ public class ResizableImageView extends ImageView {
 
   @Override
   public void resize(double width, double height) {
-    setFitWidth(width);
-    setFitHeight(height);
+    if (isQuarterTurn()) {
+      setFitWidth(height);
+      setFitHeight(width);
+    } else {
+      setFitWidth(width);
+      setFitHeight(height);
+    }
   }
 
 }
@@ -6,8 +6,15 @@ import edu.wpi.first.shuffleboard.api.sources.SourceType;
 import edu.wpi.first.shuffleboard.api.util.AlphanumComparator;
 import edu.wpi.first.shuffleboard.api.util.EqualityUtils;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyObjectWrapper;
@@ -69,7 +76,69 @@ public class SourceTreeTable<S extends SourceEntry, V> extends TreeTableView<S>
    * @param entry the entry to update
    */
   public void updateEntry(S entry) {
-    makeBranches(entry, false);
+    updateEntries(List.of(entry));
+  }
+
+  /**
+   * Updates several source entries in this tree table, creating branches as needed. This is much faster than updating
+   * each entry individually when many entries are added at once, such as when a source first connects.
+   *
+   * @param entries the entries to update
+   */
+  public void updateEntries(Collection<? extends S> entries) {
+    final SourceType sourceType = getSourceType();
+    final FilterableTreeItem<S> root = (FilterableTreeItem<S>) getRoot();
+
+    // New items are attached to the existing tree after every entry has been processed. Each parent then fires a
+    // single change, and new branches already have their children, so they can be inserted in sorted order
+    final Map<FilterableTreeItem<S>, Map<String, FilterableTreeItem<S>>> newChildren = new LinkedHashMap<>();
+    final Set<FilterableTreeItem<S>> created = Collections.newSetFromMap(new IdentityHashMap<>());
+    // Existing leaves that gain children become branches, which moves them in their parents' sort order
+    final Set<FilterableTreeItem<S>> resortedParents = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    for (S entry : entries) {
+      List<String> hierarchy = DataSourceUtils.getHierarchy(entry.getName());
+      FilterableTreeItem<S> grandparent = null;
+      FilterableTreeItem<S> current = root;
+      boolean existing = true;
+
+      // Get the appropriate node for the value, creating branches as needed
+      // Skip the first path in the hierarchy; it's always the root
+      for (int i = 1; i < hierarchy.size(); i++) {
+        String path = hierarchy.get(i);
+        FilterableTreeItem<S> parent = current;
+        current = findChild(parent, path, newChildren);
+        if (current != null) {
+          grandparent = parent;
+          continue;
+        }
+        S newEntry = i < hierarchy.size() - 1
+            ? (S) sourceType.createSourceEntryForUri(sourceType.toUri(path)) // It's a branch (subtable)
+            : entry;
+        current = new FilterableTreeItem<>(newEntry);
+        current.setExpanded(true);
+        if (created.contains(parent)) {
+          // Not yet attached to the tree, so nothing is listening for changes
+          parent.getAllChildren().add(current);
+        } else {
+          if (grandparent != null && parent.getAllChildren().isEmpty() && !newChildren.containsKey(parent)) {
+            resortedParents.add(grandparent);
+          }
+          newChildren.computeIfAbsent(parent, __ -> new LinkedHashMap<>()).put(path, current);
+        }
+        created.add(current);
+        grandparent = parent;
+        existing = false;
+      }
+
+      if (existing && EqualityUtils.isDifferent(current.getValue().getValue(), entry.getValue())) {
+        // The value updated, so just update the existing node
+        current.setValue(entry);
+      }
+    }
+
+    newChildren.forEach((parent, children) -> parent.getAllChildren().addAll(children.values()));
+    resortedParents.forEach(FilterableTreeItem::resortChildren);
   }
 
   /**
@@ -78,80 +147,59 @@ public class SourceTreeTable<S extends SourceEntry, V> extends TreeTableView<S>
    * @param entry the entry to remove
    */
   public void removeEntry(S entry) {
-    makeBranches(entry, true);
+    removeEntries(List.of(entry));
   }
 
   /**
-   * Creates, updates, or deletes tree nodes in the network table view.
+   * Removes several source entries from this tree table, as well as all their child entries and empty parents.
    *
-   * @param entry   the entry that should be updated
-   * @param deleted {@code true} if the entry was deleted, {@code false} otherwise
+   * @param entries the entries to remove
    */
-  private void makeBranches(S entry, boolean deleted) {
-    final SourceType sourceType = getSourceType();
-    String name = entry.getName();
-    List<String> hierarchy = DataSourceUtils.getHierarchy(name);
-    FilterableTreeItem<S> current = (FilterableTreeItem<S>) getRoot();
-    FilterableTreeItem<S> parent = current;
-    boolean structureChanged = false;
-
-    // Get the appropriate node for the value, creating branches as needed
-    // Skip the first path in the hierarchy; it's always the root
-    for (int i = 1; i < hierarchy.size(); i++) {
-      String path = hierarchy.get(i);
-      parent = current;
-      FilterableTreeItem<S> found = null;
-      for (TreeItem<S> item : current.getAllChildren()) {
-        if (item.getValue().getName().equals(path)) {
-          found = (FilterableTreeItem<S>) item;
-          break;
-        }
+  public void removeEntries(Collection<? extends S> entries) {
+    final FilterableTreeItem<S> root = (FilterableTreeItem<S>) getRoot();
+    final Map<FilterableTreeItem<S>, Set<TreeItem<S>>> removed = new LinkedHashMap<>();
+    final List<List<FilterableTreeItem<S>>> ancestries = new ArrayList<>();
+
+    for (S entry : entries) {
+      List<String> hierarchy = DataSourceUtils.getHierarchy(entry.getName());
+      List<FilterableTreeItem<S>> ancestors = new ArrayList<>(hierarchy.size());
+      FilterableTreeItem<S> current = root;
+      for (int i = 1; i < hierarchy.size() && current != null; i++) {
+        ancestors.add(current);
+        current = (FilterableTreeItem<S>) current.getChild(hierarchy.get(i));
       }
-      current = found;
-      if (current == null && deleted) {
-        // Done
-        break;
-      } else if (!deleted && i < hierarchy.size() - 1 && current == null) {
-        // It's a branch (subtable); expand it
-        S newEntry = (S) sourceType.createSourceEntryForUri(sourceType.toUri(path));
-        current = new FilterableTreeItem<>(newEntry);
-        current.setExpanded(true);
-        parent.getAllChildren().add(current);
-        structureChanged = true;
+      if (current != null && current != root) {
+        FilterableTreeItem<S> parent = ancestors.get(ancestors.size() - 1);
+        removed.computeIfAbsent(parent, __ -> Collections.newSetFromMap(new IdentityHashMap<>())).add(current);
+        ancestries.add(ancestors);
       }
     }
 
-    // Remove, update, or create the value node as needed
-    if (deleted) {
-      if (current != null) {
-        parent.getAllChildren().remove(current);
-
-        // Remove empty subtrees
-        if (parent.getAllChildren().isEmpty()) {
-          FilterableTreeItem<S> item = (FilterableTreeItem<S>) parent.getParent();
-          while (item != null) {
-            item.getAllChildren().remove(parent);
-            parent = item;
-            item = (FilterableTreeItem<S>) item.getParent();
-          }
-        }
-        structureChanged = true;
-      }
-    } else {
-      if (current == null) {
-        // Newly added value, create a tree item for it
-        current = new FilterableTreeItem<>(entry);
-        current.setExpanded(true);
-        parent.getAllChildren().add(current);
-        structureChanged = true;
-      } else if (EqualityUtils.isDifferent(current.getValue().getValue(), entry.getValue())) {
-        // The value updated, so just update the existing node
-        current.setValue(entry);
+    removed.forEach((parent, children) -> parent.getAllChildren().removeAll(children));
+
+    // Remove empty subtrees
+    for (List<FilterableTreeItem<S>> ancestors : ancestries) {
+      for (int i = ancestors.size() - 1; i > 0 && ancestors.get(i).getAllChildren().isEmpty(); i--) {
+        ancestors.get(i - 1).getAllChildren().remove(ancestors.get(i));
       }
     }
-    if (structureChanged) {
-      ((FilterableTreeItem<S>) getRoot()).sortChildren();
+  }
+
+  /**
+   * Finds the child of an item with the given name, including children that will be added by the current update.
+   */
+  private static <S extends SourceEntry> FilterableTreeItem<S> findChild(
+      FilterableTreeItem<S> parent,
+      String name,
+      Map<FilterableTreeItem<S>, Map<String, FilterableTreeItem<S>>> newChildren) {
+    FilterableTreeItem<S> child = (FilterableTreeItem<S>) parent.getChild(name);
+    if (child == null) {
+      Map<String, FilterableTreeItem<S>> pending = newChildren.get(parent);
+      if (pending != null) {
+        child = pending.get(name);
+      }
     }
+    return child;
   }
 
   protected static <T> T getEntryForCellData(TreeTableColumn.CellDataFeatures<T, ?> features) {
@@ -3,6 +3,7 @@ package edu.wpi.first.shuffleboard.api.data;
 import edu.wpi.first.shuffleboard.api.util.AlphanumComparator;
 import edu.wpi.first.shuffleboard.api.util.EqualityUtils;
 import edu.wpi.first.shuffleboard.api.util.Maps;
+import edu.wpi.first.shuffleboard.api.util.PersistentHashMap;
 import edu.wpi.first.shuffleboard.api.util.StringUtils;
 
 import java.util.Comparator;
@@ -39,15 +40,26 @@ public abstract class ComplexData<T extends ComplexData<T>> {
    * Gets a map of changes that, when applied to {@code other}, would result in data identical
    * to this one.
    *
+   * <p>If both objects are {@link MapData} backed by {@link PersistentHashMap persistent maps}, only the parts of the
+   * maps that are not shared are compared.
+   *
    * @param other the complex data to base the changes off of
    */
+  @SuppressWarnings("unchecked")
   public final Map<String, Object> changesFrom(T other) {
-    Map<String, Object> thisMap = asMap();
+    Map<String, Object> thisMap = mapOf(this);
     if (other == null) {
       return thisMap;
     }
     Maps.MapBuilder<String, Object> builder = Maps.builder();
-    Map<String, Object> otherMap = other.asMap();
+    Map<String, Object> otherMap = mapOf(other);
+    if (thisMap instanceof PersistentHashMap && otherMap instanceof PersistentHashMap) {
+      ((PersistentHashMap<String, Object>) thisMap)
+          .diff((PersistentHashMap<String, Object>) otherMap, builder::put, (key, value) -> {
+            // Removed keys are not changes
+          });
+      return builder.build();
+    }
     thisMap.forEach((key, value) -> {
       if (EqualityUtils.isDifferent(value, otherMap.get(key))) {
         builder.put(key, value);
@@ -56,6 +68,16 @@ public abstract class ComplexData<T extends ComplexData<T>> {
     return builder.build();
   }
 
+  /**
+   * Gets the map of a data object, without copying it out of the persistent map backing map data.
+   */
+  private static Map<String, Object> mapOf(ComplexData<?> data) {
+    if (data instanceof MapData) {
+      return ((MapData) data).asPersistentMap();
+    }
+    return data.asMap();
+  }
+
   /**
    * Generates a human-readable string representing this data. The default implementation simply maps each key-value
    * pair from {@link #asMap()} to the format {@code "key=value"} with a comma ({@code ','}) delimiting each pair.
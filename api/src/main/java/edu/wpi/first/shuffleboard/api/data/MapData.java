@@ -1,20 +1,47 @@
 package edu.wpi.first.shuffleboard.api.data;
 
+import edu.wpi.first.shuffleboard.api.util.PersistentHashMap;
+
 import com.google.common.collect.ImmutableMap;
 
-import java.util.HashMap;
 import java.util.Map;
 
 public class MapData extends ComplexData<MapData> {
 
-  private final ImmutableMap<String, Object> map;
+  private final PersistentHashMap<String, Object> map;
+  private volatile ImmutableMap<String, Object> immutableMap;
 
+  /**
+   * Creates a new map data object. Persistent maps are used as-is; any other map is copied.
+   *
+   * @param map the map to wrap
+   */
   public MapData(Map<String, Object> map) {
-    this.map = ImmutableMap.copyOf(map);
+    this.map = PersistentHashMap.copyOf(map);
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The map is copied from the {@link #asPersistentMap() persistent map} backing this data the first time this is
+   * called. Prefer the persistent map when working with large maps, or when only the changes between two maps are
+   * needed.
+   */
   @Override
   public ImmutableMap<String, Object> asMap() {
+    ImmutableMap<String, Object> copy = immutableMap;
+    if (copy == null) {
+      copy = ImmutableMap.copyOf(map);
+      immutableMap = copy;
+    }
+    return copy;
+  }
+
+  /**
+   * Gets the persistent map backing this data. Unlike {@link #asMap()}, this does not copy the map, and new versions
+   * of it can be created in O(log N) time.
+   */
+  public PersistentHashMap<String, Object> asPersistentMap() {
     return map;
   }
 
@@ -43,9 +70,7 @@ public class MapData extends ComplexData<MapData> {
    * @return a new MapData instance containing the change
    */
   public MapData put(String key, Object value) {
-    HashMap<String, Object> map = new HashMap<>(this.map);
-    map.put(key, value);
-    return new MapData(map);
+    return new MapData(map.plus(key, value));
   }
 
   @Override
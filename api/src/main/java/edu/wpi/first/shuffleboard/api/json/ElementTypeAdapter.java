@@ -8,6 +8,10 @@ import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
 
 import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Optional;
+
+import javafx.beans.Observable;
 
 /**
  * Serializes values to and from JSON. Implementing classes <i>must</i> be annotated with {@link AnnotatedTypeAdapter}.
@@ -29,4 +33,18 @@ public interface ElementTypeAdapter<T> extends JsonSerializer<T>, JsonDeserializ
   default T deserialize(JsonElement json, Type type, JsonDeserializationContext context) throws JsonParseException {
     return deserialize(json, context);
   }
+
+  /**
+   * Gets the observables holding any state of a value that is saved by this adapter, but not by the default
+   * component serializers (for example, the positions of the children of a layout). A saved dashboard is assumed to
+   * be unchanged until one of these is invalidated.
+   *
+   * <p>Returns an empty optional by default, meaning the saved state cannot be observed; dashboards containing values
+   * saved by this adapter are then always re-serialized to check if they have changed since they were saved.
+   *
+   * @param value the value to get the saved observables of
+   */
+  default Optional<List<Observable>> getSavedObservables(T value) {
+    return Optional.empty();
+  }
 }
@@ -4,22 +4,30 @@ import edu.wpi.first.shuffleboard.api.prefs.Group;
 import edu.wpi.first.shuffleboard.api.prefs.Setting;
 import edu.wpi.first.shuffleboard.api.properties.SavePropertyFrom;
 import edu.wpi.first.shuffleboard.api.properties.SaveThisProperty;
-import edu.wpi.first.shuffleboard.api.util.ReflectionUtils;
 import edu.wpi.first.shuffleboard.api.util.TypeUtils;
 import edu.wpi.first.shuffleboard.api.widget.Component;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSerializationContext;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import javafx.beans.Observable;
 import javafx.beans.property.Property;
 import javafx.beans.value.ObservableValue;
 
@@ -27,9 +35,23 @@ import javafx.beans.value.ObservableValue;
  * Saves property fields annotated with {@link SaveThisProperty @SaveThisProperty} and properties of fields annotated
  * with {@link SavePropertyFrom @SavePropertyFrom}. Annotated fields from the entire superclass hierarchy are saved,
  * not just fields from the object being serialized.
+ *
+ * <p>The annotated fields of a class, and the accessors for their nested properties, are only looked up once. Method
+ * handles for them are cached per class, so saving and loading many components of the same type does not repeat the
+ * reflective lookups for each one.
  */
 public final class PropertySaver {
 
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+  private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+  private static final ClassValue<AccessorPlan> plans = new ClassValue<>() {
+    @Override
+    protected AccessorPlan computeValue(Class<?> type) {
+      return new AccessorPlan(type);
+    }
+  };
+
   /**
    * Saves all properties from a component. Properties are saved in this order:
    * <ol>
@@ -43,9 +65,7 @@ public final class PropertySaver {
    * @param jsonObject the JSON object to serialize into
    */
   public void saveAllProperties(Component object, JsonSerializationContext context, JsonObject jsonObject) {
-    final List<Property<?>> savedProperties = getPropertyFields(object.getClass())
-        .map(f -> ReflectionUtils.<Property<?>>getUnchecked(object, f))
-        .collect(Collectors.toList());
+    final Set<Property<?>> savedProperties = getAnnotatedProperties(object);
 
     // Save settings
     for (Group group : object.getSettings()) {
@@ -70,12 +90,11 @@ public final class PropertySaver {
    * @param jsonObject the JSON object to serialize into
    */
   public void saveAnnotatedFields(Object object, JsonSerializationContext context, JsonObject jsonObject) {
-    getPropertyFields(object.getClass())
-        .forEach(f -> {
-          Property<?> property = ReflectionUtils.getUnchecked(object, f);
-          String name = getSavedName(property, f.getAnnotation(SaveThisProperty.class));
-          serializeProperty(context, jsonObject, property, property.getValue().getClass(), name);
-        });
+    for (AnnotatedField field : plans.get(object.getClass()).annotatedFields) {
+      Property<?> property = field.get(object);
+      String name = getSavedName(property, field.annotation);
+      serializeProperty(context, jsonObject, property, property.getValue().getClass(), name);
+    }
   }
 
   /**
@@ -87,25 +106,14 @@ public final class PropertySaver {
    * @param jsonObject the JSON object to serialize into
    */
   public void saveNestedProperties(Object object, JsonSerializationContext context, JsonObject jsonObject) {
-    getNestedPropertyFields(object.getClass())
-        .forEach(f -> {
-          SavePropertyFrom[] annotations = f.getAnnotationsByType(SavePropertyFrom.class);
-          for (SavePropertyFrom annotation : annotations) {
-            if (annotation.propertyName().isEmpty()) {
-              throw new IllegalArgumentException("No property name was specified");
-            }
-            String savedName = getPropertyName(annotation);
-            String propName = annotation.propertyName();
-            try {
-              Object field = ReflectionUtils.getUnchecked(object, f);
-              Method getter = getGetter(f.getType(), propName);
-              Object value = getter.invoke(field);
-              jsonObject.add(savedName, context.serialize(value, getter.getReturnType()));
-            } catch (ReflectiveOperationException e) {
-              throw new RuntimeException("Could not get value of property '" + propName + "' of " + f.getType(), e);
-            }
-          }
-        });
+    for (NestedProperty nested : plans.get(object.getClass()).nestedProperties) {
+      if (nested.propertyName.isEmpty()) {
+        throw new IllegalArgumentException("No property name was specified");
+      }
+      Accessor getter = nested.getter.get();
+      Object value = nested.get(getter, object);
+      jsonObject.add(nested.savedName, context.serialize(value, getter.valueType));
+    }
   }
 
   /**
@@ -121,9 +129,7 @@ public final class PropertySaver {
    * @param jsonObject the JSON object to serialize into
    */
   public void readAllProperties(Component object, JsonDeserializationContext context, JsonObject jsonObject) {
-    List<Property<?>> savedProperties = getPropertyFields(object.getClass())
-        .map(f -> ReflectionUtils.<Property<?>>getUnchecked(object, f))
-        .collect(Collectors.toList());
+    Set<Property<?>> savedProperties = getAnnotatedProperties(object);
 
     // Load settings
     for (Group group : object.getSettings()) {
@@ -154,17 +160,16 @@ public final class PropertySaver {
    * @param jsonObject the JSON object to deserialize
    */
   public void readAnnotatedFields(Object object, JsonDeserializationContext context, JsonObject jsonObject) {
-    getPropertyFields(object.getClass())
-        .forEach(f -> {
-          Property property = ReflectionUtils.getUnchecked(object, f);
-          String name = getSavedName(property, f.getAnnotation(SaveThisProperty.class));
-          Object deserialize = context.deserialize(jsonObject.get(name), property.getValue().getClass());
-          // Can be null if not set
-          // Instead of throwing IllegalArgumentException, just let the default value be used
-          if (deserialize != null) {
-            property.setValue(deserialize);
-          }
-        });
+    for (AnnotatedField field : plans.get(object.getClass()).annotatedFields) {
+      Property property = field.get(object);
+      String name = getSavedName(property, field.annotation);
+      Object deserialize = context.deserialize(jsonObject.get(name), property.getValue().getClass());
+      // Can be null if not set
+      // Instead of throwing IllegalArgumentException, just let the default value be used
+      if (deserialize != null) {
+        property.setValue(deserialize);
+      }
+    }
   }
 
   /**
@@ -176,29 +181,59 @@ public final class PropertySaver {
    * @param jsonObject the JSON object to deserialize
    */
   public void readNestedProperties(Object object, JsonDeserializationContext context, JsonObject jsonObject) {
-    getNestedPropertyFields(object.getClass())
-        .forEach(f -> {
-          SavePropertyFrom[] annotations = f.getAnnotationsByType(SavePropertyFrom.class);
-          for (SavePropertyFrom annotation : annotations) {
-            if (annotation.propertyName().isEmpty()) {
-              throw new IllegalArgumentException("No property name set");
-            }
-            String savedName = getPropertyName(annotation);
-            String propName = annotation.propertyName();
-            try {
-              Object field = ReflectionUtils.getUnchecked(object, f);
-              Method set = getSetter(f.getType(), propName);
-              Object deserialize = context.deserialize(jsonObject.get(savedName), set.getParameterTypes()[0]);
-              // Can be null if not set
-              // Instead of throwing IllegalArgumentException, just let the default value be used
-              if (deserialize != null) {
-                set.invoke(field, deserialize);
-              }
-            } catch (IllegalAccessException | InvocationTargetException e) {
-              throw new RuntimeException("Could not get value of property '" + propName + "' of " + f.getType(), e);
-            }
-          }
-        });
+    for (NestedProperty nested : plans.get(object.getClass()).nestedProperties) {
+      if (nested.propertyName.isEmpty()) {
+        throw new IllegalArgumentException("No property name set");
+      }
+      Accessor setter = nested.setter.get();
+      Object deserialize = context.deserialize(jsonObject.get(nested.savedName), setter.valueType);
+      // Can be null if not set
+      // Instead of throwing IllegalArgumentException, just let the default value be used
+      if (deserialize != null) {
+        nested.set(setter, object, deserialize);
+      }
+    }
+  }
+
+  /**
+   * Gets the observable values of the properties of an object that are saved by {@link #saveAnnotatedFields} and
+   * {@link #saveNestedProperties}. This lets callers be notified when the saved state of the object changes without
+   * having to serialize it. Nested properties are only included if the object containing them has a matching
+   * {@code <name>Property()} method; nested properties without one cannot be observed.
+   *
+   * @param object the object to get the saved properties of
+   *
+   * @return the observable saved properties of the object
+   */
+  public static List<Observable> getSavedObservables(Object object) {
+    AccessorPlan plan = plans.get(object.getClass());
+    List<Observable> observables = new ArrayList<>(plan.annotatedFields.size() + plan.nestedProperties.size());
+    for (AnnotatedField field : plan.annotatedFields) {
+      observables.add(field.get(object));
+    }
+    for (NestedProperty nested : plan.nestedProperties) {
+      Accessor accessor = nested.observable.get();
+      if (accessor != null) {
+        Object observable = nested.get(accessor, object);
+        if (observable != null) {
+          observables.add((Observable) observable);
+        }
+      }
+    }
+    return observables;
+  }
+
+  private static Set<Property<?>> getAnnotatedProperties(Object object) {
+    List<AnnotatedField> fields = plans.get(object.getClass()).annotatedFields;
+    if (fields.isEmpty()) {
+      return Collections.emptySet();
+    }
+    // Identity semantics match Property.equals(), which is not overridden by the JavaFX property implementations
+    Set<Property<?>> properties = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (AnnotatedField field : fields) {
+      properties.add(field.get(object));
+    }
+    return properties;
   }
 
   /**
@@ -268,6 +303,19 @@ public final class PropertySaver {
     return possibleSetters.get(0);
   }
 
+  /**
+   * Gets the public {@code <name>Property()} method for a property in the given class, if one exists.
+   */
+  private static Method getPropertyMethod(Class<?> clazz, String propertyName) {
+    String methodName = propertyName + "Property";
+    return Arrays.stream(clazz.getMethods())
+        .filter(m -> m.getName().equals(methodName))
+        .filter(m -> m.getParameterCount() == 0)
+        .filter(m -> Observable.class.isAssignableFrom(m.getReturnType()))
+        .findFirst()
+        .orElse(null);
+  }
+
   /**
    * Gets a stream of the fields in the object's class hierarchy annotated with
    * {@link SaveThisProperty @SaveThisProperty}.
@@ -339,4 +387,146 @@ public final class PropertySaver {
     }
   }
 
+  /**
+   * The cached accessors for the saved properties of a single class.
+   */
+  private static final class AccessorPlan {
+
+    private final List<AnnotatedField> annotatedFields;
+    private final List<NestedProperty> nestedProperties;
+
+    AccessorPlan(Class<?> type) {
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+      annotatedFields = getPropertyFields(type)
+          .map(f -> new AnnotatedField(f, unreflectGetter(lookup, f)))
+          .collect(Collectors.toUnmodifiableList());
+      nestedProperties = getNestedPropertyFields(type)
+          .flatMap(f -> {
+            MethodHandle fieldGetter = unreflectGetter(lookup, f);
+            return Arrays.stream(f.getAnnotationsByType(SavePropertyFrom.class))
+                .map(a -> new NestedProperty(f, fieldGetter, a));
+          })
+          .collect(Collectors.toUnmodifiableList());
+    }
+
+    private static MethodHandle unreflectGetter(MethodHandles.Lookup lookup, Field field) {
+      try {
+        field.setAccessible(true);
+        return lookup.unreflectGetter(field).asType(GETTER_TYPE);
+      } catch (ReflectiveOperationException | RuntimeException e) {
+        throw new RuntimeException("Could not read field: " + field.toGenericString(), e);
+      }
+    }
+
+  }
+
+  /**
+   * A property field annotated with {@link SaveThisProperty @SaveThisProperty}.
+   */
+  private static final class AnnotatedField {
+
+    private final Field field;
+    private final MethodHandle getter;
+    private final SaveThisProperty annotation;
+
+    AnnotatedField(Field field, MethodHandle getter) {
+      this.field = field;
+      this.getter = getter;
+      this.annotation = field.getAnnotation(SaveThisProperty.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    <T extends Property<?>> T get(Object object) {
+      try {
+        return (T) (Object) getter.invokeExact(object);
+      } catch (Throwable e) { // NOPMD - MethodHandle.invokeExact throws Throwable
+        throw new RuntimeException("Could not read field: " + field.toGenericString(), e);
+      }
+    }
+
+  }
+
+  /**
+   * A property of a field annotated with {@link SavePropertyFrom @SavePropertyFrom}. The accessors for the property are
+   * looked up the first time they are used, since a class may only ever be saved or only ever be loaded.
+   */
+  private static final class NestedProperty {
+
+    private final Field field;
+    private final MethodHandle fieldGetter;
+    private final String propertyName;
+    private final String savedName;
+    private final Supplier<Accessor> getter;
+    private final Supplier<Accessor> setter;
+    private final Supplier<Accessor> observable;
+
+    NestedProperty(Field field, MethodHandle fieldGetter, SavePropertyFrom annotation) {
+      this.field = field;
+      this.fieldGetter = fieldGetter;
+      this.propertyName = annotation.propertyName();
+      this.savedName = getPropertyName(annotation);
+      Class<?> type = field.getType();
+      this.getter = Suppliers.memoize(() -> {
+        Method method = getGetter(type, propertyName);
+        return new Accessor(unreflect(method, GETTER_TYPE), method.getReturnType());
+      });
+      this.setter = Suppliers.memoize(() -> {
+        Method method = getSetter(type, propertyName);
+        return new Accessor(unreflect(method, SETTER_TYPE), method.getParameterTypes()[0]);
+      });
+      this.observable = Suppliers.memoize(() -> {
+        Method method = getPropertyMethod(type, propertyName);
+        return method == null ? null : new Accessor(unreflect(method, GETTER_TYPE), method.getReturnType());
+      });
+    }
+
+    private MethodHandle unreflect(Method method, MethodType type) {
+      try {
+        return MethodHandles.publicLookup().unreflect(method).asType(type);
+      } catch (IllegalAccessException e) {
+        throw new RuntimeException("Could not access property '" + propertyName + "' of " + field.getType(), e);
+      }
+    }
+
+    /**
+     * Gets the value of the nested property with a getter or property method.
+     */
+    Object get(Accessor accessor, Object object) {
+      try {
+        Object target = fieldGetter.invokeExact(object);
+        return accessor.handle.invokeExact(target);
+      } catch (Throwable e) { // NOPMD - MethodHandle.invokeExact throws Throwable
+        throw new RuntimeException("Could not get value of property '" + propertyName + "' of " + field.getType(), e);
+      }
+    }
+
+    /**
+     * Sets the value of the nested property with a setter.
+     */
+    void set(Accessor accessor, Object object, Object value) {
+      try {
+        Object target = fieldGetter.invokeExact(object);
+        accessor.handle.invokeExact(target, value);
+      } catch (Throwable e) { // NOPMD - MethodHandle.invokeExact throws Throwable
+        throw new RuntimeException("Could not get value of property '" + propertyName + "' of " + field.getType(), e);
+      }
+    }
+
+  }
+
+  /**
+   * A getter or setter for a nested property, along with the type of the value it gets or sets.
+   */
+  private static final class Accessor {
+
+    private final MethodHandle handle;
+    private final Class<?> valueType;
+
+    Accessor(MethodHandle handle, Class<?> valueType) {
+      this.handle = handle;
+      this.valueType = valueType;
+    }
+
+  }
+
 }
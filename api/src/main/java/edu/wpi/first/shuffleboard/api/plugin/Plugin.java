@@ -155,6 +155,10 @@ public class Plugin {
   /**
    * Called when a plugin is loaded. Defaults to do nothing; plugins that require logic to be performed when they're
    * loaded (for example, connecting to a server) should be run here.
+   *
+   * <p>When plugins are loaded in a batch, this may be called on a background thread, concurrently with the
+   * {@code onLoad()} methods of other plugins. It is only called after every plugin this one {@link Requires requires}
+   * has finished loading.
    */
   public void onLoad() throws Exception {
     // Default to NOP
@@ -4,6 +4,7 @@ import edu.wpi.first.shuffleboard.api.data.DataType;
 import edu.wpi.first.shuffleboard.api.data.DataTypes;
 import edu.wpi.first.shuffleboard.api.sources.recording.TimestampedData;
 import edu.wpi.first.shuffleboard.api.util.Registry;
+import edu.wpi.first.shuffleboard.api.util.UniqueObservableList;
 
 import javafx.collections.ListChangeListener;
 
@@ -11,7 +12,6 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
-import javafx.beans.InvalidationListener;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
@@ -22,7 +22,7 @@ public final class SourceTypes extends Registry<SourceType> {
 
   private final Map<String, SourceType> types = new HashMap<>();
   private final ObservableList<String> typeNames = FXCollections.observableArrayList();
-  private final ObservableList<String> allUris = FXCollections.observableArrayList();
+  private final UniqueObservableList<String> allUris = new UniqueObservableList<>();
 
   public static final SourceType None = new NoneType();
   public static final SourceType Static = new StaticType();
@@ -46,26 +46,30 @@ public final class SourceTypes extends Registry<SourceType> {
     register(None);
     register(Static);
 
-    typeNames.addListener((InvalidationListener) __ -> {
-      typeNames
-          .stream()
-          .map(this::forName)
-          .map(SourceType::getAvailableSourceUris)
-          .forEach(observableUriList -> {
-            observableUriList.addListener((ListChangeListener<? super String>) c -> {
-              while (c.next()) {
-                if (c.wasAdded()) {
-                  for (String uri : c.getAddedSubList()) {
-                    if (!allUris.contains(uri)) {
-                      allUris.add(uri);
-                    }
-                  }
-                } else if (c.wasRemoved()) {
-                  allUris.removeAll(c.getRemoved());
-                }
-              }
-            });
-          });
+    typeNames.addListener((ListChangeListener<String>) c -> {
+      while (c.next()) {
+        for (String name : c.getAddedSubList()) {
+          forName(name).getAvailableSourceUris().addListener(this::sourceUrisChanged);
+        }
+      }
+    });
+  }
+
+  /**
+   * Merges a change to the available URIs of a single source type into the list of all available URIs. Each change is
+   * applied as a single bulk operation, so a burst of new sources results in one change to {@link #allUris} instead of
+   * one per source.
+   */
+  private void sourceUrisChanged(ListChangeListener.Change<? extends String> c) {
+    allUris.runBatch(() -> {
+      while (c.next()) {
+        if (c.wasRemoved()) {
+          allUris.removeAll(c.getRemoved());
+        }
+        if (c.wasAdded()) {
+          allUris.addAll(c.getAddedSubList());
+        }
+      }
     });
   }
 
@@ -0,0 +1,78 @@
+package edu.wpi.first.shuffleboard.api.sources.recording;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads a stream of bits written by a {@link BitWriter} from a region of a byte buffer. The buffer's position is not
+ * modified.
+ */
+final class BitReader {
+
+  private final ByteBuffer buffer;
+  private final int end;
+  private int position;
+  private long word = 0; // buffered bits, left-aligned
+  private int wordBits = 0;
+
+  /**
+   * Creates a reader for a region of a buffer.
+   *
+   * @param buffer the buffer to read from
+   * @param start  the index of the first byte to read
+   * @param end    the index after the last byte to read
+   */
+  BitReader(ByteBuffer buffer, int start, int end) {
+    this.buffer = buffer;
+    this.position = start;
+    this.end = end;
+  }
+
+  /**
+   * Reads a single bit.
+   */
+  boolean readBit() {
+    return readBits(1) != 0;
+  }
+
+  /**
+   * Reads {@code count} bits, most significant bit first.
+   *
+   * @param count the number of bits to read, from 0 to 64
+   *
+   * @return the bits that were read, in the lowest {@code count} bits of the result
+   *
+   * @throws BufferUnderflowException if there are fewer than {@code count} bits left to read
+   */
+  long readBits(int count) {
+    if (count == 0) {
+      return 0;
+    }
+    if (count > Integer.SIZE) {
+      final int low = count - Integer.SIZE;
+      return (readBits(Integer.SIZE) << low) | readBits(low);
+    }
+    while (wordBits <= Long.SIZE - Byte.SIZE && position < end) {
+      word |= (buffer.get(position++) & 0xFFL) << (Long.SIZE - Byte.SIZE - wordBits);
+      wordBits += Byte.SIZE;
+    }
+    if (wordBits < count) {
+      throw new BufferUnderflowException();
+    }
+    final long bits = word >>> (Long.SIZE - count);
+    word <<= count;
+    wordBits -= count;
+    return bits;
+  }
+
+  /**
+   * Reads {@code count} bits as a two's complement signed number.
+   *
+   * @param count the number of bits to read, from 1 to 64
+   */
+  long readSignedBits(int count) {
+    final int shift = Long.SIZE - count;
+    return (readBits(count) << shift) >> shift;
+  }
+
+}
@@ -0,0 +1,95 @@
+package edu.wpi.first.shuffleboard.api.sources.recording;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Writes a stream of bits, most significant bit first, into a growable byte array. Writers can be {@link #reset()}
+ * and reused so that encoding a block does not allocate once the array has grown to the size of a typical block.
+ *
+ * @see BitReader
+ */
+final class BitWriter {
+
+  private byte[] bytes;
+  private int length = 0; // number of complete bytes in the array
+  private long word = 0; // pending bits, left-aligned
+  private int wordBits = 0;
+
+  BitWriter(int initialCapacity) {
+    bytes = new byte[Math.max(initialCapacity, Long.BYTES)];
+  }
+
+  /**
+   * Writes a single bit.
+   */
+  void writeBit(boolean bit) {
+    writeBits(bit ? 1 : 0, 1);
+  }
+
+  /**
+   * Writes the lowest {@code count} bits of a value, most significant bit first.
+   *
+   * @param value the value to write
+   * @param count the number of bits to write, from 0 to 64
+   */
+  void writeBits(long value, int count) {
+    if (count == 0) {
+      return;
+    }
+    final int free = Long.SIZE - wordBits;
+    if (count > free) {
+      // Split across two words
+      final int low = count - free;
+      writeBits(value >>> low, free);
+      writeBits(value, low);
+      return;
+    }
+    final long masked = count == Long.SIZE ? value : value & ((1L << count) - 1);
+    word |= masked << (free - count);
+    wordBits += count;
+    if (wordBits == Long.SIZE) {
+      ensureCapacity(Long.BYTES);
+      for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+        bytes[length++] = (byte) (word >>> shift);
+      }
+      word = 0;
+      wordBits = 0;
+    }
+  }
+
+  private void ensureCapacity(int extra) {
+    if (length + extra > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+    }
+  }
+
+  /**
+   * Gets the number of bytes needed to hold every bit written so far. The final byte is padded with zeros.
+   */
+  int byteLength() {
+    return length + (wordBits + Byte.SIZE - 1) / Byte.SIZE;
+  }
+
+  /**
+   * Copies the written bits into a buffer, padding the final byte with zeros.
+   *
+   * @param out the buffer to copy into. It must have at least {@link #byteLength()} bytes remaining
+   */
+  void copyTo(ByteBuffer out) {
+    out.put(bytes, 0, length);
+    for (int shift = Long.SIZE - Byte.SIZE; shift > Long.SIZE - Byte.SIZE - wordBits; shift -= Byte.SIZE) {
+      out.put((byte) (word >>> shift));
+    }
+  }
+
+  /**
+   * Discards everything written so far.
+   */
+  void reset() {
+    length = 0;
+    word = 0;
+    wordBits = 0;
+  }
+
+}
@@ -0,0 +1,106 @@
+package edu.wpi.first.shuffleboard.api.sources.recording;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * Iterates over the entries in a recording in timestamp order, grouping entries that are within a time window of
+ * each other. Data and markers are merged as they are iterated, so only one group is held in memory at a time. For
+ * {@link MappedRecording mapped recordings}, data points are decoded one at a time as they are reached.
+ *
+ * @see Converter#collate(Recording, Predicate, long)
+ */
+final class CollatingIterator implements Iterator<Map.Entry<Long, List<RecordingEntry>>> {
+
+  private final List<TimestampedData> data;
+  private final List<Marker> markers;
+  private final Predicate<TimestampedData> filter;
+  private final long window;
+
+  private int nextData = 0;
+  private int nextMarker = 0;
+  private RecordingEntry next;
+
+  CollatingIterator(Recording recording, Predicate<TimestampedData> filter, long window) {
+    if (window < 0) {
+      throw new IllegalArgumentException("Time window must be non-negative, given " + window);
+    }
+    this.filter = filter;
+    this.window = window;
+    if (recording instanceof MappedRecording) {
+      // Mapped recordings are read-only and their data is always sorted; taking a snapshot would decode everything
+      data = recording.getData();
+      markers = sortedByTimestamp(recording.getMarkers());
+    } else {
+      final Recording.Snapshot snapshot = recording.takeSnapshot();
+      data = sortedByTimestamp(snapshot.getData());
+      markers = sortedByTimestamp(snapshot.getMarkers());
+    }
+    next = advance();
+  }
+
+  private static <E extends RecordingEntry> List<E> sortedByTimestamp(List<E> entries) {
+    for (int i = 1; i < entries.size(); i++) {
+      if (entries.get(i).getTimestamp() < entries.get(i - 1).getTimestamp()) {
+        List<E> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparingLong(RecordingEntry::getTimestamp));
+        return sorted;
+      }
+    }
+    return entries;
+  }
+
+  /**
+   * Gets the next entry that passes the filter, or null if there are no more entries. Data is ordered before markers
+   * with the same timestamp.
+   */
+  private RecordingEntry advance() {
+    while (nextData < data.size() || nextMarker < markers.size()) {
+      if (nextMarker == markers.size()
+          || (nextData < data.size()
+          && data.get(nextData).getTimestamp() <= markers.get(nextMarker).getTimestamp())) {
+        TimestampedData point = data.get(nextData++);
+        if (filter.test(point)) {
+          return point;
+        }
+      } else {
+        return markers.get(nextMarker++);
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public boolean hasNext() {
+    return next != null;
+  }
+
+  @Override
+  public Map.Entry<Long, List<RecordingEntry>> next() {
+    if (next == null) {
+      throw new NoSuchElementException();
+    }
+    final long timestamp = next.getTimestamp();
+    List<RecordingEntry> elements = new ArrayList<>();
+    elements.add(next);
+
+    // Collate data within a certain delta time to the same collection, since there may be some time jitter
+    // for multiple recorded data points that were updated at the same time, but network latencies
+    // or CPU usage caused the timestamps to be slightly different
+    next = advance();
+    while (next != null && next.getTimestamp() <= timestamp + window) {
+      elements.add(next);
+      next = advance();
+    }
+
+    // Place markers at the beginning, maintaining ordering by timestamp
+    elements.sort(Converter.markersFirst);
+    return Map.entry(timestamp, elements);
+  }
+
+}
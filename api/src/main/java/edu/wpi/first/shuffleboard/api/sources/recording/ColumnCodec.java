@@ -0,0 +1,192 @@
+package edu.wpi.first.shuffleboard.api.sources.recording;
+
+/**
+ * Bit-level encodings used for the columns of {@link CompressedRecordingWriter compressed recordings}, based on the
+ * ones described in <i>Gorilla: A Fast, Scalable, In-Memory Time Series Database</i> (Pelkonen et al., 2015).
+ *
+ * <p>Timestamps are stored as the first timestamp, followed by the difference between consecutive deltas
+ * ("delta-of-delta"). Data that is sampled at a steady rate has a delta-of-delta of zero, which takes a single bit.
+ *
+ * <p>Doubles are stored as the first value, followed by the XOR of each value with the previous one. Only the
+ * meaningful bits of the XOR are stored, and runs of repeated values take a single bit each.
+ *
+ * <p>Booleans are stored as the XOR of each value with the previous one, one bit per value.
+ */
+final class ColumnCodec {
+
+  private ColumnCodec() {
+    throw new UnsupportedOperationException("This is a utility class!");
+  }
+
+  /**
+   * Encodes a column of timestamps.
+   *
+   * @param timestamps the timestamps to encode
+   * @param count      the number of timestamps to encode
+   * @param out        the writer to write the encoded timestamps to
+   */
+  static void encodeTimestamps(long[] timestamps, int count, BitWriter out) {
+    if (count == 0) {
+      return;
+    }
+    out.writeBits(timestamps[0], Long.SIZE);
+    long previousDelta = 0;
+    for (int i = 1; i < count; i++) {
+      final long delta = timestamps[i] - timestamps[i - 1];
+      final long deltaOfDelta = delta - previousDelta;
+      previousDelta = delta;
+      if (deltaOfDelta == 0) {
+        out.writeBit(false);
+      } else if (deltaOfDelta >= -64 && deltaOfDelta <= 63) {
+        out.writeBits(0b10, 2);
+        out.writeBits(deltaOfDelta, 7);
+      } else if (deltaOfDelta >= -256 && deltaOfDelta <= 255) {
+        out.writeBits(0b110, 3);
+        out.writeBits(deltaOfDelta, 9);
+      } else if (deltaOfDelta >= -2048 && deltaOfDelta <= 2047) {
+        out.writeBits(0b1110, 4);
+        out.writeBits(deltaOfDelta, 12);
+      } else {
+        out.writeBits(0b1111, 4);
+        out.writeBits(deltaOfDelta, Long.SIZE);
+      }
+    }
+  }
+
+  /**
+   * Decodes a column of timestamps written by {@link #encodeTimestamps}.
+   *
+   * @param in    the reader to read from
+   * @param count the number of timestamps to read
+   * @param out   the array to write the decoded timestamps to
+   */
+  static void decodeTimestamps(BitReader in, int count, long[] out) {
+    if (count == 0) {
+      return;
+    }
+    out[0] = in.readBits(Long.SIZE);
+    long previousDelta = 0;
+    for (int i = 1; i < count; i++) {
+      final long deltaOfDelta;
+      if (!in.readBit()) {
+        deltaOfDelta = 0;
+      } else if (!in.readBit()) {
+        deltaOfDelta = in.readSignedBits(7);
+      } else if (!in.readBit()) {
+        deltaOfDelta = in.readSignedBits(9);
+      } else if (!in.readBit()) {
+        deltaOfDelta = in.readSignedBits(12);
+      } else {
+        deltaOfDelta = in.readBits(Long.SIZE);
+      }
+      previousDelta += deltaOfDelta;
+      out[i] = out[i - 1] + previousDelta;
+    }
+  }
+
+  /**
+   * Encodes a column of doubles.
+   *
+   * @param values the values to encode
+   * @param count  the number of values to encode
+   * @param out    the writer to write the encoded values to
+   */
+  static void encodeDoubles(double[] values, int count, BitWriter out) {
+    if (count == 0) {
+      return;
+    }
+    long previous = Double.doubleToRawLongBits(values[0]);
+    out.writeBits(previous, Long.SIZE);
+    int previousLeading = -1;
+    int previousTrailing = 0;
+    for (int i = 1; i < count; i++) {
+      final long bits = Double.doubleToRawLongBits(values[i]);
+      final long xor = bits ^ previous;
+      previous = bits;
+      if (xor == 0) {
+        out.writeBit(false);
+        continue;
+      }
+      out.writeBit(true);
+      // The leading zero count is stored in 5 bits
+      final int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+      final int trailing = Long.numberOfTrailingZeros(xor);
+      if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+        // The meaningful bits fit in the same window as the previous value
+        out.writeBit(false);
+        out.writeBits(xor >>> previousTrailing, Long.SIZE - previousLeading - previousTrailing);
+      } else {
+        final int meaningful = Long.SIZE - leading - trailing;
+        out.writeBit(true);
+        out.writeBits(leading, 5);
+        // 64 meaningful bits is stored as 0, since a nonzero XOR has at least one meaningful bit
+        out.writeBits(meaningful, 6);
+        out.writeBits(xor >>> trailing, meaningful);
+        previousLeading = leading;
+        previousTrailing = trailing;
+      }
+    }
+  }
+
+  /**
+   * Decodes a column of doubles written by {@link #encodeDoubles}.
+   *
+   * @param in    the reader to read from
+   * @param count the number of values to read
+   * @param out   the array to write the decoded values to
+   */
+  static void decodeDoubles(BitReader in, int count, double[] out) {
+    if (count == 0) {
+      return;
+    }
+    long previous = in.readBits(Long.SIZE);
+    out[0] = Double.longBitsToDouble(previous);
+    int leading = 0;
+    int trailing = 0;
+    for (int i = 1; i < count; i++) {
+      if (in.readBit()) {
+        if (in.readBit()) {
+          leading = (int) in.readBits(5);
+          int meaningful = (int) in.readBits(6);
+          if (meaningful == 0) {
+            meaningful = Long.SIZE;
+          }
+          trailing = Long.SIZE - leading - meaningful;
+        }
+        previous ^= in.readBits(Long.SIZE - leading - trailing) << trailing;
+      }
+      out[i] = Double.longBitsToDouble(previous);
+    }
+  }
+
+  /**
+   * Encodes a column of booleans.
+   *
+   * @param values the values to encode
+   * @param count  the number of values to encode
+   * @param out    the writer to write the encoded values to
+   */
+  static void encodeBooleans(boolean[] values, int count, BitWriter out) {
+    boolean previous = false;
+    for (int i = 0; i < count; i++) {
+      out.writeBit(values[i] ^ previous);
+      previous = values[i];
+    }
+  }
+
+  /**
+   * Decodes a column of booleans written by {@link #encodeBooleans}.
+   *
+   * @param in    the reader to read from
+   * @param count the number of values to read
+   * @param out   the array to write the decoded values to
+   */
+  static void decodeBooleans(BitReader in, int count, boolean[] out) {
+    boolean previous = false;
+    for (int i = 0; i < count; i++) {
+      previous ^= in.readBit();
+      out[i] = previous;
+    }
+  }
+
+}
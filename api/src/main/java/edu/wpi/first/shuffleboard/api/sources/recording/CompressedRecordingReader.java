@@ -0,0 +1,170 @@
+package edu.wpi.first.shuffleboard.api.sources.recording;
+
+import edu.wpi.first.shuffleboard.api.data.DataType;
+import edu.wpi.first.shuffleboard.api.data.DataTypes;
+import edu.wpi.first.shuffleboard.api.sources.recording.serialization.Serializers;
+import edu.wpi.first.shuffleboard.api.sources.recording.serialization.TypeAdapter;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static edu.wpi.first.shuffleboard.api.sources.recording.CompressedRecordingWriter.BLOCK_INDEX_ENTRY_SIZE;
+import static edu.wpi.first.shuffleboard.api.sources.recording.CompressedRecordingWriter.BOOLEAN_COLUMN;
+import static edu.wpi.first.shuffleboard.api.sources.recording.CompressedRecordingWriter.GENERIC_COLUMN;
+import static edu.wpi.first.shuffleboard.api.sources.recording.CompressedRecordingWriter.NUMBER_COLUMN;
+import static edu.wpi.first.shuffleboard.api.sources.recording.Serialization.SIZE_OF_INT;
+import static edu.wpi.first.shuffleboard.api.sources.recording.Serialization.SIZE_OF_LONG;
+
+/**
+ * Reads recordings in the {@link Serialization#COMPRESSED_VERSION compressed} recording format written by
+ * {@link CompressedRecordingWriter}.
+ */
+public final class CompressedRecordingReader {
+
+  private CompressedRecordingReader() {
+    throw new UnsupportedOperationException("This is a utility class!");
+  }
+
+  /**
+   * Reads a compressed recording. The buffer should contain the entire recording file, starting at index 0.
+   *
+   * @param buffer the buffer containing the recording file
+   *
+   * @return the recording
+   *
+   * @throws IOException if the buffer does not contain a valid compressed recording
+   */
+  public static Recording read(ByteBuffer buffer) throws IOException {
+    try {
+      return readUnchecked(buffer);
+    } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+      throw new IOException("Corrupt compressed recording", e);
+    }
+  }
+
+  private static Recording readUnchecked(ByteBuffer buffer) throws IOException {
+    final int size = buffer.limit();
+    if (size < SIZE_OF_INT * 2 + SIZE_OF_LONG) {
+      throw new IOException("Recording file too small");
+    }
+    final int magic = buffer.getInt(0);
+    if (magic != Serialization.MAGIC_NUMBER) {
+      throw new IOException(
+          String.format("Wrong magic number in the header. Expected 0x%08X, but was 0x%08X",
+              Serialization.MAGIC_NUMBER, magic));
+    }
+    final int version = buffer.getInt(SIZE_OF_INT);
+    if (version != Serialization.COMPRESSED_VERSION) {
+      throw new IOException("Not a compressed recording: format version is " + version);
+    }
+    final long footerPosition = buffer.getLong(size - SIZE_OF_LONG);
+    if (footerPosition < SIZE_OF_INT * 2 || footerPosition > size - SIZE_OF_LONG) {
+      throw new IOException("Invalid footer position: " + footerPosition);
+    }
+
+    final ByteBuffer footer = buffer.duplicate()
+        .limit(size - SIZE_OF_LONG)
+        .position((int) footerPosition);
+
+    final int constantCount = footer.getInt();
+    final List<String> constants = new ArrayList<>(constantCount);
+    for (int i = 0; i < constantCount; i++) {
+      constants.add(Serialization.readString(footer));
+    }
+
+    final Recording recording = new Recording();
+    final int markerCount = footer.getInt();
+    for (int i = 0; i < markerCount; i++) {
+      final long timestamp = footer.getLong();
+      final String name = Serialization.readString(footer);
+      final String description = Serialization.readString(footer);
+      final int importanceId = footer.get();
+      recording.addMarker(new Marker(name, description, MarkerImportance.forId(importanceId), timestamp));
+    }
+
+    final int blockCount = footer.getInt();
+    if (footer.remaining() < (long) blockCount * BLOCK_INDEX_ENTRY_SIZE) {
+      throw new IOException("Block index is truncated");
+    }
+    final List<TimestampedData> data = new ArrayList<>();
+    final long[] timestamps = new long[CompressedRecordingWriter.BLOCK_SIZE];
+    final double[] doubles = new double[CompressedRecordingWriter.BLOCK_SIZE];
+    final boolean[] booleans = new boolean[CompressedRecordingWriter.BLOCK_SIZE];
+    for (int i = 0; i < blockCount; i++) {
+      final String sourceId = constants.get(footer.getShort());
+      final String typeName = constants.get(footer.getShort());
+      final byte encoding = footer.get();
+      final int count = footer.getInt();
+      footer.getLong(); // earliest timestamp
+      footer.getLong(); // latest timestamp
+      final long position = footer.getLong();
+      final int length = footer.getInt();
+      final int valuesOffset = footer.getInt();
+      if (count < 0 || count > CompressedRecordingWriter.BLOCK_SIZE
+          || position < 0 || position + length > footerPosition || valuesOffset > length) {
+        throw new IOException("Invalid index entry for block " + i);
+      }
+      final int start = (int) position;
+      final int valuesStart = start + valuesOffset;
+      final int end = start + length;
+
+      final DataType type = dataType(typeName);
+      ColumnCodec.decodeTimestamps(new BitReader(buffer, start, valuesStart), count, timestamps);
+      switch (encoding) {
+        case NUMBER_COLUMN:
+          ColumnCodec.decodeDoubles(new BitReader(buffer, valuesStart, end), count, doubles);
+          for (int j = 0; j < count; j++) {
+            data.add(new TimestampedData(sourceId, type, doubles[j], timestamps[j]));
+          }
+          break;
+        case BOOLEAN_COLUMN:
+          ColumnCodec.decodeBooleans(new BitReader(buffer, valuesStart, end), count, booleans);
+          for (int j = 0; j < count; j++) {
+            data.add(new TimestampedData(sourceId, type, booleans[j], timestamps[j]));
+          }
+          break;
+        case GENERIC_COLUMN:
+          readGenericValues(buffer, valuesStart, end, sourceId, type, count, timestamps, data);
+          break;
+        default:
+          throw new IOException("Unknown column encoding " + encoding + " for block " + i);
+      }
+    }
+
+    // Blocks are stored by source, so they need to be merged back into a single timeline
+    data.sort(null);
+    data.forEach(recording::append);
+    return recording;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void readGenericValues(ByteBuffer buffer, int start, int end, String sourceId, DataType type,
+                                        int count, long[] timestamps, List<TimestampedData> data) {
+    final TypeAdapter adapter = Serializers.get(type);
+    final ByteBuffer view = buffer.duplicate();
+    int position = start;
+    for (int j = 0; j < count; j++) {
+      final int length = buffer.getInt(position);
+      position += SIZE_OF_INT;
+      if (length < 0 || position + length > end) {
+        throw new IllegalArgumentException("Value " + j + " of " + sourceId + " extends past the end of its block");
+      }
+      view.limit(position + length).position(position);
+      data.add(new TimestampedData(sourceId, type, adapter.deserialize(view), timestamps[j]));
+      position += length;
+    }
+  }
+
+  private static DataType<?> dataType(String name) throws IOException {
+    final Optional<DataType> type = DataTypes.getDefault().forName(name);
+    if (type.isEmpty() || !Serializers.hasSerializer(type.get())) {
+      throw new IOException("No serializer for data type '" + name + "'");
+    }
+    return type.get();
+  }
+
+}
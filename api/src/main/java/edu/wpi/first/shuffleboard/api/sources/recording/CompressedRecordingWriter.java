@@ -0,0 +1,461 @@
+package edu.wpi.first.shuffleboard.api.sources.recording;
+
+import edu.wpi.first.shuffleboard.api.data.DataType;
+import edu.wpi.first.shuffleboard.api.data.DataTypes;
+import edu.wpi.first.shuffleboard.api.sources.recording.serialization.Serializers;
+import edu.wpi.first.shuffleboard.api.sources.recording.serialization.TypeAdapter;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static edu.wpi.first.shuffleboard.api.sources.recording.Serialization.SIZE_OF_BYTE;
+import static edu.wpi.first.shuffleboard.api.sources.recording.Serialization.SIZE_OF_INT;
+import static edu.wpi.first.shuffleboard.api.sources.recording.Serialization.SIZE_OF_LONG;
+import static edu.wpi.first.shuffleboard.api.sources.recording.Serialization.SIZE_OF_SHORT;
+
+/**
+ * Writes recordings to disk in the {@link Serialization#COMPRESSED_VERSION compressed} recording format. Data is
+ * split into columns by source and stored in blocks of up to {@link #BLOCK_SIZE} data points. Timestamps, numbers,
+ * and booleans are bit-packed with the encodings described in {@link ColumnCodec}; values of any other type are
+ * stored with their {@link TypeAdapter type adapters}. Most telemetry changes slowly and is sampled at a steady rate,
+ * so a number typically takes a few bits for its timestamp and a few bits for its value, instead of the twenty or so
+ * bytes it takes in the {@link RecordingWriter streaming format}.
+ *
+ * <p>The file cannot be read until the writer has been {@link #close() closed}, since the constant pool, markers,
+ * and block index are all written in a footer at the end of the file. Recordings in progress should be written with
+ * a {@link RecordingWriter} and compressed after they are finished.
+ *
+ * @see CompressedRecordingReader
+ */
+public final class CompressedRecordingWriter implements Closeable {
+
+  /*
+   * Compressed recording file format:
+   * - Magic number (4 bytes)
+   * - Version number (4 bytes)
+   * - Blocks (variable size)
+   *   - Encoded timestamps (variable size)
+   *   - Encoded values (variable size). Generic values are each stored as a 4-byte length followed by the bytes
+   *     written by the type adapter
+   * - Footer (variable size)
+   *   - Number of constants (4 bytes), followed by each constant as a string (4-byte length + UTF-8 bytes)
+   *   - Number of markers (4 bytes), followed by each marker: timestamp (8 bytes), name string, description string,
+   *     importance level ID (1 byte)
+   *   - Number of blocks (4 bytes), followed by an index entry for each block:
+   *     - Source ID constant index (2 bytes)
+   *     - Data type constant index (2 bytes)
+   *     - Column encoding (1 byte)
+   *     - Number of data points (4 bytes)
+   *     - Earliest and latest timestamps (8 bytes each)
+   *     - Position of the block in the file (8 bytes)
+   *     - Length of the block (4 bytes)
+   *     - Offset of the encoded values from the start of the block (4 bytes)
+   * - Position of the footer in the file (8 bytes)
+   */
+
+  /**
+   * The maximum number of data points in a single block.
+   */
+  public static final int BLOCK_SIZE = 1024;
+
+  /**
+   * Encoding for columns of values that are written by their type adapters.
+   */
+  static final byte GENERIC_COLUMN = 0;
+
+  /**
+   * Encoding for columns of XOR-encoded numbers.
+   */
+  static final byte NUMBER_COLUMN = 1;
+
+  /**
+   * Encoding for columns of XOR-encoded booleans.
+   */
+  static final byte BOOLEAN_COLUMN = 2;
+
+  /**
+   * The size of an entry in the block index.
+   */
+  static final int BLOCK_INDEX_ENTRY_SIZE =
+      SIZE_OF_SHORT + SIZE_OF_SHORT + SIZE_OF_BYTE + SIZE_OF_INT + SIZE_OF_LONG * 3 + SIZE_OF_INT * 2;
+
+  private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+  private final FileChannel channel;
+  private final File file;
+  private ByteBuffer buffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+  private long flushedBytes = 0;
+
+  private final List<String> constants = new ArrayList<>();
+  private final Map<String, Short> constantPool = new HashMap<>();
+  private final List<Marker> markers = new ArrayList<>();
+  private final Map<String, Column> columns = new HashMap<>();
+  private final List<BlockInfo> blocks = new ArrayList<>();
+
+  // Reused for every block
+  private final BitWriter timestampBits = new BitWriter(BLOCK_SIZE);
+  private final BitWriter valueBits = new BitWriter(BLOCK_SIZE * SIZE_OF_LONG);
+  private final double[] doubles = new double[BLOCK_SIZE];
+  private final boolean[] booleans = new boolean[BLOCK_SIZE];
+
+  private CompressedRecordingWriter(FileChannel channel, File file) {
+    this.channel = channel;
+    this.file = file;
+  }
+
+  /**
+   * Creates a writer for a new compressed recording file. If the file already exists, it will be overwritten.
+   *
+   * @param file the file to write to
+   *
+   * @return a new writer
+   *
+   * @throws IOException if the file could not be created
+   */
+  public static CompressedRecordingWriter create(Path file) throws IOException {
+    Path saveDir = file.getParent();
+    if (saveDir != null) {
+      Files.createDirectories(saveDir);
+    }
+    FileChannel channel = FileChannel.open(file,
+        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    CompressedRecordingWriter writer = new CompressedRecordingWriter(channel, file.toFile());
+    writer.buffer.putInt(Serialization.MAGIC_NUMBER);
+    writer.buffer.putInt(Serialization.COMPRESSED_VERSION);
+    return writer;
+  }
+
+  /**
+   * Writes an entire recording to a compressed recording file. Mapped recordings are read one data point at a time, so
+   * this does not need to hold the recording in memory.
+   *
+   * @param recording the recording to write
+   * @param file      the file to write to
+   *
+   * @throws IOException if the file could not be written
+   */
+  public static void write(Recording recording, Path file) throws IOException {
+    try (CompressedRecordingWriter writer = create(file)) {
+      if (recording instanceof MappedRecording) {
+        // Avoid taking a snapshot, which would decode every data point at once
+        writer.write(recording.getData(), recording.getMarkers());
+      } else {
+        Recording.Snapshot snapshot = recording.takeSnapshot();
+        writer.write(snapshot.getData(), snapshot.getMarkers());
+      }
+    }
+  }
+
+  /**
+   * Adds data and markers to the file. Data points are buffered by source and written in blocks; markers are written
+   * when the writer is closed. Data for each source should be given in timestamp order for the best compression.
+   *
+   * @param data    the data points to write
+   * @param markers the markers to write
+   *
+   * @throws IOException if the data could not be written
+   */
+  public void write(List<TimestampedData> data, List<Marker> markers) throws IOException {
+    this.markers.addAll(markers);
+    for (TimestampedData point : data) {
+      write(point);
+    }
+  }
+
+  private void write(TimestampedData point) throws IOException {
+    Column column = columns.get(point.getSourceId());
+    if (column != null && !column.dataType.equals(point.getDataType())) {
+      // The source changed types; finish its old column and start a new one
+      writeBlock(column);
+      column = null;
+    }
+    if (column == null) {
+      column = new Column(point.getSourceId(), point.getDataType());
+      columns.put(point.getSourceId(), column);
+    }
+    column.timestamps[column.count] = point.getTimestamp();
+    column.values[column.count] = point.getData();
+    column.count++;
+    if (column.count == BLOCK_SIZE) {
+      writeBlock(column);
+    }
+  }
+
+  /**
+   * Writes the buffered data of a column as a new block, then empties the column.
+   */
+  private void writeBlock(Column column) throws IOException {
+    if (column.count == 0) {
+      return;
+    }
+    final int count = column.count;
+    timestampBits.reset();
+    ColumnCodec.encodeTimestamps(column.timestamps, count, timestampBits);
+    final int timestampLength = timestampBits.byteLength();
+
+    ensureRemaining(timestampLength);
+    final long start = position();
+    timestampBits.copyTo(buffer);
+
+    switch (column.encoding) {
+      case NUMBER_COLUMN:
+        for (int i = 0; i < count; i++) {
+          doubles[i] = ((Number) column.values[i]).doubleValue();
+        }
+        valueBits.reset();
+        ColumnCodec.encodeDoubles(doubles, count, valueBits);
+        ensureRemaining(valueBits.byteLength());
+        valueBits.copyTo(buffer);
+        break;
+      case BOOLEAN_COLUMN:
+        for (int i = 0; i < count; i++) {
+          booleans[i] = (Boolean) column.values[i];
+        }
+        valueBits.reset();
+        ColumnCodec.encodeBooleans(booleans, count, valueBits);
+        ensureRemaining(valueBits.byteLength());
+        valueBits.copyTo(buffer);
+        break;
+      default:
+        // Adapters may save extra data next to the recording file, so point the adapter at the file being written
+        // only while it writes. The rest of the time it keeps the file it was set to, which may be the file that the
+        // values are still being lazily read from
+        final File previousFile = column.adapter.getCurrentFile();
+        column.adapter.setCurrentFile(file);
+        try {
+          for (int i = 0; i < count; i++) {
+            writeGenericValue(column.adapter, column.values[i]);
+          }
+        } finally {
+          column.adapter.setCurrentFile(previousFile);
+        }
+        break;
+    }
+
+    long first = column.timestamps[0];
+    long last = first;
+    for (int i = 1; i < count; i++) {
+      first = Math.min(first, column.timestamps[i]);
+      last = Math.max(last, column.timestamps[i]);
+    }
+    final long length = position() - start;
+    if (length > Integer.MAX_VALUE) {
+      throw new IOException("Block for " + column.sourceId + " is too large");
+    }
+    blocks.add(new BlockInfo(column.source, column.type, column.encoding, count, first, last, start, (int) length,
+        timestampLength));
+    column.clear();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void writeGenericValue(TypeAdapter adapter, Object value) throws IOException {
+    ensureRemaining(SIZE_OF_INT + adapter.getSerializedSize(value));
+    final int lengthPosition = buffer.position();
+    buffer.putInt(0);
+    try {
+      adapter.serializeInto(value, buffer);
+    } catch (BufferOverflowException e) {
+      // The adapter wrote more than it said it would; fall back to a copy of its output
+      buffer.position(lengthPosition);
+      final byte[] bytes = adapter.serialize(value);
+      ensureRemaining(SIZE_OF_INT + bytes.length);
+      buffer.putInt(bytes.length);
+      buffer.put(bytes);
+      return;
+    }
+    buffer.putInt(lengthPosition, buffer.position() - lengthPosition - SIZE_OF_INT);
+  }
+
+  /**
+   * Gets the constant pool index of the given string, adding it to the pool if it has not been seen before.
+   */
+  private short constant(String value) throws IOException {
+    Short index = constantPool.get(value);
+    if (index != null) {
+      return index;
+    }
+    if (constants.size() > Short.MAX_VALUE) {
+      throw new IOException("Too many unique sources and data types in the recording");
+    }
+    short newIndex = (short) constants.size();
+    constants.add(value);
+    constantPool.put(value, newIndex);
+    return newIndex;
+  }
+
+  private long position() {
+    return flushedBytes + buffer.position();
+  }
+
+  /**
+   * Makes sure the buffer has at least the given number of bytes remaining, flushing it if necessary.
+   */
+  private void ensureRemaining(int required) throws IOException {
+    if (buffer.remaining() < required) {
+      flush();
+      if (buffer.capacity() < required) {
+        buffer = ByteBuffer.allocate(required);
+      }
+    }
+  }
+
+  private void flush() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      flushedBytes += channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  /**
+   * Writes the remaining buffered data and the footer, then closes the file.
+   *
+   * @throws IOException if the file could not be written
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      for (Column column : columns.values()) {
+        writeBlock(column);
+      }
+      writeFooter();
+      flush();
+    } finally {
+      channel.close();
+    }
+  }
+
+  private void writeFooter() throws IOException {
+    final long footerPosition = position();
+
+    ensureRemaining(SIZE_OF_INT);
+    buffer.putInt(constants.size());
+    for (String constant : constants) {
+      ensureRemaining(Serialization.sizeOfString(constant));
+      Serialization.putString(buffer, constant);
+    }
+
+    ensureRemaining(SIZE_OF_INT);
+    buffer.putInt(markers.size());
+    for (Marker marker : markers) {
+      ensureRemaining(SIZE_OF_LONG
+          + Serialization.sizeOfString(marker.getName())
+          + Serialization.sizeOfString(marker.getDescription())
+          + SIZE_OF_BYTE);
+      buffer.putLong(marker.getTimestamp());
+      Serialization.putString(buffer, marker.getName());
+      Serialization.putString(buffer, marker.getDescription());
+      buffer.put((byte) marker.getImportance().getId());
+    }
+
+    ensureRemaining(SIZE_OF_INT);
+    buffer.putInt(blocks.size());
+    for (BlockInfo block : blocks) {
+      ensureRemaining(BLOCK_INDEX_ENTRY_SIZE);
+      buffer.putShort(block.source);
+      buffer.putShort(block.type);
+      buffer.put(block.encoding);
+      buffer.putInt(block.count);
+      buffer.putLong(block.firstTimestamp);
+      buffer.putLong(block.lastTimestamp);
+      buffer.putLong(block.position);
+      buffer.putInt(block.length);
+      buffer.putInt(block.valuesOffset);
+    }
+
+    ensureRemaining(SIZE_OF_LONG);
+    buffer.putLong(footerPosition);
+  }
+
+  /**
+   * Gets the encoding to use for a column of the given type.
+   */
+  static byte encodingFor(DataType<?> type) {
+    if (DataTypes.Number.equals(type)) {
+      return NUMBER_COLUMN;
+    } else if (DataTypes.Boolean.equals(type)) {
+      return BOOLEAN_COLUMN;
+    } else {
+      return GENERIC_COLUMN;
+    }
+  }
+
+  /**
+   * The buffered data points of a single source.
+   */
+  private final class Column {
+
+    private final String sourceId;
+    private final DataType<?> dataType;
+    private final short source;
+    private final short type;
+    private final byte encoding;
+    private final TypeAdapter<?> adapter;
+    private final long[] timestamps = new long[BLOCK_SIZE];
+    private final Object[] values = new Object[BLOCK_SIZE];
+    private int count = 0;
+
+    Column(String sourceId, DataType<?> dataType) throws IOException {
+      this.sourceId = sourceId;
+      this.dataType = dataType;
+      this.source = constant(sourceId);
+      this.type = constant(dataType.getName());
+      this.encoding = encodingFor(dataType);
+      this.adapter = Serializers.get(dataType);
+      if (encoding == GENERIC_COLUMN && adapter == null) {
+        throw new NoSuchElementException("No serializer for " + dataType);
+      }
+    }
+
+    void clear() {
+      count = 0;
+      // Let the values be garbage collected
+      Arrays.fill(values, null);
+    }
+
+  }
+
+  /**
+   * An entry in the block index.
+   */
+  private static final class BlockInfo {
+
+    private final short source;
+    private final short type;
+    private final byte encoding;
+    private final int count;
+    private final long firstTimestamp;
+    private final long lastTimestamp;
+    private final long position;
+    private final int length;
+    private final int valuesOffset;
+
+    BlockInfo(short source, short type, byte encoding, int count, long firstTimestamp, long lastTimestamp,
+              long position, int length, int valuesOffset) {
+      this.source = source;
+      this.type = type;
+      this.encoding = encoding;
+      this.count = count;
+      this.firstTimestamp = firstTimestamp;
+      this.lastTimestamp = lastTimestamp;
+      this.position = position;
+      this.length = length;
+      this.valuesOffset = valuesOffset;
+    }
+
+  }
+
+}
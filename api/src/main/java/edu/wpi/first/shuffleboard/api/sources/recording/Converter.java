@@ -5,14 +5,12 @@ import edu.wpi.first.shuffleboard.api.sources.DataSourceUtils;
 
 import java.io.IOException;
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Handles converting of recording files to a file. These are useful for making it easier to analyze recorded data with
@@ -69,69 +67,54 @@ public interface Converter {
 
   /**
    * Flattens recording entries into a single map of timestamp-to-data. Note that each timestamp is expected to have
-   * no more than ONE event marker mapped to it.
+   * no more than ONE event marker mapped to it. The map iterates in order of ascending timestamp.
+   *
+   * <p>This holds every entry in the recording in memory at once. Converters that write their output incrementally
+   * should use {@link #collate(Recording, Predicate, long)} instead.
    *
    * @param recording the recording to flatten
    * @param window    the time window within which temporally-close data should be considered to have the same
    *                  timestamp. A value of zero will result in only entries for that timestamp being mapped to it;
-   *                  higher values loosens this restriction to accommodate potential variances in timestamps.
+   *                  higher values loosens this restriction to accommodate potential variances in timestamps. Data
+   *                  recorded with source-supplied timestamps generally does not need a window.
    *
    * @return a flattened view the timestamped entries in the recording
    *
    * @throws IllegalArgumentException if {@code window} is negative
    */
-  @SuppressWarnings("LocalVariableName")
   static Map<Long, List<RecordingEntry>> flatten(Recording recording, Predicate<TimestampedData> filter, long window) {
-    if (window < 0) {
-      throw new IllegalArgumentException("Time window must be non-negative, given " + window);
-    }
-
-    if (recording.getData().isEmpty() && recording.getMarkers().isEmpty()) {
+    final Iterator<Map.Entry<Long, List<RecordingEntry>>> groups = collate(recording, filter, window);
+    if (!groups.hasNext()) {
       // No data or events
       return Map.of();
     }
-
-    // All the timestamped data and event markers, sorted by timestamp in ascending order (oldest data first)
-    final List<RecordingEntry> data = Stream.concat(
-        recording.getData().stream(),
-        recording.getMarkers().stream())
-        .sorted(Comparator.comparingLong(RecordingEntry::getTimestamp))
-        .collect(Collectors.toList());
-
-    final Map<Long, List<RecordingEntry>> map = new HashMap<>();
-
-    for (int i = 0; i < data.size(); ) {
-      RecordingEntry point = data.get(i);
-      if (point instanceof TimestampedData && !filter.test((TimestampedData) point)) {
-        // Skip
-        i++;
-        continue;
-      }
-
-      List<RecordingEntry> elements = new ArrayList<>();
-      elements.add(point);
-
-      int j = i + 1;
-      // Collate data within a certain delta time to the same collection, since there may be some time jitter
-      // for multiple recorded data points that were updated at the same time, but network latencies
-      // or CPU usage caused the timestamps to be slightly different
-      for (; j < data.size() && data.get(j).getTimestamp() <= point.getTimestamp() + window; j++) {
-        var e = data.get(j);
-        if (e instanceof TimestampedData && !filter.test((TimestampedData) e)) {
-          continue;
-        }
-        elements.add(e);
-      }
-
-      // Place markers at the beginning, maintaining ordering by timestamp
-      elements.sort(markersFirst);
-
-      map.put(point.getTimestamp(), elements);
-      i = j;
-    }
+    final Map<Long, List<RecordingEntry>> map = new LinkedHashMap<>();
+    groups.forEachRemaining(e -> map.put(e.getKey(), e.getValue()));
     return map;
   }
 
+  /**
+   * Iterates over the entries in a recording in order of ascending timestamp, grouped the same way as
+   * {@link #flatten(Recording, Predicate, long) flatten}. Groups are built as the iterator advances, so only one group
+   * is held in memory at a time; for a {@link MappedRecording}, data points are not even decoded until they are
+   * reached. Each element of the iterator maps the timestamp of a group to the entries in it, with any event marker
+   * placed first.
+   *
+   * @param recording the recording to iterate over
+   * @param filter    the filter for the data points to include
+   * @param window    the time window within which temporally-close data should be considered to have the same
+   *                  timestamp
+   *
+   * @return an iterator over the grouped entries in the recording
+   *
+   * @throws IllegalArgumentException if {@code window} is negative
+   */
+  static Iterator<Map.Entry<Long, List<RecordingEntry>>> collate(Recording recording,
+                                                                  Predicate<TimestampedData> filter,
+                                                                  long window) {
+    return new CollatingIterator(recording, filter, window);
+  }
+
   /**
    * Checks if a recording entry is metadata.
    *
@@ -0,0 +1,141 @@
+package edu.wpi.first.shuffleboard.api.sources.recording;
+
+import edu.wpi.first.shuffleboard.api.data.DataType;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded, lock-free, multi-producer/single-consumer ring buffer for data points that are waiting to be saved to a
+ * recording file. Producers never block; if the queue is full, {@link #offer} returns {@code false} and the caller is
+ * responsible for handling the data point some other way.
+ *
+ * <p>Each slot has a sequence number that producers publish after writing the slot, which lets the consumer read slots
+ * without taking a lock. Only a single thread may call {@link #drain} at a time.
+ */
+final class IngestQueue {
+
+  private final int capacity;
+  private final int mask;
+  private final AtomicLongArray sequences;
+  private final long[] timestamps;
+  private final int[] sourceIndices;
+  private final DataType<?>[] dataTypes;
+  private final Object[] values;
+
+  private final AtomicLong tail = new AtomicLong();
+  private long head = 0; // only accessed by the consumer
+
+  /**
+   * A consumer of drained data points.
+   */
+  @FunctionalInterface
+  interface Sink {
+
+    /**
+     * Accepts a single data point that was removed from the queue.
+     *
+     * @param sourceIndex the index of the source that the data point came from
+     * @param dataType    the type of the data
+     * @param value       the data value
+     * @param timestamp   the timestamp of the data point
+     */
+    void accept(int sourceIndex, DataType<?> dataType, Object value, long timestamp);
+
+  }
+
+  /**
+   * Creates a new queue.
+   *
+   * @param capacity the maximum number of data points the queue can hold. Must be a power of two
+   */
+  IngestQueue(int capacity) {
+    if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("Capacity must be a positive power of two, but was " + capacity);
+    }
+    this.capacity = capacity;
+    this.mask = capacity - 1;
+    this.sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      sequences.set(i, i);
+    }
+    this.timestamps = new long[capacity];
+    this.sourceIndices = new int[capacity];
+    this.dataTypes = new DataType<?>[capacity];
+    this.values = new Object[capacity];
+  }
+
+  /**
+   * Adds a data point to the queue. This is safe to call from any number of threads concurrently.
+   *
+   * @param sourceIndex the index of the source that the data point came from
+   * @param dataType    the type of the data
+   * @param value       the data value
+   * @param timestamp   the timestamp of the data point
+   *
+   * @return true if the data point was added, false if the queue was full
+   */
+  boolean offer(int sourceIndex, DataType<?> dataType, Object value, long timestamp) {
+    long pos = tail.get();
+    while (true) {
+      final int slot = (int) (pos & mask);
+      final long difference = sequences.get(slot) - pos;
+      if (difference == 0) {
+        if (tail.compareAndSet(pos, pos + 1)) {
+          timestamps[slot] = timestamp;
+          sourceIndices[slot] = sourceIndex;
+          dataTypes[slot] = dataType;
+          values[slot] = value;
+          // Publish the slot to the consumer
+          sequences.lazySet(slot, pos + 1);
+          return true;
+        }
+        pos = tail.get();
+      } else if (difference < 0) {
+        // The consumer has not yet freed this slot
+        return false;
+      } else {
+        // Another producer claimed this slot first
+        pos = tail.get();
+      }
+    }
+  }
+
+  /**
+   * Removes every data point that has been fully published to the queue and passes them to the given sink in the
+   * order they were added. This must only be called by one thread at a time.
+   *
+   * @param sink the sink to pass the data points to
+   *
+   * @return the number of drained data points
+   */
+  int drain(Sink sink) {
+    int drained = 0;
+    while (true) {
+      final int slot = (int) (head & mask);
+      if (sequences.get(slot) != head + 1) {
+        // Empty, or the next producer has not finished writing its slot yet
+        return drained;
+      }
+      sink.accept(sourceIndices[slot], dataTypes[slot], values[slot], timestamps[slot]);
+      dataTypes[slot] = null;
+      values[slot] = null;
+      // Free the slot for the producer on the next lap
+      sequences.lazySet(slot, head + capacity);
+      head++;
+      drained++;
+    }
+  }
+
+  /**
+   * Gets the approximate number of data points in the queue.
+   */
+  int size() {
+    return (int) Math.max(0, Math.min(capacity, tail.get() - head));
+  }
+
+  int getCapacity() {
+    return capacity;
+  }
+
+}
@@ -0,0 +1,423 @@
+package edu.wpi.first.shuffleboard.api.sources.recording;
+
+import edu.wpi.first.shuffleboard.api.data.DataType;
+import edu.wpi.first.shuffleboard.api.data.DataTypes;
+import edu.wpi.first.shuffleboard.api.sources.recording.serialization.Serializers;
+import edu.wpi.first.shuffleboard.api.sources.recording.serialization.TypeAdapter;
+
+import com.google.common.collect.ImmutableList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+
+import static edu.wpi.first.shuffleboard.api.sources.recording.Serialization.SIZE_OF_INT;
+import static edu.wpi.first.shuffleboard.api.sources.recording.Serialization.SIZE_OF_LONG;
+import static edu.wpi.first.shuffleboard.api.sources.recording.Serialization.SIZE_OF_SHORT;
+
+/**
+ * A read-only recording backed by a memory-mapped recording file. Opening the file only builds a compact index of the
+ * data points (their timestamps, sources, and positions in the file); values are decoded from the file when they are
+ * requested. This keeps heap usage proportional to the number of data points rather than to the size of their values,
+ * which makes it possible to open recordings that are larger than the available memory.
+ *
+ * <p>Only files in the streaming format written by {@link RecordingWriter} can be mapped. Use
+ * {@link Serialization#openRecording(Path)} to open a file in any supported format.
+ *
+ * <p>The {@link #getData() data list} of a mapped recording is a view that decodes each element every time it is
+ * accessed. Consumers that only need timestamps or sources should use {@link #getTimestamp(int)} and
+ * {@link #getSourceIndex(int)}, which do not decode anything.
+ */
+public final class MappedRecording extends Recording {
+
+  /**
+   * The maximum size of a single mapped region of the file. Files larger than this are mapped in several segments,
+   * each of which starts at a record boundary.
+   */
+  private static final long SEGMENT_SIZE = 1L << 30;
+
+  /**
+   * The offset of the data type index in a data record payload.
+   */
+  private static final int DATA_TYPE_OFFSET = SIZE_OF_LONG + SIZE_OF_SHORT;
+
+  /**
+   * The offset of the encoded value in a data record payload.
+   */
+  private static final int VALUE_OFFSET = DATA_TYPE_OFFSET + SIZE_OF_SHORT;
+
+  private final List<MappedByteBuffer> segments = new ArrayList<>();
+  private long[] segmentStarts = new long[1];
+
+  private final List<String> constantPool = new ArrayList<>();
+  private DataType<?>[] dataTypes = new DataType<?>[0];
+  private final List<String> sourceIds = new ArrayList<>();
+  private int[] sourceIndicesByConstant = new int[0];
+  private final List<Marker> markers = new ArrayList<>();
+
+  private int size = 0;
+  private long[] timestamps;
+  private short[] sources;
+  private long[] positions;
+
+  private final List<TimestampedData> dataView = new DataView();
+
+  private MappedRecording() {
+  }
+
+  /**
+   * Opens a recording file and indexes its contents. The file is not read into memory.
+   *
+   * @param file the recording file to open
+   *
+   * @return the opened recording
+   *
+   * @throws IOException if the file could not be read, or if it is not in the streaming recording format
+   */
+  public static MappedRecording open(Path file) throws IOException {
+    MappedRecording recording = new MappedRecording();
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      recording.index(channel);
+    }
+    return recording;
+  }
+
+  @SuppressWarnings("PMD.CyclomaticComplexity")
+  private void index(FileChannel channel) throws IOException {
+    final long fileSize = channel.size();
+    if (fileSize < RecordingWriter.FILE_HEADER_SIZE) {
+      throw new IOException("Recording file too small");
+    }
+    // Rough guess of the number of data points, assuming mostly small values. The index grows if needed
+    final int initialCapacity = (int) Math.min(Math.max(fileSize / 24, 16), 1 << 20);
+    timestamps = new long[initialCapacity];
+    sources = new short[initialCapacity];
+    positions = new long[initialCapacity];
+
+    long segmentStart = 0;
+    MappedByteBuffer segment = map(channel, segmentStart, fileSize);
+    final int magic = segment.getInt(0);
+    if (magic != Serialization.MAGIC_NUMBER) {
+      throw new IOException(
+          String.format("Wrong magic number in the header. Expected 0x%08X, but was 0x%08X",
+              Serialization.MAGIC_NUMBER, magic));
+    }
+    final int version = segment.getInt(SIZE_OF_INT);
+    if (version != Serialization.VERSION) {
+      throw new IOException("Cannot map recording with format version " + version);
+    }
+
+    long pos = RecordingWriter.FILE_HEADER_SIZE;
+    while (pos + RecordingWriter.RECORD_HEADER_SIZE <= fileSize) {
+      if (pos + RecordingWriter.RECORD_HEADER_SIZE > segmentStart + segment.capacity()) {
+        segmentStart = pos;
+        segment = map(channel, segmentStart, fileSize);
+      }
+      final byte tag = segment.get((int) (pos - segmentStart));
+      final int length = segment.getInt((int) (pos - segmentStart) + 1);
+      final long end = pos + RecordingWriter.RECORD_HEADER_SIZE + length;
+      if (end > fileSize) {
+        // Partially written record at the end of the file
+        break;
+      }
+      if (end > segmentStart + segment.capacity()) {
+        if (RecordingWriter.RECORD_HEADER_SIZE + length > SEGMENT_SIZE) {
+          throw new IOException("Record at position " + pos + " is too large to map (" + length + " bytes)");
+        }
+        segmentStart = pos;
+        segment = map(channel, segmentStart, fileSize);
+      }
+      final int payload = (int) (pos - segmentStart) + RecordingWriter.RECORD_HEADER_SIZE;
+      switch (tag) {
+        case RecordingWriter.CONSTANT_RECORD:
+          addConstant(segment, payload);
+          break;
+        case RecordingWriter.MARKER_RECORD:
+          markers.add(Serialization.readMarker(copy(segment, payload, length), 0));
+          break;
+        case RecordingWriter.DATA_RECORD:
+          addData(segment, pos, payload);
+          break;
+        default:
+          // Unknown record type, possibly written by a newer version. Skip it
+          break;
+      }
+      pos = end;
+    }
+    if (!isSorted()) {
+      sortIndex();
+    }
+  }
+
+  private MappedByteBuffer map(FileChannel channel, long start, long fileSize) throws IOException {
+    MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_SIZE, fileSize - start));
+    if (segments.size() == segmentStarts.length) {
+      segmentStarts = Arrays.copyOf(segmentStarts, segmentStarts.length * 2);
+    }
+    segmentStarts[segments.size()] = start;
+    segments.add(segment);
+    return segment;
+  }
+
+  private void addConstant(ByteBuffer segment, int payload) {
+    final int length = segment.getInt(payload);
+    final String constant = new String(copy(segment, payload + SIZE_OF_INT, length), StandardCharsets.UTF_8);
+    final int index = constantPool.size();
+    constantPool.add(constant);
+    if (index >= dataTypes.length) {
+      final int newLength = Math.max(16, dataTypes.length * 2);
+      dataTypes = Arrays.copyOf(dataTypes, newLength);
+      sourceIndicesByConstant = Arrays.copyOf(sourceIndicesByConstant, newLength);
+    }
+    sourceIndicesByConstant[index] = -1;
+  }
+
+  private void addData(ByteBuffer segment, long position, int payload) throws IOException {
+    if (size == timestamps.length) {
+      final int newCapacity = (int) Math.min((long) size + (size >> 1) + 1, Integer.MAX_VALUE - 8);
+      if (newCapacity <= size) {
+        throw new IOException("Too many data points in the recording");
+      }
+      timestamps = Arrays.copyOf(timestamps, newCapacity);
+      sources = Arrays.copyOf(sources, newCapacity);
+      positions = Arrays.copyOf(positions, newCapacity);
+    }
+    final short sourceConstant = segment.getShort(payload + SIZE_OF_LONG);
+    if (sourceIndicesByConstant[sourceConstant] < 0) {
+      sourceIndicesByConstant[sourceConstant] = sourceIds.size();
+      sourceIds.add(constantPool.get(sourceConstant));
+    }
+    timestamps[size] = segment.getLong(payload);
+    sources[size] = (short) sourceIndicesByConstant[sourceConstant];
+    positions[size] = position;
+    size++;
+  }
+
+  private boolean isSorted() {
+    for (int i = 1; i < size; i++) {
+      if (timestamps[i] < timestamps[i - 1]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Sorts the index by timestamp. This is only needed for recordings where a source reported its data late enough for
+   * it to have been written after newer data, so the boxing overhead is acceptable.
+   */
+  private void sortIndex() {
+    final long[] sortedTimestamps = new long[size];
+    final short[] sortedSources = new short[size];
+    final long[] sortedPositions = new long[size];
+    final int[] order = IntStream.range(0, size)
+        .boxed()
+        .sorted(Comparator.comparingLong(i -> timestamps[i]))
+        .mapToInt(Integer::intValue)
+        .toArray();
+    for (int i = 0; i < size; i++) {
+      sortedTimestamps[i] = timestamps[order[i]];
+      sortedSources[i] = sources[order[i]];
+      sortedPositions[i] = positions[order[i]];
+    }
+    timestamps = sortedTimestamps;
+    sources = sortedSources;
+    positions = sortedPositions;
+  }
+
+  private static byte[] copy(ByteBuffer buffer, int position, int length) {
+    byte[] bytes = new byte[length];
+    buffer.get(position, bytes);
+    return bytes;
+  }
+
+  /**
+   * Finds the index of the segment containing the record at the given position in the file.
+   */
+  private int segmentIndex(long position) {
+    int low = 0;
+    int high = segments.size() - 1;
+    while (low < high) {
+      final int mid = (low + high + 1) >>> 1;
+      if (segmentStarts[mid] <= position) {
+        low = mid;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Gets the number of data points in this recording.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Gets the timestamp of a data point without decoding its value.
+   *
+   * @param frame the index of the data point
+   */
+  public long getTimestamp(int frame) {
+    checkIndex(frame);
+    return timestamps[frame];
+  }
+
+  /**
+   * Gets the source of a data point without decoding its value.
+   *
+   * @param frame the index of the data point
+   *
+   * @return the index of the source's ID in {@link #getSourceIds()}
+   */
+  public int getSourceIndex(int frame) {
+    checkIndex(frame);
+    return sources[frame];
+  }
+
+  /**
+   * Decodes a single data point.
+   *
+   * @param frame the index of the data point
+   *
+   * @throws IllegalStateException if the data type of the point has no serializer
+   */
+  @SuppressWarnings("unchecked")
+  public TimestampedData get(int frame) {
+    checkIndex(frame);
+    final int segmentIndex = segmentIndex(positions[frame]);
+    final ByteBuffer segment = segments.get(segmentIndex);
+    final int offset = (int) (positions[frame] - segmentStarts[segmentIndex]);
+    final int length = segment.getInt(offset + 1);
+    final int payload = offset + RecordingWriter.RECORD_HEADER_SIZE;
+    final DataType type = dataType(segment.getShort(payload + DATA_TYPE_OFFSET));
+    final TypeAdapter adapter = Serializers.get(type);
+    // Decode straight from the mapped file; the view is limited to the record so it cannot be read past
+    final ByteBuffer view = segment.duplicate()
+        .limit(payload + length)
+        .position(payload + VALUE_OFFSET);
+    final Object value = adapter.deserialize(view);
+    return new TimestampedData(sourceIds.get(sources[frame]), type, value, timestamps[frame]);
+  }
+
+  private DataType<?> dataType(short constant) {
+    DataType<?> type = dataTypes[constant];
+    if (type == null) {
+      final String name = constantPool.get(constant);
+      final Optional<DataType> found = DataTypes.getDefault().forName(name);
+      if (found.isEmpty() || !Serializers.hasSerializer(found.get())) {
+        throw new IllegalStateException("No serializer for data type '" + name + "'");
+      }
+      type = found.get();
+      dataTypes[constant] = type;
+    }
+    return type;
+  }
+
+  private void checkIndex(int frame) {
+    if (frame < 0 || frame >= size) {
+      throw new IndexOutOfBoundsException("Index: " + frame + ", size: " + size);
+    }
+  }
+
+  /**
+   * Mapped recordings are read-only.
+   *
+   * @throws UnsupportedOperationException always
+   */
+  @Override
+  public void append(TimestampedData data) {
+    throw new UnsupportedOperationException("Mapped recordings are read-only");
+  }
+
+  /**
+   * Mapped recordings are read-only.
+   *
+   * @throws UnsupportedOperationException always
+   */
+  @Override
+  public void addMarker(Marker marker) {
+    throw new UnsupportedOperationException("Mapped recordings are read-only");
+  }
+
+  @Override
+  public List<Marker> getMarkers() {
+    return ImmutableList.copyOf(markers);
+  }
+
+  /**
+   * Gets a read-only view of the data in this recording, in order of ascending timestamp. Elements are decoded from
+   * the file every time they are accessed.
+   */
+  @Override
+  public List<TimestampedData> getData() {
+    return dataView;
+  }
+
+  /**
+   * Takes a snapshot of this recording. Note that this decodes every data point in the recording.
+   */
+  @Override
+  public Snapshot takeSnapshot() {
+    return Snapshot.of(ImmutableList.copyOf(dataView), ImmutableList.copyOf(markers));
+  }
+
+  @Override
+  Snapshot takeSnapshotAndClear() {
+    throw new UnsupportedOperationException("Mapped recordings are read-only");
+  }
+
+  @Override
+  public List<String> getSourceIds() {
+    return ImmutableList.copyOf(sourceIds);
+  }
+
+  @Override
+  public TimestampedData getFirst() {
+    return size == 0 ? null : get(0);
+  }
+
+  @Override
+  public TimestampedData getLast() {
+    return size == 0 ? null : get(size - 1);
+  }
+
+  @Override
+  public long getLength() {
+    return size < 2 ? 0L : timestamps[size - 1] - timestamps[0];
+  }
+
+  @Override
+  public String toString() {
+    return String.format("MappedRecording(size=%d, sources=%d, markers=%s)", size, sourceIds.size(), markers);
+  }
+
+  private final class DataView extends AbstractList<TimestampedData> implements RandomAccess {
+
+    @Override
+    public TimestampedData get(int index) {
+      return MappedRecording.this.get(index);
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+  }
+
+}
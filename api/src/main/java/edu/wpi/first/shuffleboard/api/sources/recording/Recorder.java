@@ -14,8 +14,12 @@ import com.google.common.annotations.VisibleForTesting;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Path;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
@@ -36,13 +40,25 @@ public final class Recorder {
   public static final String DEFAULT_RECORDING_FILE_NAME_FORMAT = "recording-${time}";
   private static final Recorder instance = new Recorder();
 
+  /**
+   * The maximum number of data points that can be waiting to be saved. This is large enough to hold a few seconds of
+   * data from several hundred sources updating at 50Hz; if it fills up, new data is added to the recording directly.
+   */
+  private static final int INGEST_QUEUE_CAPACITY = 1 << 17;
+
   private final BooleanProperty running = new AtomicBooleanProperty(this, "running", false);
   private final StringProperty fileNameFormat =
       new SimpleStringProperty(this, "fileNameFormat", DEFAULT_RECORDING_FILE_NAME_FORMAT);
   private String currentFileNameFormat = DEFAULT_RECORDING_FILE_NAME_FORMAT; // NOPMD - PMD can't handle lambdas
   private Instant startTime = null;
+  private volatile long startNanos;
   private Recording recording = null;
-  private File recordingFile;
+  private volatile File recordingFile;
+  private RecordingWriter writer;
+
+  private final IngestQueue ingestQueue = new IngestQueue(INGEST_QUEUE_CAPACITY);
+  private final Map<String, Integer> sourceIndices = new ConcurrentHashMap<>();
+  private final List<String> sourceIds = new CopyOnWriteArrayList<>();
 
   private final Object startStopLock = new Object();
   private boolean firstSave = true;
@@ -54,7 +70,6 @@ public final class Recorder {
     // Save the recording at the start (get the initial values) and the stop
     running.addListener((__, wasRunning, isRunning) -> {
       try {
-        currentFileNameFormat = getFileNameFormat();
         saveToDisk();
       } catch (IOException e) {
         log.log(Level.WARNING, "Could not save to disk", e);
@@ -94,22 +109,70 @@ public final class Recorder {
       // Nothing to save
       return;
     }
-    Path file = Storage.createRecordingFilePath(startTime, currentFileNameFormat);
-    if (recordingFile == null) {
-      recordingFile = file.toFile();
-    }
+    final File file;
     synchronized (startStopLock) {
+      file = recordingFile;
+      if (file == null) {
+        // The recording file could not be created, or the recording has been stopped
+        return;
+      }
       if (firstSave) {
-        Serialization.saveRecording(recording, file);
+        writer = RecordingWriter.create(file.toPath());
         firstSave = false;
-      } else {
-        Serialization.updateRecordingSave(recording, file);
       }
+      if (writer == null) {
+        // The recording has been stopped and its file closed
+        return;
+      }
+      Recording.Snapshot snapshot = recording.takeSnapshotAndClear();
+      List<TimestampedData> data = drainIngestQueue();
+      data.addAll(snapshot.getData());
+      writer.write(data, snapshot.getMarkers());
       Serializers.getAdapters().forEach(Serializer::flush);
     }
     log.fine("Saved recording to " + file);
   }
 
+  /**
+   * Removes all pending data points from the ingest queue. This must only be called while holding the start/stop lock
+   * to ensure that there is only a single consumer of the queue.
+   */
+  private List<TimestampedData> drainIngestQueue() {
+    List<TimestampedData> drained = new ArrayList<>(ingestQueue.size());
+    ingestQueue.drain((sourceIndex, dataType, value, timestamp) ->
+        drained.add(new TimestampedData(sourceIds.get(sourceIndex), dataType, value, toMillis(timestamp))));
+    return drained;
+  }
+
+  /**
+   * Gets the index of the source with the given ID, assigning a new index if the source has not been recorded before.
+   * Indices are stable for the lifetime of the recorder.
+   */
+  private int sourceIndex(String id) {
+    Integer index = sourceIndices.get(id);
+    if (index != null) {
+      return index;
+    }
+    synchronized (sourceIds) {
+      return sourceIndices.computeIfAbsent(id, __ -> {
+        sourceIds.add(id);
+        return sourceIds.size() - 1;
+      });
+    }
+  }
+
+  private void closeWriter() {
+    if (writer == null) {
+      return;
+    }
+    try {
+      writer.close();
+    } catch (IOException e) {
+      log.log(Level.WARNING, "Could not close recording file", e);
+    }
+    writer = null;
+  }
+
   /**
    * Gets the recorder instance.
    */
@@ -129,13 +192,41 @@ public final class Recorder {
    */
   public void start() {
     synchronized (startStopLock) {
+      closeWriter();
+      // Discard anything left over from the previous recording
+      ingestQueue.drain((sourceIndex, dataType, value, timestamp) -> {
+      });
       startTime = Instant.now();
+      startNanos = System.nanoTime();
+      currentFileNameFormat = getFileNameFormat();
+      recordingFile = createRecordingFile();
       firstSave = true;
       recording = new Recording();
     }
     setRunning(true);
   }
 
+  /**
+   * Picks the file for a new recording and points the serializers at it. This happens before any data is recorded so
+   * that serializers that save data to their own files while recording (such as camera streams) never write files for
+   * the new recording next to a previous recording or a recording loaded for playback.
+   *
+   * @return the new recording file, or null if disk writes are disabled or the file could not be created
+   */
+  private File createRecordingFile() {
+    if (!enableDiskWrites) {
+      return null;
+    }
+    try {
+      File file = Storage.createRecordingFilePath(startTime, currentFileNameFormat).toFile();
+      Serializers.getAdapters().forEach(a -> a.setCurrentFile(file));
+      return file;
+    } catch (IOException e) {
+      log.log(Level.WARNING, "Could not create recording file", e);
+      return null;
+    }
+  }
+
   /**
    * Stops recording data.
    */
@@ -147,7 +238,16 @@ public final class Recorder {
     }
     synchronized (startStopLock) {
       setRunning(false);
+      closeWriter();
+      File finished = recordingFile;
       recordingFile = null;
+      if (finished != null) {
+        // Unset the file before cleaning up so nothing more can be written for the finished recording. Adapters that
+        // have since been pointed at another file (eg one loaded for playback) are left alone
+        Serializers.getAdapters().stream()
+            .filter(a -> finished.equals(a.getCurrentFile()))
+            .forEach(a -> a.setCurrentFile(null));
+      }
       Serializers.cleanUpAll();
     }
   }
@@ -168,7 +268,8 @@ public final class Recorder {
   }
 
   /**
-   * Records a data point at the current time.
+   * Records a data point at the current time. This does not block or take any locks in the common case; the data point
+   * is queued and written to the recording file by the background saver.
    *
    * @param id       the ID of the value to record
    * @param dataType the type of the value
@@ -178,7 +279,35 @@ public final class Recorder {
     if (!isRunning()) {
       return;
     }
-    recording.append(new TimestampedData(id.intern(), dataType, value, timestamp()));
+    enqueue(id, dataType, value, System.nanoTime() - startNanos);
+  }
+
+  /**
+   * Records a data point with a timestamp supplied by the caller. This should be used by sources that know when their
+   * data actually changed (for example, a timestamp from the remote device that sent the data), since the time at which
+   * the change is processed can be delayed by thread scheduling or network latency.
+   *
+   * @param id        the ID of the value to record
+   * @param dataType  the type of the value
+   * @param value     the value to record
+   * @param timestamp the time at which the value changed, in milliseconds since the start of the recording. Negative
+   *                  timestamps (ie changes that happened before recording started) are recorded as zero
+   *
+   * @see #currentTimestamp()
+   */
+  public void record(String id, DataType<?> dataType, Object value, long timestamp) {
+    if (!isRunning()) {
+      return;
+    }
+    enqueue(id, dataType, value, TimeUnit.MILLISECONDS.toNanos(Math.max(0, timestamp)));
+  }
+
+  private void enqueue(String id, DataType<?> dataType, Object value, long timestamp) {
+    final int sourceIndex = sourceIndex(id);
+    if (!ingestQueue.offer(sourceIndex, dataType, value, timestamp)) {
+      // The saver has fallen behind; add directly to the recording so no data is lost
+      recording.append(new TimestampedData(sourceIds.get(sourceIndex), dataType, value, toMillis(timestamp)));
+    }
   }
 
   /**
@@ -196,7 +325,20 @@ public final class Recorder {
   }
 
   private long timestamp() {
-    return Instant.now().toEpochMilli() - startTime.toEpochMilli();
+    return toMillis(System.nanoTime() - startNanos);
+  }
+
+  /**
+   * Gets the current time in the timeline of the recording, in milliseconds since recording started. Sources that
+   * supply their own timestamps to {@link #record(String, DataType, Object, long)} can use this to line their own
+   * clock up with the recording.
+   */
+  public long currentTimestamp() {
+    return timestamp();
+  }
+
+  private static long toMillis(long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos);
   }
 
   public boolean isRunning() {
@@ -229,11 +371,14 @@ public final class Recorder {
 
   /**
    * Gets the recording being recorded to. This method should only be used for tests to make sure the recording is
-   * being used properly.
+   * being used properly. Any data points still waiting to be saved are added to the recording first.
    */
   @VisibleForTesting
   public Recording getRecording() {
     synchronized (startStopLock) {
+      if (recording != null) {
+        drainIngestQueue().forEach(recording::append);
+      }
       return recording;
     }
   }
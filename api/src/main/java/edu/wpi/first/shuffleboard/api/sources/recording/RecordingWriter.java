@@ -0,0 +1,325 @@
+package edu.wpi.first.shuffleboard.api.sources.recording;
+
+import edu.wpi.first.shuffleboard.api.data.DataType;
+import edu.wpi.first.shuffleboard.api.sources.recording.serialization.Serializers;
+import edu.wpi.first.shuffleboard.api.sources.recording.serialization.TypeAdapter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static edu.wpi.first.shuffleboard.api.sources.recording.Serialization.SIZE_OF_BYTE;
+import static edu.wpi.first.shuffleboard.api.sources.recording.Serialization.SIZE_OF_INT;
+import static edu.wpi.first.shuffleboard.api.sources.recording.Serialization.SIZE_OF_LONG;
+import static edu.wpi.first.shuffleboard.api.sources.recording.Serialization.SIZE_OF_SHORT;
+
+/**
+ * Writes recordings to disk in the streaming {@link Serialization#VERSION current} recording format. Everything is
+ * appended to the end of the file; bytes that have already been written are never modified, so the cost of a write
+ * depends only on the amount of new data.
+ *
+ * <p>A single writer should be kept open for the lifetime of a recording. Each call to {@link #write(Recording)}
+ * drains the data and markers from the recording and appends them to the file.
+ */
+public final class RecordingWriter implements Closeable {
+
+  /*
+   * Streaming recording file format:
+   * - Magic number (4 bytes)
+   * - Version number (4 bytes)
+   * - Records (variable size), until the end of the file
+   *   - Record tag (1 byte)
+   *   - Payload length (4 bytes)
+   *   - Payload (variable size)
+   *
+   * Record payloads:
+   * - Constant: a string (4-byte length + UTF-8 bytes). Constants are implicitly numbered in the order they appear
+   * - Marker: timestamp (8 bytes), name string, description string, importance level ID (1 byte)
+   * - Data: timestamp (8 bytes), source ID constant index (2 bytes), data type constant index (2 bytes), data bytes
+   *
+   * A record is always written after every constant it references. A trailing record that was only partially written
+   * (eg if the application crashed in the middle of a write) is ignored when the file is loaded.
+   */
+
+  /**
+   * Tags a record that adds a new entry to the constant pool.
+   */
+  static final byte CONSTANT_RECORD = 1;
+
+  /**
+   * Tags a record that contains an event marker.
+   */
+  static final byte MARKER_RECORD = 2;
+
+  /**
+   * Tags a record that contains a single data point.
+   */
+  static final byte DATA_RECORD = 3;
+
+  /**
+   * The size of the header at the start of every record.
+   */
+  static final int RECORD_HEADER_SIZE = SIZE_OF_BYTE + SIZE_OF_INT;
+
+  /**
+   * The size of the file header containing the magic number and version.
+   */
+  static final int FILE_HEADER_SIZE = SIZE_OF_INT * 2;
+
+  /**
+   * The size of the timestamp and constant pool indices at the start of a data record payload.
+   */
+  private static final int DATA_HEADER_SIZE = SIZE_OF_LONG + SIZE_OF_SHORT + SIZE_OF_SHORT;
+
+  private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+  private final FileChannel channel;
+  private final Map<String, Short> constantPool = new HashMap<>();
+  private ByteBuffer buffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+
+  private RecordingWriter(FileChannel channel) {
+    this.channel = channel;
+  }
+
+  /**
+   * Creates a writer for a new recording file. If the file already exists, it will be overwritten.
+   *
+   * @param file the file to write to
+   *
+   * @return a new writer
+   *
+   * @throws IOException if the file could not be created
+   */
+  public static RecordingWriter create(Path file) throws IOException {
+    Path saveDir = file.getParent();
+    if (saveDir != null) {
+      Files.createDirectories(saveDir);
+    }
+    FileChannel channel = FileChannel.open(file,
+        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    RecordingWriter writer = new RecordingWriter(channel);
+    writer.buffer.putInt(Serialization.MAGIC_NUMBER);
+    writer.buffer.putInt(Serialization.VERSION);
+    writer.flush();
+    return writer;
+  }
+
+  /**
+   * Creates a writer that appends to an existing recording file. The constant pool is rebuilt by stepping over the
+   * record headers in the file, which is linear in the number of records; prefer keeping a single writer open for the
+   * duration of a recording instead of re-opening it for every write.
+   *
+   * @param file the file to append to
+   *
+   * @return a new writer
+   *
+   * @throws IOException if the file could not be read, or is not a recording in the current format
+   */
+  public static RecordingWriter append(Path file) throws IOException {
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      RecordingWriter writer = new RecordingWriter(channel);
+      writer.readConstantPool();
+      return writer;
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  private void readConstantPool() throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+    readFully(header, 0);
+    int magic = header.getInt(0);
+    if (magic != Serialization.MAGIC_NUMBER) {
+      throw new IOException(
+          String.format("Wrong magic number in the header. Expected 0x%08X, but was 0x%08X",
+              Serialization.MAGIC_NUMBER, magic));
+    }
+    int version = header.getInt(SIZE_OF_INT);
+    if (version != Serialization.VERSION) {
+      throw new IOException(
+          "Cannot append to recording with format version " + version + ". The current format version is "
+              + Serialization.VERSION);
+    }
+    long size = channel.size();
+    long pos = FILE_HEADER_SIZE;
+    ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+    while (pos + RECORD_HEADER_SIZE <= size) {
+      recordHeader.clear();
+      readFully(recordHeader, pos);
+      byte tag = recordHeader.get(0);
+      int length = recordHeader.getInt(SIZE_OF_BYTE);
+      if (pos + RECORD_HEADER_SIZE + length > size) {
+        // Partially written record; drop it so new records are not appended after garbage
+        break;
+      }
+      if (tag == CONSTANT_RECORD) {
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        readFully(payload, pos + RECORD_HEADER_SIZE);
+        String constant = new String(payload.array(), SIZE_OF_INT, length - SIZE_OF_INT, StandardCharsets.UTF_8);
+        constantPool.put(constant, (short) constantPool.size());
+      }
+      pos += RECORD_HEADER_SIZE + length;
+    }
+    channel.truncate(pos);
+    channel.position(pos);
+  }
+
+  private void readFully(ByteBuffer dst, long position) throws IOException {
+    long pos = position;
+    while (dst.hasRemaining()) {
+      int read = channel.read(dst, pos);
+      if (read < 0) {
+        throw new IOException("Unexpected end of recording file");
+      }
+      pos += read;
+    }
+  }
+
+  /**
+   * Drains all the data and markers currently in the given recording and appends them to the file.
+   *
+   * @param recording the recording to write
+   *
+   * @throws IOException if the data could not be written
+   */
+  public void write(Recording recording) throws IOException {
+    Recording.Snapshot snapshot = recording.takeSnapshotAndClear();
+    write(snapshot.getData(), snapshot.getMarkers());
+  }
+
+  /**
+   * Appends the given data and markers to the file. Data points are written in timestamp order.
+   *
+   * @param data    the data points to write
+   * @param markers the markers to write
+   *
+   * @throws IOException if the data could not be written
+   */
+  public void write(List<TimestampedData> data, List<Marker> markers) throws IOException {
+    for (Marker marker : markers) {
+      writeMarker(marker);
+    }
+    TimestampedData[] sorted = data.toArray(new TimestampedData[0]);
+    Arrays.sort(sorted);
+    for (TimestampedData point : sorted) {
+      writeData(point);
+    }
+    flush();
+  }
+
+  private void writeMarker(Marker marker) throws IOException {
+    int length = SIZE_OF_LONG
+        + Serialization.sizeOfString(marker.getName())
+        + Serialization.sizeOfString(marker.getDescription())
+        + SIZE_OF_BYTE;
+    beginRecord(MARKER_RECORD, length);
+    buffer.putLong(marker.getTimestamp());
+    Serialization.putString(buffer, marker.getName());
+    Serialization.putString(buffer, marker.getDescription());
+    buffer.put((byte) marker.getImportance().getId());
+  }
+
+  @SuppressWarnings("unchecked")
+  private void writeData(TimestampedData data) throws IOException {
+    final DataType type = data.getDataType();
+    final TypeAdapter adapter = Serializers.get(type);
+    if (adapter == null) {
+      throw new NoSuchElementException("No serializer for " + type);
+    }
+    final Object value = data.getData();
+    final short sourceIdIndex = constant(data.getSourceId());
+    final short dataTypeIndex = constant(type.getName());
+    beginRecord(DATA_RECORD, DATA_HEADER_SIZE + adapter.getSerializedSize(value));
+    final int recordStart = buffer.position() - RECORD_HEADER_SIZE;
+    buffer.putLong(data.getTimestamp());
+    buffer.putShort(sourceIdIndex);
+    buffer.putShort(dataTypeIndex);
+    try {
+      adapter.serializeInto(value, buffer);
+    } catch (BufferOverflowException e) {
+      // The adapter wrote more than it said it would; discard the partial record and write a copy of its output
+      buffer.position(recordStart);
+      final byte[] dataBytes = adapter.serialize(value);
+      beginRecord(DATA_RECORD, DATA_HEADER_SIZE + dataBytes.length);
+      buffer.putLong(data.getTimestamp());
+      buffer.putShort(sourceIdIndex);
+      buffer.putShort(dataTypeIndex);
+      buffer.put(dataBytes);
+      return;
+    }
+    // Record the number of bytes that were actually written, in case the adapter reported the wrong size
+    buffer.putInt(recordStart + SIZE_OF_BYTE, buffer.position() - recordStart - RECORD_HEADER_SIZE);
+  }
+
+  /**
+   * Gets the constant pool index of the given string, writing a new constant record if it has not been seen before.
+   */
+  private short constant(String value) throws IOException {
+    Short index = constantPool.get(value);
+    if (index != null) {
+      return index;
+    }
+    if (constantPool.size() > Short.MAX_VALUE) {
+      // use int16 instead of int32 -- 32,767 sources should be enough
+      throw new IOException("Too many unique sources and data types in the recording");
+    }
+    short newIndex = (short) constantPool.size();
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    beginRecord(CONSTANT_RECORD, SIZE_OF_INT + bytes.length);
+    buffer.putInt(bytes.length);
+    buffer.put(bytes);
+    constantPool.put(value, newIndex);
+    return newIndex;
+  }
+
+  /**
+   * Writes a record header and makes sure the buffer has enough space for the payload.
+   */
+  private void beginRecord(byte tag, int payloadLength) throws IOException {
+    int required = RECORD_HEADER_SIZE + payloadLength;
+    if (buffer.remaining() < required) {
+      flush();
+      if (buffer.capacity() < required) {
+        buffer = ByteBuffer.allocate(required);
+      }
+    }
+    buffer.put(tag);
+    buffer.putInt(payloadLength);
+  }
+
+  /**
+   * Writes any buffered records to the file.
+   *
+   * @throws IOException if the buffered records could not be written
+   */
+  public void flush() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      flush();
+    } finally {
+      channel.close();
+    }
+  }
+
+}
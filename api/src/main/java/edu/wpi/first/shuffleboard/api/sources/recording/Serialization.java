@@ -7,19 +7,17 @@ import edu.wpi.first.shuffleboard.api.data.types.StringType;
 import edu.wpi.first.shuffleboard.api.sources.recording.serialization.Serializers;
 import edu.wpi.first.shuffleboard.api.sources.recording.serialization.TypeAdapter;
 
-import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Ordering;
 import com.google.common.primitives.Bytes;
 
-import java.io.File;
+import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
-import java.io.RandomAccessFile;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.LinkOption;
-import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -28,13 +26,13 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @SuppressWarnings("PMD.GodClass")
 public final class Serialization {
 
   /*
-   * Recording file format:
+   * Legacy (version 4) recording file format. Current recordings are written in the streaming format described in
+   * RecordingWriter.
    * - Magic number (4 bytes)
    * - Version number (4 bytes)
    * - Offset to markers (4 bytes)
@@ -64,7 +62,21 @@ public final class Serialization {
    * The current serialization format version. This number is incremented every time the recording format changes in
    * a way that makes it incompatible with previous versions.
    */
-  public static final int VERSION = 4;
+  public static final int VERSION = 5;
+
+  /**
+   * The last format version that stored the constant pool and markers in fixed sections at the start of the file.
+   * Recordings in this format can still be loaded, but are no longer written.
+   */
+  public static final int LEGACY_VERSION = 4;
+
+  /**
+   * The format version of compressed recordings written by {@link CompressedRecordingWriter}. Compressed recordings
+   * are much smaller than recordings in the {@link #VERSION current} streaming format, but cannot be appended to, so
+   * live recordings are always saved in the streaming format and compressed afterwards with
+   * {@link #compressRecording(Path, Path)}.
+   */
+  public static final int COMPRESSED_VERSION = 6;
 
   /**
    * The size of a serialized {@code byte}, in bytes.
@@ -92,7 +104,8 @@ public final class Serialization {
   public static final int SIZE_OF_DOUBLE = 8;
 
   /**
-   * Constant offsets for the binary save files.
+   * Constant offsets for the binary save files. Only the magic number and version offsets apply to the current format;
+   * the rest are for legacy recording files.
    */
   private static final class Offsets {
     /**
@@ -132,7 +145,7 @@ public final class Serialization {
   }
 
   /**
-   * Saves a recording to the given file.
+   * Saves a recording to the given file. Any existing contents of the file are overwritten.
    *
    * @param recording the recording to save
    * @param file      the file to save to
@@ -141,238 +154,62 @@ public final class Serialization {
    */
   public static void saveRecording(Recording recording, Path file) throws IOException {
     Serializers.getAdapters().forEach(a -> a.setCurrentFile(file.toFile()));
-    // Work on a copy, since the recording can have new data added to it while we're in the middle of saving
-    var snapshot = recording.takeSnapshotAndClear();
-    final var dataCopy = snapshot.getData()
-        .stream()
-        .sorted()
-        .collect(ImmutableList.toImmutableList());
-    final var markers = snapshot.getMarkers();
-    final byte[] header = header(dataCopy);
-    put(header, toByteArray(0), Offsets.DATA_POSITION_OFFSET);
-    final List<String> constantPool = generateConstantPool(dataCopy);
-    List<byte[]> segments = new ArrayList<>();
-    segments.add(header);
-
-    // Event markers
-    put(header, toByteArray(segments.stream().mapToInt(b -> b.length).sum()), Offsets.MARKER_POSITION_OFFSET);
-    segments.add(toByteArray(markers.size()));
-    for (Marker marker : markers) {
-      segments.add(toByteArray(marker.getTimestamp()));
-      segments.add(toByteArray(marker.getName()));
-      segments.add(toByteArray(marker.getDescription()));
-      segments.add(toByteArray((byte) marker.getImportance().getId()));
+    try (RecordingWriter writer = RecordingWriter.create(file)) {
+      writer.write(recording);
     }
-
-    // Data
-    put(header, toByteArray(segments.stream().mapToInt(b -> b.length).sum()), Offsets.DATA_POSITION_OFFSET);
-    for (TimestampedData data : dataCopy) {
-      final DataType type = data.getDataType();
-      final Object value = data.getData();
-
-      final byte[] timestamp = toByteArray(data.getTimestamp());
-      // use int16 instead of int32 -- 32,767 sources should be enough
-      final byte[] sourceIdIndex = toByteArray((short) constantPool.indexOf(data.getSourceId()));
-      final byte[] dataType = toByteArray((short) constantPool.indexOf(data.getDataType().getName()));
-      final byte[] dataBytes = encode(value, type);
-
-      segments.add(timestamp);
-      segments.add(sourceIdIndex);
-      segments.add(dataType);
-      segments.add(dataBytes);
-    }
-    byte[] all = segments
-        .stream()
-        .reduce(new byte[0], Bytes::concat);
-    Path saveDir = file.getParent();
-    if (saveDir != null) {
-      Files.createDirectories(saveDir);
-    }
-    Files.write(file, all);
   }
 
   /**
    * Updates a saved recording file with the contents of the given recording. Note: the recording should <i>not</i>
    * contain any data that has already been saved to disk, or it will be saved again.
    *
+   * <p>New data is appended to the end of the file. The existing file has to be scanned to find its constant pool, so
+   * callers that update the same file repeatedly should keep a {@link RecordingWriter} open instead.
+   *
    * @param recording the recording to update the save file with
    * @param file      the path to the save file to update
    *
    * @throws IOException if the save file could not be updated
    */
-  @SuppressWarnings("PMD.ExcessiveMethodLength")
   public static void updateRecordingSave(Recording recording, Path file) throws IOException {
     if (Files.notExists(file) || Files.size(file) == 0) {
       saveRecording(recording, file);
       return;
     }
-    // Use a copy to avoid synchronization issues
-    var snapshot = recording.takeSnapshotAndClear();
-    final var dataCopy = snapshot.getData();
-    final var markers = snapshot.getMarkers();
-    if (dataCopy.isEmpty() && markers.isEmpty()) {
-      // No new data
-      return;
-    }
     Serializers.getAdapters().forEach(a -> a.setCurrentFile(file.toFile()));
-    // Use a RandomAccessFile to avoid having to read its entire contents into memory
-    try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
-      int magic = raf.readInt();
-      if (magic != MAGIC_NUMBER) {
-        throw new IOException(
-            String.format("Wrong magic number in the header. Expected 0x%08X, but was 0x%08X", MAGIC_NUMBER, magic));
-      }
-
-      // Update the number of data points
-      raf.seek(Offsets.NUMBER_DATA_POINTS_OFFSET);
-      int numExistingDataPoints = raf.readInt();
-      int totalDataPoints = numExistingDataPoints + dataCopy.size();
-      raf.seek(Offsets.NUMBER_DATA_POINTS_OFFSET);
-      raf.writeInt(totalDataPoints); // Update the number of data points
-
-      // Get the location of the markers in the file
-      raf.seek(Offsets.MARKER_POSITION_OFFSET);
-      final int markerPosition = raf.readInt();
-      raf.seek(Offsets.DATA_POSITION_OFFSET);
-      final int dataPosition = raf.readInt();
-
-      // Update the constant pool
-      raf.seek(Offsets.CONSTANT_POOL_HEADER_OFFSET);
-      int constantPoolSize = raf.readInt();
-      byte[] buffer = new byte[256];
-      final List<String> constantPoolEntries = new ArrayList<>(constantPoolSize);
-      int constantPoolLength = 0;
-      int pos = Offsets.CONSTANT_POOL_HEADER_OFFSET + SIZE_OF_INT;
-      for (int i = 0; i < constantPoolSize; i++) {
-        raf.seek(pos);
-        final int sourceIdLength = raf.readInt();
-        pos += SIZE_OF_INT;
-        constantPoolLength += SIZE_OF_INT;
-        raf.seek(pos);
-        final int len = raf.read(buffer, 0, sourceIdLength);
-        String constantPoolEntry = new String(Arrays.copyOfRange(buffer, 0, len), StandardCharsets.UTF_8);
-        pos += len;
-        constantPoolLength += len;
-        constantPoolEntries.add(constantPoolEntry);
-      }
-
-      Stream<String> sourceIdStream = dataCopy.stream()
-          .map(TimestampedData::getSourceId)
-          .distinct();
-      Stream<String> dataTypeStream = dataCopy.stream()
-          .map(t -> t.getDataType().getName())
-          .distinct();
-      Stream<String> constantPoolStream = Stream.concat(sourceIdStream, dataTypeStream);
-      byte[] newConstantPoolEntries =
-          constantPoolStream.filter(id -> !constantPoolEntries.contains(id))
-              .peek(constantPoolEntries::add)
-              .map(Serialization::toByteArray)
-              .reduce(new byte[0], Bytes::concat);
-      byte[] newMarkerEntries = markers.stream()
-          .map(marker -> {
-            byte[] timestamp = toByteArray(marker.getTimestamp());
-            byte[] name = toByteArray(marker.getName());
-            byte[] description = toByteArray(marker.getDescription());
-            byte[] importance = toByteArray((byte) marker.getImportance().getId());
-            return Bytes.concat(timestamp, name, description, importance);
-          })
-          .reduce(new byte[0], Bytes::concat);
-      byte[] newBodyEntries = dataCopy.stream()
-          .map(data -> {
-            final DataType type = data.getDataType();
-            final Object value = data.getData();
-
-            final byte[] timestamp = toByteArray(data.getTimestamp());
-            // use int16 instead of int32 -- 32,767 sources should be enough
-            final byte[] sourceIdIndex = toByteArray((short) constantPoolEntries.indexOf(data.getSourceId()));
-            final byte[] dataType = toByteArray((short) constantPoolEntries.indexOf(type.getName()));
-            final byte[] dataBytes = encode(value, type);
-
-            return Bytes.concat(timestamp, sourceIdIndex, dataType, dataBytes);
-          })
-          .reduce(new byte[0], Bytes::concat);
-
-      if (newConstantPoolEntries.length > 0) {
-        // Update the number of source IDs
-        int totalNumSourceIds = constantPoolEntries.size();
-        raf.seek(Offsets.CONSTANT_POOL_HEADER_OFFSET);
-        raf.writeInt(totalNumSourceIds);
-
-        // Update the constant pool
-        int constantPoolEnd = Offsets.CONSTANT_POOL_HEADER_OFFSET + SIZE_OF_INT + constantPoolLength;
-        insertDataIntoFile(file, constantPoolEnd, newConstantPoolEntries);
-        raf.seek(Offsets.MARKER_POSITION_OFFSET);
-        raf.writeInt(constantPoolEnd + newConstantPoolEntries.length);
-      }
-
-      if (newMarkerEntries.length > 0) {
-        // Update the number of markers
-        int markerStart = markerPosition + newConstantPoolEntries.length;
-        raf.seek(markerStart);
-        int currentSize = raf.readInt();
-        raf.seek(markerStart);
-        raf.writeInt(currentSize + markers.size());
-
-        // Add the new entries to the markers array
-        int markerEnd = dataPosition + newConstantPoolEntries.length;
-        insertDataIntoFile(file, markerEnd, newMarkerEntries);
-
-        // Update location of data
-        raf.seek(Offsets.DATA_POSITION_OFFSET);
-        int newDataPos = dataPosition + newMarkerEntries.length + newConstantPoolEntries.length;
-        raf.writeInt(newDataPos);
-      }
-      Files.write(file, newBodyEntries, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    try (RecordingWriter writer = RecordingWriter.append(file)) {
+      writer.write(recording);
     }
   }
 
   /**
-   * Inserts binary data into a file at a specific position.
+   * Saves a recording to the given file in the {@link #COMPRESSED_VERSION compressed} format. Any existing contents of
+   * the file are overwritten.
    *
-   * @param path the path to the file to insert into
-   * @param pos  the position in the file to insert the data at
-   * @param data the data to insert
+   * @param recording the recording to save
+   * @param file      the file to save to
    *
-   * @throws IOException if the file could not be modified
+   * @throws IOException if the recording could not be saved to the given file
    */
-  private static void insertDataIntoFile(Path path, long pos, byte[] data) throws IOException {
-    if (Files.notExists(path)) {
-      throw new NoSuchFileException("The file specified does not exist: " + path);
-    }
-    if (!Files.isRegularFile(path, LinkOption.NOFOLLOW_LINKS)) {
-      // Make sure it's a normal file (not a directory and not a symlink/shortcut to another file)
-      throw new IllegalArgumentException("Cannot insert into " + path);
-    }
-    Objects.requireNonNull(data, "Data cannot be null");
-    if (data.length == 0) {
-      // Nothing to insert, do nothing
-      return;
-    }
-    Path fileName = path.getFileName();
-    if (fileName == null) {
-      // Shouldn't be possible
-      throw new AssertionError("File name is null - this should have been checked earlier");
-    }
-    File tmpFile = new File(path.toString().replace(fileName.toString(), "." + fileName));
-    try (var file = new RandomAccessFile(path.toFile(), "rw");
-         var tmp = new RandomAccessFile(tmpFile, "rw");
-         var src = file.getChannel();
-         var dst = tmp.getChannel()) {
-      final long fileSize = file.length();
-      final long count = fileSize - pos;
-      src.transferTo(pos, count, dst);
-      src.truncate(pos);
-      file.seek(pos);
-      file.write(data);
-      long newOffset = file.getFilePointer();
-      dst.position(0);
-      src.transferFrom(dst, newOffset, count);
-    } finally {
-      boolean deleted = tmpFile.delete();
-      if (!deleted) {
-        log.fine(() -> "Could not delete temp file");
-      }
+  public static void saveCompressedRecording(Recording recording, Path file) throws IOException {
+    // The writer sets the current file of each adapter only while the adapter is writing to the file, since the
+    // recording may still be decoding its data with the adapters' current files
+    CompressedRecordingWriter.write(recording, file);
+  }
+
+  /**
+   * Converts a recording file in any supported format to the {@link #COMPRESSED_VERSION compressed} format.
+   *
+   * @param source      the recording file to convert
+   * @param destination the file to save the compressed recording to. This must not be the same as {@code source}
+   *
+   * @throws IOException if the source file could not be read, or if the destination file could not be written
+   */
+  public static void compressRecording(Path source, Path destination) throws IOException {
+    if (Files.exists(destination) && Files.isSameFile(source, destination)) {
+      throw new IOException("Cannot compress a recording into its own file: " + source);
     }
+    saveCompressedRecording(openRecording(source), destination);
   }
 
   public static <T> byte[] encode(T value) {
@@ -400,7 +237,8 @@ public final class Serialization {
   }
 
   /**
-   * Loads the recording stored in the given file.
+   * Loads the recording stored in the given file. Files in the current format, the older
+   * {@link #LEGACY_VERSION legacy} format, and the {@link #COMPRESSED_VERSION compressed} format can be loaded.
    *
    * @param file the recording file to load
    *
@@ -417,11 +255,124 @@ public final class Serialization {
           String.format("Wrong magic number in the header. Expected 0x%08X, but was 0x%08X", MAGIC_NUMBER, magic));
     }
     final int version = readInt(bytes, Offsets.VERSION_NUMBER_OFFSET);
+    Serializers.getAdapters().forEach(a -> a.setCurrentFile(file.toFile()));
+    switch (version) {
+      case VERSION:
+        return loadStreamingRecording(bytes);
+      case LEGACY_VERSION:
+        return loadLegacyRecording(bytes);
+      case COMPRESSED_VERSION:
+        return CompressedRecordingReader.read(ByteBuffer.wrap(bytes));
+      default:
+        throw new IOException(
+            "Cannot load recording with format version " + version + ". The current format version is " + VERSION);
+    }
+  }
+
+  /**
+   * Opens the recording stored in the given file for playback. Recordings in the current format are
+   * {@link MappedRecording memory-mapped} and their data is only decoded as it is accessed; recordings in the
+   * {@link #LEGACY_VERSION legacy} format have no record boundaries to index, so they are loaded entirely into memory,
+   * as are {@link #COMPRESSED_VERSION compressed} recordings.
+   *
+   * @param file the recording file to open
+   *
+   * @throws IOException if the file could not be read, or if it is in an unexpected binary format
+   */
+  public static Recording openRecording(Path file) throws IOException {
+    final int version;
+    try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+      in.skipBytes(SIZE_OF_INT);
+      version = in.readInt();
+    } catch (EOFException e) {
+      throw new IOException("Recording file too small", e);
+    }
     if (version != VERSION) {
-      throw new IOException(
-          "Cannot load recording with format version " + version + ". The current format version is " + VERSION);
+      return loadRecording(file);
     }
     Serializers.getAdapters().forEach(a -> a.setCurrentFile(file.toFile()));
+    return MappedRecording.open(file);
+  }
+
+  /**
+   * Loads a recording saved in the streaming format written by {@link RecordingWriter}.
+   */
+  private static Recording loadStreamingRecording(byte[] bytes) throws IOException {
+    final List<String> constantPool = new ArrayList<>();
+    final List<TimestampedData> data = new ArrayList<>();
+    final Recording recording = new Recording();
+    int cursor = RecordingWriter.FILE_HEADER_SIZE;
+    while (cursor + RecordingWriter.RECORD_HEADER_SIZE <= bytes.length) {
+      final byte tag = bytes[cursor];
+      final int length = readInt(bytes, cursor + SIZE_OF_BYTE);
+      cursor += RecordingWriter.RECORD_HEADER_SIZE;
+      if (cursor + length > bytes.length) {
+        log.warning("Ignoring partially written record at the end of the recording file");
+        break;
+      }
+      switch (tag) {
+        case RecordingWriter.CONSTANT_RECORD:
+          constantPool.add(readString(bytes, cursor));
+          break;
+        case RecordingWriter.MARKER_RECORD:
+          recording.addMarker(readMarker(bytes, cursor));
+          break;
+        case RecordingWriter.DATA_RECORD:
+          data.add(readData(bytes, cursor, constantPool));
+          break;
+        default:
+          // Unknown record type, possibly written by a newer version. Skip it
+          log.fine("Skipping unknown record type " + tag);
+          break;
+      }
+      cursor += length;
+    }
+    // Each write is sorted, but sources that supply their own timestamps can report a change late enough for it to
+    // land in a later write than data that was recorded after it
+    if (!Ordering.natural().isOrdered(data)) {
+      data.sort(null);
+    }
+    data.forEach(recording::append);
+    return recording;
+  }
+
+  /**
+   * Reads a marker record payload from the given byte array.
+   */
+  @SuppressWarnings("PMD.DefaultPackage")
+  static Marker readMarker(byte[] bytes, int pos) {
+    int cursor = pos;
+    final long timestamp = readLong(bytes, cursor);
+    cursor += SIZE_OF_LONG;
+    final String name = readString(bytes, cursor);
+    cursor += SIZE_OF_INT + readInt(bytes, cursor);
+    final String description = readString(bytes, cursor);
+    cursor += SIZE_OF_INT + readInt(bytes, cursor);
+    final int importanceId = bytes[cursor];
+    return new Marker(name, description, MarkerImportance.forId(importanceId), timestamp);
+  }
+
+  private static TimestampedData readData(byte[] bytes, int pos, List<String> constantPool) throws IOException {
+    int cursor = pos;
+    final long timestamp = readLong(bytes, cursor);
+    cursor += SIZE_OF_LONG;
+    final String sourceId = constantPool.get(readShort(bytes, cursor));
+    cursor += SIZE_OF_SHORT;
+    final String dataTypeName = constantPool.get(readShort(bytes, cursor));
+    cursor += SIZE_OF_SHORT;
+    final Optional<DataType> type = DataTypes.getDefault().forName(dataTypeName);
+    if (type.isEmpty() || !Serializers.hasSerializer(type.get())) {
+      throw new IOException("No serializer for data type '" + dataTypeName + "'");
+    }
+    final Object value = Serializers.get(type.get()).deserialize(bytes, cursor);
+    return new TimestampedData(sourceId, type.get(), value, timestamp);
+  }
+
+  /**
+   * Loads a recording saved in the legacy format, where the constant pool and markers are stored in fixed sections
+   * at the start of the file.
+   */
+  private static Recording loadLegacyRecording(byte[] bytes) throws IOException {
     //final int numDataPoints = readInt(bytes, Offsets.NUMBER_DATA_POINTS_OFFSET);
     final String[] constantPool = readStringArray(bytes, Offsets.CONSTANT_POOL_HEADER_OFFSET);
 
@@ -477,26 +428,100 @@ public final class Serialization {
   public static int sizeOfStringArray(String[] array) { // NOPMD varargs
     int size = SIZE_OF_INT;
     for (String s : array) {
-      size += toByteArray(s).length; // maintains UTF-8 encoding of multi-byte chars
+      size += sizeOfString(s);
     }
     return size;
   }
 
   /**
-   * Generates a header for a serialized recording. The header contains:
+   * Gets the size of a string if it were encoded as a byte array with {@link #toByteArray(String)}. The string is not
+   * actually encoded.
+   */
+  @SuppressWarnings("PMD.AvoidReassigningLoopVariables")
+  public static int sizeOfString(String string) {
+    final int length = string.length();
+    int size = SIZE_OF_INT + length;
+    for (int i = 0; i < length; i++) {
+      final char c = string.charAt(i);
+      if (c < 0x80) {
+        continue;
+      }
+      if (c < 0x800) {
+        size += 1;
+      } else if (isSurrogatePair(string, i)) {
+        // Two chars, four bytes
+        size += 2;
+        i++;
+      } else if (!Character.isSurrogate(c)) {
+        size += 2;
+      }
+      // Unpaired surrogates are encoded as a single '?'
+    }
+    return size;
+  }
+
+  /**
+   * Encodes a string into a byte buffer in the same format as {@link #toByteArray(String)}, starting at the buffer's
+   * current position. The buffer must have at least {@link #sizeOfString(String) sizeOfString(string)} bytes
+   * remaining.
+   *
+   * @param buffer the buffer to write to
+   * @param string the string to encode
+   */
+  @SuppressWarnings("PMD.AvoidReassigningLoopVariables")
+  public static void putString(ByteBuffer buffer, String string) {
+    final int lengthPosition = buffer.position();
+    buffer.position(lengthPosition + SIZE_OF_INT);
+    final int length = string.length();
+    for (int i = 0; i < length; i++) {
+      final char c = string.charAt(i);
+      if (c < 0x80) {
+        buffer.put((byte) c);
+      } else if (c < 0x800) {
+        buffer.put((byte) (0xC0 | (c >> 6)));
+        buffer.put((byte) (0x80 | (c & 0x3F)));
+      } else if (isSurrogatePair(string, i)) {
+        final int codePoint = Character.toCodePoint(c, string.charAt(++i));
+        buffer.put((byte) (0xF0 | (codePoint >> 18)));
+        buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+        buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+        buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+      } else if (Character.isSurrogate(c)) {
+        // Same replacement as String.getBytes()
+        buffer.put((byte) '?');
+      } else {
+        buffer.put((byte) (0xE0 | (c >> 12)));
+        buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+        buffer.put((byte) (0x80 | (c & 0x3F)));
+      }
+    }
+    buffer.putInt(lengthPosition, buffer.position() - lengthPosition - SIZE_OF_INT);
+  }
+
+  private static boolean isSurrogatePair(String string, int index) {
+    return Character.isHighSurrogate(string.charAt(index))
+        && index + 1 < string.length()
+        && Character.isLowSurrogate(string.charAt(index + 1));
+  }
+
+  /**
+   * Generates a header for a serialized recording in the {@link #LEGACY_VERSION legacy} format. The header contains:
    * <ul>
    * <li>The {@link #MAGIC_NUMBER magic number}, to help confirm data integrity</li>
-   * <li>The {@link #VERSION version number}, to avoid attempting to load incompatible recording files</li>
+   * <li>The {@link #LEGACY_VERSION version number}, to avoid attempting to load incompatible recording files</li>
    * <li>The number of data points (signed 32-bit int)</li>
    * <li>The names of all the recorded sources, used for caching</li>
    * </ul>
+   *
+   * @deprecated recordings are no longer written in the legacy format; use {@link RecordingWriter} to write recordings
    */
+  @Deprecated
   public static byte[] header(List<TimestampedData> data) {
     List<String> strings = generateConstantPool(data);
     byte[] constantPool = toByteArray(strings.toArray(new String[strings.size()]));
     byte[] header = new byte[(SIZE_OF_INT * 5) + constantPool.length];
     put(header, toByteArray(MAGIC_NUMBER), Offsets.MAGIC_NUMBER_OFFSET);
-    put(header, toByteArray(VERSION), Offsets.VERSION_NUMBER_OFFSET);
+    put(header, toByteArray(LEGACY_VERSION), Offsets.VERSION_NUMBER_OFFSET);
     put(header, toByteArray(data.size()), Offsets.NUMBER_DATA_POINTS_OFFSET);
     put(header, constantPool, Offsets.CONSTANT_POOL_HEADER_OFFSET);
     return header;
@@ -740,6 +765,33 @@ public final class Serialization {
     return Serializers.get(StringType.Instance).deserialize(array, pos);
   }
 
+  /**
+   * Reads a string from a byte buffer, starting at the buffer's current position. The position is advanced past the
+   * encoded string.
+   *
+   * @param buffer the buffer to read from
+   *
+   * @throws IllegalArgumentException if the buffer does not contain the entire string
+   */
+  public static String readString(ByteBuffer buffer) {
+    final int length = buffer.getInt();
+    if (buffer.remaining() < length) {
+      throw new IllegalArgumentException(String.format(
+          "Not enough bytes to read from. String length = %d, starting position = %d, buffer length = %d",
+          length, buffer.position(), buffer.limit()));
+    }
+    final String string;
+    if (buffer.hasArray()) {
+      string = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+      buffer.position(buffer.position() + length);
+    } else {
+      final byte[] bytes = new byte[length];
+      buffer.get(bytes);
+      string = new String(bytes, StandardCharsets.UTF_8);
+    }
+    return string;
+  }
+
   /**
    * Reads a string array from the given byte array, starting at the given position.
    *
@@ -0,0 +1,32 @@
+package edu.wpi.first.shuffleboard.api.sources.recording.serialization;
+
+import edu.wpi.first.shuffleboard.api.data.DataTypes;
+import edu.wpi.first.shuffleboard.api.sources.recording.Serialization;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Serializes booleans as single bytes.
+ */
+public class BooleanAdapter extends ByteBufferAdapter<Boolean> {
+
+  public BooleanAdapter() {
+    super(DataTypes.Boolean);
+  }
+
+  @Override
+  public void serializeInto(Boolean data, ByteBuffer out) {
+    out.put((byte) (data ? 1 : 0));
+  }
+
+  @Override
+  public Boolean deserialize(ByteBuffer buffer) {
+    return buffer.get() != 0;
+  }
+
+  @Override
+  public int getSerializedSize(Boolean value) {
+    return Serialization.SIZE_OF_BOOL;
+  }
+
+}
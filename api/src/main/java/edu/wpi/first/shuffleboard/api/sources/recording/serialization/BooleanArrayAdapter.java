@@ -3,40 +3,28 @@ package edu.wpi.first.shuffleboard.api.sources.recording.serialization;
 import edu.wpi.first.shuffleboard.api.data.DataTypes;
 import edu.wpi.first.shuffleboard.api.sources.recording.Serialization;
 
-public class BooleanArrayAdapter extends TypeAdapter<boolean[]> {
+import java.nio.ByteBuffer;
+
+public class BooleanArrayAdapter extends ByteBufferAdapter<boolean[]> {
 
   public BooleanArrayAdapter() {
     super(DataTypes.BooleanArray);
   }
 
   @Override
-  public byte[] serialize(boolean[] array) {
-    final byte[] buf = new byte[getSerializedSize(array)];
-    if (array.length == 0) {
-      return buf;
-    }
-    int pos = 0;
-    Serialization.put(buf, Serialization.toByteArray(array.length), pos);
-    pos += Serialization.SIZE_OF_INT;
-
+  public void serializeInto(boolean[] array, ByteBuffer out) {
+    out.putInt(array.length);
     for (boolean val : array) {
-      byte[] arr = Serialization.toByteArray(val);
-      Serialization.put(buf, arr, pos);
-      pos += Serialization.SIZE_OF_BOOL;
+      out.put((byte) (val ? 1 : 0));
     }
-    return buf;
   }
 
   @Override
-  public boolean[] deserialize(byte[] array, int pos) {
-    int cursor = pos;
-    int length = Serialization.readInt(array, cursor);
-    cursor += Serialization.SIZE_OF_INT;
+  public boolean[] deserialize(ByteBuffer buffer) {
+    int length = buffer.getInt();
     boolean[] booleanArray = new boolean[length];
     for (int i = 0; i < length; i++) {
-      boolean bool = Serialization.readBoolean(array, cursor);
-      booleanArray[i] = bool;
-      cursor += Serialization.SIZE_OF_BOOL;
+      booleanArray[i] = buffer.get() != 0;
     }
     return booleanArray;
   }
@@ -1,27 +1,29 @@
 package edu.wpi.first.shuffleboard.api.sources.recording.serialization;
 
 import edu.wpi.first.shuffleboard.api.data.DataTypes;
-import edu.wpi.first.shuffleboard.api.sources.recording.Serialization;
 
-import com.google.common.primitives.Bytes;
+import java.nio.ByteBuffer;
 
 import static edu.wpi.first.shuffleboard.api.sources.recording.Serialization.SIZE_OF_INT;
 
-public class ByteArrayAdapter extends TypeAdapter<byte[]> {
+public class ByteArrayAdapter extends ByteBufferAdapter<byte[]> {
 
   public ByteArrayAdapter() {
     super(DataTypes.ByteArray);
   }
 
   @Override
-  public byte[] serialize(byte[] data) {
-    return Bytes.concat(Serialization.toByteArray(data.length), data);
+  public void serializeInto(byte[] data, ByteBuffer out) {
+    out.putInt(data.length);
+    out.put(data);
   }
 
   @Override
-  public byte[] deserialize(byte[] buffer, int bufferPosition) {
-    int length = Serialization.readInt(buffer, bufferPosition);
-    return Serialization.subArray(buffer, bufferPosition + SIZE_OF_INT, bufferPosition + SIZE_OF_INT + length);
+  public byte[] deserialize(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return bytes;
   }
 
   @Override
@@ -0,0 +1,47 @@
+package edu.wpi.first.shuffleboard.api.sources.recording.serialization;
+
+import edu.wpi.first.shuffleboard.api.data.DataType;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A type adapter that reads and writes data directly from and to byte buffers. Recordings are written and read with
+ * {@link #serializeInto(Object, ByteBuffer)} and {@link #deserialize(ByteBuffer)}, so no intermediate arrays are
+ * created for each data point. The array-based {@link #serialize(Object)} and {@link #deserialize(byte[], int)} methods
+ * are implemented in terms of the buffer-based methods.
+ *
+ * <p>Implementations must report the exact number of bytes written by {@code serializeInto} from
+ * {@link #getSerializedSize(Object)}.
+ *
+ * @param <T> the type of data that be serialized and deserialized
+ */
+public abstract class ByteBufferAdapter<T> extends TypeAdapter<T> {
+
+  /**
+   * Creates a new adapter for the given data type.
+   *
+   * @param dataType the type of the data that can be serialized and deserialized
+   */
+  protected ByteBufferAdapter(DataType<T> dataType) {
+    super(dataType);
+  }
+
+  @Override
+  public abstract void serializeInto(T data, ByteBuffer out);
+
+  @Override
+  public abstract T deserialize(ByteBuffer buffer);
+
+  @Override
+  public final byte[] serialize(T data) {
+    ByteBuffer buffer = ByteBuffer.allocate(getSerializedSize(data));
+    serializeInto(data, buffer);
+    return buffer.array();
+  }
+
+  @Override
+  public final T deserialize(byte[] buffer, int bufferPosition) {
+    return deserialize(ByteBuffer.wrap(buffer, bufferPosition, buffer.length - bufferPosition));
+  }
+
+}
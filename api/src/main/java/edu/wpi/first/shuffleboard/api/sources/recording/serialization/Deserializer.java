@@ -2,6 +2,8 @@ package edu.wpi.first.shuffleboard.api.sources.recording.serialization;
 
 import edu.wpi.first.shuffleboard.api.data.DataType;
 
+import java.nio.ByteBuffer;
+
 /**
  * An interface for functions that can convert raw byte arrays of {@link Serializer serialized} data back to objects.
  *
@@ -22,6 +24,29 @@ public interface Deserializer<T> {
    */
   T deserialize(byte[] buffer, int bufferPosition);
 
+  /**
+   * Deserializes data from a byte buffer, beginning at the buffer's current position. The position is advanced past
+   * the bytes that were read.
+   *
+   * <p>The default implementation reads from the buffer's backing array when it has one, and from a copy of its
+   * remaining bytes when it does not, then advances the position by the {@link #getSerializedSize serialized size}
+   * of the result. Implementations should override this to read directly from the buffer.
+   *
+   * @param buffer the buffer to deserialize from
+   */
+  default T deserialize(ByteBuffer buffer) {
+    final T value;
+    if (buffer.hasArray()) {
+      value = deserialize(buffer.array(), buffer.arrayOffset() + buffer.position());
+    } else {
+      final byte[] bytes = new byte[buffer.remaining()];
+      buffer.get(buffer.position(), bytes);
+      value = deserialize(bytes, 0);
+    }
+    buffer.position(buffer.position() + getSerializedSize(value));
+    return value;
+  }
+
   /**
    * Gets the size of a byte array that would encode the given value.
    */
@@ -0,0 +1,32 @@
+package edu.wpi.first.shuffleboard.api.sources.recording.serialization;
+
+import edu.wpi.first.shuffleboard.api.data.DataTypes;
+import edu.wpi.first.shuffleboard.api.sources.recording.Serialization;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Serializes numbers as 8-byte double-precision values.
+ */
+public class NumberAdapter extends ByteBufferAdapter<Number> {
+
+  public NumberAdapter() {
+    super(DataTypes.Number);
+  }
+
+  @Override
+  public void serializeInto(Number data, ByteBuffer out) {
+    out.putDouble(data.doubleValue());
+  }
+
+  @Override
+  public Number deserialize(ByteBuffer buffer) {
+    return buffer.getDouble();
+  }
+
+  @Override
+  public int getSerializedSize(Number value) {
+    return Serialization.SIZE_OF_DOUBLE;
+  }
+
+}
@@ -2,6 +2,8 @@ package edu.wpi.first.shuffleboard.api.sources.recording.serialization;
 
 import edu.wpi.first.shuffleboard.api.data.DataType;
 
+import java.nio.ByteBuffer;
+
 /**
  * An interface for functions that can convert data of type {@code T} to a raw byte array. This byte array should be
  * able to be read by a {@link Deserializer} to reconstruct the serialized object.
@@ -22,6 +24,21 @@ public interface Serializer<T> {
    */
   byte[] serialize(T data);
 
+  /**
+   * Serializes the given data into a byte buffer, starting at the buffer's current position. The position is advanced
+   * past the written bytes. The buffer must have at least {@link Deserializer#getSerializedSize(Object) as many bytes
+   * remaining} as are needed to encode the data.
+   *
+   * <p>The default implementation copies the result of {@link #serialize(Object)} into the buffer. Implementations
+   * should override this to write directly into the buffer without creating intermediate arrays.
+   *
+   * @param data the object to serialize
+   * @param out  the buffer to write to
+   */
+  default void serializeInto(T data, ByteBuffer out) {
+    out.put(serialize(data));
+  }
+
   /**
    * If this serializer uses external recording files other than the primary Shuffleboard recording file (such as
    * video files for camera streams), this will save those files.
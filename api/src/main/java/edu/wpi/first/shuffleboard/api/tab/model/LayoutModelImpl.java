@@ -42,6 +42,12 @@ final class LayoutModelImpl extends ComponentModelImpl implements LayoutModel {
     children.put(component.getPath(), component);
   }
 
+  @Override
+  public void removeChild(String path) {
+    children.remove(path);
+    layouts.remove(path);
+  }
+
   @Override
   public Map<String, ComponentModel> getChildren() {
     return children;
@@ -27,6 +27,13 @@ public interface ParentModel {
    */
   void addChild(ComponentModel component);
 
+  /**
+   * Removes a direct child from this parent. Does nothing if the component is not a direct child.
+   *
+   * @param path the full path to the child to remove
+   */
+  void removeChild(String path);
+
   /**
    * Gets the child in this parent with the given path.
    *
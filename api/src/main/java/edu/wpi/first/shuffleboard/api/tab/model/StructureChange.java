@@ -0,0 +1,98 @@
+package edu.wpi.first.shuffleboard.api.tab.model;
+
+/**
+ * Describes what part of a {@link TabStructure} changed. A change may affect the entire structure, a single tab and
+ * everything in it, a single component in a tab, or only the selected tab.
+ */
+public final class StructureChange {
+
+  private static final StructureChange ALL = new StructureChange(null, null, false);
+  private static final StructureChange SELECTION = new StructureChange(null, null, true);
+
+  private final TabModel tab;
+  private final ComponentModel component;
+  private final boolean selection;
+
+  private StructureChange(TabModel tab, ComponentModel component, boolean selection) {
+    this.tab = tab;
+    this.component = component;
+    this.selection = selection;
+  }
+
+  /**
+   * Creates a change that affects the entire structure.
+   */
+  public static StructureChange all() {
+    return ALL;
+  }
+
+  /**
+   * Creates a change that affects only the selected tab.
+   */
+  public static StructureChange selection() {
+    return SELECTION;
+  }
+
+  /**
+   * Creates a change that affects a tab, its properties, and possibly all of its children.
+   *
+   * @param tab the tab that changed
+   */
+  public static StructureChange tab(TabModel tab) {
+    return new StructureChange(tab, null, false);
+  }
+
+  /**
+   * Creates a change that affects a single component. The component may be new, or may have had its properties, size,
+   * or position changed.
+   *
+   * @param tab       the tab containing the component
+   * @param component the component that changed
+   */
+  public static StructureChange component(TabModel tab, ComponentModel component) {
+    return new StructureChange(tab, component, false);
+  }
+
+  /**
+   * Checks if this change affects the entire structure.
+   */
+  public boolean isFullChange() {
+    return tab == null && !selection;
+  }
+
+  /**
+   * Checks if this change only affects the selected tab.
+   */
+  public boolean isSelectionChange() {
+    return selection;
+  }
+
+  /**
+   * Gets the tab affected by this change, or {@code null} if this change affects the entire structure or only the
+   * selected tab.
+   */
+  public TabModel getTab() {
+    return tab;
+  }
+
+  /**
+   * Gets the single component affected by this change, or {@code null} if this change affects more than one component.
+   */
+  public ComponentModel getComponent() {
+    return component;
+  }
+
+  @Override
+  public String toString() {
+    if (isFullChange()) {
+      return "StructureChange(all)";
+    } else if (selection) {
+      return "StructureChange(selection)";
+    } else if (component == null) {
+      return "StructureChange(tab=" + tab.getTitle() + ")";
+    } else {
+      return "StructureChange(tab=" + tab.getTitle() + ", component=" + component.getPath() + ")";
+    }
+  }
+
+}
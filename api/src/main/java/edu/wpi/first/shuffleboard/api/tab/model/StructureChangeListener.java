@@ -5,4 +5,19 @@ public interface StructureChangeListener {
 
   void structureChanged(TabStructure structure);
 
+  /**
+   * Called when part of a tab structure changes. Listeners that only need to update the parts of the structure that
+   * actually changed should override this method; by default, this delegates to {@link #structureChanged(TabStructure)}
+   * and treats every change as a change to the entire structure.
+   *
+   * <p>This is called on the thread that changed the structure, once for every change. Listeners that do expensive
+   * work in response should coalesce changes instead of handling each one as it arrives.
+   *
+   * @param structure the structure that changed
+   * @param change    the part of the structure that changed
+   */
+  default void structureChanged(TabStructure structure, StructureChange change) {
+    structureChanged(structure);
+  }
+
 }
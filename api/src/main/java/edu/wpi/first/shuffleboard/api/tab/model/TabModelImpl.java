@@ -56,6 +56,12 @@ final class TabModelImpl implements TabModel {
     children.put(component.getPath(), component);
   }
 
+  @Override
+  public void removeChild(String path) {
+    children.remove(path);
+    layouts.remove(path);
+  }
+
   @Override
   public Map<String, ComponentModel> getChildren() {
     return children;
@@ -27,7 +27,7 @@ public final class TabStructure {
     if (!tabs.containsKey(title)) {
       TabModel tab = new TabModelImpl(title);
       tabs.put(title, tab);
-      dirty();
+      dirty(tab);
     }
     return tabs.get(title);
   }
@@ -48,7 +48,7 @@ public final class TabStructure {
     if (selectedTabIndex != tabIndex) {
       selectedTabIndex = tabIndex;
       selectedTabTitle = null;
-      dirty();
+      fireChange(StructureChange.selection());
     }
   }
 
@@ -60,7 +60,7 @@ public final class TabStructure {
   public void setSelectedTab(String title) {
     selectedTabTitle = title;
     selectedTabIndex = -1;
-    dirty();
+    fireChange(StructureChange.selection());
   }
 
   /**
@@ -108,12 +108,47 @@ public final class TabStructure {
   }
 
   /**
-   * Marks the structure as having changed. This will fire all registered structure change listeners.
+   * Marks the structure as having changed. This will fire all registered structure change listeners. Prefer
+   * {@link #dirty(TabModel)} or {@link #dirty(ComponentModel)} when only part of the structure changed, so listeners do
+   * not have to update the entire structure.
    */
   public void dirty() {
+    fireChange(StructureChange.all());
+  }
+
+  /**
+   * Marks a tab as having changed. This should be used when the properties of the tab change, or when its children
+   * may have changed in ways that are not specific to a single component.
+   *
+   * @param tab the tab that changed
+   */
+  public void dirty(TabModel tab) {
+    fireChange(StructureChange.tab(tab));
+  }
+
+  /**
+   * Marks a single component as having changed. This should be used when a component is added, or when its
+   * properties, size, or position change.
+   *
+   * @param component the component that changed
+   *
+   * @throws IllegalArgumentException if the component is not in a tab
+   */
+  public void dirty(ComponentModel component) {
+    ParentModel parent = component.getParent();
+    while (parent instanceof ComponentModel) {
+      parent = ((ComponentModel) parent).getParent();
+    }
+    if (!(parent instanceof TabModel)) {
+      throw new IllegalArgumentException("Component is not in a tab: " + component.getPath());
+    }
+    fireChange(StructureChange.component((TabModel) parent, component));
+  }
+
+  private void fireChange(StructureChange change) {
     synchronized (structureChangeListeners) {
       for (StructureChangeListener listener : structureChangeListeners) {
-        listener.structureChanged(this);
+        listener.structureChanged(this, change);
       }
     }
   }
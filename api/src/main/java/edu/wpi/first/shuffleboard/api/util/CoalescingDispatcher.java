@@ -0,0 +1,149 @@
+package edu.wpi.first.shuffleboard.api.util;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Dispatches updates from background threads to a single consumer thread (normally the JavaFX application thread),
+ * where only the most recent update for each key is run. This is intended for sources of rapidly changing data, where
+ * only the latest value matters: instead of queueing one task per change, each key is marked as dirty and all dirty
+ * keys are drained in a single batch. At most one drain task is pending at any time, so a burst of updates costs one
+ * scheduled task instead of one per update.
+ *
+ * <p>Updates for different keys are run in the order the keys first became dirty. An update replaces any update for
+ * the same key that has not yet been run.
+ */
+public final class CoalescingDispatcher {
+
+  private static final Logger log = Logger.getLogger(CoalescingDispatcher.class.getName());
+
+  private static final CoalescingDispatcher defaultInstance = new CoalescingDispatcher(AsyncUtils::runAsync);
+
+  private final Consumer<Runnable> scheduler;
+  private final ConcurrentHashMap<Object, Runnable> pending = new ConcurrentHashMap<>();
+  private final Queue<Object> dirtyKeys = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger queueDepth = new AtomicInteger();
+  private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+
+  private final LongAdder submitted = new LongAdder();
+  private final LongAdder coalesced = new LongAdder();
+  private final LongAdder dispatched = new LongAdder();
+  private final LongAdder batches = new LongAdder();
+
+  /**
+   * Creates a new dispatcher.
+   *
+   * @param scheduler the function to use to schedule a batch to run on the consumer thread
+   */
+  public CoalescingDispatcher(Consumer<Runnable> scheduler) {
+    this.scheduler = Objects.requireNonNull(scheduler, "scheduler");
+  }
+
+  /**
+   * Gets the default dispatcher, which runs updates on the JavaFX application thread via
+   * {@link AsyncUtils#runAsync(Runnable)}.
+   */
+  public static CoalescingDispatcher getDefault() {
+    return defaultInstance;
+  }
+
+  /**
+   * Submits an update to be run on the consumer thread. If an update for the same key is still pending, it is
+   * replaced and will never be run. This method is thread-safe and does not block.
+   *
+   * @param key    the key to coalesce updates by. Keys are compared with {@code equals()}
+   * @param update the update to run
+   */
+  public void submit(Object key, Runnable update) {
+    Objects.requireNonNull(key, "key");
+    Objects.requireNonNull(update, "update");
+    submitted.increment();
+    if (pending.put(key, update) == null) {
+      queueDepth.incrementAndGet();
+      dirtyKeys.add(key);
+    } else {
+      coalesced.increment();
+    }
+    if (drainScheduled.compareAndSet(false, true)) {
+      try {
+        scheduler.accept(this::drain);
+      } catch (RuntimeException e) {
+        // Let the next update try to schedule a batch again
+        drainScheduled.set(false);
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Runs the latest update for every dirty key. Keys that become dirty while this is running are left for the next
+   * batch so that a constant stream of updates cannot starve the consumer thread.
+   */
+  private void drain() {
+    // Clear the flag first so updates submitted from now on schedule another batch
+    drainScheduled.set(false);
+    batches.increment();
+    for (int remaining = queueDepth.get(); remaining > 0; remaining--) {
+      final Object key = dirtyKeys.poll();
+      if (key == null) {
+        break;
+      }
+      final Runnable update = pending.remove(key);
+      queueDepth.decrementAndGet();
+      if (update == null) {
+        continue;
+      }
+      dispatched.increment();
+      try {
+        update.run();
+      } catch (RuntimeException e) {
+        log.log(Level.WARNING, "Exception while running update for " + key, e);
+      }
+    }
+  }
+
+  /**
+   * Gets the number of keys with an update that has not yet been run.
+   */
+  public int getQueueDepth() {
+    return queueDepth.get();
+  }
+
+  /**
+   * Gets the total number of updates that have been submitted.
+   */
+  public long getSubmittedCount() {
+    return submitted.sum();
+  }
+
+  /**
+   * Gets the number of updates that were dropped because a newer update for the same key was submitted before they
+   * could run.
+   */
+  public long getCoalescedCount() {
+    return coalesced.sum();
+  }
+
+  /**
+   * Gets the number of updates that have been run.
+   */
+  public long getDispatchedCount() {
+    return dispatched.sum();
+  }
+
+  /**
+   * Gets the number of batches that have been run on the consumer thread.
+   */
+  public long getBatchCount() {
+    return batches.sum();
+  }
+
+}
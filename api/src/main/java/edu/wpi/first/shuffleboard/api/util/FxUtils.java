@@ -3,6 +3,9 @@ package edu.wpi.first.shuffleboard.api.util;
 import edu.wpi.first.shuffleboard.api.sources.DataSource;
 import edu.wpi.first.shuffleboard.api.widget.ParametrizedController;
 
+import org.fxmisc.easybind.EasyBind;
+import org.fxmisc.easybind.monadic.MonadicBinding;
+
 import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
@@ -20,9 +23,9 @@ import javafx.collections.ObservableList;
 import javafx.collections.ObservableMap;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.AccessibleAttribute;
 import javafx.scene.Node;
+import javafx.scene.Scene;
 import javafx.scene.control.Label;
 import javafx.scene.control.MenuItem;
 import javafx.scene.paint.Color;
@@ -222,7 +225,27 @@ public final class FxUtils {
     if (annotation == null) {
       throw new IllegalArgumentException("FXML controller class has no @ParametrizedController: " + controllerClass);
     }
-    return FXMLLoader.load(controllerClass.getResource(annotation.value()));
+    return FxmlCache.load(controllerClass, annotation.value()).getRoot();
+  }
+
+  /**
+   * Creates a binding that is {@code true} when a node is showing: that is, the node and all of its ancestors are
+   * visible, and the node is in a scene in a window that is showing. Unlike {@link Node#isVisible()}, this is
+   * {@code false} for nodes in an unselected tab, since tab panes hide the content of unselected tabs.
+   *
+   * <p>The returned binding must be strongly referenced for as long as it is used.
+   *
+   * @param node the node to check
+   */
+  public static MonadicBinding<Boolean> showing(Node node) {
+    MonadicBinding<Boolean> windowShowing = EasyBind.monadic(node.sceneProperty())
+        .flatMap(Scene::windowProperty)
+        .flatMap(Window::showingProperty)
+        .orElse(false);
+    MonadicBinding<Boolean> parentShowing = EasyBind.monadic(node.parentProperty())
+        .flatMap(FxUtils::showing);
+    return EasyBind.combine(node.visibleProperty(), windowShowing, parentShowing,
+        (visible, window, parent) -> visible && (parent == null ? window : parent));
   }
 
   /**
@@ -0,0 +1,189 @@
+package edu.wpi.first.shuffleboard.api.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javafx.fxml.FXMLLoader;
+import javafx.fxml.JavaFXBuilderFactory;
+import javafx.util.Builder;
+import javafx.util.BuilderFactory;
+
+/**
+ * Caches FXML documents so that components created from the same FXML file many times (for example, widgets when
+ * loading a large save file) do not have to look up and read the file each time it is loaded.
+ *
+ * <p>Documents are cached per owner class, and are released when the owner class is unloaded. Each call to
+ * {@link #load(Class, String)} still creates a new {@link FXMLLoader}, so every load produces a new, independent scene
+ * graph and controller. JavaFX nodes cannot be copied, and FXMLLoader has no way to reuse a parsed document, so the
+ * parts of a load that can be shared are cached instead: the document itself, and the builder factory that resolves
+ * how to construct each type of element in it. A new FXMLLoader creates its own builder factory, which has to look up
+ * every element type again by reflection (including a failed class lookup for a legacy builder class) the first time
+ * it sees it; sharing one factory per owner class means that only happens the first time a file is loaded.
+ */
+public final class FxmlCache {
+
+  private static final Logger log = Logger.getLogger(FxmlCache.class.getName());
+
+  private static final Pattern IMPORT_PATTERN = Pattern.compile("<\\?import\\s+([\\w.$]+)\\s*\\?>");
+  private static final Pattern CONTROLLER_PATTERN = Pattern.compile("fx:controller\\s*=\\s*\"([\\w.$]+)\"");
+
+  private static final ClassValue<Map<String, Template>> templates = new ClassValue<>() {
+    @Override
+    protected Map<String, Template> computeValue(Class<?> type) {
+      return new ConcurrentHashMap<>();
+    }
+  };
+
+  private static final ClassValue<BuilderFactory> builderFactories = new ClassValue<>() {
+    @Override
+    protected BuilderFactory computeValue(Class<?> type) {
+      return new SharedBuilderFactory(new JavaFXBuilderFactory(type.getClassLoader()));
+    }
+  };
+
+  private FxmlCache() {
+    throw new UnsupportedOperationException("This is a utility class");
+  }
+
+  /**
+   * Loads an FXML file. The file is only read the first time it is loaded with the same owner class.
+   *
+   * @param owner    the class to resolve the path to the FXML file against, and whose class loader should be used to
+   *                 load the classes used by the file
+   * @param resource the path to the FXML file, either absolute or relative to the owner class
+   *
+   * @return the FXML loader that loaded the file, from which the root node and controller can be retrieved
+   *
+   * @throws IOException if the file does not exist, could not be read, or could not be loaded
+   */
+  public static FXMLLoader load(Class<?> owner, String resource) throws IOException {
+    Template template = getTemplate(owner, resource);
+    FXMLLoader loader = new FXMLLoader(template.location, null, builderFactories.get(owner));
+    loader.setClassLoader(owner.getClassLoader());
+    try (InputStream inputStream = new ByteArrayInputStream(template.document)) {
+      loader.load(inputStream);
+    }
+    return loader;
+  }
+
+  /**
+   * Prepares an FXML file to be loaded, without loading it. This reads the file into the cache and loads, but does not
+   * initialize, the classes that it imports and its controller class. This may be called from any thread, and is
+   * intended to be called in the background at startup so the first time the file is loaded is not slowed down by
+   * reading files and loading classes.
+   *
+   * @param owner    the class to resolve the path to the FXML file against, and whose class loader should be used to
+   *                 load the classes used by the file
+   * @param resource the path to the FXML file, either absolute or relative to the owner class
+   */
+  public static void prewarm(Class<?> owner, String resource) {
+    final Template template;
+    try {
+      template = getTemplate(owner, resource);
+    } catch (IOException e) {
+      log.log(Level.WARNING, "Could not read FXML file " + resource + " for " + owner.getName(), e);
+      return;
+    }
+    for (String className : template.referencedClasses) {
+      try {
+        Class.forName(className, false, owner.getClassLoader());
+      } catch (ClassNotFoundException | LinkageError e) {
+        // Not fatal; the error will be reported when the file is actually loaded
+        log.log(Level.FINE, "Could not load class " + className + " used by " + template.location, e);
+      }
+    }
+  }
+
+  private static Template getTemplate(Class<?> owner, String resource) throws IOException {
+    try {
+      return templates.get(owner).computeIfAbsent(resource, r -> {
+        try {
+          return readTemplate(owner, r);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  private static Template readTemplate(Class<?> owner, String resource) throws IOException {
+    URL location = owner.getResource(resource);
+    if (location == null) {
+      throw new FileNotFoundException("No FXML file " + resource + " for " + owner.getName());
+    }
+    byte[] document;
+    try (InputStream inputStream = location.openStream()) {
+      document = inputStream.readAllBytes();
+    }
+    return new Template(location, document, findReferencedClasses(new String(document, StandardCharsets.UTF_8)));
+  }
+
+  /**
+   * Finds the fully qualified names of the classes imported by an FXML document, as well as its controller class.
+   * Wildcard imports are ignored.
+   */
+  static List<String> findReferencedClasses(String document) {
+    List<String> classNames = new ArrayList<>();
+    Matcher imports = IMPORT_PATTERN.matcher(document);
+    while (imports.find()) {
+      classNames.add(imports.group(1));
+    }
+    Matcher controller = CONTROLLER_PATTERN.matcher(document);
+    if (controller.find()) {
+      classNames.add(controller.group(1));
+    }
+    return classNames;
+  }
+
+  /**
+   * A builder factory that can be shared by loaders on different threads. {@link JavaFXBuilderFactory} caches what it
+   * resolves for each type, but is not thread safe.
+   */
+  private static final class SharedBuilderFactory implements BuilderFactory {
+
+    private final BuilderFactory delegate;
+
+    SharedBuilderFactory(BuilderFactory delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public synchronized Builder<?> getBuilder(Class<?> type) {
+      return delegate.getBuilder(type);
+    }
+
+  }
+
+  /**
+   * A cached FXML document.
+   */
+  private static final class Template {
+
+    private final URL location;
+    private final byte[] document;
+    private final List<String> referencedClasses;
+
+    Template(URL location, byte[] document, List<String> referencedClasses) {
+      this.location = location;
+      this.document = document;
+      this.referencedClasses = referencedClasses;
+    }
+
+  }
+
+}
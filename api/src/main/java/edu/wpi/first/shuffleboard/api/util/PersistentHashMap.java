@@ -0,0 +1,524 @@
+package edu.wpi.first.shuffleboard.api.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable hash map that shares structure between versions. {@link #plus(Object, Object) Adding} or
+ * {@link #minus(Object) removing} a key creates a new map in O(log N) time that reuses every part of the old map that
+ * did not change, instead of copying all of its entries.
+ *
+ * <p>The map is a hash array mapped trie: each level of the tree uses five bits of a key's hash to pick one of up to
+ * 32 children. Since versions of a map share the subtrees that were not changed, {@link #diff} can find the
+ * differences between two versions by skipping every subtree they have in common.
+ *
+ * <p>Null keys and values are not permitted. The mutator methods from {@link Map} throw
+ * {@link UnsupportedOperationException}.
+ *
+ * @param <K> the type of keys in the map
+ * @param <V> the type of values in the map
+ */
+public final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+
+  /**
+   * The maximum depth of the trie: seven levels of bitmap nodes use all 32 bits of the hash, plus a collision node.
+   */
+  private static final int MAX_DEPTH = (Integer.SIZE + BITS - 1) / BITS + 1;
+
+  private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(BitmapNode.EMPTY, 0);
+
+  private final BitmapNode root;
+  private final int size;
+  private Set<Entry<K, V>> entrySet;
+
+  private PersistentHashMap(BitmapNode root, int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  /**
+   * Gets an empty map.
+   *
+   * @param <K> the type of keys in the map
+   * @param <V> the type of values in the map
+   */
+  @SuppressWarnings("unchecked")
+  public static <K, V> PersistentHashMap<K, V> empty() {
+    return (PersistentHashMap<K, V>) EMPTY;
+  }
+
+  /**
+   * Creates a map containing the same entries as the given map. If the given map is already a persistent map, it is
+   * returned as-is.
+   *
+   * @param map the map to copy
+   * @param <K> the type of keys in the map
+   * @param <V> the type of values in the map
+   *
+   * @throws NullPointerException if the map contains a null key or value
+   */
+  @SuppressWarnings("unchecked")
+  public static <K, V> PersistentHashMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+    if (map instanceof PersistentHashMap) {
+      return (PersistentHashMap<K, V>) map;
+    }
+    return PersistentHashMap.<K, V>empty().plusAll(map);
+  }
+
+  /**
+   * Creates a new map that is identical to this one, but with a new value for the given key.
+   *
+   * @param key   the key to set
+   * @param value the new value for the key
+   *
+   * @return a new map containing the change, or this map if the key is already mapped to the same value instance
+   *
+   * @throws NullPointerException if the key or value is null
+   */
+  public PersistentHashMap<K, V> plus(K key, V value) {
+    Objects.requireNonNull(key, "key");
+    Objects.requireNonNull(value, "value");
+    final int hash = hash(key);
+    final Leaf<?, ?> existing = find(root, key, hash, 0);
+    if (existing != null && existing.getValue() == value) {
+      return this;
+    }
+    final BitmapNode newRoot = (BitmapNode) insert(root, new Leaf<>(key, value, hash), 0);
+    return new PersistentHashMap<>(newRoot, existing == null ? size + 1 : size);
+  }
+
+  /**
+   * Creates a new map that is identical to this one, but with every entry from the given map.
+   *
+   * @param map the entries to add
+   *
+   * @return a new map containing the changes
+   *
+   * @throws NullPointerException if the map contains a null key or value
+   */
+  public PersistentHashMap<K, V> plusAll(Map<? extends K, ? extends V> map) {
+    PersistentHashMap<K, V> result = this;
+    for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
+      result = result.plus(entry.getKey(), entry.getValue());
+    }
+    return result;
+  }
+
+  /**
+   * Creates a new map that is identical to this one, but without the given key.
+   *
+   * @param key the key to remove
+   *
+   * @return a new map without the key, or this map if it does not contain the key
+   */
+  public PersistentHashMap<K, V> minus(Object key) {
+    if (key == null) {
+      return this;
+    }
+    final int hash = hash(key);
+    if (find(root, key, hash, 0) == null) {
+      return this;
+    }
+    final BitmapNode newRoot = (BitmapNode) remove(root, key, hash, 0);
+    return new PersistentHashMap<>(newRoot == null ? BitmapNode.EMPTY : newRoot, size - 1);
+  }
+
+  /**
+   * Finds the differences between this map and an earlier version of it. Subtrees that are shared by both maps are
+   * skipped, so this takes time proportional to the number of changes when this map was derived from {@code base}
+   * with {@link #plus} and {@link #minus}. Values are compared with {@link EqualityUtils#isDifferent(Object, Object)}.
+   *
+   * @param base    the map to compare to
+   * @param changed called with every entry in this map whose key is not in {@code base}, or whose value differs from
+   *                the value in {@code base}
+   * @param removed called with every entry in {@code base} whose key is not in this map
+   */
+  public void diff(PersistentHashMap<K, V> base,
+                   BiConsumer<? super K, ? super V> changed,
+                   BiConsumer<? super K, ? super V> removed) {
+    diff(root, base.root, 0, changed, removed);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return key != null && find(root, key, hash(key), 0) != null;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V get(Object key) {
+    if (key == null) {
+      return null;
+    }
+    final Leaf<?, ?> leaf = find(root, key, hash(key), 0);
+    return leaf == null ? null : (V) leaf.getValue();
+  }
+
+  @Override
+  public void forEach(BiConsumer<? super K, ? super V> action) {
+    forEach(root, action);
+  }
+
+  @Override
+  public Set<Entry<K, V>> entrySet() {
+    if (entrySet == null) {
+      entrySet = new AbstractSet<>() {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+          return new EntryIterator<>(root);
+        }
+
+        @Override
+        public int size() {
+          return size;
+        }
+      };
+    }
+    return entrySet;
+  }
+
+  private static int hash(Object key) {
+    final int hash = key.hashCode();
+    return hash ^ (hash >>> 16);
+  }
+
+  private static int bit(int hash, int shift) {
+    return 1 << ((hash >>> shift) & MASK);
+  }
+
+  /**
+   * Finds the leaf for a key in a subtree.
+   *
+   * @param slot  the root of the subtree
+   * @param key   the key to find
+   * @param hash  the hash of the key
+   * @param shift the level of the subtree
+   *
+   * @return the leaf for the key, or null if the subtree does not contain the key
+   */
+  private static Leaf<?, ?> find(Object slot, Object key, int hash, int shift) {
+    Object current = slot;
+    int currentShift = shift;
+    while (current instanceof BitmapNode) {
+      final BitmapNode node = (BitmapNode) current;
+      final int bit = bit(hash, currentShift);
+      if ((node.bitmap & bit) == 0) {
+        return null;
+      }
+      current = node.slots[node.index(bit)];
+      currentShift += BITS;
+    }
+    if (current instanceof CollisionNode) {
+      for (Leaf<?, ?> leaf : ((CollisionNode) current).leaves) {
+        if (leaf.getKey().equals(key)) {
+          return leaf;
+        }
+      }
+      return null;
+    }
+    final Leaf<?, ?> leaf = (Leaf<?, ?>) current;
+    return leaf != null && leaf.hash == hash && leaf.getKey().equals(key) ? leaf : null;
+  }
+
+  private static Object insert(Object slot, Leaf<?, ?> leaf, int shift) {
+    if (slot instanceof Leaf) {
+      final Leaf<?, ?> existing = (Leaf<?, ?>) slot;
+      if (existing.hash == leaf.hash && existing.getKey().equals(leaf.getKey())) {
+        return leaf;
+      }
+      return merge(existing, leaf, shift);
+    }
+    if (slot instanceof CollisionNode) {
+      // Every key in a collision node has the same hash, which is the hash of the new leaf
+      return ((CollisionNode) slot).with(leaf);
+    }
+    final BitmapNode node = (BitmapNode) slot;
+    final int bit = bit(leaf.hash, shift);
+    final int index = node.index(bit);
+    if ((node.bitmap & bit) == 0) {
+      return node.inserted(bit, index, leaf);
+    }
+    return node.replaced(index, insert(node.slots[index], leaf, shift + BITS));
+  }
+
+  /**
+   * Creates a subtree containing two leaves with different keys.
+   */
+  private static Object merge(Leaf<?, ?> first, Leaf<?, ?> second, int shift) {
+    if (shift >= Integer.SIZE) {
+      return new CollisionNode(new Leaf<?, ?>[]{first, second});
+    }
+    final int firstBit = bit(first.hash, shift);
+    final int secondBit = bit(second.hash, shift);
+    if (firstBit == secondBit) {
+      return new BitmapNode(firstBit, new Object[]{merge(first, second, shift + BITS)});
+    }
+    // Slots are ordered by bit, lowest first
+    final Object[] slots = Integer.compareUnsigned(firstBit, secondBit) < 0
+        ? new Object[]{first, second}
+        : new Object[]{second, first};
+    return new BitmapNode(firstBit | secondBit, slots);
+  }
+
+  /**
+   * Removes a key that is known to be in a subtree.
+   *
+   * @return the new subtree, or null if the subtree is now empty
+   */
+  private static Object remove(Object slot, Object key, int hash, int shift) {
+    if (slot instanceof Leaf) {
+      return null;
+    }
+    if (slot instanceof CollisionNode) {
+      return ((CollisionNode) slot).without(key);
+    }
+    BitmapNode node = (BitmapNode) slot;
+    final int bit = bit(hash, shift);
+    final int index = node.index(bit);
+    final Object child = remove(node.slots[index], key, hash, shift + BITS);
+    node = child == null ? node.removed(bit, index) : node.replaced(index, child);
+    if (shift > 0) {
+      if (node.slots.length == 0) {
+        return null;
+      }
+      if (node.slots.length == 1 && node.slots[0] instanceof Leaf) {
+        // A single entry can be stored directly in the parent node
+        return node.slots[0];
+      }
+    }
+    return node;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <K, V> void diff(Object slot, Object baseSlot, int shift,
+                                  BiConsumer<? super K, ? super V> changed,
+                                  BiConsumer<? super K, ? super V> removed) {
+    if (slot == baseSlot) {
+      // Shared subtree
+      return;
+    }
+    if (slot == null) {
+      forEach(baseSlot, removed);
+      return;
+    }
+    if (baseSlot == null) {
+      forEach(slot, changed);
+      return;
+    }
+    if (slot instanceof BitmapNode && baseSlot instanceof BitmapNode) {
+      final BitmapNode node = (BitmapNode) slot;
+      final BitmapNode baseNode = (BitmapNode) baseSlot;
+      int bits = node.bitmap | baseNode.bitmap;
+      while (bits != 0) {
+        final int bit = Integer.lowestOneBit(bits);
+        bits &= ~bit;
+        diff(node.child(bit), baseNode.child(bit), shift + BITS, changed, removed);
+      }
+      return;
+    }
+    // At least one side is a single entry or a set of colliding entries, so compare the entries directly
+    forEach(slot, (key, value) -> {
+      final Leaf<?, ?> baseLeaf = find(baseSlot, key, hash(key), shift);
+      if (baseLeaf == null || EqualityUtils.isDifferent(value, baseLeaf.getValue())) {
+        changed.accept((K) key, (V) value);
+      }
+    });
+    forEach(baseSlot, (key, value) -> {
+      if (find(slot, key, hash(key), shift) == null) {
+        removed.accept((K) key, (V) value);
+      }
+    });
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <K, V> void forEach(Object slot, BiConsumer<? super K, ? super V> action) {
+    if (slot instanceof Leaf) {
+      final Leaf<?, ?> leaf = (Leaf<?, ?>) slot;
+      action.accept((K) leaf.getKey(), (V) leaf.getValue());
+    } else if (slot instanceof CollisionNode) {
+      for (Leaf<?, ?> leaf : ((CollisionNode) slot).leaves) {
+        action.accept((K) leaf.getKey(), (V) leaf.getValue());
+      }
+    } else {
+      for (Object child : ((BitmapNode) slot).slots) {
+        forEach(child, action);
+      }
+    }
+  }
+
+  /**
+   * A single entry in the map.
+   */
+  private static final class Leaf<K, V> extends SimpleImmutableEntry<K, V> {
+
+    private final int hash;
+
+    Leaf(K key, V value, int hash) {
+      super(key, value);
+      this.hash = hash;
+    }
+
+  }
+
+  /**
+   * An inner node of the trie. Each set bit in the bitmap has a corresponding slot, in order of increasing bit index.
+   * Slots contain leaves, bitmap nodes, or collision nodes. Nodes are never modified once created.
+   */
+  private static final class BitmapNode {
+
+    static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+    private final int bitmap;
+    private final Object[] slots;
+
+    BitmapNode(int bitmap, Object[] slots) {
+      this.bitmap = bitmap;
+      this.slots = slots;
+    }
+
+    int index(int bit) {
+      return Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    Object child(int bit) {
+      return (bitmap & bit) == 0 ? null : slots[index(bit)];
+    }
+
+    BitmapNode inserted(int bit, int index, Object slot) {
+      final Object[] newSlots = new Object[slots.length + 1];
+      System.arraycopy(slots, 0, newSlots, 0, index);
+      newSlots[index] = slot;
+      System.arraycopy(slots, index, newSlots, index + 1, slots.length - index);
+      return new BitmapNode(bitmap | bit, newSlots);
+    }
+
+    BitmapNode replaced(int index, Object slot) {
+      if (slots[index] == slot) {
+        return this;
+      }
+      final Object[] newSlots = slots.clone();
+      newSlots[index] = slot;
+      return new BitmapNode(bitmap, newSlots);
+    }
+
+    BitmapNode removed(int bit, int index) {
+      final Object[] newSlots = new Object[slots.length - 1];
+      System.arraycopy(slots, 0, newSlots, 0, index);
+      System.arraycopy(slots, index + 1, newSlots, index, slots.length - index - 1);
+      return new BitmapNode(bitmap & ~bit, newSlots);
+    }
+
+  }
+
+  /**
+   * Holds entries whose keys have identical hashes.
+   */
+  private static final class CollisionNode {
+
+    private final Leaf<?, ?>[] leaves;
+
+    CollisionNode(Leaf<?, ?>[] leaves) {
+      this.leaves = leaves;
+    }
+
+    CollisionNode with(Leaf<?, ?> leaf) {
+      for (int i = 0; i < leaves.length; i++) {
+        if (leaves[i].getKey().equals(leaf.getKey())) {
+          final Leaf<?, ?>[] newLeaves = leaves.clone();
+          newLeaves[i] = leaf;
+          return new CollisionNode(newLeaves);
+        }
+      }
+      final Leaf<?, ?>[] newLeaves = new Leaf<?, ?>[leaves.length + 1];
+      System.arraycopy(leaves, 0, newLeaves, 0, leaves.length);
+      newLeaves[leaves.length] = leaf;
+      return new CollisionNode(newLeaves);
+    }
+
+    /**
+     * Removes the entry for a key that is known to be in this node.
+     *
+     * @return the new node, or the remaining leaf if only one entry is left
+     */
+    Object without(Object key) {
+      if (leaves.length == 2) {
+        return leaves[0].getKey().equals(key) ? leaves[1] : leaves[0];
+      }
+      final Leaf<?, ?>[] newLeaves = new Leaf<?, ?>[leaves.length - 1];
+      int index = 0;
+      for (Leaf<?, ?> leaf : leaves) {
+        if (!leaf.getKey().equals(key)) {
+          newLeaves[index++] = leaf;
+        }
+      }
+      return new CollisionNode(newLeaves);
+    }
+
+  }
+
+  /**
+   * Iterates over the entries in a trie with an explicit stack of the slot arrays being visited.
+   */
+  private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+
+    private final Object[][] arrays = new Object[MAX_DEPTH][];
+    private final int[] indices = new int[MAX_DEPTH];
+    private int depth = 0;
+    private Leaf<?, ?> next;
+
+    EntryIterator(BitmapNode root) {
+      arrays[0] = root.slots;
+      advance();
+    }
+
+    private void advance() {
+      while (depth >= 0) {
+        if (indices[depth] == arrays[depth].length) {
+          depth--;
+          continue;
+        }
+        final Object slot = arrays[depth][indices[depth]++];
+        if (slot instanceof Leaf) {
+          next = (Leaf<?, ?>) slot;
+          return;
+        }
+        depth++;
+        arrays[depth] = slot instanceof BitmapNode ? ((BitmapNode) slot).slots : ((CollisionNode) slot).leaves;
+        indices[depth] = 0;
+      }
+      next = null;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Entry<K, V> next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      final Entry<K, V> entry = (Entry<K, V>) next;
+      advance();
+      return entry;
+    }
+
+  }
+
+}
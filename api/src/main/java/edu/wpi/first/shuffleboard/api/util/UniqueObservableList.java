@@ -0,0 +1,197 @@
+package edu.wpi.first.shuffleboard.api.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import javafx.collections.ModifiableObservableListBase;
+
+/**
+ * An observable list that contains no duplicate elements, similar to an observable {@link java.util.LinkedHashSet}.
+ * Elements are kept in insertion order, and a hash index makes {@link #contains(Object) contains} a constant-time
+ * operation instead of a linear scan.
+ *
+ * <p>Adding an element that is already in the list has no effect: {@link #add(Object) add} returns {@code false} and
+ * {@link #addAll(Collection) addAll} skips it. Inserting or setting an element at a specific index when that element
+ * is already present elsewhere in the list throws an {@code IllegalArgumentException}.
+ *
+ * <p>Bulk operations fire a single change to listeners. Multiple operations can be combined into a single change with
+ * {@link #runBatch(Runnable)}, which is useful when a burst of elements is added or removed at once.
+ *
+ * <p>This list does not support {@code null} elements.
+ *
+ * @param <E> the type of elements in the list
+ */
+public final class UniqueObservableList<E> extends ModifiableObservableListBase<E> {
+
+  private final List<E> elements = new ArrayList<>();
+  private final Set<E> index = new HashSet<>();
+
+  /**
+   * Runs an action that modifies this list, firing all of its modifications to listeners as a single change after the
+   * action completes. Batches may be nested; listeners are notified when the outermost batch completes.
+   *
+   * @param action the action to run
+   */
+  public void runBatch(Runnable action) {
+    beginChange();
+    try {
+      action.run();
+    } finally {
+      endChange();
+    }
+  }
+
+  @Override
+  public E get(int index) {
+    return elements.get(index);
+  }
+
+  @Override
+  public int size() {
+    return elements.size();
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return index.contains(o);
+  }
+
+  @Override
+  public int indexOf(Object o) {
+    return index.contains(o) ? elements.indexOf(o) : -1;
+  }
+
+  @Override
+  public int lastIndexOf(Object o) {
+    // No duplicates, so the first index is also the last
+    return indexOf(o);
+  }
+
+  @Override
+  public boolean add(E element) {
+    if (index.contains(element)) {
+      return false;
+    }
+    return super.add(element);
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends E> c) {
+    return super.addAll(newElements(c));
+  }
+
+  @Override
+  public boolean addAll(int index, Collection<? extends E> c) {
+    return super.addAll(index, newElements(c));
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    if (!index.contains(o)) {
+      return false;
+    }
+    remove(elements.indexOf(o));
+    return true;
+  }
+
+  @Override
+  public boolean removeAll(Collection<?> c) {
+    Set<?> toRemove = c instanceof Set ? (Set<?>) c : new HashSet<>(c);
+    return removeMatching(toRemove, true);
+  }
+
+  @Override
+  public boolean retainAll(Collection<?> c) {
+    Set<?> toRetain = c instanceof Set ? (Set<?>) c : new HashSet<>(c);
+    return removeMatching(toRetain, false);
+  }
+
+  @Override
+  public void clear() {
+    if (elements.isEmpty()) {
+      return;
+    }
+    List<E> removed = new ArrayList<>(elements);
+    elements.clear();
+    index.clear();
+    beginChange();
+    nextRemove(0, removed);
+    endChange();
+  }
+
+  @Override
+  protected void doAdd(int index, E element) {
+    Objects.requireNonNull(element, "element");
+    if (!this.index.add(element)) {
+      throw new IllegalArgumentException("Element is already in the list: " + element);
+    }
+    elements.add(index, element);
+  }
+
+  @Override
+  protected E doSet(int index, E element) {
+    Objects.requireNonNull(element, "element");
+    E old = elements.get(index);
+    if (!old.equals(element) && this.index.contains(element)) {
+      throw new IllegalArgumentException("Element is already in the list: " + element);
+    }
+    this.index.remove(old);
+    this.index.add(element);
+    elements.set(index, element);
+    return old;
+  }
+
+  @Override
+  protected E doRemove(int index) {
+    E removed = elements.remove(index);
+    this.index.remove(removed);
+    return removed;
+  }
+
+  /**
+   * Gets the distinct elements of a collection that are not already in this list, in iteration order.
+   */
+  private Collection<E> newElements(Collection<? extends E> c) {
+    Set<E> result = new LinkedHashSet<>(c);
+    result.removeAll(index);
+    return result;
+  }
+
+  /**
+   * Removes every element whose membership in {@code set} is equal to {@code inSet}. The backing list is compacted in
+   * a single pass, rather than shifting the elements after each removed element once per removal.
+   */
+  private boolean removeMatching(Set<?> set, boolean inSet) {
+    List<E> kept = new ArrayList<>(elements.size());
+    List<E> removed = new ArrayList<>();
+    List<Integer> removedIndices = new ArrayList<>();
+    for (int i = 0; i < elements.size(); i++) {
+      E element = elements.get(i);
+      if (set.contains(element) == inSet) {
+        removed.add(element);
+        removedIndices.add(i);
+      } else {
+        kept.add(element);
+      }
+    }
+    if (removed.isEmpty()) {
+      return false;
+    }
+    elements.clear();
+    elements.addAll(kept);
+    removed.forEach(index::remove);
+    beginChange();
+    // Report removals from the end of the list so earlier indices are unaffected by later ones
+    for (int i = removed.size() - 1; i >= 0; i--) {
+      nextRemove(removedIndices.get(i), removed.get(i));
+    }
+    endChange();
+    return true;
+  }
+
+}
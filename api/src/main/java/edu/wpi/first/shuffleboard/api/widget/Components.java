@@ -4,11 +4,14 @@ import edu.wpi.first.shuffleboard.api.data.DataType;
 import edu.wpi.first.shuffleboard.api.data.DataTypes;
 import edu.wpi.first.shuffleboard.api.data.IncompatibleSourceException;
 import edu.wpi.first.shuffleboard.api.sources.DataSource;
+import edu.wpi.first.shuffleboard.api.util.FxmlCache;
 import edu.wpi.first.shuffleboard.api.util.Registry;
 import edu.wpi.first.shuffleboard.api.util.TestUtils;
+import edu.wpi.first.shuffleboard.api.util.ThreadUtils;
 import edu.wpi.first.shuffleboard.api.util.TypeUtils;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Stopwatch;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
@@ -23,6 +26,7 @@ import java.util.Set;
 import java.util.TreeMap;
 import java.util.UUID;
 import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -340,6 +344,24 @@ public class Components extends Registry<ComponentType> {
     return componentNamesForType(source.getDataType());
   }
 
+  /**
+   * Loads the FXML files of all registered components on a background thread, so the first instance of each component
+   * can be created faster. This only reads the files and loads the classes they use; no components are created.
+   */
+  public void prewarmViews() {
+    List<Class<?>> types = allComponents()
+        .map(ComponentType::getType)
+        .filter(t -> t.isAnnotationPresent(ParametrizedController.class))
+        .collect(Collectors.toList());
+    Thread thread = ThreadUtils.makeDaemonThread(() -> {
+      Stopwatch timer = Stopwatch.createStarted();
+      types.forEach(t -> FxmlCache.prewarm(t, t.getAnnotation(ParametrizedController.class).value()));
+      logger.info("Prepared " + types.size() + " component views in " + timer.elapsed(TimeUnit.MILLISECONDS) + "ms");
+    });
+    thread.setName("Component view prewarm");
+    thread.start();
+  }
+
   /**
    * Create an instance for a ParametrizedController annotated class.
    */
@@ -348,9 +370,9 @@ public class Components extends Registry<ComponentType> {
 
     if (controller != null) { //NOPMD readability
       try {
-        FXMLLoader loader = new FXMLLoader(annotatedClass.getResource(controller.value()));
-        loader.setClassLoader(annotatedClass.getClassLoader());
-        loader.load();
+        Stopwatch timer = Stopwatch.createStarted();
+        FXMLLoader loader = FxmlCache.load(annotatedClass, controller.value());
+        logger.fine(() -> "Created " + annotatedClass.getName() + " in " + timer.elapsed(TimeUnit.MICROSECONDS) + "us");
         return Optional.of(loader.getController());
       } catch (IOException e) {
         throw new RuntimeException("Could not instantiate the FXML controller", e);
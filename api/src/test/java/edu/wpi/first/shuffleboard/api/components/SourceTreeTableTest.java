@@ -11,6 +11,9 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.testfx.framework.junit5.ApplicationTest;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import javafx.collections.ObservableList;
 import javafx.scene.Scene;
 import javafx.scene.control.TreeItem;
@@ -49,6 +52,46 @@ public class SourceTreeTableTest extends ApplicationTest {
     });
   }
 
+  @Test
+  public void testUpdateEntriesSortsBranchesFirst() {
+    tree.updateEntries(List.of(
+        sourceType.createSourceEntryForUri("/b"),
+        sourceType.createSourceEntryForUri("/a/x"),
+        sourceType.createSourceEntryForUri("/c/y"),
+        sourceType.createSourceEntryForUri("/a/z")
+    ));
+    assertAll(
+        () -> assertEquals(List.of("/a", "/c", "/b"), names(root.getChildren())),
+        () -> assertEquals(List.of("/a/x", "/a/z"), names(root.getChildren().get(0).getChildren()))
+    );
+  }
+
+  @Test
+  public void testLeafBecomesBranch() {
+    tree.updateEntries(List.of(sourceType.createSourceEntryForUri("/b"), sourceType.createSourceEntryForUri("/c")));
+    tree.updateEntry(sourceType.createSourceEntryForUri("/c/d"));
+    assertEquals(List.of("/c", "/b"), names(root.getChildren()));
+  }
+
+  @Test
+  public void testRemoveEntryRemovesEmptyParents() {
+    tree.updateEntries(List.of(
+        sourceType.createSourceEntryForUri("/a/b/c"),
+        sourceType.createSourceEntryForUri("/a/d")
+    ));
+    tree.removeEntry(sourceType.createSourceEntryForUri("/a/b/c"));
+    assertAll(
+        () -> assertEquals(List.of("/a"), names(root.getChildren())),
+        () -> assertEquals(List.of("/a/d"), names(root.getChildren().get(0).getChildren()))
+    );
+  }
+
+  private static List<String> names(List<TreeItem<SourceEntry>> items) {
+    return items.stream()
+        .map(item -> item.getValue().getName())
+        .collect(Collectors.toList());
+  }
+
   private static class MockSourceType extends SourceType {
 
     public MockSourceType() {
@@ -62,7 +105,7 @@ public class SourceTreeTableTest extends ApplicationTest {
 
     @Override
     public SourceEntry createSourceEntryForUri(String uri) {
-      return new MockSourceEntry(uri);
+      return new MockSourceEntry(removeProtocol(uri));
     }
 
   }
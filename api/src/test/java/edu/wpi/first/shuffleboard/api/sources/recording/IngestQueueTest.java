@@ -0,0 +1,93 @@
+package edu.wpi.first.shuffleboard.api.sources.recording;
+
+import edu.wpi.first.shuffleboard.api.data.DataTypes;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IngestQueueTest {
+
+  @Test
+  public void testCapacityMustBePowerOfTwo() {
+    assertThrows(IllegalArgumentException.class, () -> new IngestQueue(3));
+  }
+
+  @Test
+  public void testDrainInOrder() {
+    IngestQueue queue = new IngestQueue(8);
+    queue.offer(0, DataTypes.Number, 1.0, 10);
+    queue.offer(1, DataTypes.Boolean, true, 20);
+    List<Object> values = new ArrayList<>();
+    List<Long> timestamps = new ArrayList<>();
+    int drained = queue.drain((sourceIndex, dataType, value, timestamp) -> {
+      values.add(value);
+      timestamps.add(timestamp);
+    });
+    assertAll(
+        () -> assertEquals(2, drained),
+        () -> assertEquals(List.of(1.0, true), values),
+        () -> assertEquals(List.of(10L, 20L), timestamps),
+        () -> assertEquals(0, queue.size())
+    );
+  }
+
+  @Test
+  public void testOfferWhenFull() {
+    IngestQueue queue = new IngestQueue(2);
+    assertTrue(queue.offer(0, DataTypes.Number, 1.0, 0));
+    assertTrue(queue.offer(0, DataTypes.Number, 2.0, 1));
+    assertFalse(queue.offer(0, DataTypes.Number, 3.0, 2), "Offer should fail when the queue is full");
+    queue.drain((sourceIndex, dataType, value, timestamp) -> {
+    });
+    assertTrue(queue.offer(0, DataTypes.Number, 4.0, 3), "Drained slots should be reusable");
+  }
+
+  @Test
+  public void testMultipleProducers() throws InterruptedException {
+    final int producers = 4;
+    final int perProducer = 10_000;
+    IngestQueue queue = new IngestQueue(1 << 16);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+    for (int p = 0; p < producers; p++) {
+      final int sourceIndex = p;
+      Thread thread = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        for (int i = 0; i < perProducer; i++) {
+          queue.offer(sourceIndex, DataTypes.Number, (double) i, i);
+        }
+      });
+      thread.start();
+      threads.add(thread);
+    }
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    long[] lastTimestamps = {-1, -1, -1, -1};
+    boolean[] ordered = {true};
+    int drained = queue.drain((sourceIndex, dataType, value, timestamp) -> {
+      if (timestamp <= lastTimestamps[sourceIndex]) {
+        ordered[0] = false;
+      }
+      lastTimestamps[sourceIndex] = timestamp;
+    });
+    assertEquals(producers * perProducer, drained);
+    assertTrue(ordered[0], "Data from each producer should be drained in the order it was added");
+  }
+
+}
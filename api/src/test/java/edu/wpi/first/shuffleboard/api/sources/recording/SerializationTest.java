@@ -1,6 +1,7 @@
 package edu.wpi.first.shuffleboard.api.sources.recording;
 
 import edu.wpi.first.shuffleboard.api.data.DataTypes;
+import edu.wpi.first.shuffleboard.api.sources.recording.serialization.Serializers;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,13 +9,16 @@ import org.junitpioneer.jupiter.TempDirectory;
 import org.junitpioneer.jupiter.TempDirectory.TempDir;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class SerializationTest {
 
@@ -196,6 +200,178 @@ public class SerializationTest {
     );
   }
 
+  @Test
+  @ExtendWith(TempDirectory.class)
+  public void testWriterAppendsAcrossWrites(@TempDir Path dir) throws IOException {
+    final Path file = dir.resolve("testWriterAppendsAcrossWrites.sbr");
+    final Recording recording = new Recording();
+    final List<TimestampedData> data = new ArrayList<>();
+    final Marker marker = new Marker("M1", "", MarkerImportance.NORMAL, 1);
+    try (RecordingWriter writer = RecordingWriter.create(file)) {
+      TimestampedData first = new TimestampedData("foo", DataTypes.Number, 1.0, 0);
+      data.add(first);
+      recording.append(first);
+      writer.write(recording);
+      final long sizeAfterFirstWrite = Files.size(file);
+
+      TimestampedData second = new TimestampedData("bar", DataTypes.String, "baz", 1);
+      data.add(second);
+      recording.append(second);
+      recording.addMarker(marker);
+      writer.write(recording);
+      assertTrue(Files.size(file) > sizeAfterFirstWrite, "New data should have been appended");
+    }
+    final Recording loaded = Serialization.loadRecording(file);
+    assertAll(
+        () -> assertEquals(data, loaded.getData(), "Data was wrong"),
+        () -> assertEquals(List.of(marker), loaded.getMarkers(), "Markers were wrong")
+    );
+  }
+
+  @Test
+  @ExtendWith(TempDirectory.class)
+  public void testLoadSortsLateData(@TempDir Path dir) throws IOException {
+    final Path file = dir.resolve("testLoadSortsLateData.sbr");
+    final TimestampedData early = new TimestampedData("foo", DataTypes.Number, 1.0, 5);
+    final TimestampedData late = new TimestampedData("foo", DataTypes.Number, 2.0, 10);
+    try (RecordingWriter writer = RecordingWriter.create(file)) {
+      writer.write(List.of(late), List.of());
+      // Data with a source-supplied timestamp that was reported after the previous write
+      writer.write(List.of(early), List.of());
+    }
+    final Recording loaded = Serialization.loadRecording(file);
+    assertEquals(List.of(early, late), loaded.getData());
+  }
+
+  @Test
+  @ExtendWith(TempDirectory.class)
+  public void testLoadIgnoresPartialRecord(@TempDir Path dir) throws IOException {
+    final Path file = dir.resolve("testLoadIgnoresPartialRecord.sbr");
+    final Recording recording = new Recording();
+    final TimestampedData data = new TimestampedData("foo", DataTypes.Boolean, true, 0);
+    recording.append(data);
+    Serialization.saveRecording(recording, file);
+    // Simulate a crash in the middle of writing a record
+    Files.write(file, new byte[]{3, 0, 0, 0, 12, 0, 0}, StandardOpenOption.APPEND);
+    final Recording loaded = Serialization.loadRecording(file);
+    assertEquals(List.of(data), loaded.getData());
+  }
+
+  @Test
+  @ExtendWith(TempDirectory.class)
+  public void testLoadLegacyRecording(@TempDir Path dir) throws IOException {
+    final Path file = dir.resolve("testLoadLegacyRecording.sbr");
+    final byte[] legacy = {
+        (byte) 0xBE, (byte) 0xEF, (byte) 0xFA, (byte) 0xCE, // magic number
+        0, 0, 0, 4,                                         // version
+        0, 0, 0, 1,                                         // number of data points
+        0, 0, 0, 41,                                        // marker position
+        0, 0, 0, 45,                                        // data position
+        0, 0, 0, 2,                                         // constant pool size
+        0, 0, 0, 3, 'f', 'o', 'o',
+        0, 0, 0, 6, 'N', 'u', 'm', 'b', 'e', 'r',
+        0, 0, 0, 0,                                         // number of markers
+        0, 0, 0, 0, 0, 0, 0, 5,                             // timestamp
+        0, 0,                                               // source ID index
+        0, 1,                                               // data type index
+        0x3F, (byte) 0xF0, 0, 0, 0, 0, 0, 0                 // 1.0
+    };
+    Files.write(file, legacy);
+    final Recording loaded = Serialization.loadRecording(file);
+    assertEquals(List.of(new TimestampedData("foo", DataTypes.Number, 1.0, 5)), loaded.getData());
+  }
+
+  @Test
+  @ExtendWith(TempDirectory.class)
+  public void testOpenMappedRecording(@TempDir Path dir) throws IOException {
+    final Path file = dir.resolve("testOpenMappedRecording.sbr");
+    final TimestampedData first = new TimestampedData("foo", DataTypes.Number, 1.0, 0);
+    final TimestampedData second = new TimestampedData("bar", DataTypes.String, "baz", 10);
+    final TimestampedData third = new TimestampedData("foo", DataTypes.Number, 2.0, 15);
+    final Marker marker = new Marker("M1", "", MarkerImportance.NORMAL, 5);
+    try (RecordingWriter writer = RecordingWriter.create(file)) {
+      writer.write(List.of(first, second), List.of(marker));
+      writer.write(List.of(third), List.of());
+    }
+    final Recording opened = Serialization.openRecording(file);
+    assertTrue(opened instanceof MappedRecording, "Streaming recordings should be memory-mapped");
+    final MappedRecording mapped = (MappedRecording) opened;
+    assertAll(
+        () -> assertEquals(3, mapped.size()),
+        () -> assertEquals(10, mapped.getTimestamp(1)),
+        () -> assertEquals(List.of("foo", "bar"), mapped.getSourceIds()),
+        () -> assertEquals(0, mapped.getSourceIndex(2)),
+        () -> assertEquals(List.of(first, second, third), mapped.getData()),
+        () -> assertEquals(List.of(marker), mapped.getMarkers()),
+        () -> assertEquals(15, mapped.getLength())
+    );
+  }
+
+  @Test
+  @ExtendWith(TempDirectory.class)
+  public void testCompressedEncodeRecode(@TempDir Path dir) throws IOException {
+    final Path file = dir.resolve("testCompressedEncodeRecode.sbr");
+    final Recording recording = new Recording();
+    final List<TimestampedData> data = new ArrayList<>();
+    // Enough points to span several blocks, with irregular timestamps and a source that changes type
+    for (int i = 0; i < CompressedRecordingWriter.BLOCK_SIZE * 3; i++) {
+      final long timestamp = i * 20L + (i % 7) * (i % 3);
+      data.add(new TimestampedData("number", DataTypes.Number, Math.sin(i / 100.0), timestamp));
+      data.add(new TimestampedData("boolean", DataTypes.Boolean, i % 5 == 0, timestamp));
+      if (i % 10 == 0) {
+        data.add(new TimestampedData("string", DataTypes.String, "value " + i + " " + grinningEmoji, timestamp));
+      }
+      if (i == CompressedRecordingWriter.BLOCK_SIZE / 2) {
+        data.add(new TimestampedData("changing", DataTypes.Number, 1.0, timestamp));
+      } else if (i == CompressedRecordingWriter.BLOCK_SIZE) {
+        data.add(new TimestampedData("changing", DataTypes.String, "now a string", timestamp));
+      }
+    }
+    data.forEach(recording::append);
+    final Marker marker = new Marker("M1", "A marker", MarkerImportance.CRITICAL, 100);
+    recording.addMarker(marker);
+    final var snapshot = recording.takeSnapshot();
+
+    Serialization.saveCompressedRecording(recording, file);
+    final Recording loaded = Serialization.loadRecording(file);
+    assertAll(
+        () -> assertEquals(snapshot.getData(), loaded.getData(), "Data was wrong"),
+        () -> assertEquals(List.of(marker), loaded.getMarkers(), "Markers were wrong")
+    );
+  }
+
+  @Test
+  @ExtendWith(TempDirectory.class)
+  public void testCompressStreamingRecording(@TempDir Path dir) throws IOException {
+    final Path source = dir.resolve("testCompressStreamingRecording.sbr");
+    final Path destination = dir.resolve("testCompressStreamingRecording.compressed.sbr");
+    final List<TimestampedData> data = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      data.add(new TimestampedData("foo", DataTypes.Number, (double) (i / 10), i * 20L));
+    }
+    try (RecordingWriter writer = RecordingWriter.create(source)) {
+      writer.write(data, List.of());
+    }
+    Serialization.compressRecording(source, destination);
+    assertAll(
+        () -> assertTrue(Files.size(destination) < Files.size(source) / 10, "Recording was not compressed"),
+        () -> assertEquals(data, Serialization.loadRecording(destination).getData())
+    );
+  }
+
+  @Test
+  @ExtendWith(TempDirectory.class)
+  public void testCompressRecordingKeepsCurrentFile(@TempDir Path dir) throws IOException {
+    final Path source = dir.resolve("testCompressRecordingKeepsCurrentFile.sbr");
+    final Path destination = dir.resolve("testCompressRecordingKeepsCurrentFile.compressed.sbr");
+    try (RecordingWriter writer = RecordingWriter.create(source)) {
+      writer.write(List.of(new TimestampedData("foo", DataTypes.String, "bar", 0)), List.of());
+    }
+    Serialization.compressRecording(source, destination);
+    // The source recording is lazily decoded, so adapters must still be reading from the source file
+    assertEquals(source.toFile(), Serializers.get(DataTypes.String).getCurrentFile());
+  }
+
   @Test
   public void testMultiByteCharsInString() {
     String string = grinningEmoji;
@@ -0,0 +1,47 @@
+package edu.wpi.first.shuffleboard.api.sources.recording.serialization;
+
+import edu.wpi.first.shuffleboard.api.data.DataTypes;
+import edu.wpi.first.shuffleboard.api.sources.recording.Serialization;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SimpleAdapterTest {
+
+  // An adapter that only implements the array-based methods, like most third-party adapters
+  private final SimpleAdapter<Number> adapter = new SimpleAdapter<>(DataTypes.Number,
+      n -> Serialization.toByteArray(n.doubleValue()), Serialization::readDouble, Serialization.SIZE_OF_DOUBLE);
+
+  @Test
+  public void testBufferBridges() {
+    ByteBuffer buffer = ByteBuffer.allocate(32);
+    buffer.put((byte) 1);
+    adapter.serializeInto(12.5, buffer);
+    adapter.serializeInto(-3.0, buffer);
+    int written = buffer.position();
+    buffer.flip();
+    buffer.get();
+    assertAll(
+        () -> assertEquals(17, written),
+        () -> assertEquals(12.5, adapter.deserialize(buffer)),
+        () -> assertEquals(-3.0, adapter.deserialize(buffer)),
+        () -> assertEquals(0, buffer.remaining())
+    );
+  }
+
+  @Test
+  public void testDeserializeFromDirectBuffer() {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(8);
+    buffer.putDouble(42);
+    buffer.flip();
+    assertAll(
+        () -> assertEquals(42.0, adapter.deserialize(buffer)),
+        () -> assertEquals(8, buffer.position())
+    );
+  }
+
+}
@@ -1,7 +1,13 @@
 package edu.wpi.first.shuffleboard.api.sources.recording.serialization;
 
+import edu.wpi.first.shuffleboard.api.sources.recording.Serialization;
+
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -37,4 +43,23 @@ public class StringAdapterTest {
     assertEquals(expected, adapter.deserialize(buffer, 0));
   }
 
+  @Test
+  public void testEncodeMultiByteIntoSharedBuffer() {
+    String first = "h\u00e9llo";
+    String second = "\u20ac\ud83d\ude00";
+    ByteBuffer buffer = ByteBuffer.allocate(64);
+    adapter.serializeInto(first, buffer);
+    adapter.serializeInto(second, buffer);
+    int written = buffer.position();
+    buffer.flip();
+    assertAll(
+        () -> assertEquals(adapter.getSerializedSize(first) + adapter.getSerializedSize(second), written),
+        () -> assertEquals(4 + first.getBytes(StandardCharsets.UTF_8).length, adapter.getSerializedSize(first)),
+        () -> assertArrayEquals(adapter.serialize(first), Serialization.toByteArray(first)),
+        () -> assertEquals(first, adapter.deserialize(buffer)),
+        () -> assertEquals(second, adapter.deserialize(buffer)),
+        () -> assertEquals(0, buffer.remaining())
+    );
+  }
+
 }
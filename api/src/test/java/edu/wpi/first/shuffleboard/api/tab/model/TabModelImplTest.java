@@ -69,6 +69,18 @@ public class TabModelImplTest {
     assertSame(child, tab.getChild(path));
   }
 
+  @Test
+  public void testRemoveChild() {
+    TabModel tab = new TabModelImpl("Tab");
+    LayoutModel layout = tab.getLayout("/Shuffleboard/Tab/List", "List Layout");
+    layout.getOrCreate("/Shuffleboard/Tab/List/Foo", DataSource::none, "", Collections.emptyMap());
+    tab.removeChild("/Shuffleboard/Tab/List");
+    assertAll(
+        () -> assertNull(tab.getChild("/Shuffleboard/Tab/List")),
+        () -> assertNull(tab.getChild("/Shuffleboard/Tab/List/Foo"), "Children of removed layouts should be removed")
+    );
+  }
+
   @Test
   public void testGetOrCreate() {
     TabModel tab = new TabModelImpl("Tab");
@@ -3,10 +3,15 @@ package edu.wpi.first.shuffleboard.api.tab.model;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TabStructureTest {
 
@@ -41,4 +46,37 @@ public class TabStructureTest {
     assertEquals(1, updates.get(), "The listener was removed and should not have been fired");
   }
 
+  @Test
+  public void testScopedChanges() {
+    List<StructureChange> changes = new ArrayList<>();
+    structure.addStructureChangeListener(new StructureChangeListener() {
+      @Override
+      public void structureChanged(TabStructure structure) {
+        // Not used
+      }
+
+      @Override
+      public void structureChanged(TabStructure structure, StructureChange change) {
+        changes.add(change);
+      }
+    });
+
+    TabModel tab = structure.getTab("Tab");
+    LayoutModel layout = tab.getLayout("/Shuffleboard/Tab/Layout", "List");
+    WidgetModel widget = layout.getOrCreate("/Shuffleboard/Tab/Layout/Widget", () -> null, "Text View", Map.of());
+    structure.dirty(widget);
+    structure.setSelectedTab(0);
+    structure.dirty();
+
+    assertAll(
+        () -> assertEquals(4, changes.size()),
+        () -> assertEquals(tab, changes.get(0).getTab()),
+        () -> assertNull(changes.get(0).getComponent(), "Creating a tab should change the whole tab"),
+        () -> assertEquals(tab, changes.get(1).getTab(), "A nested component should be changed in its tab"),
+        () -> assertEquals(widget, changes.get(1).getComponent()),
+        () -> assertTrue(changes.get(2).isSelectionChange()),
+        () -> assertTrue(changes.get(3).isFullChange())
+    );
+  }
+
 }
@@ -0,0 +1,73 @@
+package edu.wpi.first.shuffleboard.api.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CoalescingDispatcherTest {
+
+  private final List<Runnable> scheduled = new ArrayList<>();
+  private CoalescingDispatcher dispatcher;
+
+  @BeforeEach
+  public void setup() {
+    scheduled.clear();
+    dispatcher = new CoalescingDispatcher(scheduled::add);
+  }
+
+  private void runScheduled() {
+    List<Runnable> batch = new ArrayList<>(scheduled);
+    scheduled.clear();
+    batch.forEach(Runnable::run);
+  }
+
+  @Test
+  public void testLatestUpdateWins() {
+    List<String> results = new ArrayList<>();
+    dispatcher.submit("a", () -> results.add("a1"));
+    dispatcher.submit("b", () -> results.add("b1"));
+    dispatcher.submit("a", () -> results.add("a2"));
+    assertEquals(1, scheduled.size(), "Only one batch should be scheduled");
+    assertEquals(2, dispatcher.getQueueDepth());
+    runScheduled();
+    assertAll(
+        () -> assertEquals(List.of("a2", "b1"), results),
+        () -> assertEquals(0, dispatcher.getQueueDepth()),
+        () -> assertEquals(3, dispatcher.getSubmittedCount()),
+        () -> assertEquals(1, dispatcher.getCoalescedCount()),
+        () -> assertEquals(2, dispatcher.getDispatchedCount()),
+        () -> assertEquals(1, dispatcher.getBatchCount())
+    );
+  }
+
+  @Test
+  public void testUpdateDuringBatchRunsInNextBatch() {
+    List<String> results = new ArrayList<>();
+    dispatcher.submit("a", () -> {
+      results.add("a1");
+      dispatcher.submit("a", () -> results.add("a2"));
+    });
+    runScheduled();
+    assertEquals(List.of("a1"), results);
+    assertEquals(1, scheduled.size(), "A new batch should have been scheduled");
+    runScheduled();
+    assertEquals(List.of("a1", "a2"), results);
+  }
+
+  @Test
+  public void testExceptionDoesNotStopBatch() {
+    List<String> results = new ArrayList<>();
+    dispatcher.submit("a", () -> {
+      throw new IllegalStateException("Expected");
+    });
+    dispatcher.submit("b", () -> results.add("b"));
+    runScheduled();
+    assertEquals(List.of("b"), results);
+  }
+
+}
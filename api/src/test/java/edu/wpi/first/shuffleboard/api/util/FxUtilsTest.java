@@ -1,9 +1,12 @@
 package edu.wpi.first.shuffleboard.api.util;
 
 import javafx.application.Platform;
+import javafx.scene.Scene;
 import javafx.scene.control.MenuItem;
+import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.stage.Stage;
+import org.fxmisc.easybind.monadic.MonadicBinding;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -19,7 +22,9 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -29,9 +34,12 @@ public class FxUtilsTest extends UtilityClassTest<FxUtils> {
   @Tag("UI")
   public class FxTests extends ApplicationTest {
 
+    private Stage stage;
+
     @Override
     public void start(Stage stage) throws Exception {
       // Setup FxToolkit
+      this.stage = stage;
     }
 
     @Test
@@ -50,6 +58,38 @@ public class FxUtilsTest extends UtilityClassTest<FxUtils> {
       assertTrue(isOnFxThread.get(5, TimeUnit.SECONDS));
     }
 
+    @Test
+    public void showingTest() {
+      Pane child = new Pane();
+      Pane parent = new Pane(child);
+      MonadicBinding<Boolean> showing = FxUtils.showing(child);
+      assertFalse(showing.get(), "A node not in a scene should not be showing");
+
+      interact(() -> {
+        stage.setScene(new Scene(parent));
+        stage.show();
+      });
+      assertTrue(showing.get(), "A node in a showing window should be showing");
+
+      interact(() -> parent.setVisible(false));
+      assertFalse(showing.get(), "A node with a hidden parent should not be showing");
+
+      interact(() -> {
+        parent.setVisible(true);
+        child.setVisible(false);
+      });
+      assertFalse(showing.get(), "A hidden node should not be showing");
+
+      interact(() -> {
+        child.setVisible(true);
+        stage.hide();
+      });
+      assertAll(
+          () -> assertFalse(showing.get(), "A node in a hidden window should not be showing"),
+          () -> assertFalse(FxUtils.showing(new Pane()).get(), "A node with no parent or scene should not be showing")
+      );
+    }
+
   }
 
   @Test
@@ -0,0 +1,53 @@
+package edu.wpi.first.shuffleboard.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.util.List;
+
+import javafx.fxml.FXMLLoader;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FxmlCacheTest {
+
+  @Test
+  public void testFindReferencedClasses() {
+    String document = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+        + "<?import javafx.scene.control.Label?>\n"
+        + "<?import javafx.scene.layout.*?>\n"
+        + "<?import  edu.wpi.first.shuffleboard.api.components.NumberField ?>\n"
+        + "<StackPane xmlns:fx=\"http://javafx.com/fxml/1\" fx:controller=\"com.example.FooController\">\n"
+        + "  <Label text=\"Foo\"/>\n"
+        + "</StackPane>\n";
+    assertEquals(
+        List.of(
+            "javafx.scene.control.Label",
+            "edu.wpi.first.shuffleboard.api.components.NumberField",
+            "com.example.FooController"
+        ),
+        FxmlCache.findReferencedClasses(document)
+    );
+  }
+
+  @Test
+  public void testLoadsIndependentRoots() throws Exception {
+    FXMLLoader first = FxmlCache.load(FxmlCacheTest.class, "FxmlCacheTest.fxml");
+    FXMLLoader second = FxmlCache.load(FxmlCacheTest.class, "FxmlCacheTest.fxml");
+    assertAll(
+        () -> assertEquals(List.of("foo"), first.getRoot()),
+        () -> assertNotSame(first.getRoot(), second.getRoot(), "Each load should create a new root"),
+        () -> assertSame(first.getBuilderFactory(), second.getBuilderFactory(), "Builder factory should be shared")
+    );
+  }
+
+  @Test
+  public void testLoadMissingFile() {
+    assertThrows(FileNotFoundException.class, () -> FxmlCache.load(FxmlCacheTest.class, "DoesNotExist.fxml"));
+  }
+
+}
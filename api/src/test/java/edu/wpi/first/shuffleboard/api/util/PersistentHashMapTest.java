@@ -0,0 +1,159 @@
+package edu.wpi.first.shuffleboard.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PersistentHashMapTest {
+
+  /**
+   * A key with a configurable hash code, used to force hash collisions.
+   */
+  private static final class Key {
+    private final int hash;
+    private final int id;
+
+    Key(int hash, int id) {
+      this.hash = hash;
+      this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof Key && ((Key) obj).id == id;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public String toString() {
+      return "Key" + id;
+    }
+  }
+
+  @Test
+  public void testPlusAndMinus() {
+    PersistentHashMap<String, Object> empty = PersistentHashMap.empty();
+    PersistentHashMap<String, Object> map = empty.plus("a", 1).plus("b", 2);
+    PersistentHashMap<String, Object> removed = map.minus("a");
+    assertAll(
+        () -> assertEquals(Map.of(), empty),
+        () -> assertEquals(Map.of("a", 1, "b", 2), map),
+        () -> assertEquals(Map.of("b", 2), removed),
+        () -> assertNull(removed.get("a")),
+        () -> assertFalse(removed.containsKey("a")),
+        () -> assertSame(map, map.minus("c"), "Removing a missing key should not create a new map")
+    );
+  }
+
+  @Test
+  public void testPlusSameValueReturnsSameMap() {
+    final Object value = new Object();
+    PersistentHashMap<String, Object> map = PersistentHashMap.<String, Object>empty().plus("a", value);
+    assertSame(map, map.plus("a", value));
+  }
+
+  @Test
+  public void testNullsAreRejected() {
+    PersistentHashMap<String, Object> map = PersistentHashMap.empty();
+    assertAll(
+        () -> assertThrows(NullPointerException.class, () -> map.plus(null, 1)),
+        () -> assertThrows(NullPointerException.class, () -> map.plus("a", null))
+    );
+  }
+
+  @Test
+  public void testImmutable() {
+    PersistentHashMap<String, Object> map = PersistentHashMap.<String, Object>empty().plus("a", 1);
+    assertAll(
+        () -> assertThrows(UnsupportedOperationException.class, () -> map.put("b", 2)),
+        () -> assertThrows(UnsupportedOperationException.class, () -> map.remove("a")),
+        () -> assertThrows(UnsupportedOperationException.class, () -> map.entrySet().iterator().remove())
+    );
+  }
+
+  @Test
+  public void testMatchesHashMapWithCollisions() {
+    final Random random = new Random(0);
+    PersistentHashMap<Key, Object> map = PersistentHashMap.empty();
+    final Map<Key, Object> expected = new HashMap<>();
+    for (int i = 0; i < 5000; i++) {
+      final int id = random.nextInt(500);
+      // Only 16 distinct hashes, so most keys collide
+      final Key key = new Key(id % 16, id);
+      if (random.nextInt(3) == 0) {
+        map = map.minus(key);
+        expected.remove(key);
+      } else {
+        final Object value = random.nextInt(10);
+        map = map.plus(key, value);
+        expected.put(key, value);
+      }
+    }
+    assertEquals(expected, map);
+    assertEquals(expected.size(), map.entrySet().stream().count());
+  }
+
+  @Test
+  public void testDiff() {
+    PersistentHashMap<String, Object> base = PersistentHashMap.empty();
+    for (int i = 0; i < 1000; i++) {
+      base = base.plus("key" + i, i);
+    }
+    final PersistentHashMap<String, Object> changed = base
+        .plus("key1", -1)
+        .plus("key2", 2) // same value as before
+        .plus("new", "value")
+        .minus("key3");
+    final Map<String, Object> changes = new HashMap<>();
+    final Map<String, Object> removals = new HashMap<>();
+    changed.diff(base, changes::put, removals::put);
+    assertAll(
+        () -> assertEquals(Map.of("key1", -1, "new", "value"), changes),
+        () -> assertEquals(Map.of("key3", 3), removals)
+    );
+  }
+
+  @Test
+  public void testDiffUnrelatedMaps() {
+    final Random random = new Random(1);
+    final Map<Key, Object> first = new HashMap<>();
+    final Map<Key, Object> second = new HashMap<>();
+    for (int i = 0; i < 300; i++) {
+      final int id = random.nextInt(400);
+      first.put(new Key(id % 64, id), random.nextInt(3));
+      final int otherId = random.nextInt(400);
+      second.put(new Key(otherId % 64, otherId), random.nextInt(3));
+    }
+    final Map<Key, Object> expectedChanges = new HashMap<>();
+    first.forEach((key, value) -> {
+      if (!Objects.equals(value, second.get(key))) {
+        expectedChanges.put(key, value);
+      }
+    });
+    final Map<Key, Object> expectedRemovals = new HashMap<>(second);
+    expectedRemovals.keySet().removeAll(first.keySet());
+
+    final Map<Key, Object> changes = new HashMap<>();
+    final Map<Key, Object> removals = new HashMap<>();
+    PersistentHashMap.copyOf(first).diff(PersistentHashMap.copyOf(second), changes::put, removals::put);
+    assertAll(
+        () -> assertEquals(expectedChanges, changes),
+        () -> assertEquals(expectedRemovals, removals)
+    );
+  }
+
+}
@@ -0,0 +1,131 @@
+package edu.wpi.first.shuffleboard.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.collections.ListChangeListener;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UniqueObservableListTest {
+
+  @Test
+  public void testNoDuplicates() {
+    UniqueObservableList<String> list = new UniqueObservableList<>();
+    assertAll(
+        () -> assertTrue(list.add("a")),
+        () -> assertFalse(list.add("a"), "Adding a duplicate should have no effect"),
+        () -> assertTrue(list.addAll(List.of("b", "a", "c", "b"))),
+        () -> assertEquals(List.of("a", "b", "c"), list),
+        () -> assertThrows(IllegalArgumentException.class, () -> list.add(0, "c")),
+        () -> assertThrows(IllegalArgumentException.class, () -> list.set(0, "c")),
+        () -> assertThrows(NullPointerException.class, () -> list.add(null))
+    );
+  }
+
+  @Test
+  public void testContainsAfterRemoval() {
+    UniqueObservableList<String> list = new UniqueObservableList<>();
+    list.addAll(List.of("a", "b", "c", "d"));
+    list.remove("b");
+    list.removeAll(List.of("a", "d"));
+    assertAll(
+        () -> assertEquals(List.of("c"), list),
+        () -> assertFalse(list.contains("a")),
+        () -> assertEquals(0, list.indexOf("c")),
+        () -> assertEquals(-1, list.indexOf("b")),
+        () -> assertTrue(list.add("a"), "Removed elements should be able to be added again")
+    );
+  }
+
+  @Test
+  public void testAddAllFiresSingleChange() {
+    UniqueObservableList<String> list = new UniqueObservableList<>();
+    list.add("a");
+    List<String> added = new ArrayList<>();
+    int[] changes = {0};
+    list.addListener((ListChangeListener<String>) c -> {
+      changes[0]++;
+      while (c.next()) {
+        added.addAll(c.getAddedSubList());
+      }
+    });
+    list.addAll(List.of("a", "b", "c"));
+    assertAll(
+        () -> assertEquals(1, changes[0]),
+        () -> assertEquals(List.of("b", "c"), added)
+    );
+  }
+
+  @Test
+  public void testRemoveAllFiresSingleChange() {
+    UniqueObservableList<String> list = new UniqueObservableList<>();
+    list.addAll(List.of("a", "b", "c", "d", "e"));
+    List<String> removed = new ArrayList<>();
+    int[] changes = {0};
+    list.addListener((ListChangeListener<String>) c -> {
+      changes[0]++;
+      while (c.next()) {
+        removed.addAll(c.getRemoved());
+      }
+    });
+    list.removeAll(List.of("b", "d", "e", "x"));
+    assertAll(
+        () -> assertEquals(1, changes[0]),
+        () -> assertEquals(List.of("b", "d", "e"), removed),
+        () -> assertEquals(List.of("a", "c"), list)
+    );
+  }
+
+  @Test
+  public void testRunBatch() {
+    UniqueObservableList<String> list = new UniqueObservableList<>();
+    list.addAll(List.of("a", "b"));
+    int[] changes = {0};
+    List<String> added = new ArrayList<>();
+    List<String> removed = new ArrayList<>();
+    list.addListener((ListChangeListener<String>) c -> {
+      changes[0]++;
+      while (c.next()) {
+        added.addAll(c.getAddedSubList());
+        removed.addAll(c.getRemoved());
+      }
+    });
+    list.runBatch(() -> {
+      list.add("c");
+      list.remove("a");
+      list.add("d");
+    });
+    assertAll(
+        () -> assertEquals(1, changes[0]),
+        () -> assertEquals(List.of("c", "d"), added),
+        () -> assertEquals(List.of("a"), removed),
+        () -> assertEquals(List.of("b", "c", "d"), list)
+    );
+  }
+
+  @Test
+  public void testClear() {
+    UniqueObservableList<String> list = new UniqueObservableList<>();
+    list.addAll(List.of("a", "b"));
+    List<String> removed = new ArrayList<>();
+    list.addListener((ListChangeListener<String>) c -> {
+      while (c.next()) {
+        removed.addAll(c.getRemoved());
+      }
+    });
+    list.clear();
+    assertAll(
+        () -> assertTrue(list.isEmpty()),
+        () -> assertFalse(list.contains("a")),
+        () -> assertEquals(List.of("a", "b"), removed)
+    );
+  }
+
+}
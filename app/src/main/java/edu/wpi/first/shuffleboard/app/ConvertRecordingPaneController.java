@@ -216,7 +216,7 @@ public final class ConvertRecordingPaneController {
     conversionExecutor.submit(() -> {
       for (File file : sourceFiles) {
         try {
-          Recording recording = Serialization.loadRecording(file.toPath());
+          Recording recording = Serialization.openRecording(file.toPath());
           String dstFileName = file.getName().replace(".sbr", converter.fileExtension());
           Path dst = Paths.get(outputDir.getValue().getAbsolutePath(), dstFileName);
           log.info("Exporting " + file + " to " + dst);
@@ -0,0 +1,228 @@
+package edu.wpi.first.shuffleboard.app;
+
+import edu.wpi.first.shuffleboard.api.json.AnnotatedTypeAdapter;
+import edu.wpi.first.shuffleboard.api.json.ElementTypeAdapter;
+import edu.wpi.first.shuffleboard.api.json.PropertySaver;
+import edu.wpi.first.shuffleboard.api.prefs.Group;
+import edu.wpi.first.shuffleboard.api.prefs.Setting;
+import edu.wpi.first.shuffleboard.api.widget.Component;
+import edu.wpi.first.shuffleboard.api.widget.Layout;
+import edu.wpi.first.shuffleboard.api.widget.Sourced;
+import edu.wpi.first.shuffleboard.app.components.DashboardTab;
+import edu.wpi.first.shuffleboard.app.components.DashboardTabPane;
+import edu.wpi.first.shuffleboard.app.components.Tile;
+import edu.wpi.first.shuffleboard.app.components.WidgetPane;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.control.Tab;
+
+/**
+ * Tracks whether a dashboard may have changed since it was last known to match its save file.
+ *
+ * <p>When {@link #watch(DashboardTabPane) watching} a dashboard, a listener is added to everything in it that is
+ * written to the save file: the tabs and their settings, the tiles in each tab and their sizes and positions, and the
+ * titles, glyphs, settings, saved properties, and sources of every component, the nodes in each layout that hold
+ * the layout constraints of its children, and anything else that the custom type adapters of plugins
+ * {@link ElementTypeAdapter#getSavedObservables report} as saved. The first change to any of them marks the dashboard
+ * as dirty and removes all the listeners, since nothing else needs to be tracked until the dashboard is saved again.
+ *
+ * <p>A dashboard containing a component saved by a custom type adapter that cannot report its saved state is always
+ * dirty, so a dashboard that is not dirty is known to match the last save. A dirty dashboard may still match it (for
+ * example, if a setting was changed and then changed back).
+ */
+final class DashboardChangeTracker {
+
+  private static final Logger log = Logger.getLogger(DashboardChangeTracker.class.getName());
+
+  private final InvalidationListener changeListener = __ -> markDirty();
+  private final List<Observable> watched = new ArrayList<>();
+  private final Supplier<? extends List<ElementTypeAdapter<?>>> customTypeAdapters;
+  private boolean dirty = true;
+  private boolean untrackable = false;
+
+  /**
+   * Creates a new change tracker.
+   *
+   * @param customTypeAdapters supplies the custom type adapters used to save components, in addition to the built-in
+   *                           ones
+   */
+  DashboardChangeTracker(Supplier<? extends List<ElementTypeAdapter<?>>> customTypeAdapters) {
+    this.customTypeAdapters = customTypeAdapters;
+  }
+
+  /**
+   * Starts watching a dashboard for changes, and marks it as not dirty. This replaces any previously watched dashboard.
+   *
+   * @param dashboard the dashboard to watch
+   */
+  public void watch(DashboardTabPane dashboard) {
+    stopWatching();
+    untrackable = false;
+    try {
+      watchDashboard(dashboard);
+      if (untrackable) {
+        log.fine("The dashboard contains components with unobservable saved state");
+        stopWatching();
+        dirty = true;
+      } else {
+        dirty = false;
+      }
+    } catch (RuntimeException e) {
+      // Don't trust a partially watched dashboard
+      log.log(Level.WARNING, "Could not watch the dashboard for changes", e);
+      stopWatching();
+      dirty = true;
+    }
+  }
+
+  /**
+   * Marks the dashboard as dirty and stops watching it for changes.
+   */
+  public void markDirty() {
+    if (!dirty) {
+      dirty = true;
+      stopWatching();
+    }
+  }
+
+  /**
+   * Checks if the dashboard may have changed since it was last marked as not dirty.
+   */
+  public boolean isDirty() {
+    return dirty;
+  }
+
+  private void stopWatching() {
+    for (Observable observable : watched) {
+      observable.removeListener(changeListener);
+    }
+    watched.clear();
+  }
+
+  private void add(Observable observable) {
+    observable.addListener(changeListener);
+    watched.add(observable);
+  }
+
+  private void watchDashboard(DashboardTabPane dashboard) {
+    add(dashboard.getTabs());
+    for (Tab tab : dashboard.getTabs()) {
+      if (tab instanceof DashboardTab) {
+        watchTab((DashboardTab) tab);
+      }
+    }
+  }
+
+  private void watchTab(DashboardTab tab) {
+    add(tab.titleProperty());
+    add(tab.autoPopulateProperty());
+    add(tab.sourcePrefixProperty());
+    add(tab.widgetPaneProperty());
+    watchSettings(tab.getSettings());
+    WidgetPane pane = tab.getWidgetPane();
+    add(pane.getTiles());
+    add(pane.tileSizeProperty());
+    add(pane.showGridProperty());
+    add(pane.hgapProperty());
+    add(pane.vgapProperty());
+    add(pane.tileType());
+    for (Tile<?> tile : pane.getTiles()) {
+      add(tile.sizeProperty());
+      add(tile.contentProperty());
+      // The grid position of a tile is stored in its properties map
+      add(tile.getProperties());
+      tile.getContent().allComponents().forEach(this::watchComponent);
+    }
+  }
+
+  private void watchComponent(Component component) {
+    add(component.titleProperty());
+    add(component.glyphProperty());
+    add(component.showGlyphProperty());
+    watchSettings(component.getSettings());
+    watchCustomState(component);
+    PropertySaver.getSavedObservables(component).forEach(this::add);
+    if (component instanceof Sourced) {
+      add(((Sourced) component).getSources());
+    }
+    if (component instanceof Layout) {
+      Layout layout = (Layout) component;
+      if (layout.getChildren() instanceof Observable) {
+        add((Observable) layout.getChildren());
+      }
+      watchLayoutNodes(layout);
+    }
+  }
+
+  /**
+   * Watches the nodes between a layout's view and the views of its children. Layouts store the positions of their
+   * children in the layout constraints of these nodes (for example, the row and column of a child in a grid), which
+   * are kept in the nodes' properties maps.
+   */
+  private void watchLayoutNodes(Layout layout) {
+    Set<Node> childViews = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Component child : layout.getChildren()) {
+      childViews.add(child.getView());
+    }
+    watchLayoutNode(layout.getView(), childViews);
+  }
+
+  private void watchLayoutNode(Node node, Set<Node> childViews) {
+    add(node.getProperties());
+    if (childViews.contains(node) || !(node instanceof Parent)) {
+      // The rest of the scene graph belongs to the child component
+      return;
+    }
+    Parent parent = (Parent) node;
+    add(parent.getChildrenUnmodifiable());
+    for (Node child : parent.getChildrenUnmodifiable()) {
+      watchLayoutNode(child, childViews);
+    }
+  }
+
+  /**
+   * Watches the state of a component that is saved by custom type adapters, or marks the dashboard as untrackable if
+   * an adapter cannot report it.
+   */
+  private void watchCustomState(Component component) {
+    for (ElementTypeAdapter<?> adapter : customTypeAdapters.get()) {
+      AnnotatedTypeAdapter annotation = adapter.getClass().getAnnotation(AnnotatedTypeAdapter.class);
+      if (annotation == null || !annotation.forType().isInstance(component)) {
+        continue;
+      }
+      Optional<List<Observable>> observables = getSavedObservables(adapter, component);
+      if (observables.isPresent()) {
+        observables.get().forEach(this::add);
+      } else {
+        untrackable = true;
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Optional<List<Observable>> getSavedObservables(ElementTypeAdapter<?> adapter, Component component) {
+    return ((ElementTypeAdapter<Component>) adapter).getSavedObservables(component);
+  }
+
+  private void watchSettings(List<Group> groups) {
+    for (Group group : groups) {
+      for (Setting<?> setting : group.getSettings()) {
+        add(setting.getProperty());
+      }
+    }
+  }
+
+}
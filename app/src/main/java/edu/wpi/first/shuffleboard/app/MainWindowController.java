@@ -159,6 +159,7 @@ public class MainWindowController {
       }
     });
     contentRoot.getChildren().add(0, dashboard);
+    saveFileHandler.markDirty();
   }
 
   /**
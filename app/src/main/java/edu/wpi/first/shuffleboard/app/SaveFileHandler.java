@@ -8,9 +8,9 @@ import com.google.common.io.Files;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.Writer;
-import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -26,6 +26,16 @@ public final class SaveFileHandler {
 
   private File currentFile = null;
 
+  /**
+   * The window geometry, modification time, and size of the current file when the dashboard was last known to match
+   * it. Used with the change tracker to avoid re-serializing an unchanged dashboard when checking if it is up to date.
+   */
+  private WindowGeometry savedWindowGeometry = null;
+  private long savedLastModified = -1;
+  private long savedLength = -1;
+  private final DashboardChangeTracker changeTracker =
+      new DashboardChangeTracker(JsonBuilder::getPluginTypeAdapters);
+
   /**
    * Saves dashboard data. If no save file has been specified, then the user will be prompted to choose a save file.
    *
@@ -65,11 +75,8 @@ public final class SaveFileHandler {
   }
 
   private void saveFile(File file, DashboardData data) {
-    try {
-      Writer writer = Files.newWriter(file, Charset.forName("UTF-8"));
-
-      JsonBuilder.forSaveFile().toJson(data, writer);
-      writer.flush();
+    try (Writer writer = Files.newWriter(file, StandardCharsets.UTF_8)) {
+      writer.write(JsonBuilder.forSaveFile().toJson(data));
     } catch (IOException | RuntimeException e) {
       log.log(Level.WARNING, "Couldn't save", e);
       return;
@@ -77,6 +84,7 @@ public final class SaveFileHandler {
 
     currentFile = file;
     AppPreferences.getInstance().setSaveFile(currentFile);
+    markSaved(data);
   }
 
   /**
@@ -110,14 +118,17 @@ public final class SaveFileHandler {
     if (file == null) {
       return null;
     }
-    Reader reader = Files.newReader(file, Charset.forName("UTF-8"));
+    String json = Files.asCharSource(file, StandardCharsets.UTF_8).read();
 
-    DashboardData dashboardData = JsonBuilder.forSaveFile().fromJson(reader, DashboardData.class);
+    DashboardData dashboardData = JsonBuilder.forSaveFile().fromJson(json, DashboardData.class);
     if (dashboardData == null) {
       throw new IOException("Save file could not be read: " + file);
     }
     currentFile = file;
     AppPreferences.getInstance().setSaveFile(file);
+    // The file may have been written by an older version, so the loaded dashboard may not serialize to the same
+    // contents; it will be compared the first time it is checked
+    markDirty();
     return dashboardData;
   }
 
@@ -126,20 +137,64 @@ public final class SaveFileHandler {
    */
   public void clear() {
     currentFile = null;
+    markDirty();
+  }
+
+  /**
+   * Marks the dashboard as possibly having changed since it was last saved. This only needs to be called for changes
+   * that cannot be observed, since changes to the tabs, tiles, and component properties are tracked automatically.
+   */
+  public void markDirty() {
+    changeTracker.markDirty();
+    savedWindowGeometry = null;
+    savedLastModified = -1;
+    savedLength = -1;
+  }
+
+  /**
+   * Records that the dashboard matches the current file, and starts tracking changes to it.
+   */
+  private void markSaved(DashboardData data) {
+    savedWindowGeometry = data.getWindowGeometry();
+    savedLastModified = currentFile.lastModified();
+    savedLength = currentFile.length();
+    changeTracker.watch(data.getTabPane());
   }
 
+  /**
+   * Checks if the dashboard has not been changed since it was last saved, and the current file has not been modified
+   * since then.
+   */
+  private boolean isUnchangedSinceSave(DashboardData data) {
+    return !changeTracker.isDirty()
+        && Objects.equals(savedWindowGeometry, data.getWindowGeometry())
+        && currentFile.lastModified() == savedLastModified
+        && currentFile.length() == savedLength;
+  }
 
   /**
-   * Check whether the given data is up to date with the current file if it exists.
+   * Check whether the given data is up to date with the current file if it exists. If the dashboard may have changed
+   * since it was last saved or checked, it is serialized and compared to the contents of the file on disk.
    *
    * @param data the data to check
    *
    * @return if the data is up to date
    */
   public boolean isUpToDate(DashboardData data) {
+    if (currentFile == null) {
+      return false;
+    }
+    if (isUnchangedSinceSave(data)) {
+      return true;
+    }
     try {
-      return JsonBuilder.forSaveFile().toJson(data).equals(Files.toString(currentFile, Charset.forName("UTF-8")));
-    } catch (IOException | NullPointerException e) {
+      String json = JsonBuilder.forSaveFile().toJson(data);
+      if (json.equals(Files.asCharSource(currentFile, StandardCharsets.UTF_8).read())) {
+        markSaved(data);
+        return true;
+      }
+      return false;
+    } catch (IOException | RuntimeException e) {
       return false;
     }
   }
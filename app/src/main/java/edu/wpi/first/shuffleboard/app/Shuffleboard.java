@@ -1,13 +1,16 @@
 package edu.wpi.first.shuffleboard.app;
 
+import edu.wpi.first.shuffleboard.api.plugin.Plugin;
 import edu.wpi.first.shuffleboard.api.sources.recording.Converters;
 import edu.wpi.first.shuffleboard.api.theme.Themes;
 import edu.wpi.first.shuffleboard.api.util.ShutdownHooks;
 import edu.wpi.first.shuffleboard.api.util.Storage;
 import edu.wpi.first.shuffleboard.api.util.Time;
+import edu.wpi.first.shuffleboard.api.widget.Components;
 import edu.wpi.first.shuffleboard.app.plugin.PluginCache;
 import edu.wpi.first.shuffleboard.app.plugin.PluginLoader;
 import edu.wpi.first.shuffleboard.app.prefs.AppPreferences;
+import edu.wpi.first.shuffleboard.app.sources.recording.CompressedRecordingConverter;
 import edu.wpi.first.shuffleboard.app.sources.recording.CsvConverter;
 import edu.wpi.first.shuffleboard.plugin.base.BasePlugin;
 import edu.wpi.first.shuffleboard.plugin.cameraserver.CameraServerPlugin;
@@ -20,8 +23,12 @@ import it.sauronsoftware.junique.JUnique;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.URI;
 import java.net.URISyntaxException;
 import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -74,18 +81,18 @@ public class Shuffleboard extends Application {
     // version, show an alert and exit before we get into trouble.
 
     Converters.getDefault().register(CsvConverter.Instance);
-
-    notifyPreloader(new ShuffleboardPreloader.StateNotification("Loading base plugin", 0.125));
-    PluginLoader.getDefault().load(new BasePlugin());
-
-    notifyPreloader(new ShuffleboardPreloader.StateNotification("Loading NetworkTables plugin", 0.25));
-    PluginLoader.getDefault().load(new NetworkTablesPlugin());
-    notifyPreloader(new ShuffleboardPreloader.StateNotification("Loading CameraServer plugin", 0.375));
-    PluginLoader.getDefault().load(new CameraServerPlugin());
-    notifyPreloader(new ShuffleboardPreloader.StateNotification("Loading custom plugins", 0.625));
-    PluginLoader.getDefault().loadAllJarsFromDir(Storage.getPluginPath());
-    notifyPreloader(new ShuffleboardPreloader.StateNotification("Loading custom plugins", 0.75));
-    PluginCache.getDefault().loadCache(PluginLoader.getDefault());
+    Converters.getDefault().register(CompressedRecordingConverter.Instance);
+
+    notifyPreloader(new ShuffleboardPreloader.StateNotification("Loading plugins", 0.125));
+    // Load plugins from the plugin directory and the cache together so they can depend on each other in any order
+    Set<URI> pluginJars = new LinkedHashSet<>(PluginLoader.findJarsInDir(Storage.getPluginPath()));
+    pluginJars.addAll(PluginCache.getDefault().getCachedJars());
+    // The built-in plugins are loaded while the plugin jars are scanned in the background
+    List<Plugin> builtInPlugins = List.of(new BasePlugin(), new NetworkTablesPlugin(), new CameraServerPlugin());
+    PluginLoader.getDefault().loadAll(builtInPlugins, pluginJars,
+        status -> notifyPreloader(new ShuffleboardPreloader.StateNotification(status, 0.5)));
+    // Read widget FXML files in the background while the main window is loading
+    Components.getDefault().prewarmViews();
     Stopwatch fxmlLoadTimer = Stopwatch.createStarted();
 
     notifyPreloader(new ShuffleboardPreloader.StateNotification("Initializing user interface", 0.875));
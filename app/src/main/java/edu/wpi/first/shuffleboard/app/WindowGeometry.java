@@ -1,5 +1,7 @@
 package edu.wpi.first.shuffleboard.app;
 
+import java.util.Objects;
+
 import javafx.stage.Window;
 
 /**
@@ -39,4 +41,24 @@ public final class WindowGeometry {
   public double getHeight() {
     return height;
   }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    WindowGeometry that = (WindowGeometry) o;
+    return this.x == that.x
+        && this.y == that.y
+        && this.width == that.width
+        && this.height == that.height;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(x, y, width, height);
+  }
 }
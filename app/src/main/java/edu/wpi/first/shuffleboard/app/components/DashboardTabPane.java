@@ -5,6 +5,8 @@ import edu.wpi.first.shuffleboard.api.plugin.Plugin;
 import edu.wpi.first.shuffleboard.api.sources.DataSource;
 import edu.wpi.first.shuffleboard.api.sources.SourceEntry;
 import edu.wpi.first.shuffleboard.api.tab.TabInfo;
+import edu.wpi.first.shuffleboard.api.tab.model.ComponentModel;
+import edu.wpi.first.shuffleboard.api.tab.model.StructureChange;
 import edu.wpi.first.shuffleboard.api.tab.model.StructureChangeListener;
 import edu.wpi.first.shuffleboard.api.tab.model.TabModel;
 import edu.wpi.first.shuffleboard.api.tab.model.TabStructure;
@@ -17,13 +19,22 @@ import edu.wpi.first.shuffleboard.app.plugin.PluginLoader;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
+import javafx.application.Platform;
 import javafx.collections.ListChangeListener;
 import javafx.collections.SetChangeListener;
 import javafx.event.Event;
@@ -39,17 +50,83 @@ public class DashboardTabPane extends TabPane {
 
   private final Map<TabStructure, Map<TabModel, ProcedurallyDefinedTab>> pluginTabs = new WeakHashMap<>();
 
-  private final StructureChangeListener structureChangeListener = tabs -> {
-    FxUtils.runOnFxThread(() -> {
-      Map<TabModel, ProcedurallyDefinedTab> realTabs = pluginTabs.computeIfAbsent(tabs, __ -> new WeakHashMap<>());
-      for (TabModel model : tabs.getTabs().values()) {
-        var tab = realTabs.computeIfAbsent(model, m -> new ProcedurallyDefinedTab(m, PropertyParsers.getDefault()));
-        if (!getTabs().contains(tab)) {
-          getTabs().add(tab);
-        }
+  /**
+   * Structure changes waiting to be applied on the JavaFX application thread. Changes typically arrive in bursts from
+   * the NetworkTables thread (for example, when robot code sets the properties of many widgets at once), so they are
+   * coalesced and applied at most once per pulse instead of once per change.
+   */
+  private final Queue<Map.Entry<TabStructure, StructureChange>> pendingChanges = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean applyScheduled = new AtomicBoolean(false);
+
+  private final StructureChangeListener structureChangeListener = new StructureChangeListener() {
+    @Override
+    public void structureChanged(TabStructure structure) {
+      structureChanged(structure, StructureChange.all());
+    }
+
+    @Override
+    public void structureChanged(TabStructure structure, StructureChange change) {
+      pendingChanges.add(Map.entry(structure, change));
+      if (applyScheduled.compareAndSet(false, true)) {
+        Platform.runLater(DashboardTabPane.this::applyPendingChanges);
+      }
+    }
+  };
+
+  private void applyPendingChanges() {
+    applyScheduled.set(false);
+    Map<TabStructure, List<StructureChange>> changes = new LinkedHashMap<>();
+    Map.Entry<TabStructure, StructureChange> entry;
+    while ((entry = pendingChanges.poll()) != null) {
+      changes.computeIfAbsent(entry.getKey(), __ -> new ArrayList<>()).add(entry.getValue());
+    }
+    changes.forEach(this::applyChanges);
+  }
+
+  /**
+   * Updates the procedurally defined tabs for a tab structure. Only the tabs and components affected by the changes
+   * are populated.
+   *
+   * @param tabs    the tab structure that changed
+   * @param changes the changes to the structure
+   */
+  private void applyChanges(TabStructure tabs, Collection<StructureChange> changes) {
+    boolean all = false;
+    boolean selection = false;
+    Set<TabModel> changedTabs = new HashSet<>();
+    Map<TabModel, Set<ComponentModel>> changedComponents = new HashMap<>();
+    for (StructureChange change : changes) {
+      if (change.isFullChange()) {
+        all = true;
+      } else if (change.isSelectionChange()) {
+        selection = true;
+      } else if (change.getComponent() == null) {
+        changedTabs.add(change.getTab());
+      } else {
+        changedComponents.computeIfAbsent(change.getTab(), __ -> new LinkedHashSet<>()).add(change.getComponent());
+      }
+    }
+
+    Map<TabModel, ProcedurallyDefinedTab> realTabs = pluginTabs.computeIfAbsent(tabs, __ -> new WeakHashMap<>());
+    for (TabModel model : tabs.getTabs().values()) {
+      ProcedurallyDefinedTab tab = realTabs.get(model);
+      boolean added = false;
+      if (tab == null) {
+        tab = new ProcedurallyDefinedTab(model, PropertyParsers.getDefault());
+        realTabs.put(model, tab);
+      }
+      if (!getTabs().contains(tab)) {
+        getTabs().add(tab);
+        added = true;
+      }
+      if (all || added || changedTabs.contains(model)) {
         tab.populate();
+      } else if (changedComponents.containsKey(model)) {
+        tab.populate(changedComponents.get(model));
       }
+    }
 
+    if (all || selection) {
       if (tabs.getSelectedTabIndex() >= 0) {
         selectTab(tabs.getSelectedTabIndex());
       } else if (tabs.getSelectedTabTitle() != null) {
@@ -61,8 +138,8 @@ public class DashboardTabPane extends TabPane {
             .findFirst()
             .ifPresent(getSelectionModel()::select);
       }
-    });
-  };
+    }
+  }
 
   /**
    * Creates a dashboard with no tabs.
@@ -89,7 +166,7 @@ public class DashboardTabPane extends TabPane {
         .stream()
         .map(Plugin::getTabs)
         .filter(Objects::nonNull)
-        .forEach(structureChangeListener::structureChanged);
+        .forEach(s -> FxUtils.runOnFxThread(() -> applyChanges(s, List.of(StructureChange.all()))));
 
     PluginLoader.getDefault().getLoadedPlugins()
         .stream()
@@ -11,9 +11,14 @@ import edu.wpi.first.shuffleboard.api.util.FxUtils;
 import edu.wpi.first.shuffleboard.api.widget.Component;
 import edu.wpi.first.shuffleboard.api.widget.Components;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
+import javafx.application.Platform;
 import javafx.collections.MapChangeListener;
 import javafx.scene.control.ContextMenu;
 import javafx.scene.control.MenuItem;
@@ -31,6 +36,10 @@ import javafx.scene.input.TransferMode;
 public final class InteractiveSourceTree extends SourceTreeTable<SourceEntry, Object> {
 
   private final Consumer<Component> addComponentToActiveTab;
+  // Changes to the available sources that have not yet been applied to the tree, keyed by source name
+  private final Map<String, SourceEntry> pendingUpdates = new LinkedHashMap<>();
+  private final Map<String, SourceEntry> pendingRemovals = new LinkedHashMap<>();
+  private boolean flushScheduled = false;
   private SourceEntry selectedEntry; // NOPMD could be final - false positive. PMD doesn't seem to know what a lambda is
 
   /**
@@ -89,18 +98,36 @@ public final class InteractiveSourceTree extends SourceTreeTable<SourceEntry, Ob
       SourceEntry entry = sourceType.createSourceEntryForUri(change.getKey());
       if (DataSourceUtils.isNotMetadata(entry.getName())) {
         if (change.wasAdded()) {
-          updateEntry(entry);
+          pendingRemovals.remove(entry.getName());
+          pendingUpdates.put(entry.getName(), entry);
         } else if (change.wasRemoved()) {
-          removeEntry(entry);
+          pendingUpdates.remove(entry.getName());
+          pendingRemovals.put(entry.getName(), entry);
+        }
+        if (!flushScheduled) {
+          // Sources tend to change in bursts (eg when connecting to a robot), so apply them all at once on the next
+          // pulse instead of one at a time
+          flushScheduled = true;
+          Platform.runLater(this::applyPendingChanges);
         }
       }
     });
 
     // Update when the available sources chaneg
-    sourceType.getAvailableSourceUris().stream()
+    updateEntries(sourceType.getAvailableSourceUris().stream()
         .filter(DataSourceUtils::isNotMetadata)
         .map(sourceType::createSourceEntryForUri)
-        .forEach(this::updateEntry);
+        .collect(Collectors.toList()));
+  }
+
+  private void applyPendingChanges() {
+    flushScheduled = false;
+    List<SourceEntry> removals = new ArrayList<>(pendingRemovals.values());
+    List<SourceEntry> updates = new ArrayList<>(pendingUpdates.values());
+    pendingRemovals.clear();
+    pendingUpdates.clear();
+    removeEntries(removals);
+    updateEntries(updates);
   }
 
   private void makeSourceRowDraggable(TreeTableRow<? extends SourceEntry> row) {
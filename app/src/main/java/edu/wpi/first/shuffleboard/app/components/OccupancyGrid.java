@@ -0,0 +1,248 @@
+package edu.wpi.first.shuffleboard.app.components;
+
+import edu.wpi.first.shuffleboard.api.util.GridPoint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Tracks which cells of a grid are occupied by rectangular items. Items are tracked incrementally as they are added,
+ * moved, and removed, so checking whether a region is empty does not need to look at every item in the grid.
+ *
+ * <p>The number of items covering each cell is stored in a two-dimensional array. A summed-area table of the counts
+ * is rebuilt lazily after the grid changes, which makes checking any rectangular region a constant-time operation.
+ * The grid grows as needed to fit items that are placed past its current bounds.
+ *
+ * @param <T> the type of the items in the grid
+ */
+final class OccupancyGrid<T> {
+
+  private final Map<T, Rect> items = new HashMap<>();
+  private int negativeItems = 0; // items that extend past the top or left edge, which the grid cannot store
+  private int columns = 0;
+  private int rows = 0;
+  private int[] counts = new int[0]; // row-major, columns * rows
+  private int[] sums = new int[1];   // summed-area table, (columns + 1) * (rows + 1)
+  private boolean dirty = false;
+
+  /**
+   * Sets the location and size of an item in the grid, adding it if it is not already in the grid.
+   *
+   * @param item   the item to place
+   * @param col    the column of the item's top-left cell
+   * @param row    the row of the item's top-left cell
+   * @param width  the number of columns spanned by the item
+   * @param height the number of rows spanned by the item
+   */
+  void place(T item, int col, int row, int width, int height) {
+    final Rect rect = new Rect(col, row, width, height);
+    final Rect old = items.put(item, rect);
+    if (rect.equals(old)) {
+      return;
+    }
+    if (old != null) {
+      fill(old, -1);
+    }
+    fill(rect, 1);
+  }
+
+  /**
+   * Removes an item from the grid. Has no effect if the item is not in the grid.
+   *
+   * @param item the item to remove
+   */
+  void remove(T item) {
+    final Rect old = items.remove(item);
+    if (old != null) {
+      fill(old, -1);
+    }
+  }
+
+  /**
+   * Checks if any item that is not ignored covers at least one cell in a region.
+   *
+   * @param col    the column of the region's top-left cell
+   * @param row    the row of the region's top-left cell
+   * @param width  the number of columns in the region
+   * @param height the number of rows in the region
+   * @param ignore the items to ignore
+   */
+  boolean isOverlapping(int col, int row, int width, int height, Predicate<? super T> ignore) {
+    updateSums();
+    final boolean inGrid = (col >= 0 && row >= 0) || negativeItems == 0;
+    if (inGrid && sum(sums, col, row, width, height) == 0) {
+      return false;
+    }
+    // Something may be in the region; only the items that overlap it need to be checked against the predicate
+    for (Map.Entry<T, Rect> entry : items.entrySet()) {
+      if (entry.getValue().intersects(col, row, width, height) && !ignore.test(entry.getKey())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Finds the first empty region of a given size, searching left-to-right in each row starting from the top.
+   *
+   * @param width   the number of columns in the region
+   * @param height  the number of rows in the region
+   * @param maxCols the number of columns available to the region
+   * @param maxRows the number of rows available to the region
+   * @param ignore  the items to ignore
+   *
+   * @return the top-left cell of the first empty region, or null if there is no empty region of that size
+   */
+  GridPoint firstEmpty(int width, int height, int maxCols, int maxRows, Predicate<? super T> ignore) {
+    updateSums();
+    final List<Rect> ignored = new ArrayList<>();
+    items.forEach((item, rect) -> {
+      if (ignore.test(item)) {
+        ignored.add(rect);
+      }
+    });
+    int[] table = sums;
+    if (!ignored.isEmpty()) {
+      final int[] effectiveCounts = counts.clone();
+      for (Rect rect : ignored) {
+        fill(effectiveCounts, rect, -1);
+      }
+      table = new int[sums.length];
+      computeSums(effectiveCounts, table);
+    }
+    for (int row = 0; row + height <= maxRows; row++) {
+      for (int col = 0; col + width <= maxCols; col++) {
+        if (sum(table, col, row, width, height) == 0) {
+          return new GridPoint(col, row);
+        }
+      }
+    }
+    return null;
+  }
+
+  private void fill(Rect rect, int delta) {
+    if (rect.col < 0 || rect.row < 0) {
+      negativeItems += delta;
+    }
+    ensureSize(rect.col + rect.width, rect.row + rect.height);
+    fill(counts, rect, delta);
+    dirty = true;
+  }
+
+  private void fill(int[] array, Rect rect, int delta) {
+    final int startCol = Math.max(rect.col, 0);
+    final int startRow = Math.max(rect.row, 0);
+    final int endCol = Math.min(rect.col + rect.width, columns);
+    final int endRow = Math.min(rect.row + rect.height, rows);
+    for (int row = startRow; row < endRow; row++) {
+      for (int col = startCol; col < endCol; col++) {
+        array[row * columns + col] += delta;
+      }
+    }
+  }
+
+  private void ensureSize(int minColumns, int minRows) {
+    if (minColumns <= columns && minRows <= rows) {
+      return;
+    }
+    final int newColumns = Math.max(columns, minColumns);
+    final int newRows = Math.max(rows, minRows);
+    final int[] newCounts = new int[newColumns * newRows];
+    for (int row = 0; row < rows; row++) {
+      System.arraycopy(counts, row * columns, newCounts, row * newColumns, columns);
+    }
+    columns = newColumns;
+    rows = newRows;
+    counts = newCounts;
+    sums = new int[(columns + 1) * (rows + 1)];
+    dirty = true;
+  }
+
+  private void updateSums() {
+    if (dirty) {
+      computeSums(counts, sums);
+      dirty = false;
+    }
+  }
+
+  /**
+   * Computes the summed-area table for a grid of counts. {@code table[r * (columns + 1) + c]} is the sum of every
+   * count above and to the left of cell {@code (c, r)}.
+   */
+  private void computeSums(int[] source, int[] table) {
+    final int stride = columns + 1;
+    Arrays.fill(table, 0, stride, 0);
+    for (int row = 0; row < rows; row++) {
+      int rowSum = 0;
+      table[(row + 1) * stride] = 0;
+      for (int col = 0; col < columns; col++) {
+        rowSum += source[row * columns + col];
+        table[(row + 1) * stride + col + 1] = table[row * stride + col + 1] + rowSum;
+      }
+    }
+  }
+
+  /**
+   * Sums the counts in a region using a summed-area table. Parts of the region outside the grid are empty.
+   */
+  private int sum(int[] table, int col, int row, int width, int height) {
+    final int startCol = Math.max(col, 0);
+    final int startRow = Math.max(row, 0);
+    final int endCol = Math.min(col + width, columns);
+    final int endRow = Math.min(row + height, rows);
+    if (startCol >= endCol || startRow >= endRow) {
+      return 0;
+    }
+    final int stride = columns + 1;
+    return table[endRow * stride + endCol]
+        - table[startRow * stride + endCol]
+        - table[endRow * stride + startCol]
+        + table[startRow * stride + startCol];
+  }
+
+  /**
+   * The cells covered by an item.
+   */
+  private static final class Rect {
+
+    private final int col;
+    private final int row;
+    private final int width;
+    private final int height;
+
+    Rect(int col, int row, int width, int height) {
+      this.col = col;
+      this.row = row;
+      this.width = width;
+      this.height = height;
+    }
+
+    boolean intersects(int col, int row, int width, int height) {
+      return this.col + this.width > col && this.row + this.height > row
+          && this.col - width < col && this.row - height < row;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Rect)) {
+        return false;
+      }
+      Rect that = (Rect) obj;
+      return col == that.col && row == that.row && width == that.width && height == that.height;
+    }
+
+    @Override
+    public int hashCode() {
+      return ((col * 31 + row) * 31 + width) * 31 + height;
+    }
+
+  }
+
+}
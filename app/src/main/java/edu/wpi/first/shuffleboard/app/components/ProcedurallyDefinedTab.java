@@ -13,12 +13,13 @@ import edu.wpi.first.shuffleboard.api.util.FxUtils;
 import edu.wpi.first.shuffleboard.api.util.StringUtils;
 import edu.wpi.first.shuffleboard.api.widget.Component;
 import edu.wpi.first.shuffleboard.api.widget.ComponentContainer;
-import edu.wpi.first.shuffleboard.api.widget.SettingsHolder;
 import edu.wpi.first.shuffleboard.api.widget.Widget;
 
 import java.time.Duration;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.WeakHashMap;
 import java.util.logging.Logger;
@@ -37,6 +38,7 @@ public class ProcedurallyDefinedTab extends DashboardTab {
   private boolean deferPopulation = false; // NOPMD
 
   private final Map<ComponentModel, Component> proceduralComponents = new WeakHashMap<>();
+  private final Map<Component, Map<String, Setting<?>>> settingsIndex = new WeakHashMap<>();
   private final Debouncer populateDebouncer =
       new Debouncer(() -> FxUtils.runOnFxThread(this::populate), Duration.ofMillis(50));
 
@@ -73,65 +75,177 @@ public class ProcedurallyDefinedTab extends DashboardTab {
    * Populates this tab from the tab model.
    */
   public void populate() {
+    if (!readyToPopulate()) {
+      return;
+    }
+    applySettings(model.getProperties(), indexSettings(getSettings()));
+    populateLayout(model, getWidgetPane());
+  }
+
+  /**
+   * Updates only the given components from the tab model. Components that do not exist yet are created, and existing
+   * components have their properties re-applied; nothing else in the tab is touched. If this tab is not yet ready to
+   * be populated, the changes will be picked up when it is populated in full.
+   *
+   * @param changed the models of the components that changed
+   */
+  public void populate(Collection<ComponentModel> changed) {
+    if (!readyToPopulate()) {
+      return;
+    }
+    for (ComponentModel componentModel : changed) {
+      Component component = proceduralComponents.get(componentModel);
+      if (component == null) {
+        ComponentContainer container = containerFor(componentModel.getParent());
+        if (container == null) {
+          // The parent layout has not been created yet, so there's no shortcut
+          populateLayout(model, getWidgetPane());
+          return;
+        }
+        addComponent(componentModel, container);
+      } else {
+        // The component itself may have changed the settings it exposes, so don't trust its cached index
+        settingsIndex.remove(component);
+        applySettings(componentModel.getProperties(), settingsFor(component));
+        if (componentModel instanceof LayoutModel) {
+          addNewChildren((LayoutModel) componentModel, (ComponentContainer) component);
+        }
+      }
+    }
+  }
+
+  private boolean readyToPopulate() {
     if (getTabPane() == null) {
       // No longer in the scene; bail
-      return;
+      return false;
     }
     if (getWidgetPane().getScene() != null && !getWidgetPane().getScene().getWindow().isShowing()) {
       // Shuffleboard is closing; bail
-      return;
+      return false;
     }
     if (getWidgetPane().getNumColumns() == 1 && getWidgetPane().getNumRows() == 1) {
       // Defer until the pane is visible and is laid out in the scene
       deferPopulation = true;
       populateDebouncer.run();
-      return;
+      return false;
     }
     if (deferPopulation) {
       // Defer one last time; this method tends to trigger before row/column bindings on the widget pane
       // This makes sure the pane is properly sized before populating it
       deferPopulation = false;
       populateDebouncer.run();
-      return;
+      return false;
     }
-    applySettings(this, model.getProperties());
-    populateLayout(model, getWidgetPane());
+    return true;
+  }
+
+  private ComponentContainer containerFor(ParentModel parent) {
+    if (parent == model) {
+      return getWidgetPane();
+    }
+    Component component = proceduralComponents.get(parent);
+    return component instanceof ComponentContainer ? (ComponentContainer) component : null;
   }
 
   private void populateLayout(ParentModel parent, ComponentContainer container) {
+    removeMovedComponents(parent, container);
     for (ComponentModel componentModel : parent.getChildren().values()) {
       Component component = proceduralComponents.get(componentModel);
       if (component == null) {
-        component = container.addComponent(componentModel);
-        if (component == null) {
-          log.warning("No registered component with name '" + componentModel.getDisplayType() + "'");
-          continue;
+        addComponent(componentModel, container);
+      } else {
+        applySettings(componentModel.getProperties(), settingsFor(component));
+        if (componentModel instanceof LayoutModel) {
+          populateLayout((LayoutModel) componentModel, (ComponentContainer) component);
         }
-        component.setTitle(componentModel.getTitle());
-        if (componentModel instanceof WidgetModel) {
-          ((Widget) component).addSource(((WidgetModel) componentModel).getDataSource());
-        }
-        proceduralComponents.put(componentModel, component);
       }
-      applySettings(component, componentModel.getProperties());
-      if (componentModel instanceof LayoutModel) {
-        populateLayout((LayoutModel) componentModel, (ComponentContainer) proceduralComponents.get(componentModel));
+    }
+  }
+
+  /**
+   * Removes the components for models that are no longer children of the given parent, such as widgets that were moved
+   * into a layout once the layout's type became known.
+   */
+  private void removeMovedComponents(ParentModel parent, ComponentContainer container) {
+    List<ComponentModel> moved = proceduralComponents.keySet().stream()
+        .filter(m -> m.getParent() == parent && parent.getChildren().get(m.getPath()) != m)
+        .collect(Collectors.toList());
+    for (ComponentModel componentModel : moved) {
+      container.removeComponent(proceduralComponents.remove(componentModel));
+    }
+  }
+
+  /**
+   * Creates the components for the children of a layout that do not have components yet, without touching the
+   * existing children.
+   */
+  private void addNewChildren(LayoutModel layout, ComponentContainer container) {
+    for (ComponentModel componentModel : layout.getChildren().values()) {
+      if (!proceduralComponents.containsKey(componentModel)) {
+        addComponent(componentModel, container);
+      }
+    }
+  }
+
+  /**
+   * Creates a component for a model and adds it to a container, along with the components for all of its children.
+   */
+  private void addComponent(ComponentModel componentModel, ComponentContainer container) {
+    Component component = container.addComponent(componentModel);
+    if (component == null) {
+      log.warning("No registered component with name '" + componentModel.getDisplayType() + "'");
+      return;
+    }
+    component.setTitle(componentModel.getTitle());
+    if (componentModel instanceof WidgetModel) {
+      ((Widget) component).addSource(((WidgetModel) componentModel).getDataSource());
+    }
+    proceduralComponents.put(componentModel, component);
+    applySettings(componentModel.getProperties(), settingsFor(component));
+    if (componentModel instanceof LayoutModel) {
+      populateLayout((LayoutModel) componentModel, (ComponentContainer) component);
+    }
+  }
+
+  /**
+   * Gets the settings of a component, indexed by their normalized names. The index is built the first time it is
+   * needed and reused after that, which assumes the settings returned by {@link Component#getSettings()} stay the same
+   * for the life of the component. The index for a component is rebuilt whenever that component is updated on its own,
+   * so settings that a component adds or replaces later are picked up the next time its model changes.
+   */
+  private Map<String, Setting<?>> settingsFor(Component component) {
+    return settingsIndex.computeIfAbsent(component, c -> indexSettings(c.getSettings()));
+  }
+
+  private static Map<String, Setting<?>> indexSettings(List<Group> groups) {
+    Map<String, Setting<?>> index = new HashMap<>();
+    for (Group group : groups) {
+      for (Setting<?> setting : group.getSettings()) {
+        if (setting.getType() != null) {
+          // Keep the first setting with a given name, in case multiple settings normalize to the same name
+          index.putIfAbsent(normalizeName(setting.getName()), setting);
+        }
       }
     }
+    return index;
   }
 
-  private void applySettings(SettingsHolder target, Map<String, Object> properties) {
+  /**
+   * Normalizes a setting or property name so that names that only differ in whitespace or capitalization are equal.
+   *
+   * @see StringUtils#equalsIgnoreCaseAndWhitespace(String, String)
+   */
+  private static String normalizeName(String name) {
+    return name.replace(" ", "").toLowerCase(Locale.ROOT);
+  }
+
+  private void applySettings(Map<String, Object> properties, Map<String, Setting<?>> settings) {
     properties.forEach((name, value) -> {
-      target.getSettings().stream()
-          .map(Group::getSettings)
-          .flatMap(Collection::stream)
-          .filter(s -> s.getType() != null)
-          .filter(s -> StringUtils.equalsIgnoreCaseAndWhitespace(s.getName(), name))
-          .findFirst()
-          .ifPresent(s -> {
-            parsers.parse(value, s.getType())
-                .ifPresent(v -> ((Setting) s).setValue(v));
-          });
+      Setting setting = settings.get(normalizeName(name));
+      if (setting != null) {
+        parsers.parse(value, setting.getType())
+            .ifPresent(setting::setValue);
+      }
     });
   }
 
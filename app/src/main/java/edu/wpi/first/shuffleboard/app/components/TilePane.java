@@ -5,6 +5,8 @@ import edu.wpi.first.shuffleboard.api.util.RoundingMode;
 import edu.wpi.first.shuffleboard.api.widget.TileSize;
 import edu.wpi.first.shuffleboard.app.prefs.AppPreferences;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.function.Predicate;
 import java.util.stream.IntStream;
 
@@ -14,6 +16,8 @@ import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.Property;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.collections.ListChangeListener;
+import javafx.collections.MapChangeListener;
 import javafx.geometry.HPos;
 import javafx.geometry.VPos;
 import javafx.scene.Node;
@@ -43,6 +47,10 @@ public class TilePane extends GridPane {
   private final DoubleProperty tileSize =
       new SimpleDoubleProperty(this, "tileSize", AppPreferences.getInstance().getDefaultTileSize());
 
+  // The cells covered by each child, kept up to date as children are added, moved, resized, and removed
+  private final OccupancyGrid<Node> occupancy = new OccupancyGrid<>();
+  private final Map<Node, MapChangeListener<Object, Object>> constraintListeners = new HashMap<>();
+
   /**
    * Creates a tile pane with one row and one column.
    */
@@ -57,6 +65,13 @@ public class TilePane extends GridPane {
    * @param numRows    the number of rows in the grid. Must be &gt;= 1
    */
   public TilePane(int numColumns, int numRows) {
+    getChildren().addListener((ListChangeListener<Node>) c -> {
+      while (c.next()) {
+        c.getRemoved().forEach(this::untrack);
+        c.getAddedSubList().forEach(this::track);
+      }
+    });
+
     this.numColumns.addListener((obs, oldCount, newCount) -> {
       if (newCount > oldCount) {
         IntStream.range(oldCount, newCount)
@@ -92,6 +107,58 @@ public class TilePane extends GridPane {
     });
   }
 
+  private void track(Node child) {
+    // Grid constraints are stored in the node's properties, so they change whenever a child is moved or resized
+    MapChangeListener<Object, Object> listener = __ -> updateOccupancy(child);
+    MapChangeListener<Object, Object> old = constraintListeners.put(child, listener);
+    if (old != null) {
+      child.getProperties().removeListener(old);
+    }
+    child.getProperties().addListener(listener);
+    updateOccupancy(child);
+  }
+
+  private void untrack(Node child) {
+    if (getChildren().contains(child)) {
+      // Moved within the list (eg by toFront()), not removed
+      return;
+    }
+    MapChangeListener<Object, Object> listener = constraintListeners.remove(child);
+    if (listener != null) {
+      child.getProperties().removeListener(listener);
+    }
+    occupancy.remove(child);
+  }
+
+  private void updateOccupancy(Node child) {
+    // All "real" children have a column index, row index, and column and row spans
+    // Other children (like the grid lines) don't have these properties and never cause collisions
+    Integer col = getColumnIndex(child);
+    if (col == null || !isOccupying(child)) {
+      occupancy.remove(child);
+      return;
+    }
+    Integer row = getRowIndex(child);
+    Integer width = getColumnSpan(child);
+    Integer height = getRowSpan(child);
+    occupancy.place(child,
+        col,
+        row == null ? 0 : row,
+        width == null || width == REMAINING ? 1 : width,
+        height == null || height == REMAINING ? 1 : height);
+  }
+
+  /**
+   * Checks if a child of this pane takes up the cells it is placed in. Children that do not are never considered to
+   * overlap anything, and are not tracked in the occupancy grid. By default, every child with grid constraints
+   * occupies its cells.
+   *
+   * @param child the child to check
+   */
+  protected boolean isOccupying(Node child) {
+    return true;
+  }
+
   private ColumnConstraints createColumnConstraint() {
     ColumnConstraints constraints = new ColumnConstraints(
         MIN_TILE_SIZE, getTileSize(), Region.USE_PREF_SIZE, Priority.NEVER, HPos.LEFT, true);
@@ -333,16 +400,21 @@ public class TilePane extends GridPane {
    * @param height the height of the tile trying to be added
    */
   public GridPoint firstPoint(int width, int height) {
-    // outer row, inner col to add tiles left-to-right in the upper rows
-    // outer col, inner row would add tiles top-to-bottom from the left-hand columns (not intuitive)
-    for (int row = 0; row < getNumRows(); row++) {
-      for (int col = 0; col < getNumColumns(); col++) {
-        if (isOpen(col, row, width, height, n -> false)) {
-          return new GridPoint(col, row);
-        }
-      }
-    }
-    return null;
+    return firstPoint(width, height, n -> false);
+  }
+
+  /**
+   * Finds the first point where a tile with the given dimensions can be added, ignoring some nodes when calculating
+   * collisions, or {@code null} if no such point exists.
+   *
+   * @param width  the width of the tile trying to be added
+   * @param height the height of the tile trying to be added
+   * @param ignore the nodes to ignore when determining collisions
+   */
+  public GridPoint firstPoint(int width, int height, Predicate<Node> ignore) {
+    // Searches each row left-to-right, starting with the top row, to add tiles left-to-right in the upper rows
+    // Searching each column top-to-bottom would add tiles top-to-bottom from the left-hand columns (not intuitive)
+    return occupancy.firstEmpty(width, height, getNumColumns(), getNumRows(), ignore);
   }
 
   /**
@@ -408,26 +480,7 @@ public class TilePane extends GridPane {
    * @param ignore     a predicate to use to ignore nodes when calculating collisions
    */
   public boolean isOverlapping(int col, int row, int tileWidth, int tileHeight, Predicate<Node> ignore) {
-    for (Node child : getChildren()) {
-      if (ignore.test(child)) {
-        continue;
-      }
-      // All "real" children have a column index, row index, and column and row spans
-      // Other children (like the grid lines) don't have these properties and will throw null pointers
-      // when trying to access these properties
-      if (GridPane.getColumnIndex(child) != null) {
-        int x = GridPane.getColumnIndex(child);
-        int y = GridPane.getRowIndex(child);
-        int width = GridPane.getColumnSpan(child);
-        int height = GridPane.getRowSpan(child);
-        if (x + width > col && y + height > row
-            && x - tileWidth < col && y - tileHeight < row) {
-          // There's an intersection
-          return true;
-        }
-      }
-    }
-    return false;
+    return occupancy.isOverlapping(col, row, tileWidth, tileHeight, ignore);
   }
 
   /**
@@ -423,9 +423,10 @@ public class WidgetPane extends TilePane implements ComponentContainer {
   }
 
   @Override
-  public boolean isOpen(int col, int row, int tileWidth, int tileHeight, Predicate<Node> ignore) {
-    // overload to also ignore the highlight (it's not an actual tile)
-    return super.isOpen(col, row, tileWidth, tileHeight, ignore.or(n -> n == gridHighlight));
+  protected boolean isOccupying(Node child) {
+    // The highlight is not an actual tile, and keeping it out of the occupancy grid means checking the cells under it
+    // while dragging does not need to look at individual tiles
+    return child != gridHighlight;
   }
 
   public final boolean isHighlight() {
@@ -2,12 +2,16 @@ package edu.wpi.first.shuffleboard.app.json;
 
 import edu.wpi.first.shuffleboard.api.json.AnnotatedTypeAdapter;
 import edu.wpi.first.shuffleboard.api.json.ElementTypeAdapter;
+import edu.wpi.first.shuffleboard.api.plugin.Plugin;
 import edu.wpi.first.shuffleboard.app.plugin.PluginLoader;
 
 import com.google.common.collect.ImmutableList;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 public final class JsonBuilder {
 
   private static final ImmutableList<Class<? extends ElementTypeAdapter<?>>> builtinAdapters = ImmutableList.of(
@@ -34,10 +38,7 @@ public final class JsonBuilder {
                 c.getAnnotation(AnnotatedTypeAdapter.class).forType(),
                 c.newInstance());
       }
-      PluginLoader.getDefault().getLoadedPlugins()
-          .stream()
-          .map(plugin -> plugin.getCustomTypeAdapters())
-          .flatMap(adapters -> adapters.stream())
+      getPluginTypeAdapters()
           .forEach(adapter -> {
             builder.registerTypeHierarchyAdapter(
                 adapter.getClass().getAnnotation(AnnotatedTypeAdapter.class).forType(),
@@ -51,6 +52,17 @@ public final class JsonBuilder {
     return builder;
   }
 
+  /**
+   * Gets the custom type adapters of all the loaded plugins.
+   */
+  public static List<ElementTypeAdapter<?>> getPluginTypeAdapters() {
+    return PluginLoader.getDefault().getLoadedPlugins()
+        .stream()
+        .map(Plugin::getCustomTypeAdapters)
+        .flatMap(List::stream)
+        .collect(Collectors.toList());
+  }
+
   /**
    * Creates a Gson instance for use in saving and loading Shuffleboard files.
    */
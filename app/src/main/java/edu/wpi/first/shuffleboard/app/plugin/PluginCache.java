@@ -10,7 +10,6 @@ import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -77,37 +76,24 @@ public class PluginCache {
    * Loads plugins from the cache.
    */
   public void loadCache(PluginLoader loader) {
+    loader.loadPluginJars(getCachedJars(), status -> {});
+  }
+
+  /**
+   * Gets the URIs of the plugin jars saved in the cache. Returns an empty list if the cache could not be read.
+   */
+  public List<URI> getCachedJars() {
     if (cacheFile == null) {
       log.warning("No cache file to load from");
-      return;
+      return List.of();
     }
     try {
       String json = Files.readString(cacheFile);
-      List<URI> paths = new Gson().fromJson(json, new TypeToken<List<URI>>() {}.getType());
-      if (paths != null) {
-
-        // Load all plugin jars until no more can be loaded
-        // This prevents issues caused when a plugin jar that appears earlier in the cache depends on plugins
-        // that occur later in the cache.
-        boolean anyPluginsLoadedOnLastAttempt;
-        List<URI> successes = new ArrayList<>();
-        do {
-          anyPluginsLoadedOnLastAttempt = false;
-          for (URI path : paths) {
-            try {
-              loader.loadPluginJar(path);
-              successes.add(path);
-              anyPluginsLoadedOnLastAttempt = true;
-            } catch (IOException e) {
-              log.log(Level.WARNING, "Could not read jar at cached path " + path, e);
-            }
-          }
-          paths.removeAll(successes);
-          successes.clear();
-        } while (anyPluginsLoadedOnLastAttempt);
-      }
+      List<URI> paths = cacheGson.fromJson(json, new TypeToken<List<URI>>() {}.getType());
+      return paths == null ? List.of() : paths;
     } catch (IOException e) {
       log.log(Level.WARNING, "Could not read cache", e);
+      return List.of();
     }
   }
 
@@ -0,0 +1,247 @@
+package edu.wpi.first.shuffleboard.app.plugin;
+
+import edu.wpi.first.shuffleboard.api.plugin.Plugin;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Finds the names of plugin classes in a jar without loading every class in the jar.
+ *
+ * <p>If the jar contains a service provider configuration file for {@link Plugin}
+ * ({@code META-INF/services/edu.wpi.first.shuffleboard.api.plugin.Plugin}), the class names listed in that file are
+ * used as-is. This is the fastest option, and plugin authors are encouraged to include this file in their jars.
+ *
+ * <p>Otherwise, the header of every class file in the jar is read to find its superclass, and only concrete classes
+ * that extend {@code Plugin} (directly, or through other classes in the jar) are returned. Superclasses that are not
+ * in the jar are resolved with the jar's class loader, which only loads that one superclass and not the class being
+ * examined.
+ */
+final class PluginJarScanner {
+
+  private static final Logger log = Logger.getLogger(PluginJarScanner.class.getName());
+
+  /**
+   * The location of the plugin index in a jar.
+   */
+  static final String SERVICES_FILE = "META-INF/services/" + Plugin.class.getName();
+
+  private static final String PLUGIN_INTERNAL_NAME = Plugin.class.getName().replace('.', '/');
+
+  private static final int CLASS_MAGIC = 0xCAFEBABE;
+  private static final int ACC_INTERFACE = 0x0200;
+  private static final int ACC_ABSTRACT = 0x0400;
+
+  private PluginJarScanner() {
+    throw new UnsupportedOperationException("This is a utility class");
+  }
+
+  /**
+   * Finds the binary names of the plugin classes in a jar. The classes are not guaranteed to be valid plugin classes;
+   * they still need to be loaded and validated.
+   *
+   * @param jarFile     the jar to scan
+   * @param classLoader the class loader for the jar, used to resolve superclasses that are not in the jar
+   *
+   * @return the binary names of the plugin classes in the jar
+   *
+   * @throws IOException if the jar could not be read
+   */
+  static List<String> findPluginClassNames(JarFile jarFile, ClassLoader classLoader) throws IOException {
+    JarEntry index = jarFile.getJarEntry(SERVICES_FILE);
+    if (index != null) {
+      log.fine(() -> "Using plugin index in " + jarFile.getName());
+      return readIndex(jarFile.getInputStream(index));
+    }
+    log.fine(() -> "No plugin index in " + jarFile.getName() + ", scanning class headers");
+    return scanClassHeaders(jarFile, classLoader);
+  }
+
+  /**
+   * Reads the class names from a service provider configuration file. Each line contains one class name, and any text
+   * after a {@code '#'} character is a comment.
+   */
+  static List<String> readIndex(InputStream inputStream) throws IOException {
+    List<String> names = new ArrayList<>();
+    try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        int commentStart = line.indexOf('#');
+        if (commentStart >= 0) {
+          line = line.substring(0, commentStart);
+        }
+        line = line.trim();
+        if (!line.isEmpty()) {
+          names.add(line);
+        }
+      }
+    }
+    return names;
+  }
+
+  private static List<String> scanClassHeaders(JarFile jarFile, ClassLoader classLoader) throws IOException {
+    Map<String, ClassHeader> headers = new HashMap<>();
+    Enumeration<JarEntry> entries = jarFile.entries();
+    while (entries.hasMoreElements()) {
+      JarEntry entry = entries.nextElement();
+      String name = entry.getName();
+      // Versioned entries in multi-release jars duplicate the base entries and do not have matching class names
+      if (!name.endsWith(".class") || name.startsWith("META-INF/")) {
+        continue;
+      }
+      try (InputStream in = jarFile.getInputStream(entry)) {
+        ClassHeader header = readHeader(in);
+        if (header != null) {
+          headers.put(header.name, header);
+        }
+      }
+    }
+
+    Map<String, Boolean> isPlugin = new HashMap<>();
+    List<String> names = new ArrayList<>();
+    headers.values().stream()
+        .filter(h -> !h.isAbstract)
+        .filter(h -> extendsPlugin(h.name, headers, isPlugin, classLoader))
+        .map(h -> h.name.replace('/', '.'))
+        .sorted()
+        .forEach(names::add);
+    return names;
+  }
+
+  /**
+   * Checks if the class with the given internal name extends {@code Plugin}, memoizing the result for every class
+   * visited along the way.
+   */
+  private static boolean extendsPlugin(String internalName,
+                                       Map<String, ClassHeader> headers,
+                                       Map<String, Boolean> isPlugin,
+                                       ClassLoader classLoader) {
+    Boolean known = isPlugin.get(internalName);
+    if (known != null) {
+      return known;
+    }
+    boolean result;
+    ClassHeader header = headers.get(internalName);
+    if (PLUGIN_INTERNAL_NAME.equals(internalName)) {
+      result = true;
+    } else if (header == null) {
+      result = isExternalPluginClass(internalName, classLoader);
+    } else if (header.superName == null) {
+      result = false;
+    } else {
+      // Guard against malformed jars with cyclical superclasses
+      isPlugin.put(internalName, false);
+      result = extendsPlugin(header.superName, headers, isPlugin, classLoader);
+    }
+    isPlugin.put(internalName, result);
+    return result;
+  }
+
+  private static boolean isExternalPluginClass(String internalName, ClassLoader classLoader) {
+    if (internalName.startsWith("java/") || internalName.startsWith("javafx/")) {
+      return false;
+    }
+    try {
+      return Plugin.class.isAssignableFrom(Class.forName(internalName.replace('/', '.'), false, classLoader));
+    } catch (ClassNotFoundException | LinkageError e) {
+      log.log(Level.FINE, "Could not resolve superclass " + internalName, e);
+      return false;
+    }
+  }
+
+  /**
+   * Reads the header of a class file, up to and including the superclass.
+   *
+   * @return the header of the class, or null if the stream is not a class file or is a module descriptor
+   */
+  static ClassHeader readHeader(InputStream inputStream) throws IOException {
+    DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+    if (in.readInt() != CLASS_MAGIC) {
+      return null;
+    }
+    in.readUnsignedShort(); // minor version
+    in.readUnsignedShort(); // major version
+    int constantPoolCount = in.readUnsignedShort();
+    String[] utf8 = new String[constantPoolCount];
+    int[] classNameIndices = new int[constantPoolCount];
+    for (int i = 1; i < constantPoolCount; i++) {
+      int tag = in.readUnsignedByte();
+      switch (tag) {
+        case 1: // Utf8
+          utf8[i] = in.readUTF();
+          break;
+        case 7: // Class
+          classNameIndices[i] = in.readUnsignedShort();
+          break;
+        case 8: // String
+        case 16: // MethodType
+        case 19: // Module
+        case 20: // Package
+          in.skipNBytes(2);
+          break;
+        case 15: // MethodHandle
+          in.skipNBytes(3);
+          break;
+        case 3: // Integer
+        case 4: // Float
+        case 9: // Fieldref
+        case 10: // Methodref
+        case 11: // InterfaceMethodref
+        case 12: // NameAndType
+        case 17: // Dynamic
+        case 18: // InvokeDynamic
+          in.skipNBytes(4);
+          break;
+        case 5: // Long
+        case 6: // Double
+          in.skipNBytes(8);
+          i++; // 8-byte constants take up two entries in the constant pool
+          break;
+        default:
+          throw new IOException("Unknown constant pool tag " + tag);
+      }
+    }
+    int accessFlags = in.readUnsignedShort();
+    int thisClass = in.readUnsignedShort();
+    int superClass = in.readUnsignedShort();
+    if (thisClass == 0 || classNameIndices[thisClass] == 0) {
+      return null;
+    }
+    String name = utf8[classNameIndices[thisClass]];
+    String superName = superClass == 0 ? null : utf8[classNameIndices[superClass]];
+    boolean isAbstract = (accessFlags & (ACC_INTERFACE | ACC_ABSTRACT)) != 0;
+    return new ClassHeader(name, superName, isAbstract);
+  }
+
+  /**
+   * The parts of a class file header needed to find plugin classes.
+   */
+  static final class ClassHeader {
+
+    final String name;
+    final String superName;
+    final boolean isAbstract;
+
+    ClassHeader(String name, String superName, boolean isAbstract) {
+      this.name = name;
+      this.superName = superName;
+      this.isAbstract = isAbstract;
+    }
+
+  }
+
+}
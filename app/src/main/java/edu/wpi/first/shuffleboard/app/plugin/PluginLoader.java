@@ -11,6 +11,7 @@ import edu.wpi.first.shuffleboard.api.sources.SourceTypes;
 import edu.wpi.first.shuffleboard.api.sources.recording.Converters;
 import edu.wpi.first.shuffleboard.api.sources.recording.serialization.Serializers;
 import edu.wpi.first.shuffleboard.api.theme.Themes;
+import edu.wpi.first.shuffleboard.api.util.ThreadUtils;
 import edu.wpi.first.shuffleboard.api.widget.Components;
 import edu.wpi.first.shuffleboard.api.widget.SingleSourceWidget;
 import edu.wpi.first.shuffleboard.api.widget.Widget;
@@ -21,6 +22,7 @@ import edu.wpi.first.shuffleboard.app.tab.TabInfoRegistry;
 import com.github.zafarkhaja.semver.Version;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 import java.io.File;
 import java.io.IOException;
@@ -32,17 +34,35 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.jar.JarFile;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -112,40 +132,43 @@ public class PluginLoader {
   }
 
   /**
-   * Loads all jars found in the given directory. This does not load jars in nested directories. Jars will be loaded in
-   * alphabetical order.
+   * Loads all jars found in the given directory. This does not load jars in nested directories.
    *
    * @param directory the directory to load plugins from
    *
    * @throws IllegalArgumentException if the path is not a directory
    * @throws IOException              if the directory could not be read from
-   * @see #loadPluginJar
+   * @see #loadPluginJars
    */
   public void loadAllJarsFromDir(Path directory) throws IOException {
+    loadPluginJars(findJarsInDir(directory), status -> {});
+  }
+
+  /**
+   * Finds all jars in the given directory. This does not include jars in nested directories. Jars are returned in
+   * alphabetical order.
+   *
+   * @param directory the directory to search for jars
+   *
+   * @throws IllegalArgumentException if the path is not a directory
+   * @throws IOException              if the directory could not be read from
+   */
+  public static List<URI> findJarsInDir(Path directory) throws IOException {
     if (!Files.isDirectory(directory)) {
       throw new IllegalArgumentException("The given path is not a directory: " + directory);
     }
-    Files.list(directory)
-        .filter(p -> p.toString().endsWith(".jar"))
-        .map(Path::toUri)
-        .sorted() // sort alphabetically to make load order deterministic
-        .forEach(jar -> {
-          try {
-            loadPluginJar(jar);
-          } catch (IOException e) {
-            log.log(Level.WARNING, "Could not load plugin jar: " + jar, e);
-          }
-        });
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(p -> p.toString().endsWith(".jar"))
+          .map(Path::toUri)
+          .sorted() // sort alphabetically to make load order deterministic
+          .collect(Collectors.toList());
+    }
   }
 
   /**
-   * Loads a plugin jar and loads all plugin classes within. Plugins will be loaded in the following order:
-   *
-   * <ol>
-   * <li>By the amount of dependencies</li>
-   * <li>By dependency graph; if one plugin requires another, the requirement will be loaded first</li>
-   * <li>By class name</li>
-   * </ol>
+   * Loads a plugin jar and loads all plugin classes within. Plugins will be loaded in dependency order; if one plugin
+   * requires another, the requirement will be loaded first.
    *
    * @param jarUri a URI representing  jar file to load plugins from
    *
@@ -153,17 +176,120 @@ public class PluginLoader {
    * @see #load(Plugin)
    */
   public void loadPluginJar(URI jarUri) throws IOException {
+    loadScannedJars(List.of(scanJar(jarUri)));
+  }
+
+  /**
+   * Loads all plugin classes in a set of jars. The jars are scanned for plugin classes in parallel; then, all the
+   * plugins found in every jar are loaded in dependency order, so a plugin may require plugins from any other jar in
+   * the set. Jars that cannot be read are logged and skipped.
+   *
+   * <p>The amount of time taken to scan the jars and to load the plugins are reported to {@code statusListener} as
+   * human-readable messages.
+   *
+   * @param jarUris        the URIs of the jars to load
+   * @param statusListener the listener to notify as each phase of loading completes
+   */
+  public void loadPluginJars(Collection<URI> jarUris, Consumer<String> statusListener) {
+    loadAll(List.of(), jarUris, statusListener);
+  }
+
+  /**
+   * Loads a set of plugins, then all plugin classes in a set of jars. The jars are scanned in the background while the
+   * given plugins are loaded, and the plugins found in the jars are loaded after the given plugins. Both sets of
+   * plugins are loaded with {@link #loadAll(Collection)}.
+   *
+   * <p>The amount of time taken by each phase is reported to {@code statusListener} as a human-readable message.
+   *
+   * @param plugins        the plugins to load
+   * @param jarUris        the URIs of the jars to load
+   * @param statusListener the listener to notify as each phase of loading completes
+   */
+  public void loadAll(Collection<? extends Plugin> plugins, Collection<URI> jarUris, Consumer<String> statusListener) {
+    final Stopwatch scanTimer = Stopwatch.createStarted();
+    CompletableFuture<List<ScannedJar>> scan = jarUris.isEmpty()
+        ? CompletableFuture.completedFuture(List.of())
+        : CompletableFuture.supplyAsync(() -> {
+          List<ScannedJar> jars = scanJars(jarUris);
+          scanTimer.stop();
+          return jars;
+        }, runnable -> ThreadUtils.makeDaemonThread(runnable).start());
+
+    if (!plugins.isEmpty()) {
+      final Stopwatch loadTimer = Stopwatch.createStarted();
+      loadAll(plugins);
+      reportStatus(statusListener, String.format("Loaded %d plugins in %dms",
+          plugins.size(), loadTimer.elapsed(TimeUnit.MILLISECONDS)));
+    }
+
+    if (jarUris.isEmpty()) {
+      return;
+    }
+    List<ScannedJar> jars = scan.join();
+    int pluginClassCount = jars.stream().mapToInt(j -> j.pluginClasses.size()).sum();
+    reportStatus(statusListener, String.format("Found %d plugins in %d jars in %dms",
+        pluginClassCount, jarUris.size(), scanTimer.elapsed(TimeUnit.MILLISECONDS)));
+
+    final Stopwatch loadTimer = Stopwatch.createStarted();
+    loadScannedJars(jars);
+    reportStatus(statusListener, String.format("Loaded %d plugins from jars in %dms",
+        pluginClassCount, loadTimer.elapsed(TimeUnit.MILLISECONDS)));
+  }
+
+  private static void reportStatus(Consumer<String> statusListener, String status) {
+    log.info(status);
+    statusListener.accept(status);
+  }
+
+  /**
+   * Scans a set of jars in parallel. The results are in the same order as the URIs.
+   */
+  private static List<ScannedJar> scanJars(Collection<URI> jarUris) {
+    int threads = Math.min(jarUris.size(), Runtime.getRuntime().availableProcessors());
+    ExecutorService executor = Executors.newFixedThreadPool(threads, ThreadUtils::makeDaemonThread);
+    try {
+      Map<URI, Future<ScannedJar>> futures = new LinkedHashMap<>();
+      for (URI jarUri : jarUris) {
+        futures.put(jarUri, executor.submit(() -> scanJar(jarUri)));
+      }
+      List<ScannedJar> jars = new ArrayList<>();
+      for (Map.Entry<URI, Future<ScannedJar>> entry : futures.entrySet()) {
+        try {
+          jars.add(entry.getValue().get());
+        } catch (ExecutionException e) {
+          log.log(Level.WARNING, "Could not load plugin jar: " + entry.getKey(), e.getCause());
+        }
+      }
+      return jars;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      log.log(Level.WARNING, "Interrupted while scanning plugin jars", e);
+      return List.of();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Finds and verifies all plugin classes in a jar. This does not load any plugins, and is safe to call from any
+   * thread.
+   *
+   * @param jarUri the URI of the jar to scan
+   *
+   * @throws IOException if the jar file denoted by the URI could not be found or read
+   */
+  @SuppressWarnings("unchecked")
+  private static ScannedJar scanJar(URI jarUri) throws IOException {
     log.info("Attempting to load plugin jar: " + jarUri);
+    final Stopwatch timer = Stopwatch.createStarted();
     URL url = jarUri.toURL();
     PrivilegedAction<URLClassLoader> getClassLoader = () -> {
       return new URLClassLoader(new URL[]{url}, ClassLoader.getSystemClassLoader());
     };
     URLClassLoader classLoader = AccessController.doPrivileged(getClassLoader);
     try (JarFile jarFile = new JarFile(new File(jarUri))) {
-      List<? extends Class<? extends Plugin>> pluginClasses = jarFile.stream()
-          .filter(e -> e.getName().endsWith(".class"))
-          .map(e -> e.getName().replace('/', '.'))
-          .map(n -> n.substring(0, n.length() - 6)) // ".class".length() == 6
+      List<Class<? extends Plugin>> pluginClasses = PluginJarScanner.findPluginClassNames(jarFile, classLoader)
+          .stream()
           .flatMap(className -> PluginLoaderHelper.tryLoadClass(className, classLoader))
           .filter(Plugin.class::isAssignableFrom)
           .map(c -> (Class<? extends Plugin>) c)
@@ -177,17 +303,102 @@ public class PluginLoader {
             }
           })
           .collect(Collectors.toList());
-      knownPluginClasses.addAll(pluginClasses);
-      pluginClasses.stream()
-          .sorted(Comparator.<Class<? extends Plugin>>comparingInt(p -> PluginLoaderHelper.getRequirements(p).size())
-              .thenComparing(this::comparePluginsByDependencyGraph)
-              .thenComparing(Class::getName))
-          .forEach(this::loadPluginClass);
-
-      if (!pluginClasses.isEmpty()) {
-        classLoaders.add(classLoader);
+      log.fine(() -> "Scanned " + jarUri + " in " + timer.elapsed(TimeUnit.MILLISECONDS) + "ms");
+      return new ScannedJar(classLoader, pluginClasses);
+    } catch (IOException | RuntimeException e) {
+      classLoader.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Loads the plugins found in a set of scanned jars. All plugins are sorted by their dependencies before loading.
+   */
+  private void loadScannedJars(List<ScannedJar> jars) {
+    List<Class<? extends Plugin>> pluginClasses = jars.stream()
+        .flatMap(j -> j.pluginClasses.stream())
+        .collect(Collectors.toList());
+    knownPluginClasses.addAll(pluginClasses);
+    loadAll(pluginClasses.stream()
+        .map(this::instantiate)
+        .flatMap(Optional::stream)
+        .collect(Collectors.toList()));
+
+    for (ScannedJar jar : jars) {
+      if (jar.pluginClasses.isEmpty()) {
+        try {
+          jar.classLoader.close();
+        } catch (IOException e) {
+          log.log(Level.FINE, "Could not close class loader", e);
+        }
+      } else {
+        classLoaders.add(jar.classLoader);
+      }
+    }
+  }
+
+  /**
+   * Sorts plugin classes such that every plugin comes after all the plugins it requires. Plugins with fewer
+   * requirements come first, and plugins are otherwise ordered by class name to keep the load order deterministic.
+   * Plugins that are part of a dependency cycle cannot be loaded; they are placed at the end of the list.
+   *
+   * @param pluginClasses the plugin classes to sort
+   *
+   * @return a sorted list of the plugin classes
+   */
+  @VisibleForTesting
+  static List<Class<? extends Plugin>> sortByDependencies(Collection<Class<? extends Plugin>> pluginClasses) {
+    return sortByDependencies(pluginClasses, c -> c);
+  }
+
+  private static List<Plugin> sortPluginsByDependencies(Collection<? extends Plugin> plugins) {
+    return sortByDependencies(plugins, Plugin::getClass);
+  }
+
+  private static <T> List<T> sortByDependencies(Collection<? extends T> items,
+                                                Function<? super T, Class<? extends Plugin>> pluginClass) {
+    Comparator<T> order =
+        Comparator.<T>comparingInt(t -> PluginLoaderHelper.getRequirements(pluginClass.apply(t)).size())
+            .thenComparing(t -> pluginClass.apply(t).getName());
+    List<T> sortedItems = items.stream()
+        .distinct()
+        .sorted(order)
+        .collect(Collectors.toList());
+
+    // Kahn's algorithm. Self-dependencies are ignored here; those plugins are rejected when they are loaded
+    Map<T, List<T>> dependents = new HashMap<>();
+    Map<T, Integer> unsortedRequirements = new HashMap<>();
+    for (T plugin : sortedItems) {
+      for (T requirement : sortedItems) {
+        if (plugin != requirement && isDirectRequirement(pluginClass.apply(plugin), pluginClass.apply(requirement))) {
+          dependents.computeIfAbsent(requirement, __ -> new ArrayList<>()).add(plugin);
+          unsortedRequirements.merge(plugin, 1, Integer::sum);
+        }
+      }
+    }
+    PriorityQueue<T> ready = new PriorityQueue<>(order);
+    sortedItems.stream()
+        .filter(t -> !unsortedRequirements.containsKey(t))
+        .forEach(ready::add);
+    List<T> sorted = new ArrayList<>(sortedItems.size());
+    while (!ready.isEmpty()) {
+      T next = ready.poll();
+      sorted.add(next);
+      for (T dependent : dependents.getOrDefault(next, List.of())) {
+        if (unsortedRequirements.merge(dependent, -1, Integer::sum) == 0) {
+          unsortedRequirements.remove(dependent);
+          ready.add(dependent);
+        }
       }
     }
+    if (sorted.size() < sortedItems.size()) {
+      List<T> cyclical = sortedItems.stream()
+          .filter(unsortedRequirements::containsKey)
+          .collect(Collectors.toList());
+      log.warning("Cyclical dependency detected between plugins: " + cyclical);
+      sorted.addAll(cyclical);
+    }
+    return sorted;
   }
 
   /**
@@ -224,20 +435,30 @@ public class PluginLoader {
    * @return true if the class is a plugin class and was successfully loaded; false otherwise
    */
   public boolean loadPluginClass(Class<? extends Plugin> clazz) {
+    return instantiate(clazz)
+        .map(this::load)
+        .orElse(false);
+  }
+
+  /**
+   * Creates an instance of a plugin class.
+   *
+   * @param clazz the class to instantiate
+   *
+   * @return the new plugin, or an empty optional if the class is not a valid plugin class or could not be instantiated
+   */
+  private Optional<Plugin> instantiate(Class<? extends Plugin> clazz) {
     if (Plugin.class.isAssignableFrom(clazz) && !Modifier.isAbstract(clazz.getModifiers())) {
       try {
         Plugin.validatePluginClass(clazz);
         if (Modifier.isPublic(clazz.getConstructor().getModifiers())) {
-          Plugin plugin = clazz.newInstance();
-          load(plugin);
-          return true;
+          return Optional.of(clazz.newInstance());
         }
       } catch (ReflectiveOperationException | InvalidPluginDefinitionException e) {
         log.log(Level.WARNING, "Could not load plugin class", e);
-        return false;
       }
     }
-    return false;
+    return Optional.empty();
   }
 
   private void unloadOldVersion(Plugin plugin) {
@@ -263,11 +484,105 @@ public class PluginLoader {
    * @throws IllegalArgumentException if a plugin already exists with the same ID
    */
   public boolean load(Plugin plugin) {
+    final Stopwatch timer = Stopwatch.createStarted(); // NOPMD -- need to time as much as posible
+    if (!register(plugin)) {
+      return false;
+    }
+    Throwable failure = null;
+    try {
+      plugin.onLoad();
+    } catch (Throwable ex) {
+      failure = ex;
+    }
+    return finishLoading(plugin, failure, timer);
+  }
+
+  /**
+   * Loads a batch of plugins. Plugins are loaded in dependency order, but the {@link Plugin#onLoad() onLoad()} methods
+   * of plugins that do not depend on each other are run concurrently on background threads. A plugin's
+   * {@code onLoad()} is only run once every plugin in the batch that it requires has finished loading.
+   *
+   * <p>All other loading steps, such as registering a plugin's data types and components and updating the lists of
+   * known and loaded plugins, are performed on the calling thread. This method blocks until every plugin in the batch
+   * has either been loaded or failed to load.
+   *
+   * @param plugins the plugins to load
+   */
+  public void loadAll(Collection<? extends Plugin> plugins) {
+    List<Plugin> pending = sortPluginsByDependencies(plugins);
+    if (pending.size() <= 1) {
+      pending.forEach(this::load);
+      return;
+    }
+    Map<Plugin, List<Plugin>> requirements = new HashMap<>();
+    for (Plugin plugin : pending) {
+      requirements.put(plugin, pending.stream()
+          .filter(p -> p != plugin && isDirectRequirement(plugin.getClass(), p.getClass()))
+          .collect(Collectors.toList()));
+    }
+    Set<Plugin> unfinished = new HashSet<>(pending);
+    Map<Plugin, Stopwatch> timers = new HashMap<>();
+    BlockingQueue<OnLoadResult> results = new LinkedBlockingQueue<>();
+    int inFlight = 0;
+    ExecutorService executor = Executors.newCachedThreadPool(ThreadUtils::makeDaemonThread);
+    try {
+      while (!pending.isEmpty() || inFlight > 0) {
+        for (Iterator<Plugin> iterator = pending.iterator(); iterator.hasNext(); ) {
+          Plugin plugin = iterator.next();
+          if (requirements.get(plugin).stream().anyMatch(unfinished::contains)) {
+            continue;
+          }
+          iterator.remove();
+          timers.put(plugin, Stopwatch.createStarted());
+          if (register(plugin)) {
+            inFlight++;
+            executor.execute(() -> results.add(runOnLoad(plugin)));
+          } else {
+            unfinished.remove(plugin);
+          }
+        }
+        if (inFlight == 0) {
+          if (!pending.isEmpty()) {
+            // The remaining plugins require each other, so none of them can be loaded. Let load() report them
+            Plugin plugin = pending.remove(0);
+            load(plugin);
+            unfinished.remove(plugin);
+          }
+          continue;
+        }
+        OnLoadResult result = Uninterruptibles.takeUninterruptibly(results);
+        inFlight--;
+        finishLoading(result.plugin, result.failure, timers.get(result.plugin));
+        unfinished.remove(result.plugin);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static OnLoadResult runOnLoad(Plugin plugin) {
+    try {
+      plugin.onLoad();
+      return new OnLoadResult(plugin, null);
+    } catch (Throwable ex) {
+      return new OnLoadResult(plugin, ex);
+    }
+  }
+
+  /**
+   * Performs the first part of loading a plugin, up to running its {@link Plugin#onLoad() onLoad()} method. This
+   * checks that the plugin can be loaded, and registers everything that the plugin provides.
+   *
+   * @param plugin the plugin to start loading
+   *
+   * @return true if the plugin was registered and its {@code onLoad()} method should be run, false if the plugin is
+   *         already loaded or its requirements are not loaded
+   */
+  private boolean register(Plugin plugin) {
     if (loadedPlugins.contains(plugin)) {
       // Already loaded
       return false;
     }
-    final Stopwatch timer = Stopwatch.createStarted(); // NOPMD -- need to time as much as posible
 
     // Unload an already-loaded version of this plugin, if it exists
     // This allows us to load
@@ -304,11 +619,21 @@ public class PluginLoader {
     tabInfoRegistry.registerAll(plugin.getDefaultTabInfo());
     converters.registerAll(plugin.getRecordingConverters());
     propertyParsers.registerAll(plugin.getPropertyParsers());
+    return true;
+  }
 
-    try {
-      plugin.onLoad();
-    } catch (Throwable ex) {
-      log.log(Level.SEVERE, "Plugin: " + plugin.getName() + " failed to load", ex);
+  /**
+   * Performs the last part of loading a plugin, after its {@link Plugin#onLoad() onLoad()} method has run.
+   *
+   * @param plugin  the plugin being loaded
+   * @param failure the exception thrown by {@code onLoad()}, or null if it completed normally
+   * @param timer   the timer started when the plugin started loading
+   *
+   * @return true if the plugin was loaded, false if {@code onLoad()} failed
+   */
+  private boolean finishLoading(Plugin plugin, Throwable failure, Stopwatch timer) {
+    if (failure != null) {
+      log.log(Level.SEVERE, "Plugin: " + plugin.getName() + " failed to load", failure);
       // Since plugin loading is not transactional, we have to act like we fully loaded.
       // Ideally this should be fixed by making loading transactional.
       plugin.setLoaded(true);
@@ -474,4 +799,34 @@ public class PluginLoader {
   public ObservableList<ClassLoader> getClassLoaders() {
     return classLoaders;
   }
+
+  /**
+   * The plugin classes found in a single jar, along with the class loader used to load them.
+   */
+  private static final class ScannedJar {
+
+    private final URLClassLoader classLoader;
+    private final List<Class<? extends Plugin>> pluginClasses;
+
+    ScannedJar(URLClassLoader classLoader, List<Class<? extends Plugin>> pluginClasses) {
+      this.classLoader = classLoader;
+      this.pluginClasses = pluginClasses;
+    }
+
+  }
+
+  /**
+   * The result of running a plugin's {@link Plugin#onLoad() onLoad()} method on a background thread.
+   */
+  private static final class OnLoadResult {
+
+    private final Plugin plugin;
+    private final Throwable failure;
+
+    OnLoadResult(Plugin plugin, Throwable failure) {
+      this.plugin = plugin;
+      this.failure = failure;
+    }
+
+  }
 }
@@ -0,0 +1,37 @@
+package edu.wpi.first.shuffleboard.app.sources.recording;
+
+import edu.wpi.first.shuffleboard.api.sources.recording.Converter;
+import edu.wpi.first.shuffleboard.api.sources.recording.Recording;
+import edu.wpi.first.shuffleboard.api.sources.recording.Serialization;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Converts recordings to the {@link Serialization#COMPRESSED_VERSION compressed} recording format. Compressed
+ * recordings can be opened for playback like any other recording file, but are much smaller than the files written
+ * while recording.
+ */
+public final class CompressedRecordingConverter implements Converter {
+
+  public static final CompressedRecordingConverter Instance = new CompressedRecordingConverter();
+
+  private CompressedRecordingConverter() {
+  }
+
+  @Override
+  public String formatName() {
+    return "Compressed recording";
+  }
+
+  @Override
+  public String fileExtension() {
+    return ".compressed.sbr";
+  }
+
+  @Override
+  public void export(Recording recording, Path destination) throws IOException {
+    Serialization.saveCompressedRecording(recording, destination);
+  }
+
+}
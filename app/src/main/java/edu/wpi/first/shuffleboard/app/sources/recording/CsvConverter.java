@@ -15,25 +15,21 @@ import edu.wpi.first.shuffleboard.api.util.StringUtils;
 
 import com.google.common.annotations.VisibleForTesting;
 
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
-
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVPrinter;
 
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.logging.Logger;
 import java.util.prefs.Preferences;
-import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.IntegerProperty;
@@ -47,6 +43,17 @@ public final class CsvConverter implements Converter {
   public static final CsvConverter Instance = new CsvConverter(Preferences.userNodeForPackage(CsvConverter.class));
 
   private static final Logger log = Logger.getLogger(CsvConverter.class.getName());
+  /**
+   * The maximum number of rows to build before writing them to the output.
+   */
+  private static final int BATCH_SIZE = 4096;
+
+  /**
+   * The minimum number of rows in a batch for them to be built in parallel. Smaller batches are cheaper to build on a
+   * single thread.
+   */
+  private static final int PARALLEL_THRESHOLD = 256;
+
   private static final String invariantViolatedMessageFormat =
       "Invariant violated: multiple event markers for same timestamp (found: %s at entry %d of %d), for timestamp %d";
 
@@ -57,9 +64,13 @@ public final class CsvConverter implements Converter {
   // We do this because data may be sent at the same time from the source, but high CPU usage
   // or network issues can cause them to arrive over the course of several milliseconds.
   // This value is set to be able to collate data that gets updated 100 times per second without
-  // pulling data from two separate update events into a single row
+  // pulling data from two separate update events into a single row.
+  // NetworkTables data is now recorded with the time it was set on the robot, so a window of zero
+  // groups it exactly; the default is kept for older recordings that used the arrival time
   private final IntegerProperty windowSize = new SimpleIntegerProperty(7);
 
+  private final BooleanProperty parallel = new SimpleBooleanProperty(this, "parallel", true);
+
   /**
    * Creates a new CSV converter. This constructor is package-private for testing only; use {@link #Instance} to get
    * a app-wide converter object.
@@ -71,10 +82,12 @@ public final class CsvConverter implements Converter {
     PreferencesUtils.read(includeMetadata, prefs);
     PreferencesUtils.read(fillEmpty, prefs);
     PreferencesUtils.read(windowSize, prefs);
+    PreferencesUtils.read(parallel, prefs);
 
     includeMetadata.addListener(__ -> PreferencesUtils.save(includeMetadata, prefs));
     fillEmpty.addListener(__ -> PreferencesUtils.save(fillEmpty, prefs));
     windowSize.addListener(__ -> PreferencesUtils.save(windowSize, prefs));
+    parallel.addListener(__ -> PreferencesUtils.save(parallel, prefs));
   }
 
   @Override
@@ -89,9 +102,8 @@ public final class CsvConverter implements Converter {
 
   @Override
   public void export(Recording recording, Path destination) throws IOException {
-    try (var outputStream = new FileOutputStream(destination.toFile());
-         var writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)) {
-      writer.append(convertToCsv(recording));
+    try (var writer = Files.newBufferedWriter(destination, StandardCharsets.UTF_8)) {
+      writeCsv(recording, writer);
     }
   }
 
@@ -116,47 +128,90 @@ public final class CsvConverter implements Converter {
                 "How far apart data points should be (in milliseconds) to merge into a single row",
                 windowSize,
                 Integer.class
+            ),
+            Setting.of(
+                "Parallel conversion",
+                "Use multiple threads to convert large recordings",
+                parallel,
+                Boolean.class
             )
         )
     );
   }
 
   /**
-   * Converts recorded data to CSV text.
+   * Converts recorded data to CSV text. This holds the entire output in memory; use
+   * {@link #export(Recording, Path) export()} to write large recordings directly to a file.
    *
    * @param recording the recording to convert
    *
    * @return a CSV-formatted text string of the data in the recording
    */
-  @SuppressFBWarnings(value = "UC_USELESS_OBJECT", justification = "False positive with List.forEach")
   public String convertToCsv(Recording recording) {
-    List<String> header = makeHeader(recording);
-    int headerSize = header.size();
-    CSVFormat csvFormat = CSVFormat.DEFAULT.withHeader(header.toArray(new String[headerSize]));
-
-    try (var writer = new StringWriter();
-         var csvPrinter = new CSVPrinter(writer, csvFormat)) {
-      var flattenedData = Converter.flatten(recording, not(Converter::isMetadata), windowSize.get());
-
-      var rows = flattenedData.entrySet()
-          .stream()
-          .sorted(Comparator.comparingLong(Map.Entry::getKey))
-          .map(e -> toRow(header, headerSize, e))
-          .filter(Objects::nonNull)
-          .collect(Collectors.toList());
-
-      if (fillEmpty.get()) {
-        fillEmptyCells(rows);
-      }
+    var writer = new StringWriter();
+    try {
+      writeCsv(recording, writer);
+    } catch (IOException e) {
+      throw new IllegalStateException("Could not convert recording to CSV", e);
+    }
+    return writer.toString();
+  }
 
-      for (Object[] row : rows) {
+  /**
+   * Converts recorded data to CSV and writes it to an output. Rows are built and written in batches of
+   * {@link #BATCH_SIZE}, in timestamp order, so memory use is bounded by the size of a batch rather than by the size of
+   * the recording. If parallel conversion is enabled, the rows in a batch are built on the common fork-join pool.
+   *
+   * @param recording the recording to convert
+   * @param out       the output to write to. This is flushed, but not closed
+   *
+   * @throws IOException if the output could not be written to
+   */
+  @SuppressWarnings("PMD.CloseResource")
+  private void writeCsv(Recording recording, Appendable out) throws IOException {
+    final List<String> header = makeHeader(recording);
+    final int headerSize = header.size();
+    final Map<String, Integer> columns = new HashMap<>(headerSize * 2);
+    for (int i = 0; i < headerSize; i++) {
+      columns.putIfAbsent(header.get(i), i);
+    }
+    final CSVFormat csvFormat = CSVFormat.DEFAULT.withHeader(header.toArray(new String[headerSize]));
+    // Closing the printer would close the output, which belongs to the caller
+    final CSVPrinter csvPrinter = new CSVPrinter(out, csvFormat);
+    final boolean fill = fillEmpty.get();
+    final Object[] lastData = new Object[headerSize];
+
+    final var groups = Converter.collate(recording, not(Converter::isMetadata), windowSize.get());
+    final List<Map.Entry<Long, List<RecordingEntry>>> batch = new ArrayList<>(BATCH_SIZE);
+    final Object[][] rows = new Object[BATCH_SIZE][];
+    while (groups.hasNext()) {
+      batch.clear();
+      while (batch.size() < BATCH_SIZE && groups.hasNext()) {
+        batch.add(groups.next());
+      }
+      final int size = batch.size();
+      if (parallel.get() && size >= PARALLEL_THRESHOLD) {
+        IntStream.range(0, size)
+            .parallel()
+            .forEach(i -> rows[i] = toRow(columns, headerSize, batch.get(i)));
+      } else {
+        for (int i = 0; i < size; i++) {
+          rows[i] = toRow(columns, headerSize, batch.get(i));
+        }
+      }
+      for (int i = 0; i < size; i++) {
+        final Object[] row = rows[i];
+        rows[i] = null;
+        if (row == null) {
+          continue;
+        }
+        if (fill) {
+          fillEmptyCells(row, lastData);
+        }
         csvPrinter.printRecord(row);
       }
-
-      return writer.toString();
-    } catch (IOException e) {
-      throw new IllegalStateException("Could not convert recording to CSV", e);
     }
+    csvPrinter.flush();
   }
 
   /**
@@ -170,19 +225,32 @@ public final class CsvConverter implements Converter {
       // Either empty (so no data) or only 1 row (so no data to use to fill empty cells)
       return;
     }
-    Object[] lastData = rows.get(0).clone();
+    Object[] lastData = new Object[rows.get(0).length];
     for (Object[] row : rows) {
-      for (int i = 0; i < row.length; i++) {
-        if (row[i] == null) {
-          row[i] = lastData[i];
-        } else {
-          lastData[i] = row[i];
-        }
+      fillEmptyCells(row, lastData);
+    }
+  }
+
+  /**
+   * Fills in the empty cells of a single row using the most recent values for each column, then updates the most
+   * recent values with the data in the row.
+   *
+   * @param row      the row to fill in
+   * @param lastData the most recent value for each column
+   */
+  private static void fillEmptyCells(Object[] row, Object[] lastData) {
+    for (int i = 0; i < row.length; i++) {
+      if (row[i] == null) {
+        row[i] = lastData[i];
+      } else {
+        lastData[i] = row[i];
       }
     }
   }
 
-  private Object[] toRow(List<String> header, int headerSize, Map.Entry<Long, List<RecordingEntry>> entry) {
+  private static Object[] toRow(Map<String, Integer> columns,
+                                int headerSize,
+                                Map.Entry<Long, List<RecordingEntry>> entry) {
     final var entries = entry.getValue();
     if (entries.isEmpty()) {
       return null;
@@ -217,7 +285,7 @@ public final class CsvConverter implements Converter {
       }
       var point = (TimestampedData) entries.get(i);
       var data = point.getData();
-      int index = header.indexOf(point.getSourceId());
+      int index = columns.get(point.getSourceId());
       if (data instanceof ComplexData /*c*/) { // TODO pattern matching from Project Amber
         row[index] = ((ComplexData) data).toHumanReadableString();
       } else {
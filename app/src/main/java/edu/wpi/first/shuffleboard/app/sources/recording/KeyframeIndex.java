@@ -0,0 +1,122 @@
+package edu.wpi.first.shuffleboard.app.sources.recording;
+
+import edu.wpi.first.shuffleboard.api.sources.recording.MappedRecording;
+import edu.wpi.first.shuffleboard.api.sources.recording.TimestampedData;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An index of the data in a recording that allows the state of every source at any frame to be found without scanning
+ * the entire recording. Every {@link #getInterval() interval} frames, a keyframe stores the index of the most recent
+ * frame for each source; the state at an arbitrary frame is then the nearest preceding keyframe plus a replay of at
+ * most {@code interval} frames.
+ */
+final class KeyframeIndex {
+
+  /**
+   * The default number of frames between keyframes.
+   */
+  static final int DEFAULT_INTERVAL = 4096;
+
+  private final int interval;
+  private final int numSources;
+  private final int[] frameSources;
+  private final int[][] keyframes;
+
+  /**
+   * Builds an index for the given data.
+   *
+   * @param data     the recorded data, sorted by timestamp
+   * @param interval the number of frames between keyframes
+   */
+  KeyframeIndex(List<TimestampedData> data, int interval) {
+    this(sourceIndices(data), interval);
+  }
+
+  /**
+   * Builds an index for a mapped recording. This only reads the index of the recording and does not decode any data.
+   *
+   * @param recording the recording to index
+   * @param interval  the number of frames between keyframes
+   */
+  KeyframeIndex(MappedRecording recording, int interval) {
+    this(sourceIndices(recording), interval);
+  }
+
+  private KeyframeIndex(int[] frameSources, int interval) {
+    if (interval <= 0) {
+      throw new IllegalArgumentException("Keyframe interval must be positive, but was " + interval);
+    }
+    this.interval = interval;
+    this.frameSources = frameSources;
+    this.numSources = Arrays.stream(frameSources).max().orElse(-1) + 1;
+    final int numFrames = frameSources.length;
+    keyframes = new int[(numFrames + interval - 1) / interval][];
+    final int[] state = new int[numSources];
+    Arrays.fill(state, -1);
+    for (int i = 0; i < numFrames; i++) {
+      state[frameSources[i]] = i;
+      if (i % interval == 0) {
+        keyframes[i / interval] = state.clone();
+      }
+    }
+  }
+
+  private static int[] sourceIndices(List<TimestampedData> data) {
+    final Map<String, Integer> sourceIndices = new HashMap<>();
+    final int[] frameSources = new int[data.size()];
+    for (int i = 0; i < frameSources.length; i++) {
+      frameSources[i] = sourceIndices.computeIfAbsent(data.get(i).getSourceId(), id -> sourceIndices.size());
+    }
+    return frameSources;
+  }
+
+  private static int[] sourceIndices(MappedRecording recording) {
+    final int[] frameSources = new int[recording.size()];
+    for (int i = 0; i < frameSources.length; i++) {
+      frameSources[i] = recording.getSourceIndex(i);
+    }
+    return frameSources;
+  }
+
+  /**
+   * Gets the number of frames between keyframes.
+   */
+  int getInterval() {
+    return interval;
+  }
+
+  /**
+   * Gets the number of unique sources in the recording.
+   */
+  int getSourceCount() {
+    return numSources;
+  }
+
+  /**
+   * Gets the index of the source for the data in the given frame.
+   */
+  int sourceIndexOf(int frame) {
+    return frameSources[frame];
+  }
+
+  /**
+   * Computes the state of every source at the given frame.
+   *
+   * @param frame the frame to compute the state at
+   * @param dst   the array to store the state in. Must have a length equal to the {@link #getSourceCount() number of
+   *              sources}. After this method returns, each element will contain the index of the most recent frame
+   *              for that source at or before {@code frame}, or {@code -1} if that source had no data before then.
+   */
+  void stateAt(int frame, int[] dst) {
+    final int keyframe = frame / interval;
+    System.arraycopy(keyframes[keyframe], 0, dst, 0, dst.length);
+    for (int i = keyframe * interval + 1; i <= frame; i++) {
+      dst[frameSources[i]] = i;
+    }
+  }
+
+}
@@ -5,6 +5,7 @@ import edu.wpi.first.shuffleboard.api.properties.AtomicBooleanProperty;
 import edu.wpi.first.shuffleboard.api.properties.AtomicIntegerProperty;
 import edu.wpi.first.shuffleboard.api.sources.SourceType;
 import edu.wpi.first.shuffleboard.api.sources.SourceTypes;
+import edu.wpi.first.shuffleboard.api.sources.recording.MappedRecording;
 import edu.wpi.first.shuffleboard.api.sources.recording.Recorder;
 import edu.wpi.first.shuffleboard.api.sources.recording.Recording;
 import edu.wpi.first.shuffleboard.api.sources.recording.Serialization;
@@ -15,10 +16,9 @@ import com.google.common.util.concurrent.Futures;
 
 import java.io.IOException;
 import java.nio.file.Paths;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -45,6 +45,12 @@ public final class Playback {
   private final int maxFrameNum;
   private volatile boolean started = false;
 
+  private final KeyframeIndex keyframeIndex;
+  // The frame currently displayed for each source, indexed by the keyframe index's source indices
+  private final int[] displayedFrames;
+  private final int[] seekState;
+  private int displayedFrame = -1;
+
   // Using atomic properties because they get updated from the executor thread
   private final BooleanProperty paused = new AtomicBooleanProperty(this, "paused", true);
   private final IntegerProperty frame = new AtomicIntegerProperty(this, "frame", 0);
@@ -85,13 +91,21 @@ public final class Playback {
    * @throws IOException if the recording file could not be read
    */
   private Playback(String logFile) throws IOException {
-    recording = Serialization.loadRecording(Paths.get(logFile));
+    recording = Serialization.openRecording(Paths.get(logFile));
     data = recording.getData();
     numFrames = data.size();
     maxFrameNum = numFrames - 1;
     if (numFrames > 0) {
       currentFrame = data.get(0);
     }
+    if (recording instanceof MappedRecording) {
+      keyframeIndex = new KeyframeIndex((MappedRecording) recording, KeyframeIndex.DEFAULT_INTERVAL);
+    } else {
+      keyframeIndex = new KeyframeIndex(data, KeyframeIndex.DEFAULT_INTERVAL);
+    }
+    displayedFrames = new int[keyframeIndex.getSourceCount()];
+    Arrays.fill(displayedFrames, -1);
+    seekState = new int[keyframeIndex.getSourceCount()];
     frame.addListener((__, prev, cur) -> {
       if (cur.intValue() < 0 || cur.intValue() > maxFrameNum) {
         throw new IllegalArgumentException(
@@ -105,11 +119,7 @@ public final class Playback {
         pause();
       }
       currentFrame = data.get(newFrame);
-      if (newFrame > lastFrame) {
-        forward(lastFrame, newFrame);
-      } else {
-        backward(lastFrame, newFrame);
-      }
+      seek(newFrame);
     });
     paused.addListener((__, wasPaused, isPaused) -> {
       if (isPaused) {
@@ -128,26 +138,29 @@ public final class Playback {
     });
   }
 
-  private void forward(int lastFrame, int newFrame) {
-    Set<String> remainingSources = new HashSet<>(recording.getSourceIds());
-    for (int i = newFrame; i >= lastFrame && !remainingSources.isEmpty(); i--) {
-      final TimestampedData data = this.data.get(i);
-      if (remainingSources.contains(data.getSourceId())) {
-        set(data);
-        remainingSources.remove(data.getSourceId());
+  /**
+   * Sets every source to the value it had at the given frame. Stepping to the next frame only sets the data in that
+   * frame; any other move looks up the state at the new frame in the keyframe index, then sets only the sources whose
+   * values differ from what is currently displayed.
+   */
+  private synchronized void seek(int newFrame) {
+    if (newFrame == displayedFrame + 1) {
+      show(newFrame);
+    } else {
+      keyframeIndex.stateAt(newFrame, seekState);
+      for (int source = 0; source < seekState.length; source++) {
+        final int frame = seekState[source];
+        if (frame >= 0 && frame != displayedFrames[source]) {
+          show(frame);
+        }
       }
     }
+    displayedFrame = newFrame;
   }
 
-  private void backward(int lastFrame, int newFrame) {
-    Set<String> remainingSources = new HashSet<>(recording.getSourceIds());
-    for (int i = newFrame; i <= lastFrame && !remainingSources.isEmpty(); i++) {
-      final TimestampedData data = this.data.get(i);
-      if (remainingSources.contains(data.getSourceId())) {
-        set(data);
-        remainingSources.remove(data.getSourceId());
-      }
-    }
+  private void show(int frame) {
+    displayedFrames[keyframeIndex.sourceIndexOf(frame)] = frame;
+    set(data.get(frame));
   }
 
   /**
@@ -192,13 +205,11 @@ public final class Playback {
       nextFrameFuture = Futures.immediateFuture(-1);
       return currentFrameNum;
     }
-    TimestampedData currentFrame = data.get(currentFrameNum);
-    TimestampedData nextFrame = data.get(nextFrameNum);
     setFrame(nextFrameNum);
     boolean consecutive = currentFrameNum == nextFrameNum - 1;
     if (consecutive) {
       // Do a wait to make the data be set at the same rate it was when it was recorded
-      long frameTime = nextFrame.getTimestamp() - currentFrame.getTimestamp();
+      long frameTime = timestampOf(nextFrameNum) - timestampOf(currentFrameNum);
       nextFrameFuture = autoRunnerExecutor.schedule(
           () -> moveToNextFrame(nextFrameNum), frameTime, TimeUnit.MILLISECONDS);
     } else {
@@ -208,6 +219,16 @@ public final class Playback {
     return nextFrameNum;
   }
 
+  /**
+   * Gets the timestamp of a frame. This avoids decoding the frame's data when the recording is memory-mapped.
+   */
+  private long timestampOf(int frame) {
+    if (recording instanceof MappedRecording) {
+      return ((MappedRecording) recording).getTimestamp(frame);
+    }
+    return data.get(frame).getTimestamp();
+  }
+
   private boolean shouldNotPlayNextFrame() {
     return isPaused() || (getFrame() == maxFrameNum && !isLooping());
   }
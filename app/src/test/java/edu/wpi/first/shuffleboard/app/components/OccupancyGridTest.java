@@ -0,0 +1,73 @@
+package edu.wpi.first.shuffleboard.app.components;
+
+import edu.wpi.first.shuffleboard.api.util.GridPoint;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OccupancyGridTest {
+
+  @Test
+  public void testEmptyGrid() {
+    OccupancyGrid<String> grid = new OccupancyGrid<>();
+    assertAll(
+        () -> assertFalse(grid.isOverlapping(0, 0, 5, 5, __ -> false)),
+        () -> assertEquals(new GridPoint(0, 0), grid.firstEmpty(2, 2, 4, 4, __ -> false))
+    );
+  }
+
+  @Test
+  public void testOverlapping() {
+    OccupancyGrid<String> grid = new OccupancyGrid<>();
+    grid.place("a", 1, 1, 2, 2);
+    assertAll(
+        () -> assertTrue(grid.isOverlapping(2, 2, 1, 1, __ -> false)),
+        () -> assertTrue(grid.isOverlapping(0, 0, 2, 2, __ -> false)),
+        () -> assertFalse(grid.isOverlapping(3, 0, 2, 4, __ -> false)),
+        () -> assertFalse(grid.isOverlapping(2, 2, 1, 1, "a"::equals), "Ignored items should not overlap")
+    );
+  }
+
+  @Test
+  public void testMoveAndRemove() {
+    OccupancyGrid<String> grid = new OccupancyGrid<>();
+    grid.place("a", 0, 0, 1, 1);
+    grid.place("a", 5, 5, 1, 1);
+    assertAll(
+        () -> assertFalse(grid.isOverlapping(0, 0, 1, 1, __ -> false), "Old location should be empty"),
+        () -> assertTrue(grid.isOverlapping(5, 5, 1, 1, __ -> false), "New location should be occupied")
+    );
+    grid.remove("a");
+    assertFalse(grid.isOverlapping(0, 0, 10, 10, __ -> false));
+  }
+
+  @Test
+  public void testFirstEmpty() {
+    OccupancyGrid<String> grid = new OccupancyGrid<>();
+    grid.place("a", 0, 0, 2, 1);
+    grid.place("b", 3, 0, 1, 1);
+    assertAll(
+        () -> assertEquals(new GridPoint(2, 0), grid.firstEmpty(1, 1, 4, 4, __ -> false)),
+        () -> assertEquals(new GridPoint(0, 1), grid.firstEmpty(2, 1, 4, 4, __ -> false)),
+        () -> assertEquals(new GridPoint(0, 0), grid.firstEmpty(2, 1, 4, 4, "a"::equals)),
+        () -> assertNull(grid.firstEmpty(5, 1, 4, 4, __ -> false), "Region is larger than the grid")
+    );
+  }
+
+  @Test
+  public void testItemsOutsideGrid() {
+    OccupancyGrid<String> grid = new OccupancyGrid<>();
+    grid.place("a", -2, -2, 3, 3);
+    assertAll(
+        () -> assertTrue(grid.isOverlapping(0, 0, 1, 1, __ -> false)),
+        () -> assertTrue(grid.isOverlapping(-2, -2, 1, 1, __ -> false)),
+        () -> assertFalse(grid.isOverlapping(1, 1, 1, 1, __ -> false))
+    );
+  }
+
+}
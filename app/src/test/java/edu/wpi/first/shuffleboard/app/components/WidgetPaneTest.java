@@ -0,0 +1,56 @@
+package edu.wpi.first.shuffleboard.app.components;
+
+import edu.wpi.first.shuffleboard.api.util.GridPoint;
+import edu.wpi.first.shuffleboard.api.widget.TileSize;
+import edu.wpi.first.shuffleboard.app.MockWidget;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testfx.framework.junit5.ApplicationTest;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.testfx.util.WaitForAsyncUtils.waitForFxEvents;
+
+@Tag("UI")
+public class WidgetPaneTest extends ApplicationTest {
+
+  private WidgetPane pane;
+
+  @Override
+  public void start(Stage stage) {
+    pane = new WidgetPane();
+    pane.setNumColumns(4);
+    pane.setNumRows(4);
+    stage.setScene(new Scene(pane));
+    stage.show();
+  }
+
+  @Test
+  public void testHighlightDoesNotOccupyCells() {
+    Platform.runLater(() -> {
+      pane.addComponent(new MockWidget(), new GridPoint(0, 0), new TileSize(1, 1));
+      pane.setHighlightSize(new TileSize(2, 2));
+      pane.setHighlightPoint(new GridPoint(1, 0));
+      pane.setHighlight(true);
+    });
+    waitForFxEvents();
+
+    assertAll(
+        () -> assertTrue(pane.isHighlight(), "Highlight should be shown"),
+        () -> assertFalse(pane.isOverlapping(1, 0, 2, 2, n -> false), "Highlight should not overlap its cells"),
+        () -> assertTrue(pane.isOpen(new GridPoint(2, 1), new TileSize(2, 2), n -> false),
+            "Cells partially under the highlight should be open"),
+        () -> assertFalse(pane.isOpen(new GridPoint(0, 0), new TileSize(2, 2), n -> false),
+            "Cells under a tile should not be open"),
+        () -> assertEquals(new GridPoint(1, 0), pane.firstPoint(1, 1), "Highlight should not block the first point")
+    );
+  }
+
+}
@@ -2,6 +2,7 @@ package edu.wpi.first.shuffleboard.app.json;
 
 import edu.wpi.first.shuffleboard.api.data.DataTypes;
 import edu.wpi.first.shuffleboard.api.data.types.AllType;
+import edu.wpi.first.shuffleboard.api.json.PropertySaver;
 import edu.wpi.first.shuffleboard.api.prefs.Group;
 import edu.wpi.first.shuffleboard.api.prefs.Setting;
 import edu.wpi.first.shuffleboard.api.properties.SavePropertyFrom;
@@ -211,4 +212,24 @@ public class WidgetSaverTest extends ApplicationTest {
     );
   }
 
+  @Test
+  public void savedObservables() {
+    WidgetWithSavedProperties annotated = new WidgetWithSavedProperties();
+    WidgetSavingPropertiesFromFields nested = new WidgetSavingPropertiesFromFields();
+    assertAll(
+        () -> assertEquals(
+            List.of(annotated.property, annotated.property2),
+            PropertySaver.getSavedObservables(annotated)),
+        () -> assertEquals(
+            List.of(
+                nested.textField.textProperty(),
+                nested.slider.valueProperty(),
+                nested.slider.minProperty(),
+                nested.slider.maxProperty(),
+                nested.slider.visibleProperty()
+            ),
+            PropertySaver.getSavedObservables(nested))
+    );
+  }
+
 }
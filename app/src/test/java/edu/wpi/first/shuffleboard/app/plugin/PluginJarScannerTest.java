@@ -0,0 +1,63 @@
+package edu.wpi.first.shuffleboard.app.plugin;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PluginJarScannerTest {
+
+  @Test
+  public void testReadIndex() throws IOException {
+    String index = "# Plugins\n"
+        + "com.example.FooPlugin\n"
+        + "\n"
+        + "  com.example.BarPlugin  # trailing comment\n";
+    List<String> names = PluginJarScanner.readIndex(new ByteArrayInputStream(index.getBytes(StandardCharsets.UTF_8)));
+    assertEquals(List.of("com.example.FooPlugin", "com.example.BarPlugin"), names);
+  }
+
+  @Test
+  public void testReadHeader() throws IOException {
+    PluginJarScanner.ClassHeader header = readHeader(PluginLoaderTest.MockPlugin.class);
+    assertAll(
+        () -> assertEquals("edu/wpi/first/shuffleboard/app/plugin/PluginLoaderTest$MockPlugin", header.name),
+        () -> assertEquals("edu/wpi/first/shuffleboard/api/plugin/Plugin", header.superName),
+        () -> assertFalse(header.isAbstract)
+    );
+  }
+
+  @Test
+  public void testReadHeaderAbstract() throws IOException {
+    assertAll(
+        () -> assertTrue(readHeader(AbstractClass.class).isAbstract),
+        () -> assertTrue(readHeader(Runnable.class).isAbstract, "Interfaces should be treated as abstract")
+    );
+  }
+
+  @Test
+  public void testReadHeaderNotAClass() throws IOException {
+    byte[] bytes = "Not a class file".getBytes(StandardCharsets.UTF_8);
+    assertNull(PluginJarScanner.readHeader(new ByteArrayInputStream(bytes)));
+  }
+
+  private static PluginJarScanner.ClassHeader readHeader(Class<?> clazz) throws IOException {
+    String resource = "/" + clazz.getName().replace('.', '/') + ".class";
+    try (InputStream in = clazz.getResourceAsStream(resource)) {
+      return PluginJarScanner.readHeader(in);
+    }
+  }
+
+  private abstract static class AbstractClass {
+  }
+
+}
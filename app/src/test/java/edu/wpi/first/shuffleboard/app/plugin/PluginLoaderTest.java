@@ -204,6 +204,20 @@ public class PluginLoaderTest {
     assertTrue(loader.load(new DependentPlugin()), "Dependent plugin should have been loaded");
   }
 
+  @Test
+  public void testLoadAll() {
+    Plugin dependency = new MockPlugin();
+    Plugin dependent = new DependentPlugin();
+    Plugin unloadable = new DependentOnHigherVersion();
+    loader.loadAll(List.of(dependent, unloadable, dependency));
+    assertAll(
+        () -> assertTrue(dependency.isLoaded(), "Dependency should have been loaded"),
+        () -> assertTrue(dependent.isLoaded(), "Dependent should have been loaded after its dependency"),
+        () -> assertFalse(unloadable.isLoaded(), "Plugin with missing requirements should not have been loaded"),
+        () -> assertEquals(3, loader.getKnownPlugins().size())
+    );
+  }
+
   @Test
   public void testOrderPluginsNoDependencies() {
     assertEquals(0, loader.comparePluginsByDependencyGraph(MockPlugin.class, NewerVersionPlugin.class));
@@ -228,6 +242,20 @@ public class PluginLoaderTest {
         () -> loader.comparePluginsByDependencyGraph(SelfDependentPlugin.class, SelfDependentPlugin.class));
   }
 
+  @Test
+  public void testSortByDependencies() {
+    assertEquals(
+        List.of(MockPlugin.class, NewerVersionPlugin.class, DependentPlugin.class),
+        PluginLoader.sortByDependencies(List.of(DependentPlugin.class, NewerVersionPlugin.class, MockPlugin.class)));
+  }
+
+  @Test
+  public void testSortByDependenciesPutsCyclesLast() {
+    List<Class<? extends Plugin>> sorted =
+        PluginLoader.sortByDependencies(List.of(CyclicalPluginA.class, CyclicalPluginB.class, MockPlugin.class));
+    assertEquals(List.of(MockPlugin.class, CyclicalPluginA.class, CyclicalPluginB.class), sorted);
+  }
+
   @Test
   public void testSelfDependentCannotBeLoaded() {
     Plugin plugin = new SelfDependentPlugin();
@@ -9,7 +9,13 @@ import edu.wpi.first.shuffleboard.api.testutil.MockPreferences;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junitpioneer.jupiter.TempDirectory;
+import org.junitpioneer.jupiter.TempDirectory.TempDir;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -63,6 +69,30 @@ public class CsvConverterTest {
     );
   }
 
+  @Test
+  @ExtendWith(TempDirectory.class)
+  public void testExportLargeRecording(@TempDir Path dir) throws IOException {
+    // Enough rows to be written in several batches
+    final int rows = 10_000;
+    for (int i = 0; i < rows; i++) {
+      recording.append(new TimestampedData("foo" + (i % 3), DataTypes.Number, (double) i, i * 100L));
+    }
+    recording.addMarker(new Marker("Marker", "", MarkerImportance.NORMAL, 5000 * 100L));
+    Path file = dir.resolve("recording.csv");
+
+    converter.export(recording, file);
+    var lines = Files.readAllLines(file);
+
+    assertAll(
+        () -> assertEquals(rows + 1, lines.size(), "Wrong number of lines"),
+        () -> assertEquals(EMPTY_HEADER + ",foo0,foo1,foo2", lines.get(0)),
+        () -> assertEquals("0,,,,0.0,,", lines.get(1)),
+        () -> assertEquals("500000,Marker,,NORMAL,,,5000.0", lines.get(5001)),
+        () -> assertEquals("999900,,,,9999.0,,", lines.get(rows)),
+        () -> assertEquals(converter.convertToCsv(recording).lines().collect(Collectors.toList()), lines)
+    );
+  }
+
   @Test
   public void testFillEmptyCells() {
     var rows = List.of(
@@ -0,0 +1,50 @@
+package edu.wpi.first.shuffleboard.app.sources.recording;
+
+import edu.wpi.first.shuffleboard.api.data.DataTypes;
+import edu.wpi.first.shuffleboard.api.sources.recording.TimestampedData;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class KeyframeIndexTest {
+
+  @Test
+  public void testStateMatchesLinearScan() {
+    List<TimestampedData> data = new ArrayList<>();
+    String[] sources = {"a", "b", "c", "d"};
+    for (int i = 0; i < 100; i++) {
+      // Uneven update rates so keyframes don't line up with source updates
+      String source = sources[(i * 7 + i / 5) % sources.length];
+      data.add(new TimestampedData(source, DataTypes.Number, (double) i, i));
+    }
+    KeyframeIndex index = new KeyframeIndex(data, 7);
+    int[] state = new int[index.getSourceCount()];
+    for (int frame = 0; frame < data.size(); frame++) {
+      index.stateAt(frame, state);
+      int[] expected = new int[index.getSourceCount()];
+      Arrays.fill(expected, -1);
+      for (int i = 0; i <= frame; i++) {
+        expected[index.sourceIndexOf(i)] = i;
+      }
+      assertArrayEquals(expected, state, "Wrong state at frame " + frame);
+    }
+  }
+
+  @Test
+  public void testSourceCount() {
+    List<TimestampedData> data = List.of(
+        new TimestampedData("a", DataTypes.Number, 0.0, 0),
+        new TimestampedData("b", DataTypes.Number, 0.0, 1),
+        new TimestampedData("a", DataTypes.Number, 1.0, 2)
+    );
+    KeyframeIndex index = new KeyframeIndex(data, KeyframeIndex.DEFAULT_INTERVAL);
+    assertEquals(2, index.getSourceCount());
+  }
+
+}
@@ -0,0 +1,76 @@
+package edu.wpi.first.shuffleboard.api.sources.recording;
+
+import edu.wpi.first.shuffleboard.api.data.DataTypes;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates recordings for benchmarks.
+ */
+public final class BenchmarkRecordings {
+
+  /**
+   * The number of unique sources in generated recordings.
+   */
+  public static final int SOURCES = 300;
+
+  private BenchmarkRecordings() {
+    throw new UnsupportedOperationException("This is a utility class!");
+  }
+
+  /**
+   * Generates data points for a recording. Data is spread evenly over {@code sources} sources, half of which are
+   * numbers, with the rest booleans and strings.
+   *
+   * @param count          the number of data points to generate
+   * @param firstTimestamp the timestamp of the first data point
+   * @param sources        the number of unique sources
+   */
+  public static List<TimestampedData> generateData(int count, long firstTimestamp, int sources) {
+    List<TimestampedData> data = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      final int source = i % sources;
+      final String sourceId = "network_table:///SmartDashboard/Source" + source;
+      final long timestamp = firstTimestamp + i / 10;
+      switch (source % 4) {
+        case 0:
+          data.add(new TimestampedData(sourceId, DataTypes.Boolean, i % 3 == 0, timestamp));
+          break;
+        case 1:
+          data.add(new TimestampedData(sourceId, DataTypes.String, "Value " + (i % 100), timestamp));
+          break;
+        default:
+          data.add(new TimestampedData(sourceId, DataTypes.Number, Math.sin(i), timestamp));
+          break;
+      }
+    }
+    return data;
+  }
+
+  /**
+   * Generates data points for a recording with {@link #SOURCES} sources.
+   *
+   * @param count          the number of data points to generate
+   * @param firstTimestamp the timestamp of the first data point
+   */
+  public static List<TimestampedData> generateData(int count, long firstTimestamp) {
+    return generateData(count, firstTimestamp, SOURCES);
+  }
+
+  /**
+   * Generates a recording and saves it to a file.
+   *
+   * @param count   the number of data points to generate
+   * @param sources the number of unique sources
+   * @param file    the file to save the recording to
+   */
+  public static void saveGeneratedRecording(int count, int sources, Path file) throws IOException {
+    Recording recording = new Recording();
+    generateData(count, 0, sources).forEach(recording::append);
+    Serialization.saveRecording(recording, file);
+  }
+
+}
@@ -0,0 +1,74 @@
+package edu.wpi.first.shuffleboard.api.sources.recording;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encoding and decoding of {@link Serialization#COMPRESSED_VERSION compressed} recordings. The size of the
+ * compressed file is printed alongside the size of the same data in the streaming format at the start of each trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class CompressedRecordingBenchmark {
+
+  @Param({"100000", "1000000"})
+  public int points;
+
+  private Recording recording;
+  private Path file;
+  private Path compressedFile;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    List<TimestampedData> data = BenchmarkRecordings.generateData(points, 0);
+    recording = new Recording();
+    data.forEach(recording::append);
+    file = Files.createTempFile("shuffleboard-benchmark", ".sbr");
+    compressedFile = Files.createTempFile("shuffleboard-benchmark", ".compressed.sbr");
+
+    try (RecordingWriter writer = RecordingWriter.create(file)) {
+      writer.write(data, List.of());
+    }
+    Serialization.saveCompressedRecording(recording, compressedFile);
+    System.out.printf("%nStreaming format:  %.2f bytes/sample%nCompressed format: %.2f bytes/sample%n",
+        (double) Files.size(file) / points,
+        (double) Files.size(compressedFile) / points);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+    Files.deleteIfExists(compressedFile);
+  }
+
+  @Benchmark
+  public void encode() throws IOException {
+    Serialization.saveCompressedRecording(recording, compressedFile);
+  }
+
+  @Benchmark
+  public Recording decode() throws IOException {
+    return Serialization.loadRecording(compressedFile);
+  }
+
+  @Benchmark
+  public void convertStreamingRecording() throws IOException {
+    Serialization.compressRecording(file, compressedFile);
+  }
+
+}
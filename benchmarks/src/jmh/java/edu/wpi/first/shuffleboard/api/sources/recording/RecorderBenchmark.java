@@ -0,0 +1,110 @@
+package edu.wpi.first.shuffleboard.api.sources.recording;
+
+import edu.wpi.first.shuffleboard.api.data.DataTypes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures the throughput of {@link Recorder#record} with different numbers of producer threads. A background thread
+ * stands in for the recorder's periodic saver by draining recorded data and discarding it, so the benchmark measures
+ * the cost of recording without any disk I/O.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RecorderBenchmark {
+
+  /**
+   * The number of sources each producer thread records to.
+   */
+  private static final int SOURCES_PER_THREAD = 32;
+
+  @State(Scope.Benchmark)
+  public static class RecorderState {
+
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private Recorder recorder;
+    private Thread saver;
+    private volatile boolean saving;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+      recorder = Recorder.createDummyInstance();
+      recorder.start();
+      saving = true;
+      saver = new Thread(() -> {
+        while (saving) {
+          recorder.getRecording().takeSnapshotAndClear();
+          Thread.onSpinWait();
+        }
+      }, "Benchmark saver");
+      saver.setDaemon(true);
+      saver.start();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws InterruptedException {
+      saving = false;
+      saver.join();
+      recorder.stop();
+    }
+
+  }
+
+  @State(Scope.Thread)
+  public static class ProducerState {
+
+    private final String[] sourceIds = new String[SOURCES_PER_THREAD];
+    private int next;
+    private double value;
+
+    @Setup(Level.Trial)
+    public void setup(RecorderState recorderState) {
+      final int thread = recorderState.threadCount.getAndIncrement();
+      for (int i = 0; i < SOURCES_PER_THREAD; i++) {
+        sourceIds[i] = "network_table:///Thread" + thread + "/Source" + i;
+      }
+    }
+
+    String nextSource() {
+      next = (next + 1) % SOURCES_PER_THREAD;
+      return sourceIds[next];
+    }
+
+  }
+
+  private static void record(RecorderState recorderState, ProducerState producerState) {
+    producerState.value += 1;
+    recorderState.recorder.record(producerState.nextSource(), DataTypes.Number, producerState.value);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void record1Thread(RecorderState recorderState, ProducerState producerState) {
+    record(recorderState, producerState);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void record4Threads(RecorderState recorderState, ProducerState producerState) {
+    record(recorderState, producerState);
+  }
+
+  @Benchmark
+  @Threads(16)
+  public void record16Threads(RecorderState recorderState, ProducerState producerState) {
+    record(recorderState, producerState);
+  }
+
+}
@@ -0,0 +1,114 @@
+package edu.wpi.first.shuffleboard.api.sources.recording;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures saving, updating, and loading recording files of various sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+  /**
+   * The number of data points added by each call to {@link Serialization#updateRecordingSave}. This matches the amount
+   * of data that a few hundred sources changing at 10 Hz would record between two saves.
+   */
+  private static final int UPDATE_SIZE = 5_000;
+
+  @Param({"10000", "1000000", "10000000"})
+  public int points;
+
+  private List<TimestampedData> data;
+  private List<TimestampedData> updateData;
+  private Path file;
+  private Path savedFile;
+
+  /**
+   * Holds a recording filled with the data to save. Saving clears the recording, so it is refilled before every
+   * invocation, outside of the measured time.
+   */
+  @State(Scope.Benchmark)
+  public static class FilledRecording {
+
+    private Recording recording;
+
+    @Setup(Level.Invocation)
+    public void fill(SerializationBenchmark benchmark) {
+      recording = new Recording();
+      benchmark.data.forEach(recording::append);
+    }
+
+  }
+
+  /**
+   * Holds a recording with the data added by a single update.
+   */
+  @State(Scope.Benchmark)
+  public static class UpdateRecording {
+
+    private Recording recording;
+
+    @Setup(Level.Invocation)
+    public void fill(SerializationBenchmark benchmark) {
+      recording = new Recording();
+      benchmark.updateData.forEach(recording::append);
+    }
+
+  }
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    data = BenchmarkRecordings.generateData(points, 0);
+    updateData = BenchmarkRecordings.generateData(UPDATE_SIZE, points);
+    file = Files.createTempFile("shuffleboard-benchmark", ".sbr");
+    savedFile = Files.createTempFile("shuffleboard-benchmark-saved", ".sbr");
+    Recording saved = new Recording();
+    data.forEach(saved::append);
+    Serialization.saveRecording(saved, savedFile);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+    Files.deleteIfExists(savedFile);
+  }
+
+  @Benchmark
+  public void saveRecording(FilledRecording filled) throws IOException {
+    Serialization.saveRecording(filled.recording, file);
+  }
+
+  @Benchmark
+  public void updateRecordingSave(UpdateRecording update) throws IOException {
+    // The saved file grows with every invocation, like a recording in progress
+    Serialization.updateRecordingSave(update.recording, savedFile);
+  }
+
+  @Benchmark
+  public Recording loadRecording() throws IOException {
+    return Serialization.loadRecording(savedFile);
+  }
+
+  @Benchmark
+  public int openRecording() throws IOException {
+    Recording opened = Serialization.openRecording(savedFile);
+    return opened.getData().size();
+  }
+
+}
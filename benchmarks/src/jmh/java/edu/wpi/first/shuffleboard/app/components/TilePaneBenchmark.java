@@ -0,0 +1,95 @@
+package edu.wpi.first.shuffleboard.app.components;
+
+import edu.wpi.first.shuffleboard.api.util.GridPoint;
+import edu.wpi.first.shuffleboard.api.widget.TileSize;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import javafx.scene.layout.Region;
+
+/**
+ * Measures placing tiles in a tile pane and checking for collisions, as done when autopopulating a tab and when
+ * dragging a tile around.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TilePaneBenchmark {
+
+  private static final TileSize[] SIZES = {
+      new TileSize(1, 1),
+      new TileSize(2, 1),
+      new TileSize(1, 2),
+      new TileSize(2, 2)
+  };
+
+  @Param({"100", "1000"})
+  public int tiles;
+
+  private TilePane filledPane;
+
+  /**
+   * Holds an empty tile pane. Placing tiles fills the pane, so a new one is created before every invocation.
+   */
+  @State(Scope.Benchmark)
+  public static class EmptyPane {
+
+    private TilePane pane;
+
+    @Setup(Level.Invocation)
+    public void create(TilePaneBenchmark benchmark) {
+      pane = createPane(benchmark.tiles);
+    }
+
+  }
+
+  @Setup(Level.Trial)
+  public void setup() {
+    filledPane = createPane(tiles);
+    placeTiles(filledPane, tiles);
+  }
+
+  private static TilePane createPane(int tiles) {
+    // Enough space for every tile, with a little room to spare
+    int columns = 64;
+    int rows = (tiles * 3 + columns - 1) / columns;
+    return new TilePane(columns, rows);
+  }
+
+  private static int placeTiles(TilePane pane, int count) {
+    int placed = 0;
+    for (int i = 0; i < count; i++) {
+      if (pane.addTile(new Region(), SIZES[i % SIZES.length]) != null) {
+        placed++;
+      }
+    }
+    return placed;
+  }
+
+  @Benchmark
+  public int placeTiles(EmptyPane empty) {
+    return placeTiles(empty.pane, tiles);
+  }
+
+  @Benchmark
+  public GridPoint firstPoint() {
+    return filledPane.firstPoint(2, 2);
+  }
+
+  @Benchmark
+  public boolean isOpen() {
+    // The query made on every mouse move while dragging a tile over the pane
+    return filledPane.isOpen(new GridPoint(5, 5), new TileSize(2, 2), n -> false);
+  }
+
+}
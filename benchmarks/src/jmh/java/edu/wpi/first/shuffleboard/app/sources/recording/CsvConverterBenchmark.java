@@ -0,0 +1,42 @@
+package edu.wpi.first.shuffleboard.app.sources.recording;
+
+import edu.wpi.first.shuffleboard.api.sources.recording.BenchmarkRecordings;
+import edu.wpi.first.shuffleboard.api.sources.recording.Recording;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures converting recordings to CSV.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class CsvConverterBenchmark {
+
+  @Param({"10000", "100000", "1000000"})
+  public int points;
+
+  private Recording recording;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    recording = new Recording();
+    BenchmarkRecordings.generateData(points, 0).forEach(recording::append);
+  }
+
+  @Benchmark
+  public String convertToCsv() {
+    return CsvConverter.Instance.convertToCsv(recording);
+  }
+
+}
@@ -0,0 +1,74 @@
+package edu.wpi.first.shuffleboard.app.sources.recording;
+
+import edu.wpi.first.shuffleboard.api.sources.recording.BenchmarkRecordings;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures moving between frames of a recording during playback. The generated sources are not registered with any
+ * source type, so this measures finding and decoding the data to show without the cost of updating any widgets.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class PlaybackBenchmark {
+
+  @Param({"100000", "1000000"})
+  public int points;
+
+  @Param({"10", "300"})
+  public int sources;
+
+  private Path file;
+  private Playback playback;
+  private final SplittableRandom random = new SplittableRandom(0);
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    file = Files.createTempFile("shuffleboard-benchmark-playback", ".sbr");
+    BenchmarkRecordings.saveGeneratedRecording(points, sources, file);
+    playback = Playback.load(file.toString());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    playback.stop();
+    Files.deleteIfExists(file);
+  }
+
+  /**
+   * Jumps to a random frame, like dragging the playback slider.
+   */
+  @Benchmark
+  public int seekRandom() {
+    final int frame = random.nextInt(playback.getNumFrames());
+    playback.setFrame(frame);
+    return frame;
+  }
+
+  /**
+   * Steps to the next frame, like normal playback.
+   */
+  @Benchmark
+  public int stepForward() {
+    final int frame = (playback.getFrame() + 1) % playback.getNumFrames();
+    playback.setFrame(frame);
+    return frame;
+  }
+
+}
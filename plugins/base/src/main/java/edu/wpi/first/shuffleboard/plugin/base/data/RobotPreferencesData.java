@@ -2,7 +2,6 @@ package edu.wpi.first.shuffleboard.plugin.base.data;
 
 import edu.wpi.first.shuffleboard.api.data.MapData;
 
-import java.util.HashMap;
 import java.util.Map;
 
 public class RobotPreferencesData extends MapData {
@@ -13,9 +12,7 @@ public class RobotPreferencesData extends MapData {
 
   @Override
   public RobotPreferencesData put(String key, Object value) {
-    HashMap<String, Object> map = new HashMap<>(asMap());
-    map.put(key, value);
-    return new RobotPreferencesData(map);
+    return new RobotPreferencesData(asPersistentMap().plus(key, value));
   }
 
 }
@@ -15,6 +15,11 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonSerializationContext;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import javafx.beans.Observable;
 import javafx.util.StringConverter;
 
 @AnnotatedTypeAdapter(forType = GridLayout.class)
@@ -59,6 +64,14 @@ public final class GridLayoutSaver implements ElementTypeAdapter<GridLayout> {
     return obj;
   }
 
+  @Override
+  public Optional<List<Observable>> getSavedObservables(GridLayout src) {
+    // Child positions are stored in the grid constraints of their containers
+    return Optional.of(src.getContainers().stream()
+        .map(container -> (Observable) container.getProperties())
+        .collect(Collectors.toList()));
+  }
+
   @Override
   public GridLayout deserialize(JsonElement json, JsonDeserializationContext context) throws JsonParseException {
     JsonObject obj = json.getAsJsonObject();
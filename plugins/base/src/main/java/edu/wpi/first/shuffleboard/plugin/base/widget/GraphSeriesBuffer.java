@@ -0,0 +1,254 @@
+package edu.wpi.first.shuffleboard.plugin.base.widget;
+
+/**
+ * A fixed-capacity circular buffer of (x, y) points for a single graph series. Points must be added in order of
+ * increasing x. When the buffer is full, adding a point overwrites the oldest one.
+ *
+ * <p>Rather than rendering every stored point, the graph {@link #decimate decimates} the visible range of the buffer
+ * down to a few points per pixel column, keeping the first, last, minimum, and maximum point in each column so that
+ * spikes and steps are still drawn.
+ */
+final class GraphSeriesBuffer {
+
+  private double[] xValues;
+  private double[] yValues;
+  private int head = 0; // index of the oldest point
+  private int size = 0;
+
+  /**
+   * Creates a new buffer.
+   *
+   * @param capacity the maximum number of points the buffer can hold
+   */
+  GraphSeriesBuffer(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive, but was " + capacity);
+    }
+    xValues = new double[capacity];
+    yValues = new double[capacity];
+  }
+
+  private int index(int i) {
+    final int index = head + i;
+    return index < xValues.length ? index : index - xValues.length;
+  }
+
+  /**
+   * Adds a point to the end of the buffer, overwriting the oldest point if the buffer is full.
+   */
+  void add(double x, double y) {
+    if (size == xValues.length) {
+      xValues[head] = x;
+      yValues[head] = y;
+      head = index(1);
+    } else {
+      final int tail = index(size);
+      xValues[tail] = x;
+      yValues[tail] = y;
+      size++;
+    }
+  }
+
+  /**
+   * Removes points that lie before {@code minX}. The last such point is kept so the series still extends to the left
+   * edge of a graph that starts at {@code minX}.
+   */
+  void trimBefore(double minX) {
+    while (size > 1 && xValues[index(1)] <= minX) {
+      head = index(1);
+      size--;
+    }
+  }
+
+  /**
+   * Changes the capacity of this buffer. If the new capacity is smaller than the number of points in the buffer, the
+   * oldest points are discarded.
+   */
+  void setCapacity(int capacity) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive, but was " + capacity);
+    }
+    if (capacity == xValues.length) {
+      return;
+    }
+    final int newSize = Math.min(size, capacity);
+    final double[] newX = new double[capacity];
+    final double[] newY = new double[capacity];
+    for (int i = 0; i < newSize; i++) {
+      final int index = index(size - newSize + i);
+      newX[i] = xValues[index];
+      newY[i] = yValues[index];
+    }
+    xValues = newX;
+    yValues = newY;
+    head = 0;
+    size = newSize;
+  }
+
+  /**
+   * Removes all points from this buffer.
+   */
+  void clear() {
+    head = 0;
+    size = 0;
+  }
+
+  int size() {
+    return size;
+  }
+
+  int getCapacity() {
+    return xValues.length;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  double getX(int i) {
+    return xValues[index(i)];
+  }
+
+  double getY(int i) {
+    return yValues[index(i)];
+  }
+
+  /**
+   * Gets the x-value of the newest point. The buffer must not be empty.
+   */
+  double lastX() {
+    return xValues[index(size - 1)];
+  }
+
+  /**
+   * Gets the y-value of the newest point. The buffer must not be empty.
+   */
+  double lastY() {
+    return yValues[index(size - 1)];
+  }
+
+  /**
+   * Copies a decimated view of the points in this buffer into the given arrays. The range {@code [minX, maxX]} is
+   * split into {@code columns} equal columns, and at most four points are kept for each: the first, the minimum, the
+   * maximum, and the last, in their original order. The newest point before {@code minX} is always included so the
+   * series reaches the left edge of the range. If there are few enough points that decimation would not remove any,
+   * every point in the range is copied.
+   *
+   * @param minX    the smallest x-value to include
+   * @param maxX    the largest x-value to include
+   * @param columns the number of columns to split the range into, typically the pixel width of the graph
+   * @param outX    the array to copy x-values into. Must have a length of at least {@code 4 * columns + 1}
+   * @param outY    the array to copy y-values into. Must have a length of at least {@code 4 * columns + 1}
+   *
+   * @return the number of points copied into the output arrays
+   */
+  @SuppressWarnings("PMD.CyclomaticComplexity")
+  int decimate(double minX, double maxX, int columns, double[] outX, double[] outY) {
+    if (size == 0) {
+      return 0;
+    }
+    // Start at the newest point before the range, if any
+    int start = firstIndexAtOrAfter(minX);
+    if (start > 0) {
+      start--;
+    }
+    int end = size;
+    while (end > start && getX(end - 1) > maxX) {
+      end--;
+    }
+    int count = 0;
+    if (end - start <= 4 * columns + 1 || maxX <= minX) {
+      for (int i = start; i < end && count < outX.length; i++) {
+        outX[count] = getX(i);
+        outY[count] = getY(i);
+        count++;
+      }
+      return count;
+    }
+
+    final double columnWidth = (maxX - minX) / columns;
+    int i = start;
+    if (getX(i) < minX) {
+      // Point to the left of the range
+      outX[count] = getX(i);
+      outY[count] = getY(i);
+      count++;
+      i++;
+    }
+    while (i < end) {
+      final int column = column(getX(i), minX, columnWidth, columns);
+      final int first = i;
+      int min = i;
+      int max = i;
+      int last = i;
+      i++;
+      while (i < end && column(getX(i), minX, columnWidth, columns) == column) {
+        final double y = getY(i);
+        if (y < getY(min)) {
+          min = i;
+        }
+        if (y > getY(max)) {
+          max = i;
+        }
+        last = i;
+        i++;
+      }
+      count = emitColumn(first, min, max, last, outX, outY, count);
+    }
+    return count;
+  }
+
+  private static int column(double x, double minX, double columnWidth, int columns) {
+    // Points exactly at maxX belong to the last column
+    return Math.min(columns - 1, (int) ((x - minX) / columnWidth));
+  }
+
+  /**
+   * Copies the distinct points of a column into the output arrays, in order.
+   */
+  private int emitColumn(int first, int min, int max, int last, double[] outX, double[] outY, int count) {
+    final int low = Math.min(min, max);
+    final int high = Math.max(min, max);
+    int n = emit(first, outX, outY, count);
+    if (low > first) {
+      n = emit(low, outX, outY, n);
+    }
+    if (high > low) {
+      n = emit(high, outX, outY, n);
+    }
+    if (last > high) {
+      n = emit(last, outX, outY, n);
+    }
+    return n;
+  }
+
+  private int emit(int point, double[] outX, double[] outY, int count) {
+    outX[count] = getX(point);
+    outY[count] = getY(point);
+    return count + 1;
+  }
+
+  /**
+   * Finds the index of the oldest point with an x-value greater than or equal to {@code x}, or {@link #size()} if
+   * there is no such point.
+   */
+  private int firstIndexAtOrAfter(double x) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      final int mid = (low + high) >>> 1;
+      if (getX(mid) < x) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("GraphSeriesBuffer(size=%d, capacity=%d)", size, xValues.length);
+  }
+
+}
@@ -83,6 +83,27 @@ public class GraphWidget extends AbstractWidget implements AnnotatedWidget {
 
   private final Map<DoubleDataSet, BooleanProperty> visibleSeries = new IdentityHashMap<>();
 
+  /**
+   * The points in each series. The chart's data sets only hold the decimated points in the visible range.
+   */
+  private final Map<DoubleDataSet, GraphSeriesBuffer> seriesBuffers =
+      Collections.synchronizedMap(new IdentityHashMap<>());
+  private double[] renderX = new double[0];
+  private double[] renderY = new double[0];
+
+  /**
+   * The rate, in Hz, at which sources are assumed to change in addition to the graph update rate. Used to size the
+   * series buffers; if a source changes faster than this, the oldest visible points are dropped.
+   */
+  private static final int ASSUMED_SOURCE_RATE = 100;
+  private static final int MIN_SERIES_CAPACITY = 1024;
+  private static final int MAX_SERIES_CAPACITY = 1 << 20;
+
+  /**
+   * The current update rate of the {@link Updater}, in Hz, used to size the series buffers.
+   */
+  private static volatile int sharedUpdateRate = 10;
+
   private final ChangeListener<Number> numberChangeListener = (property, oldNumber, newNumber) -> {
     final DataSource<Number> source = sourceFor(property);
     updateFromNumberSource(source);
@@ -126,6 +147,7 @@ public class GraphWidget extends AbstractWidget implements AnnotatedWidget {
         currentFuture.cancel(false);
       }
 
+      sharedUpdateRate = newValue.intValue();
       long amount = 1000L / newValue.intValue();
       if (amount == 0) {
         amount = 1;
@@ -168,6 +190,13 @@ public class GraphWidget extends AbstractWidget implements AnnotatedWidget {
     chart.setAutoNotification(false);
     yAxis.unitProperty().bind(yAxisUnit);
 
+    visibleTime.addListener((__, old, time) -> {
+      final int capacity = seriesCapacity();
+      synchronized (seriesBuffers) {
+        seriesBuffers.values().forEach(buffer -> buffer.setCapacity(capacity));
+      }
+    });
+
     yAxisAutoRanging.addListener((__, was, useAutoRanging) -> {
       if (useAutoRanging) {
         yAxis.minProperty().unbind();
@@ -245,6 +274,9 @@ public class GraphWidget extends AbstractWidget implements AnnotatedWidget {
   }
 
   private void clear() {
+    synchronized (seriesBuffers) {
+      seriesBuffers.values().forEach(GraphSeriesBuffer::clear);
+    }
     chart.getDatasets().forEach(s -> {
       var doubleDataSet = (DoubleDataSet) s;
       doubleDataSet.lock().writeLockGuard(
@@ -294,22 +326,19 @@ public class GraphWidget extends AbstractWidget implements AnnotatedWidget {
 
   private void updateSeries(DoubleDataSet data, long now, double nextValue) {
     final long elapsed = now - Time.getStartTime();
+    final GraphSeriesBuffer buffer = seriesBuffers.get(data);
+    if (buffer == null) {
+      // The series was removed before this update ran
+      return;
+    }
 
-
-    data.lock().writeLockGuard(() -> {
-      // So getValues() does not return an array of all the elements, but instead returns the
-      // backing array of the ArrayList?? This means it can be followed by trailing zeros,
-      // hence the call to getDataCount().
-
-      // This code here makes the graph  square wave and prevents discrete points
-      // from appearing continuous.
-      double[] yValues = data.getValues(DataSet.DIM_Y);
-      if (data.getDataCount(DataSet.DIM_Y) > 1 && yValues[yValues.length - 1] != nextValue) {
-        data.add(elapsed - 1, yValues[data.getDataCount(DataSet.DIM_Y) - 1]);
-      }
-
-      data.add(elapsed, nextValue);
-    });
+    // This code here makes the graph  square wave and prevents discrete points
+    // from appearing continuous.
+    if (!buffer.isEmpty() && buffer.lastY() != nextValue) {
+      buffer.add(Math.max(elapsed - 1, buffer.lastX()), buffer.lastY());
+    }
+    buffer.add(elapsed, nextValue);
+    buffer.trimBefore(elapsed - visibleTime.get() * 1e3);
 
     boolean dataVisible = Optional.ofNullable(visibleSeries.get(data)).map(Property::getValue).orElseThrow();
 
@@ -325,9 +354,7 @@ public class GraphWidget extends AbstractWidget implements AnnotatedWidget {
 
   private DoubleDataSet getNumberSeries(DataSource<? extends Number> source) {
     if (!numberSeriesMap.containsKey(source)) {
-      DoubleDataSet series = new DoubleDataSet(source.getName());
-      numberSeriesMap.put(source, series);
-      visibleSeries.computeIfAbsent(series, createVisibleProperty);
+      numberSeriesMap.put(source, newSeries(source.getName()));
     }
     return numberSeriesMap.get(source);
   }
@@ -339,17 +366,32 @@ public class GraphWidget extends AbstractWidget implements AnnotatedWidget {
       while (series.size() != data.length) {
         DoubleDataSet removed = series.remove(series.size() - 1);
         visibleSeries.remove(removed);
+        seriesBuffers.remove(removed);
       }
     } else if (data.length > series.size()) {
       for (int i = series.size(); i < data.length; i++) {
-        DoubleDataSet newSeries = new DoubleDataSet(source.getName() + "[" + i + "]");
-        series.add(newSeries);
-        visibleSeries.computeIfAbsent(newSeries, createVisibleProperty);
+        series.add(newSeries(source.getName() + "[" + i + "]"));
       }
     }
     return series;
   }
 
+  private DoubleDataSet newSeries(String name) {
+    DoubleDataSet series = new DoubleDataSet(name);
+    seriesBuffers.put(series, new GraphSeriesBuffer(seriesCapacity()));
+    visibleSeries.computeIfAbsent(series, createVisibleProperty);
+    return series;
+  }
+
+  /**
+   * Gets the number of points a series needs to hold to fill the visible time. Each value can add two points to make
+   * the square wave.
+   */
+  private int seriesCapacity() {
+    final double points = visibleTime.get() * (sharedUpdateRate + ASSUMED_SOURCE_RATE) * 2;
+    return (int) Math.max(MIN_SERIES_CAPACITY, Math.min(MAX_SERIES_CAPACITY, Math.ceil(points)));
+  }
+
   private void update() {
     FxUtils.runOnFxThread(() -> {
       // Data is only pushed to the graph via listeners, so this prevents the graph
@@ -369,26 +411,37 @@ public class GraphWidget extends AbstractWidget implements AnnotatedWidget {
   private void rerenderGraph() {
     OptionalDouble globalMax = OptionalDouble.empty();
     for (DataSet s : chart.getDatasets()) {
-      var doubleDataSet = (DoubleDataSet) s;
-
-      OptionalDouble dataSetMax = doubleDataSet.lock().readLockGuard(() -> {
-
-        if (doubleDataSet.getDataCount(DataSet.DIM_X) == 0) {
-          return OptionalDouble.empty();
-        }
+      GraphSeriesBuffer buffer = seriesBuffers.get(s);
+      if (buffer != null && !buffer.isEmpty()
+          && (globalMax.isEmpty() || buffer.lastX() > globalMax.getAsDouble())) {
+        globalMax = OptionalDouble.of(buffer.lastX());
+      }
+    }
 
-        double[] xValues = doubleDataSet.getValues(DataSet.DIM_X);
-        return OptionalDouble.of(xValues[doubleDataSet.getDataCount(DataSet.DIM_X) - 1]);
-      });
+    final double minX;
+    final double maxX;
+    if (xAxisAutoScrolling.get() && globalMax.isPresent()) {
+      maxX = globalMax.getAsDouble();
+      minX = maxX - visibleTime.get() * 1e3;
+    } else {
+      maxX = xAxis.getMax();
+      minX = xAxis.getMin();
+    }
 
-      if (dataSetMax.isPresent()) {
-        if (globalMax.isPresent() && dataSetMax.getAsDouble() > globalMax.getAsDouble()) {
-          globalMax = dataSetMax;
-        } else if (globalMax.isEmpty()) {
-          globalMax = dataSetMax;
-        }
+    // Only render a few points per pixel; any more would be drawn on top of each other
+    final int columns = Math.max(1, (int) Math.ceil(xAxis.getWidth()));
+    if (renderX.length < 4 * columns + 1) {
+      renderX = new double[4 * columns + 1];
+      renderY = new double[4 * columns + 1];
+    }
+    for (DataSet s : chart.getDatasets()) {
+      var doubleDataSet = (DoubleDataSet) s;
+      GraphSeriesBuffer buffer = seriesBuffers.get(s);
+      if (buffer == null) {
+        continue;
       }
-
+      final int count = buffer.decimate(minX, maxX, columns, renderX, renderY);
+      doubleDataSet.lock().writeLockGuard(() -> doubleDataSet.set(renderX, renderY, count, true));
       doubleDataSet.fireInvalidated(null);
     }
 
@@ -55,8 +55,7 @@ public class RobotPreferencesWidget extends SimpleAnnotatedWidget<RobotPreferenc
       Map<String, Object> updated = curData.changesFrom(prevData);
       if (prevData != null) {
         // Remove items for any deleted robot preferences
-        prevData.asMap().entrySet().stream()
-            .map(Map.Entry::getKey)
+        prevData.asPersistentMap().keySet().stream()
             .filter(k -> !curData.containsKey(k))
             .forEach(wrapperProperties::remove);
       }
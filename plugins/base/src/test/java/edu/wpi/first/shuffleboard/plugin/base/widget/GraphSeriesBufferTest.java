@@ -0,0 +1,93 @@
+package edu.wpi.first.shuffleboard.plugin.base.widget;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GraphSeriesBufferTest {
+
+  @Test
+  public void testOverwritesOldestWhenFull() {
+    GraphSeriesBuffer buffer = new GraphSeriesBuffer(3);
+    for (int i = 0; i < 5; i++) {
+      buffer.add(i, i * 10);
+    }
+    assertAll(
+        () -> assertEquals(3, buffer.size()),
+        () -> assertEquals(2, buffer.getX(0)),
+        () -> assertEquals(4, buffer.lastX()),
+        () -> assertEquals(40, buffer.lastY())
+    );
+  }
+
+  @Test
+  public void testTrimKeepsPointBeforeRange() {
+    GraphSeriesBuffer buffer = new GraphSeriesBuffer(16);
+    for (int i = 0; i < 10; i++) {
+      buffer.add(i, i);
+    }
+    buffer.trimBefore(5.5);
+    assertAll(
+        () -> assertEquals(5, buffer.size()),
+        () -> assertEquals(5, buffer.getX(0))
+    );
+  }
+
+  @Test
+  public void testSetCapacityKeepsNewest() {
+    GraphSeriesBuffer buffer = new GraphSeriesBuffer(4);
+    for (int i = 0; i < 6; i++) {
+      buffer.add(i, i);
+    }
+    buffer.setCapacity(2);
+    assertAll(
+        () -> assertEquals(2, buffer.size()),
+        () -> assertEquals(4, buffer.getX(0)),
+        () -> assertEquals(5, buffer.lastX())
+    );
+  }
+
+  @Test
+  public void testDecimateSmallSeriesCopiesEverything() {
+    GraphSeriesBuffer buffer = new GraphSeriesBuffer(8);
+    buffer.add(0, 1);
+    buffer.add(1, 2);
+    buffer.add(2, 3);
+    double[] x = new double[5];
+    double[] y = new double[5];
+    int count = buffer.decimate(0, 2, 1, x, y);
+    assertEquals(3, count);
+    assertArrayEquals(new double[]{0, 1, 2, 0, 0}, x);
+    assertArrayEquals(new double[]{1, 2, 3, 0, 0}, y);
+  }
+
+  @Test
+  public void testDecimatePreservesExtremes() {
+    GraphSeriesBuffer buffer = new GraphSeriesBuffer(10_000);
+    for (int i = 0; i < 10_000; i++) {
+      // Small noise with a single spike in each direction
+      double value = i == 1234 ? 100 : i == 7777 ? -100 : Math.sin(i);
+      buffer.add(i, value);
+    }
+    final int columns = 50;
+    double[] x = new double[4 * columns + 1];
+    double[] y = new double[4 * columns + 1];
+    int count = buffer.decimate(0, 9999, columns, x, y);
+    double min = Double.MAX_VALUE;
+    double max = -Double.MAX_VALUE;
+    for (int i = 0; i < count; i++) {
+      min = Math.min(min, y[i]);
+      max = Math.max(max, y[i]);
+      if (i > 0) {
+        assertTrue(x[i] > x[i - 1], "Points should be in order");
+      }
+    }
+    assertTrue(count <= 4 * columns, "Too many points: " + count);
+    assertEquals(100, max);
+    assertEquals(-100, min);
+  }
+
+}
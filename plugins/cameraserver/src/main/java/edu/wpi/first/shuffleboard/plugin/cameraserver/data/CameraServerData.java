@@ -39,6 +39,18 @@ public class CameraServerData extends ComplexData<CameraServerData> {
     return image;
   }
 
+  /**
+   * Gets the image to display at a given size. Subclasses that can load smaller images more cheaply than the full-size
+   * image may return an image no smaller than needed to fill the given size; by default, this returns the full-size
+   * image from {@link #getImage()}.
+   *
+   * @param maxWidth  the maximum width the image will be displayed at
+   * @param maxHeight the maximum height the image will be displayed at
+   */
+  public Mat getImage(int maxWidth, int maxHeight) {
+    return getImage();
+  }
+
   /**
    * Gets the current framerate of the stream in frames per second.
    */
@@ -12,6 +12,9 @@ import java.util.function.Supplier;
  * will not have to wait for expensive disk I/O operations for potentially tens of thousands of frames, as well as
  * drastically reducing memory use by not loading entire video files frame-by-frame into memory.
  *
+ * <p>Widgets displaying the image at a smaller size can use {@link #getImage(int, int)} to load a downscaled frame
+ * instead of the full-size frame.
+ *
  * <p>When an instance of this class goes out-of-scope, the image should be released with {@link #clear()} to free up
  * memory. Later image access will re-read the frame from the video file.
  */
@@ -19,8 +22,32 @@ public final class LazyCameraServerData extends CameraServerData {
 
   private final int fileNum;
   private final int frameNum;
+  private final FrameLoader loader;
   private final LazyInit<Mat> image;
 
+  // The most recently loaded downscaled image, and the size it was requested for
+  private Mat scaledImage;
+  private int scaledMaxWidth;
+  private int scaledMaxHeight;
+
+  /**
+   * Reads a frame from disk.
+   */
+  @FunctionalInterface
+  public interface FrameLoader {
+
+    /**
+     * Reads the frame, downscaled if it will be displayed at a smaller size.
+     *
+     * @param maxWidth  the maximum width the image will be displayed at, or 0 to read the full-size image
+     * @param maxHeight the maximum height the image will be displayed at, or 0 to read the full-size image
+     *
+     * @return the frame, or null if it could not be read
+     */
+    Mat load(int maxWidth, int maxHeight);
+
+  }
+
   /**
    * Creates a new data object. This constructor is identical to {@link CameraServerData#CameraServerData}, but takes
    * a {@code Supplier<Mat>} instead of a {@code Mat} for lazily loading the image.
@@ -38,10 +65,30 @@ public final class LazyCameraServerData extends CameraServerData {
                               Supplier<Mat> imageSupplier,
                               double fps,
                               double bandwidth) {
+    this(name, fileNum, frameNum, (FrameLoader) (maxWidth, maxHeight) -> imageSupplier.get(), fps, bandwidth);
+  }
+
+  /**
+   * Creates a new data object that can load downscaled images.
+   *
+   * @param name      no change
+   * @param fileNum   the number of the video file corresponding to this frame
+   * @param frameNum  the frame index in the video file
+   * @param loader    a callback for reading the frame from disk
+   * @param fps       no change
+   * @param bandwidth no change
+   */
+  public LazyCameraServerData(String name,
+                              int fileNum,
+                              int frameNum,
+                              FrameLoader loader,
+                              double fps,
+                              double bandwidth) {
     super(name, null, fps, bandwidth);
     this.fileNum = fileNum;
     this.frameNum = frameNum;
-    image = LazyInit.of(imageSupplier::get);
+    this.loader = loader;
+    image = LazyInit.of(() -> loader.load(0, 0));
   }
 
   @Override
@@ -50,14 +97,49 @@ public final class LazyCameraServerData extends CameraServerData {
   }
 
   /**
-   * Releases the image and clears the lazy-loading holder. The next call to {@link #getImage()} will read the frame
+   * {@inheritDoc}
+   *
+   * <p>The downscaled image is kept until {@link #clear()} is called or an image for a different size is requested. If
+   * the new size loads the same image, the previously returned image is returned again.
+   */
+  @Override
+  public synchronized Mat getImage(int maxWidth, int maxHeight) {
+    if (maxWidth <= 0 || maxHeight <= 0) {
+      return getImage();
+    }
+    if (scaledImage != null && maxWidth == scaledMaxWidth && maxHeight == scaledMaxHeight) {
+      return scaledImage;
+    }
+    Mat loaded = loader.load(maxWidth, maxHeight);
+    scaledMaxWidth = maxWidth;
+    scaledMaxHeight = maxHeight;
+    if (loaded != null && scaledImage != null && loaded.dataAddr() == scaledImage.dataAddr()) {
+      // Same pixels as before; keep the old image so callers can tell nothing changed
+      loaded.release();
+      return scaledImage;
+    }
+    releaseScaledImage();
+    scaledImage = loaded;
+    return scaledImage;
+  }
+
+  /**
+   * Releases the images and clears the lazy-loading holder. The next call to {@link #getImage()} will read the frame
    * from disk.
    */
-  public void clear() {
-    if (image.hasValue()) {
+  public synchronized void clear() {
+    if (image.hasValue() && image.get() != null) {
       image.get().release();
     }
     image.clear();
+    releaseScaledImage();
+  }
+
+  private void releaseScaledImage() {
+    if (scaledImage != null) {
+      scaledImage.release();
+      scaledImage = null;
+    }
   }
 
   @Override
@@ -6,29 +6,35 @@ import org.opencv.imgproc.Imgproc;
 import java.nio.ByteBuffer;
 
 import javafx.scene.image.Image;
+import javafx.scene.image.PixelBuffer;
 import javafx.scene.image.PixelFormat;
 import javafx.scene.image.WritableImage;
 
 import static org.opencv.core.CvType.CV_8S;
 import static org.opencv.core.CvType.CV_8U;
-import static org.opencv.imgproc.Imgproc.COLOR_BGR2RGB;
-import static org.opencv.imgproc.Imgproc.COLOR_GRAY2RGB;
+import static org.opencv.core.CvType.CV_8UC4;
+import static org.opencv.imgproc.Imgproc.COLOR_BGR2BGRA;
+import static org.opencv.imgproc.Imgproc.COLOR_GRAY2BGRA;
 
 /**
  * Utility class for creating a JavaFX image from an OpenCV image.  This used by the preview views
  * to render an image in the GUI.
+ *
+ * <p>The image is backed by a {@link PixelBuffer} in native memory that is shared with JavaFX, so
+ * converting a frame is a single color conversion pass from the Mat directly into the memory that
+ * JavaFX renders from. The same image is returned for every frame of the same size; JavaFX is
+ * notified that its contents changed and redraws it without needing a new image.
  */
 public final class ImageConverter {
 
   private WritableImage image;
-  private byte[] data;
-  private ByteBuffer buffer;
-  private final Mat converted = new Mat();
+  private PixelBuffer<ByteBuffer> pixelBuffer;
+  private Mat pixels;
 
   /**
-   * Convert a BGR-formatted OpenCV {@link Mat} into a JavaFX {@link Image}. JavaFX understands ARGB
-   * pixel data, so one way to turn a Mat into a JavaFX image is to shift around the bytes from the
-   * Mat into an int array of pixels.
+   * Convert a BGR-formatted OpenCV {@link Mat} into a JavaFX {@link Image}. The Mat is converted
+   * to BGRA pixel data, which JavaFX can use as-is without swapping any channels. This must be
+   * called from the JavaFX application thread.
    *
    * @param mat An 8-bit OpenCV Mat containing an image with either 1 or 3 channels
    *
@@ -53,31 +59,40 @@ public final class ImageConverter {
     final int height = mat.rows();
 
     // If the size of the Mat changed for whatever reason, allocate a new image with the proper
-    // dimensions and a buffer big enough to hold all of the pixels in the image.
+    // dimensions and a native buffer big enough to hold all of the pixels in the image.
     if (image == null || image.getWidth() != width || image.getHeight() != height) {
-      image = new WritableImage(width, height);
-      data = new byte[width * height * channels];
-      buffer = ByteBuffer.wrap(data);
+      allocate(width, height);
     }
 
-    // Convert BGR to RGB so it can be rendered  easily
+    final int code;
     switch (channels) {
       case 1:
-        Imgproc.cvtColor(mat, converted, COLOR_GRAY2RGB);
+        code = COLOR_GRAY2BGRA;
         break;
       case 3:
-        Imgproc.cvtColor(mat, converted, COLOR_BGR2RGB);
+        code = COLOR_BGR2BGRA;
         break;
       default:
         throw new UnsupportedOperationException("Only 1 or 3-channel images are supported");
     }
 
-    // Grab the image data
-    converted.get(0, 0, data);
-
-    image.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getByteRgbInstance(), buffer, width * channels);
+    // Alpha is always opaque, so the pixels are the same premultiplied or not
+    pixelBuffer.updateBuffer(__ -> {
+      Imgproc.cvtColor(mat, pixels, code);
+      return null;
+    });
 
     return image;
   }
 
+  private void allocate(int width, int height) {
+    if (pixels != null) {
+      pixels.release();
+    }
+    ByteBuffer buffer = ByteBuffer.allocateDirect(width * height * 4);
+    pixelBuffer = new PixelBuffer<>(width, height, buffer, PixelFormat.getByteBgraPreInstance());
+    pixels = new Mat(height, width, CV_8UC4, buffer);
+    image = new WritableImage(pixelBuffer);
+  }
+
 }
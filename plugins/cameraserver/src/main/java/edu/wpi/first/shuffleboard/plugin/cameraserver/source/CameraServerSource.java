@@ -7,10 +7,13 @@ import edu.wpi.first.shuffleboard.api.sources.AbstractDataSource;
 import edu.wpi.first.shuffleboard.api.sources.SourceType;
 import edu.wpi.first.shuffleboard.api.sources.Sources;
 import edu.wpi.first.shuffleboard.api.sources.recording.Recorder;
+import edu.wpi.first.shuffleboard.api.sources.recording.serialization.Serializers;
+import edu.wpi.first.shuffleboard.api.sources.recording.serialization.TypeAdapter;
 import edu.wpi.first.shuffleboard.api.util.Debouncer;
 import edu.wpi.first.shuffleboard.api.util.EqualityUtils;
 import edu.wpi.first.shuffleboard.api.util.ShutdownHooks;
 import edu.wpi.first.shuffleboard.api.util.ThreadUtils;
+import edu.wpi.first.shuffleboard.api.widget.Sourced;
 import edu.wpi.first.shuffleboard.plugin.cameraserver.JavaCvSink;
 import edu.wpi.first.shuffleboard.plugin.cameraserver.data.CameraServerData;
 import edu.wpi.first.shuffleboard.plugin.cameraserver.data.LazyCameraServerData;
@@ -26,7 +29,13 @@ import edu.wpi.first.networktables.NetworkTableInstance;
 
 import org.opencv.core.Mat;
 
+import com.google.common.annotations.VisibleForTesting;
+
+import java.io.File;
 import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -47,9 +56,13 @@ public final class CameraServerSource extends AbstractDataSource<CameraServerDat
 
   private final NetworkTable cameraPublisherTable = NetworkTableInstance.getDefault().getTable("/CameraPublisher");
   private final int eventListenerId;
-  private HttpCamera camera;
+  private volatile HttpCamera camera;
   private JavaCvSink videoSink; // NOPMD could be final - it can't due to how lambdas handle capturing final fields
-  private final Mat image = new Mat();
+
+  /**
+   * Frames are grabbed into frames from this exchange, so widgets can acquire and render them without copying them.
+   */
+  private final FrameExchange frames = new FrameExchange();
 
   private final ExecutorService frameGrabberService = Executors.newSingleThreadExecutor(ThreadUtils::makeDaemonThread);
   private final BooleanBinding enabled = active.and(connected);
@@ -62,6 +75,14 @@ public final class CameraServerSource extends AbstractDataSource<CameraServerDat
   };
   private Future<?> frameFuture = null;
 
+  // Frames are only grabbed when something needs them: a recording is running, or at least one client is showing them
+  private final Object demandLock = new Object();
+  private final Set<Sourced> clients = Collections.newSetFromMap(new WeakHashMap<>());
+  private final Set<Sourced> hiddenClients = Collections.newSetFromMap(new WeakHashMap<>());
+  private volatile boolean demanded = false;
+  private volatile boolean sinkEnabled = false;
+  private final InvalidationListener recordingListener = __ -> updateDemand();
+
   /**
    * The maximum supported resolution. Attempts to set the resolution higher than this will fail.
    */
@@ -86,7 +107,7 @@ public final class CameraServerSource extends AbstractDataSource<CameraServerDat
       if (camera == null) {
         camera = new HttpCamera(getName(), parameterizedUrls);
         videoSink.setSource(camera);
-        videoSink.setEnabled(true);
+        updateSinkEnabled();
       } else if (EqualityUtils.isDifferent(camera.getUrls(), parameterizedUrls)) {
         setCameraUrls(parameterizedUrls);
       }
@@ -158,17 +179,18 @@ public final class CameraServerSource extends AbstractDataSource<CameraServerDat
     if (streamUrls.length > 0) {
       camera = new HttpCamera(name, urlGenerator.generateUrls(streamUrls));
       videoSink.setSource(camera);
-      videoSink.setEnabled(true);
     }
+    Recorder.getInstance().runningProperty().addListener(recordingListener);
+    updateDemand();
+    updateSinkEnabled();
 
     DashboardMode.currentModeProperty().addListener((__, old, mode) -> {
       if (mode == DashboardMode.PLAYBACK) {
         cancelFrameGrabber();
-        videoSink.setEnabled(false);
       } else {
         reEnable();
-        videoSink.setEnabled(true);
       }
+      updateSinkEnabled();
     });
 
     enabled.addListener(enabledListener);
@@ -224,6 +246,12 @@ public final class CameraServerSource extends AbstractDataSource<CameraServerDat
     }
     final Thread thread = Thread.currentThread();
     while (!thread.isInterrupted() && streaming) {
+      try {
+        awaitDemand();
+      } catch (InterruptedException e) {
+        thread.interrupt();
+        break;
+      }
       boolean success = grabOnceBlocking();
       if (!success) {
         // Couldn't grab the frame, wait a bit to try again
@@ -246,25 +274,151 @@ public final class CameraServerSource extends AbstractDataSource<CameraServerDat
     if (!streaming) {
       return false;
     }
+    final FrameExchange.Frame frame = frames.obtain();
+    final Mat image = frame.getImage();
     long frameTime = videoSink.grabFrameNoTimeout(image);
     if (frameTime == 0) {
+      frames.discard(frame);
       log.warning("Error when grabbing frame from camera '" + getName() + "': " + videoSink.getError());
       return false;
     } else {
-      if (getData() == null) {
-        setData(new CameraServerData(getName(), image, 0, 0));
-      } else {
-        setData(getData().withImage(image));
-      }
+      CameraServerData data = getData() == null
+          ? new CameraServerData(getName(), image, 0, 0)
+          : getData().withImage(image);
       if (Recorder.getInstance().isRunning()) {
-        Recorder.getInstance().record(getId(), getDataType(), getData().withImage(image.clone()));
+        // The frame isn't published yet, so nothing else can be reading it
+        recordFrame(data);
       }
+      frames.publish(frame);
+      setData(data);
     }
     return true;
   }
 
+  /**
+   * Blocks until frames are needed by a client or by the recorder.
+   */
+  @VisibleForTesting
+  void awaitDemand() throws InterruptedException {
+    synchronized (demandLock) {
+      while (!demanded) {
+        demandLock.wait();
+      }
+    }
+  }
+
+  private void updateDemand() {
+    boolean changed;
+    synchronized (demandLock) {
+      boolean nowDemanded = Recorder.getInstance().isRunning() || !hiddenClients.containsAll(clients);
+      changed = nowDemanded != demanded;
+      demanded = nowDemanded;
+      demandLock.notifyAll();
+    }
+    if (changed) {
+      updateSinkEnabled();
+    }
+  }
+
+  /**
+   * Enables the video sink only when frames are needed. When the sink is disabled, cscore stops reading and decoding
+   * the stream.
+   */
+  private void updateSinkEnabled() {
+    synchronized (demandLock) {
+      sinkEnabled = demanded && DashboardMode.getCurrentMode() != DashboardMode.PLAYBACK;
+      if (camera != null) {
+        videoSink.setEnabled(sinkEnabled);
+      }
+    }
+  }
+
+  /**
+   * Checks if the video sink should currently be enabled. The sink itself is only enabled once there is a camera to
+   * read from.
+   */
+  @VisibleForTesting
+  boolean isSinkEnabled() {
+    return sinkEnabled;
+  }
+
+  @Override
+  public void addClient(Sourced client) {
+    synchronized (demandLock) {
+      clients.add(client);
+    }
+    super.addClient(client);
+    updateDemand();
+  }
+
+  @Override
+  public void removeClient(Sourced client) {
+    synchronized (demandLock) {
+      clients.remove(client);
+      hiddenClients.remove(client);
+    }
+    updateDemand();
+    super.removeClient(client);
+  }
+
+  /**
+   * Sets whether a client is currently showing frames from this source. Frames are only grabbed from the stream when
+   * at least one client is showing them, or when a recording is running. Clients are assumed to be showing frames
+   * unless they say otherwise with this method.
+   *
+   * @param client  the client to set the showing state of
+   * @param showing whether the client is showing frames from this source
+   */
+  public void setClientShowing(Sourced client, boolean showing) {
+    synchronized (demandLock) {
+      if (showing) {
+        hiddenClients.remove(client);
+      } else {
+        hiddenClients.add(client);
+      }
+    }
+    updateDemand();
+  }
+
+  /**
+   * Acquires the most recently grabbed frame. The image in the data of this source is reused for later frames once it
+   * is no longer the latest frame, so clients that read the image outside of a data change listener, or that may fall
+   * behind the stream, should use this method instead to make sure the image isn't overwritten while they use it.
+   *
+   * @return the latest frame, or null if no frame has been grabbed. The frame must be released once it is no longer
+   *         needed
+   */
+  public FrameExchange.Frame acquireLatestFrame() {
+    return frames.acquireLatest();
+  }
+
+  /**
+   * Checks if frames from this source are currently needed by a client or by the recorder.
+   */
+  public boolean isDemanded() {
+    return demanded;
+  }
+
+  /**
+   * Records a frame. If possible, the frame is queued to be saved to a video file right away and only its position in
+   * the file is kept in the recording; otherwise, a copy of the frame is recorded to be saved later.
+   */
+  private void recordFrame(CameraServerData data) {
+    TypeAdapter<CameraServerData> adapter = Serializers.get(getDataType());
+    File recordingFile = Recorder.getInstance().getRecordingFile();
+    if (adapter instanceof CameraStreamAdapter && recordingFile != null) {
+      EncodedCameraServerData encoded = ((CameraStreamAdapter) adapter).submitFrame(recordingFile, data);
+      if (encoded != null) {
+        Recorder.getInstance().record(getId(), getDataType(), encoded);
+      }
+    } else {
+      Recorder.getInstance().record(getId(), getDataType(), data.withImage(data.getImage().clone()));
+    }
+  }
+
   @Override
   public void close() {
+    Recorder.getInstance().runningProperty().removeListener(recordingListener);
     setActive(false);
     setConnected(false);
     streamDiscoverer.close();
@@ -272,6 +426,7 @@ public final class CameraServerSource extends AbstractDataSource<CameraServerDat
     CameraServerJNI.removeListener(eventListenerId);
     cancelFrameGrabber();
     videoSink.close();
+    frames.close();
     if (camera != null) {
       camera.close();
     }
@@ -7,6 +7,7 @@ import edu.wpi.first.shuffleboard.api.sources.SourceType;
 import edu.wpi.first.shuffleboard.api.sources.UiHints;
 import edu.wpi.first.shuffleboard.api.sources.recording.TimestampedData;
 import edu.wpi.first.shuffleboard.api.util.FxUtils;
+import edu.wpi.first.shuffleboard.api.util.UniqueObservableList;
 import edu.wpi.first.shuffleboard.plugin.cameraserver.data.CameraServerData;
 import edu.wpi.first.shuffleboard.plugin.cameraserver.data.type.CameraServerDataType;
 import edu.wpi.first.shuffleboard.plugin.networktables.util.NetworkTableUtils;
@@ -31,7 +32,7 @@ public final class CameraServerSourceType extends SourceType implements AutoClos
   public static final CameraServerSourceType INSTANCE = new CameraServerSourceType();
 
   private final Map<String, CameraServerSource> sources = new HashMap<>();
-  private final ObservableList<String> availableUris = FXCollections.observableArrayList();
+  private final UniqueObservableList<String> availableUris = new UniqueObservableList<>();
   private final ObservableMap<String, Object> availableSources = FXCollections.observableHashMap();
 
   private final MultiSubscriber subscriber;
@@ -59,9 +60,7 @@ public final class CameraServerSourceType extends SourceType implements AutoClos
               availableUris.remove(uri);
               availableSources.remove(uri);
             } else if (!event.is(NetworkTableEvent.Kind.kUnpublish)) {
-              if (!availableUris.contains(uri)) {
-                availableUris.add(uri);
-              }
+              availableUris.add(uri);
               availableSources.put(uri, new CameraServerData(name, null, 0, 0));
             }
           }));
@@ -1,41 +1,42 @@
 package edu.wpi.first.shuffleboard.plugin.cameraserver.source;
 
-import edu.wpi.first.shuffleboard.api.sources.recording.serialization.TypeAdapter;
+import edu.wpi.first.shuffleboard.api.sources.recording.serialization.ByteBufferAdapter;
 import edu.wpi.first.shuffleboard.plugin.cameraserver.data.CameraServerData;
 import edu.wpi.first.shuffleboard.plugin.cameraserver.data.LazyCameraServerData;
 import edu.wpi.first.shuffleboard.plugin.cameraserver.data.type.CameraServerDataType;
 
-import com.google.common.primitives.Bytes;
-
 import org.bytedeco.javacv.FrameGrabber;
 import org.bytedeco.javacv.FrameRecorder;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import static edu.wpi.first.shuffleboard.api.sources.recording.Serialization.SIZE_OF_BYTE;
 import static edu.wpi.first.shuffleboard.api.sources.recording.Serialization.SIZE_OF_INT;
 import static edu.wpi.first.shuffleboard.api.sources.recording.Serialization.SIZE_OF_SHORT;
-import static edu.wpi.first.shuffleboard.api.sources.recording.Serialization.readInt;
-import static edu.wpi.first.shuffleboard.api.sources.recording.Serialization.readShort;
+import static edu.wpi.first.shuffleboard.api.sources.recording.Serialization.putString;
 import static edu.wpi.first.shuffleboard.api.sources.recording.Serialization.readString;
-import static edu.wpi.first.shuffleboard.api.sources.recording.Serialization.toByteArray;
+import static edu.wpi.first.shuffleboard.api.sources.recording.Serialization.sizeOfString;
 
 /**
  * Serializer for camera streams.
  */
-public final class CameraStreamAdapter extends TypeAdapter<CameraServerData> {
+public final class CameraStreamAdapter extends ByteBufferAdapter<CameraServerData> {
 
   private static final Logger log = Logger.getLogger(CameraStreamReader.class.getName());
 
-  private final Map<String, CameraStreamSaver> savers = new ConcurrentHashMap<>();
+  // Savers for each camera stream, keyed by the recording file they save video files for. Guarded by the savers lock
+  private final Object saversLock = new Object();
+  private final Map<File, Map<String, CameraStreamSaver>> savers = new HashMap<>();
   private final Map<String, CameraStreamReader> readers = new ConcurrentHashMap<>();
-  private final Function<String, CameraStreamSaver> newSaver = name -> new CameraStreamSaver(name, getCurrentFile());
 
   public CameraStreamAdapter() {
     super(CameraServerDataType.Instance);
@@ -48,14 +49,18 @@ public final class CameraStreamAdapter extends TypeAdapter<CameraServerData> {
 
   @Override
   public void cleanUp() {
-    savers.forEach((name, saver) -> {
+    final List<Map<String, CameraStreamSaver>> finished;
+    synchronized (saversLock) {
+      finished = new ArrayList<>(savers.values());
+      savers.clear();
+    }
+    finished.forEach(streams -> streams.forEach((name, saver) -> {
       try {
         saver.finish();
       } catch (FrameRecorder.Exception e) {
         log.log(Level.WARNING, "Could not finish saver for '" + name + "'", e);
       }
-    });
-    savers.clear();
+    }));
     readers.forEach((name, reader) -> {
       try {
         reader.finish();
@@ -67,24 +72,19 @@ public final class CameraStreamAdapter extends TypeAdapter<CameraServerData> {
   }
 
   @Override
-  public CameraServerData deserialize(byte[] buffer, int bufferPosition) {
-    int cursor = bufferPosition;
-    final String name = readString(buffer, cursor);
-    cursor += name.length() + SIZE_OF_INT;
-    final byte fileNum = buffer[cursor];
-    cursor++;
-    final short frameNum = readShort(buffer, cursor);
-    cursor += SIZE_OF_SHORT;
-    final int bandwidth = readInt(buffer, cursor);
-    cursor += SIZE_OF_INT;
-    final double fps = readShort(buffer, cursor) / 100.0;
+  public CameraServerData deserialize(ByteBuffer buffer) {
+    final String name = readString(buffer);
+    final byte fileNum = buffer.get();
+    final short frameNum = buffer.getShort();
+    final int bandwidth = buffer.getInt();
+    final double fps = buffer.getShort() / 100.0;
 
     CameraStreamReader reader = readers.computeIfAbsent(name, __ -> new CameraStreamReader(__, getCurrentFile()));
 
-    return new LazyCameraServerData(name, fileNum, frameNum, () -> {
+    return new LazyCameraServerData(name, fileNum, frameNum, (maxWidth, maxHeight) -> {
       try {
         reader.setFileNumber(fileNum);
-        return reader.readFrame(frameNum);
+        return reader.readFrame(frameNum, maxWidth, maxHeight);
       } catch (IOException e) {
         log.log(Level.WARNING, "Could not read frame " + frameNum, e);
         return null;
@@ -94,7 +94,7 @@ public final class CameraStreamAdapter extends TypeAdapter<CameraServerData> {
 
   @Override
   public int getSerializedSize(CameraServerData value) {
-    return value.getName().length() + SIZE_OF_INT // name
+    return sizeOfString(value.getName()) // name
         + SIZE_OF_BYTE   // video file number
         + SIZE_OF_SHORT  // frame number
         + SIZE_OF_INT    // bandwidth
@@ -102,7 +102,7 @@ public final class CameraStreamAdapter extends TypeAdapter<CameraServerData> {
   }
 
   @Override
-  public byte[] serialize(CameraServerData data) {
+  public void serializeInto(CameraServerData data, ByteBuffer out) {
     // Save:
     //  - Camera name as String
     //  - File number (0, 1, ...) as int8 (255 files will never be reached; typical count is 1)
@@ -111,15 +111,57 @@ public final class CameraStreamAdapter extends TypeAdapter<CameraServerData> {
     //  - Current FPS as int16
     // Camera URI (camera_server://CameraName) is saved by the Serializer and placed in the constant pool,
     // but we don't have access to it here
-    CameraStreamSaver saver = savers.computeIfAbsent(data.getName(), newSaver);
-    saver.serializeFrame(data);
-    return Bytes.concat(
-        toByteArray(data.getName()),
-        new byte[]{(byte) saver.getFileNum()},
-        toByteArray((short) saver.getLastFrameNum()),
-        toByteArray((int) data.getBandwidth()),
-        toByteArray((short) (data.getFps() * 100)) // limits to 327.68 max input FPS - should be enough :)
-    );
+    final int fileNum;
+    final int frameNum;
+    if (data instanceof EncodedCameraServerData) {
+      // The frame was already queued to be saved when it was recorded
+      fileNum = ((EncodedCameraServerData) data).getFileNum();
+      frameNum = ((EncodedCameraServerData) data).getFrameNum();
+    } else {
+      CameraStreamSaver saver = saverFor(getCurrentFile(), data.getName());
+      saver.serializeFrame(data);
+      fileNum = saver.getFileNum();
+      frameNum = saver.getLastFrameNum();
+    }
+    putString(out, data.getName());
+    out.put((byte) fileNum);
+    out.putShort((short) frameNum);
+    out.putInt((int) data.getBandwidth());
+    out.putShort((short) (data.getFps() * 100)); // limits to 327.68 max input FPS - should be enough :)
+  }
+
+  /**
+   * Queues a frame to be saved to the video file for its camera stream, without waiting for it to be encoded. The image
+   * is copied, so it can be reused as soon as this method returns. This should be called when a frame is recorded so
+   * the image does not need to be kept in memory until the recording is saved; the returned data should be recorded
+   * in place of the original data.
+   *
+   * <p>Frames are only saved for the {@link #getCurrentFile() current recording file}. A frame submitted for any other
+   * recording, such as one that has already been stopped, is dropped so that video files of finished recordings are
+   * never overwritten.
+   *
+   * @param recordingFile the recording file the frame is being recorded to
+   * @param data          the frame to save
+   *
+   * @return the data to record in place of the frame, or {@code null} if the frame was dropped because the encoder
+   *         has fallen behind or the recording file is not the current file
+   */
+  public EncodedCameraServerData submitFrame(File recordingFile, CameraServerData data) {
+    final CameraStreamSaver saver;
+    synchronized (saversLock) {
+      if (!recordingFile.equals(getCurrentFile())) {
+        return null;
+      }
+      saver = saverFor(recordingFile, data.getName());
+    }
+    return saver.submitFrame(data);
+  }
+
+  private CameraStreamSaver saverFor(File recordingFile, String name) {
+    synchronized (saversLock) {
+      return savers.computeIfAbsent(recordingFile, __ -> new HashMap<>())
+          .computeIfAbsent(name, __ -> new CameraStreamSaver(name, recordingFile));
+    }
   }
 
   /**
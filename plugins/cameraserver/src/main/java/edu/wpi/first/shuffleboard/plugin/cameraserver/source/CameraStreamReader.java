@@ -1,16 +1,26 @@
 package edu.wpi.first.shuffleboard.plugin.cameraserver.source;
 
+import edu.wpi.first.shuffleboard.api.util.ThreadUtils;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import org.bytedeco.ffmpeg.avcodec.AVPacket;
 import org.bytedeco.ffmpeg.global.avcodec;
-import org.bytedeco.javacpp.indexer.UByteIndexer;
 import org.bytedeco.javacv.FFmpegFrameGrabber;
 import org.bytedeco.javacv.Frame;
 import org.bytedeco.javacv.FrameGrabber;
 import org.opencv.core.Mat;
+import org.opencv.core.Size;
+import org.opencv.imgproc.Imgproc;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
@@ -20,24 +30,52 @@ import static org.opencv.core.CvType.CV_8UC3;
 
 /**
  * Reads images from saved video files for a single camera stream in playback.
+ *
+ * <p>Decoded frames are kept in a least-recently-used cache, so scrubbing back and forth over the same part of a
+ * recording only decodes each frame once. When a video file is opened, its packets are scanned (without decoding them)
+ * to find the keyframes; reading a frame then only seeks when it is not reachable by decoding forward from the last
+ * decoded frame, and every frame decoded on the way from the keyframe to the requested frame is cached. While frames
+ * are read in increasing order, such as when a recording is playing, the next few frames are decoded in the
+ * background.
  */
 public final class CameraStreamReader {
 
   private static final Logger log = Logger.getLogger(CameraStreamReader.class.getName());
 
+  /**
+   * The maximum total size of the decoded frames cached for a single camera stream. This is about 5 seconds of a
+   * 640x480 stream at 30 FPS.
+   */
+  static final long CACHE_SIZE_BYTES = 128L * 1024 * 1024;
+
+  /**
+   * The number of frames to decode ahead of the most recently read frame while frames are read in increasing order.
+   */
+  static final int PREFETCH_FRAMES = 10;
+
+  /**
+   * The maximum number of times an image can be halved in size when reading a downscaled frame.
+   */
+  static final int MAX_SCALE_SHIFT = 3;
+
+  private static final ExecutorService prefetcher = Executors.newSingleThreadExecutor(ThreadUtils::makeDaemonThread);
+
   private final String cameraName;
   private final File rootRecordingFile;
-  private FFmpegFrameGrabber grabber;
-  private final AtomicBoolean started = new AtomicBoolean(false);
-  private int[] buffer;
-  private byte[] narrowBuffer;
+  private final FrameCache cache = new FrameCache(CACHE_SIZE_BYTES);
 
   private final Lock lock = new ReentrantLock();
 
-  private Mat mat;
+  // Decoder state, guarded by the lock
+  private FFmpegFrameGrabber grabber;
+  private boolean started = false;
+  private int[] keyframes = null;
+  private int lastFrameIndex = -1;
+  private int lastRequestedFrame = -1;
 
   private final AtomicInteger fileNumber = new AtomicInteger(0);
-  private final AtomicInteger lastFrameIndex = new AtomicInteger(-1);
+  private final AtomicInteger prefetchGeneration = new AtomicInteger(0);
+  private final AtomicLong cacheMisses = new AtomicLong(0);
 
   /**
    * Creates a new video recording reader.
@@ -62,7 +100,7 @@ public final class CameraStreamReader {
       lock.lock();
       if (fileNumber != this.fileNumber.get()) {
         try {
-          finish();
+          finishGrabber();
         } catch (FrameGrabber.Exception e) {
           log.log(Level.WARNING, "Could not clean up grabber", e);
         }
@@ -92,68 +130,292 @@ public final class CameraStreamReader {
    * @throws IOException if a frame could not be read from the video file
    */
   public Mat readFrame(int frameNum) throws IOException {
+    return readFrame(frameNum, 0, 0);
+  }
+
+  /**
+   * Reads a single frame from the current video file, downscaled to save memory and processing time if it will be
+   * displayed at a smaller size. The image will be no smaller than needed to fill the given size while keeping its
+   * aspect ratio. A maximum width or height of zero or less means the image will not be downscaled.
+   *
+   * @param frameNum  the frame number to read
+   * @param maxWidth  the maximum width the image will be displayed at
+   * @param maxHeight the maximum height the image will be displayed at
+   *
+   * @return the frame at the given frame index. The caller owns the returned image and should release it once it is
+   *         no longer needed
+   *
+   * @throws IOException if a frame could not be read from the video file
+   */
+  public Mat readFrame(int frameNum, int maxWidth, int maxHeight) throws IOException {
+    Mat frame;
+    int file;
+    boolean playingForward;
     try {
       lock.lock();
-      if (!started.get()) {
-        grabber.start();
-        started.set(true);
-      }
-      if (lastFrameIndex.get() != frameNum - 1) {
-        grabber.setFrameNumber(frameNum);
+      file = fileNumber.get();
+      if (!cache.contains(key(file, frameNum, 0))) {
+        cacheMisses.incrementAndGet();
       }
-      lastFrameIndex.set(frameNum);
+      frame = getFullFrame(frameNum);
+      playingForward = frameNum > lastRequestedFrame;
+      lastRequestedFrame = frameNum;
+    } catch (FrameGrabber.Exception e) {
+      throw new IOException("Could not read frame " + frameNum + " from video file #" + fileNumber, e);
+    } finally {
+      lock.unlock();
+    }
+    if (frame == null) {
+      return null;
+    }
+    if (playingForward) {
+      prefetch(file, frameNum);
+    } else {
+      prefetchGeneration.incrementAndGet();
+    }
+    int scaleShift = scaleShift(frame.width(), frame.height(), maxWidth, maxHeight);
+    if (scaleShift == 0) {
+      return frame;
+    }
+    long key = key(file, frameNum, scaleShift);
+    Mat scaled = cache.get(key);
+    if (scaled == null) {
+      Mat resized = new Mat();
+      Imgproc.resize(frame, resized, new Size(frame.width() >> scaleShift, frame.height() >> scaleShift),
+          0, 0, Imgproc.INTER_AREA);
+      cache.put(key, resized);
+      scaled = cache.get(key);
+    }
+    frame.release();
+    return scaled;
+  }
+
+  /**
+   * Gets the number of frames read with {@link #readFrame} that were not already cached and had to be decoded.
+   */
+  @VisibleForTesting
+  long getCacheMissCount() {
+    return cacheMisses.get();
+  }
+
+  /**
+   * Checks if a full-size frame from the current video file is cached.
+   */
+  @VisibleForTesting
+  boolean isCached(int frameNum) {
+    return cache.contains(key(fileNumber.get(), frameNum, 0));
+  }
+
+  /**
+   * Gets the indices of the keyframes in the current video file, or null if the file has not been opened or its
+   * keyframes could not be read.
+   */
+  @VisibleForTesting
+  int[] getKeyframes() {
+    lock.lock();
+    try {
+      return keyframes == null ? null : keyframes.clone();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Gets the number of times an image can be halved in size while still being no smaller than needed to fill the given
+   * size, up to {@link #MAX_SCALE_SHIFT}.
+   */
+  static int scaleShift(int width, int height, int maxWidth, int maxHeight) {
+    if (maxWidth <= 0 || maxHeight <= 0) {
+      return 0;
+    }
+    double scale = Math.min((double) maxWidth / width, (double) maxHeight / height);
+    int shift = 0;
+    while (shift < MAX_SCALE_SHIFT && scale <= 1.0 / (1 << (shift + 1))) {
+      shift++;
+    }
+    return shift;
+  }
+
+  private static long key(int fileNumber, int frameNum, int scaleShift) {
+    return ((long) fileNumber << 40) | ((long) scaleShift << 32) | (frameNum & 0xFFFF_FFFFL);
+  }
+
+  /**
+   * Gets a full-size frame from the cache, or decodes it if it is not cached. This must be called while holding the
+   * lock.
+   */
+  private Mat getFullFrame(int frameNum) throws FrameGrabber.Exception {
+    final int file = fileNumber.get();
+    Mat cached = cache.get(key(file, frameNum, 0));
+    if (cached != null) {
+      return cached;
+    }
+    if (!started) {
+      start();
+    }
+    if (!canDecodeForwardTo(frameNum)) {
+      // Seek to the closest keyframe (or directly to the frame, if the keyframes are unknown)
+      int seekTarget = keyframes == null ? frameNum : keyframeBefore(frameNum);
+      grabber.setFrameNumber(seekTarget);
+      lastFrameIndex = seekTarget - 1;
+    }
+    // Decode forward to the requested frame, caching every frame along the way
+    while (lastFrameIndex < frameNum) {
       Frame frame = grabber.grabImage();
       if (frame == null) {
-        // Maybe `do { frame = grabber.grab() } while (frame == null)` instead?
-        log.warning("No frame at index " + frameNum + " in video " + fileNumber);
+        log.warning("No frame at index " + (lastFrameIndex + 1) + " in video " + fileNumber);
+        lastFrameIndex = -1;
         return null;
       }
-      UByteIndexer indexer = frame.createIndexer();
-      if (mat == null) {
-        mat = new Mat((int) indexer.height(), (int) indexer.width(), CV_8UC3);
-        long size = indexer.width() * indexer.height() * indexer.channels();
-        if (size > Integer.MAX_VALUE) {
-          log.warning(String.format("Frame too large: %.2fGB", size / 1e9));
-          return null;
+      lastFrameIndex++;
+      cache.put(key(file, lastFrameIndex, 0), toMat(frame));
+    }
+    return cache.get(key(file, frameNum, 0));
+  }
+
+  /**
+   * Checks if a frame can be reached by decoding forward from the last decoded frame without passing a keyframe, in
+   * which case seeking would be slower than decoding the frames in between.
+   */
+  private boolean canDecodeForwardTo(int frameNum) {
+    if (lastFrameIndex < 0 || frameNum <= lastFrameIndex) {
+      return false;
+    }
+    return frameNum == lastFrameIndex + 1 || (keyframes != null && keyframeBefore(frameNum) <= lastFrameIndex);
+  }
+
+  private int keyframeBefore(int frameNum) {
+    int index = Arrays.binarySearch(keyframes, frameNum);
+    if (index >= 0) {
+      return keyframes[index];
+    }
+    int insertionPoint = -index - 1;
+    return insertionPoint == 0 ? 0 : keyframes[insertionPoint - 1];
+  }
+
+  /**
+   * Copies a decoded frame into a new image. The grabber reuses its frame buffer, so the pixels must be copied before
+   * the next frame is decoded.
+   */
+  private static Mat toMat(Frame frame) {
+    Mat wrapped = new Mat(frame.imageHeight, frame.imageWidth, CV_8UC3, (ByteBuffer) frame.image[0],
+        frame.imageStride);
+    Mat copy = wrapped.clone();
+    wrapped.release();
+    return copy;
+  }
+
+  private void start() throws FrameGrabber.Exception {
+    grabber.start();
+    started = true;
+    lastFrameIndex = -1;
+    keyframes = readKeyframes();
+  }
+
+  /**
+   * Finds the indices of the keyframes in the current video file by reading its packets without decoding them, then
+   * rewinds to the start of the file.
+   *
+   * @return the indices of the keyframes, or null if they could not be read
+   */
+  private int[] readKeyframes() {
+    try {
+      int[] found = new int[16];
+      int count = 0;
+      int index = 0;
+      AVPacket packet;
+      while ((packet = grabber.grabPacket()) != null) {
+        if ((packet.flags() & avcodec.AV_PKT_FLAG_KEY) != 0) {
+          if (count == found.length) {
+            found = Arrays.copyOf(found, count * 2);
+          }
+          found[count++] = index;
         }
-        buffer = new int[(int) size];
-        narrowBuffer = new byte[(int) size];
+        index++;
       }
-      indexer.get(0, buffer)
-          .release();
-
-      for (int i = 0; i < buffer.length; i++) {
-        narrowBuffer[i] = (byte) buffer[i];
+      grabber.setFrameNumber(0);
+      if (count == 0 || found[0] != 0) {
+        // Every video starts with a keyframe; something is off, so don't trust the index
+        return null;
       }
+      return Arrays.copyOf(found, count);
+    } catch (FrameGrabber.Exception e) {
+      log.log(Level.WARNING, "Could not read keyframes in video " + fileNumber, e);
+      restartGrabber();
+      return null;
+    }
+  }
 
-      mat.put(0, 0, narrowBuffer);
-
-      return mat.clone();
+  private void restartGrabber() {
+    try {
+      grabber.stop();
+      grabber = createGrabber(fileNumber.get());
+      grabber.start();
     } catch (FrameGrabber.Exception e) {
-      throw new IOException("Could not read frame " + frameNum + " from video file #" + fileNumber, e);
-    } finally {
-      lock.unlock();
+      log.log(Level.WARNING, "Could not restart grabber for video " + fileNumber, e);
+      started = false;
     }
   }
 
   /**
-   * Cleans up this reader. For this reader to be used again, call {@link #setFileNumber}.
+   * Decodes the frames after the given frame in the background, one at a time so reads on other threads are not
+   * blocked for long. Prefetching stops when a newer prefetch starts, the file changes, or frames are read out of
+   * order.
+   */
+  private void prefetch(int file, int frameNum) {
+    final int generation = prefetchGeneration.incrementAndGet();
+    prefetcher.execute(() -> {
+      for (int i = frameNum + 1; i <= frameNum + PREFETCH_FRAMES; i++) {
+        if (prefetchGeneration.get() != generation) {
+          return;
+        }
+        if (cache.contains(key(file, i, 0))) {
+          continue;
+        }
+        try {
+          lock.lock();
+          if (fileNumber.get() != file || !started || prefetchGeneration.get() != generation) {
+            return;
+          }
+          Mat frame = getFullFrame(i);
+          if (frame == null) {
+            // End of the video
+            return;
+          }
+          frame.release();
+        } catch (FrameGrabber.Exception e) {
+          log.log(Level.FINE, "Could not prefetch frame " + i + " from video file #" + file, e);
+          return;
+        } finally {
+          lock.unlock();
+        }
+      }
+    });
+  }
+
+  /**
+   * Cleans up this reader and clears its frame cache. For this reader to be used again, call {@link #setFileNumber}.
    *
    * @throws FrameGrabber.Exception if the grabber could not be stopped
    */
   public void finish() throws FrameGrabber.Exception {
     lock.lock();
     try {
+      prefetchGeneration.incrementAndGet();
       fileNumber.set(-1);
-      started.set(false);
-      lastFrameIndex.set(-1);
-      if (mat != null) {
-        mat.release();
-      }
-      mat = null;
-      grabber.stop();
+      lastRequestedFrame = -1;
+      cache.clear();
+      finishGrabber();
     } finally {
       lock.unlock();
     }
   }
+
+  private void finishGrabber() throws FrameGrabber.Exception {
+    prefetchGeneration.incrementAndGet();
+    started = false;
+    keyframes = null;
+    lastFrameIndex = -1;
+    grabber.stop();
+  }
 }
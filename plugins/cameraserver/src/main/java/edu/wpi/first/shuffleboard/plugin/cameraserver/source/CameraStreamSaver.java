@@ -1,11 +1,12 @@
 package edu.wpi.first.shuffleboard.plugin.cameraserver.source;
 
+import edu.wpi.first.shuffleboard.api.util.ThreadUtils;
 import edu.wpi.first.shuffleboard.plugin.cameraserver.data.CameraServerData;
-import edu.wpi.first.shuffleboard.plugin.cameraserver.data.Resolution;
+
+import com.google.common.annotations.VisibleForTesting;
 
 import org.bytedeco.ffmpeg.global.avcodec;
 import org.bytedeco.ffmpeg.global.avutil;
-import org.bytedeco.javacpp.indexer.UByteBufferIndexer;
 import org.bytedeco.javacv.FFmpegFrameRecorder;
 import org.bytedeco.javacv.Frame;
 import org.bytedeco.javacv.FrameRecorder;
@@ -14,12 +15,18 @@ import org.opencv.core.Mat;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -28,23 +35,57 @@ import java.util.logging.Logger;
  * the video file; otherwise, it will be unreadable. Additionally, if the stream changes resolution then a new video
  * file will be created (the previous one will be completed automatically). These video files have an index number
  * embedded in their name: the first video file will be 0, the second video file will be 1, the third 2, and so on.
+ *
+ * <p>Frames are encoded on a dedicated thread. Each submitted frame is copied once into one of a fixed number of
+ * pooled frame buffers, which are handed to the encoder directly; if the encoder falls behind and every buffer is in
+ * use, new frames are dropped (see {@link #submitFrame(CameraServerData)}) instead of piling up in memory.
  */
 public final class CameraStreamSaver {
 
   private static final Logger log = Logger.getLogger(CameraStreamSaver.class.getName());
 
+  /**
+   * The maximum number of frames waiting to be encoded. This is about two seconds of a 30 FPS stream.
+   */
+  static final int MAX_QUEUED_FRAMES = 64;
+
+  /**
+   * The maximum number of frames in each group of pictures in saved video files; every group starts with a keyframe.
+   * This is the FFmpeg default, set explicitly because it bounds how many frames need to be decoded to seek in
+   * playback.
+   */
+  static final int GOP_SIZE = 12;
+
+  private static final long FINISH_TIMEOUT_SECONDS = 30;
+
+  /**
+   * How long to wait for the frame currently being encoded after giving up on the frames still waiting to be encoded.
+   * Encoding a single frame can't be interrupted.
+   */
+  private static final long ABORT_TIMEOUT_SECONDS = 5;
+
   private final String cameraName;
   private final File rootRecordingFile;
-  private FFmpegFrameRecorder recorder;
-  private Frame frame;
-  private final AtomicBoolean running = new AtomicBoolean(false);
+  private final ExecutorService encoder;
+  private final BlockingQueue<FrameBuffer> freeBuffers = new ArrayBlockingQueue<>(MAX_QUEUED_FRAMES);
+  // Buffers handed to the encoder that it has not finished with yet
+  private final Set<FrameBuffer> pendingBuffers = ConcurrentHashMap.newKeySet();
+
+  // Submission state, guarded by the submission lock
+  private final Object submissionLock = new Object();
+  private boolean finished = false;
+  private int submittedWidth = -1;
+  private int submittedHeight = -1;
+  private int submittedType = -1;
   private final AtomicInteger frameNum = new AtomicInteger(0);
   private final AtomicInteger fileNum = new AtomicInteger(0);
-  private Resolution resolution = null;
-  private byte[] buffer = null;
-  private int[] wideBuffer = null;
 
-  private final Lock lock = new ReentrantLock();
+  // Encoder state, only accessed from the encoder thread
+  private FFmpegFrameRecorder recorder;
+  private int recorderFileNum = -1;
+
+  private final AtomicLong encodedFrames = new AtomicLong(0);
+  private final AtomicLong droppedFrames = new AtomicLong(0);
 
   /**
    * Creates a new stream saver.
@@ -53,97 +94,137 @@ public final class CameraStreamSaver {
    * @param rootRecordingFile the the root recording file being recorded to
    */
   public CameraStreamSaver(String cameraName, File rootRecordingFile) {
+    this(cameraName, rootRecordingFile, Executors.newSingleThreadExecutor(ThreadUtils::makeDaemonThread));
+  }
+
+  /**
+   * Creates a new stream saver that encodes frames with the given executor.
+   *
+   * @param cameraName        the name of the camera stream
+   * @param rootRecordingFile the the root recording file being recorded to
+   * @param encoder           the executor to encode frames on. This must run tasks one at a time, in order
+   */
+  @VisibleForTesting
+  CameraStreamSaver(String cameraName, File rootRecordingFile, ExecutorService encoder) {
     this.cameraName = cameraName;
     this.rootRecordingFile = rootRecordingFile;
-    recorder = createRecorder(0);
+    this.encoder = encoder;
+    for (int i = 0; i < MAX_QUEUED_FRAMES; i++) {
+      freeBuffers.add(new FrameBuffer());
+    }
   }
 
   /**
-   * Saves a single frame to a video file. If the image resolution changes, the current video file will be closed and
-   * cleaned up before creating a new file that the given frame will be written to. This avoids issues with changing
-   * resolutions or aspect ratios causing issues with codecs or video players. The video file name is formatted as:
-   * {@code recording-<timestamp>-<camera name>.<file number>.mp4}, eg {@code recording-15.03.11-Camera.0.mp4},
-   * {@code recording-15.03.11-Camera.1.mp4}, {@code recording-15.03.11-Camera.2.mp4}, etc.
+   * Saves a single frame to a video file, waiting for the encoder to catch up if too many frames are already waiting
+   * to be encoded. The image in the data object is released once it has been copied. If the image resolution changes,
+   * the current video file will be closed and cleaned up before creating a new file that the given frame will be
+   * written to. This avoids issues with changing resolutions or aspect ratios causing issues with codecs or video
+   * players. The video file name is formatted as: {@code recording-<timestamp>-<camera name>.<file number>.mp4}, eg
+   * {@code recording-15.03.11-Camera.0.mp4}, {@code recording-15.03.11-Camera.1.mp4},
+   * {@code recording-15.03.11-Camera.2.mp4}, etc.
    *
    * @param data the camera data to save
    */
   public void serializeFrame(CameraServerData data) {
+    Mat image = data.getImage();
+    if (image == null || image.getNativeObjAddr() == 0) {
+      // No image to save, bail
+      return;
+    }
     try {
-      lock.lock();
-      if (recorder == null) {
+      FrameBuffer buffer = freeBuffers.take();
+      submit(buffer, data);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      droppedFrames.incrementAndGet();
+    } finally {
+      image.release();
+    }
+  }
+
+  /**
+   * Queues a single frame to be saved to a video file without waiting for the encoder. The image in the data object is
+   * copied, and is not modified or released. If every frame buffer is waiting to be encoded, the frame is dropped and
+   * counted in {@link #getDroppedFrameCount()}.
+   *
+   * @param data the camera data to save
+   *
+   * @return the position of the frame in the saved video files, or {@code null} if the frame was dropped or has no
+   *         image
+   */
+  public EncodedCameraServerData submitFrame(CameraServerData data) {
+    Mat image = data.getImage();
+    if (image == null || image.getNativeObjAddr() == 0) {
+      return null;
+    }
+    FrameBuffer buffer = freeBuffers.poll();
+    if (buffer == null) {
+      droppedFrames.incrementAndGet();
+      return null;
+    }
+    return submit(buffer, data);
+  }
+
+  private EncodedCameraServerData submit(FrameBuffer buffer, CameraServerData data) {
+    Mat image = data.getImage();
+    synchronized (submissionLock) {
+      if (finished) {
         log.warning("Attempting to write frame after saver has finished");
-        return;
-      }
-      Mat image = data.getImage();
-      if (image == null || image.getNativeObjAddr() == 0) {
-        // No image to save, bail
-        return;
+        freeBuffers.add(buffer);
+        return null;
       }
-      if (frame == null) {
-        frame = newFrameFromMat(image);
-        resolution = new Resolution(image.width(), image.height());
-        buffer = new byte[(int) (image.total() * image.channels())];
-        wideBuffer = new int[buffer.length];
-      } else if (resolution.isNotEqual(image.width(), image.height())) {
+      if (submittedWidth < 0) {
+        submittedWidth = image.width();
+        submittedHeight = image.height();
+        submittedType = image.type();
+      } else if (image.width() != submittedWidth || image.height() != submittedHeight
+          || image.type() != submittedType) {
         // Stream resolution changed. Video files don't like frames with different resolutions, so finish writing the
         // current file and move on to writing to a new file instead
-        try {
-          finish();
-        } catch (FrameRecorder.Exception e) {
-          log.log(Level.WARNING, "Could not finish writing video file " + fileNum, e);
-        }
-        frame = newFrameFromMat(image);
-        resolution = new Resolution(image.width(), image.height());
-        recorder = createRecorder(fileNum.incrementAndGet());
-        setupAndStartRecorder(data);
-        buffer = new byte[(int) (image.total() * image.channels())];
-        wideBuffer = new int[buffer.length];
-      }
-      image.get(0, 0, buffer);
-      for (int i = 0; i < buffer.length; i++) {
-        wideBuffer[i] = buffer[i] & 0xFF;
-      }
-      frame.<UByteBufferIndexer>createIndexer()
-          .put(0, wideBuffer)
-          .release();
-      try {
-        if (!running.get()) {
-          setupAndStartRecorder(data);
-        }
-        recorder.setFrameNumber(frameNum.getAndIncrement());
-        recorder.record(frame);
-      } catch (FrameRecorder.Exception e) {
-        throw new AssertionError("Could not save frame", e);
-      } finally {
-        image.release();
+        submittedWidth = image.width();
+        submittedHeight = image.height();
+        submittedType = image.type();
+        fileNum.incrementAndGet();
+        frameNum.set(0);
       }
-    } finally {
-      lock.unlock();
+      buffer.copyFrom(image);
+      buffer.fileNum = fileNum.get();
+      buffer.frameNum = frameNum.getAndIncrement();
+      buffer.bandwidth = data.getBandwidth();
+      pendingBuffers.add(buffer);
+      encoder.execute(() -> encode(buffer));
+      return new EncodedCameraServerData(data, buffer.fileNum, buffer.frameNum);
     }
   }
 
-  private static Frame newFrameFromMat(Mat image) {
-    return new Frame(
-        image.width(),
-        image.height(),
-        OpenCVFrameConverter.getFrameDepth(image.depth()),
-        image.channels()
-    );
+  private void encode(FrameBuffer buffer) {
+    try {
+      if (buffer.fileNum != recorderFileNum) {
+        stopRecorder();
+        recorder = createRecorder(buffer.fileNum);
+        recorderFileNum = buffer.fileNum;
+        recorder.setImageWidth(buffer.frame.imageWidth);
+        recorder.setImageHeight(buffer.frame.imageHeight);
+        //recorder.setFrameRate(data.getFps()); // Doesn't work? "[mpeg4 @ 0x7f2...] The encoder timebase is not set."
+        recorder.setVideoBitrate((int) (buffer.bandwidth * 8)); // x8 to covert bytes per second to bits per second
+        recorder.start();
+      }
+      recorder.setFrameNumber(buffer.frameNum);
+      recorder.record(buffer.frame);
+      encodedFrames.incrementAndGet();
+    } catch (FrameRecorder.Exception | RuntimeException e) {
+      log.log(Level.WARNING, "Could not save frame " + buffer.frameNum + " to video file " + buffer.fileNum, e);
+    } finally {
+      pendingBuffers.remove(buffer);
+      freeBuffers.add(buffer);
+    }
   }
 
-  private void setupAndStartRecorder(CameraServerData data) {
-    if (recorder == null) {
-      return;
-    }
-    try {
-      recorder.setImageWidth(resolution.getWidth());
-      recorder.setImageHeight(resolution.getHeight());
-      //recorder.setFrameRate(data.getFps()); // Doesn't work? "[mpeg4 @ 0x7f2...] The encoder timebase is not set."
-      recorder.setVideoBitrate((int) (data.getBandwidth() * 8)); // x8 to covert bytes per second to bits per second
-      recorder.start();
-      running.set(true);
-    } catch (FrameRecorder.Exception e) {
-      throw new AssertionError("Could not start recorder", e);
+  private void stopRecorder() throws FrameRecorder.Exception {
+    if (recorder != null) {
+      FFmpegFrameRecorder current = recorder;
+      recorder = null;
+      current.stop();
     }
   }
 
@@ -166,21 +247,93 @@ public final class CameraStreamSaver {
   }
 
   /**
-   * Finishes writing the current video file.
+   * Gets the number of frames that have been written to video files.
+   */
+  public long getEncodedFrameCount() {
+    return encodedFrames.get();
+  }
+
+  /**
+   * Gets the number of frames that were dropped because the encoder could not keep up with the stream.
+   */
+  public long getDroppedFrameCount() {
+    return droppedFrames.get();
+  }
+
+  /**
+   * Waits for all queued frames to be encoded, then finishes writing the current video file. No more frames can be
+   * saved after this is called.
    *
    * @throws FrameRecorder.Exception if the file could not be written
    */
   public void finish() throws FrameRecorder.Exception {
+    synchronized (submissionLock) {
+      if (finished) {
+        return;
+      }
+      finished = true;
+    }
+    encoder.shutdown();
+    boolean interrupted = false;
+    boolean terminated = false;
     try {
-      lock.lock();
-      if (running.get()) {
-        recorder.stop();
-        running.set(false);
-        frameNum.set(0);
-        recorder = null;
+      terminated = encoder.awaitTermination(FINISH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      if (!terminated) {
+        log.warning("Timed out waiting for frames from '" + cameraName + "' to be encoded");
       }
+    } catch (InterruptedException e) {
+      interrupted = true;
+    }
+    if (!terminated) {
+      // Give up on the frames that haven't been encoded yet, but let the frame being encoded finish
+      encoder.shutdownNow();
+      terminated = awaitEncoderUninterruptibly();
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    if (droppedFrames.get() > 0) {
+      log.info(() -> String.format("Dropped %d of %d frames from '%s' while recording",
+          droppedFrames.get(), droppedFrames.get() + encodedFrames.get(), cameraName));
+    }
+    if (!terminated) {
+      // The recorder and frame buffers may still be in use by the encoder thread. Stopping the recorder or freeing the
+      // buffers from this thread could crash the JVM, so leave them be; the video file will be left incomplete
+      log.severe("Encoder for '" + cameraName + "' did not stop; the last video file will be unreadable");
+      return;
+    }
+    try {
+      // The encoder thread has stopped, so its state can safely be accessed here
+      stopRecorder();
     } finally {
-      lock.unlock();
+      freeBuffers.forEach(FrameBuffer::release);
+      // Frames abandoned by shutdownNow() were never encoded, so their buffers were never returned to the pool
+      pendingBuffers.forEach(FrameBuffer::release);
+      pendingBuffers.clear();
+    }
+  }
+
+  /**
+   * Waits for the encoder thread to stop after it has been shut down, even if the calling thread is interrupted. The
+   * interrupt status of the calling thread is restored before returning.
+   *
+   * @return true if the encoder thread stopped, false if it is still running
+   */
+  private boolean awaitEncoderUninterruptibly() {
+    boolean interrupted = false;
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(ABORT_TIMEOUT_SECONDS);
+    try {
+      while (true) {
+        try {
+          return encoder.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
     }
   }
 
@@ -199,7 +352,53 @@ public final class CameraStreamSaver {
     recorder.setVideoCodec(avcodec.AV_CODEC_ID_MPEG4);
     recorder.setFormat("mp4");
     recorder.setPixelFormat(avutil.AV_PIX_FMT_YUV420P);
+    recorder.setGopSize(GOP_SIZE);
     return recorder;
   }
 
+  /**
+   * A reusable buffer for a frame waiting to be encoded. The pixels are stored in a JavaCV {@link Frame} that can be
+   * passed directly to the video encoder, and are written through an OpenCV {@link Mat} that shares the same memory, so
+   * copying an image into the buffer is a single native copy.
+   */
+  private static final class FrameBuffer {
+
+    private Frame frame;
+    private Mat pixels;
+    private int fileNum;
+    private int frameNum;
+    private double bandwidth;
+
+    /**
+     * Copies an image into this buffer, reallocating it if the image has a different size or type than the last image.
+     */
+    void copyFrom(Mat image) {
+      if (pixels == null || pixels.width() != image.width() || pixels.height() != image.height()
+          || pixels.type() != image.type()) {
+        release();
+        frame = new Frame(
+            image.width(),
+            image.height(),
+            OpenCVFrameConverter.getFrameDepth(image.depth()),
+            image.channels()
+        );
+        long step = (long) frame.imageStride * Math.abs(frame.imageDepth) / Byte.SIZE; // bytes per row
+        pixels = new Mat(image.height(), image.width(), image.type(), (ByteBuffer) frame.image[0], step);
+      }
+      image.copyTo(pixels);
+    }
+
+    void release() {
+      if (pixels != null) {
+        pixels.release();
+        pixels = null;
+      }
+      if (frame != null) {
+        frame.close();
+        frame = null;
+      }
+    }
+
+  }
+
 }
@@ -0,0 +1,51 @@
+package edu.wpi.first.shuffleboard.plugin.cameraserver.source;
+
+import edu.wpi.first.shuffleboard.plugin.cameraserver.data.CameraServerData;
+
+/**
+ * Camera data for a frame that has already been queued to be saved to a video file while recording. This takes the
+ * place of the frame in the recording so the image does not need to be kept in memory until the recording is saved.
+ */
+public final class EncodedCameraServerData extends CameraServerData {
+
+  private final int fileNum;
+  private final int frameNum;
+
+  /**
+   * Creates a new data object.
+   *
+   * @param data     the data for the frame that was saved
+   * @param fileNum  the number of the video file the frame was saved to
+   * @param frameNum the index of the frame in the video file
+   */
+  public EncodedCameraServerData(CameraServerData data, int fileNum, int frameNum) {
+    super(data.getName(), null, data.getFps(), data.getBandwidth());
+    this.fileNum = fileNum;
+    this.frameNum = frameNum;
+  }
+
+  /**
+   * Gets the number of the video file the frame was saved to.
+   */
+  public int getFileNum() {
+    return fileNum;
+  }
+
+  /**
+   * Gets the index of the frame in its video file.
+   */
+  public int getFrameNum() {
+    return frameNum;
+  }
+
+  @Override
+  public String toHumanReadableString() {
+    return String.format(
+        "fileIndex=%d, frameIndex=%d, fps=%s, bandwidth=%s",
+        fileNum,
+        frameNum,
+        getFps(),
+        getBandwidth()
+    );
+  }
+}
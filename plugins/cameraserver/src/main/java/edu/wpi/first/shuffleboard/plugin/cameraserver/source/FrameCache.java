@@ -0,0 +1,103 @@
+package edu.wpi.first.shuffleboard.plugin.cameraserver.source;
+
+import org.opencv.core.Mat;
+import org.opencv.core.Range;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A least-recently-used cache of decoded video frames, limited by the total size of the cached images. Images are
+ * shared with callers without copying: {@link #get(long)} returns a new {@code Mat} header for the cached pixels, which
+ * keeps the pixels alive until the caller releases it even if the frame is evicted from the cache in the meantime.
+ */
+final class FrameCache {
+
+  private final long maxBytes;
+  private final Map<Long, Mat> frames = new LinkedHashMap<>(16, 0.75f, true);
+  private long sizeInBytes = 0;
+
+  /**
+   * Creates a new frame cache.
+   *
+   * @param maxBytes the maximum total size of the cached images, in bytes
+   */
+  FrameCache(long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Gets a cached frame and marks it as the most recently used frame.
+   *
+   * @param key the key of the frame to get
+   *
+   * @return a new Mat sharing the pixels of the cached frame, or null if the frame is not cached. The caller owns the
+   *         returned Mat and is responsible for releasing it
+   */
+  synchronized Mat get(long key) {
+    Mat frame = frames.get(key);
+    if (frame == null) {
+      return null;
+    }
+    return new Mat(frame, Range.all());
+  }
+
+  /**
+   * Checks if a frame is cached, without marking it as used.
+   */
+  synchronized boolean contains(long key) {
+    return frames.containsKey(key);
+  }
+
+  /**
+   * Adds a frame to the cache, evicting the least recently used frames until the cache is within its size limit. The
+   * most recently added frame is never evicted, even if it is larger than the limit.
+   *
+   * @param key   the key of the frame
+   * @param frame the frame to cache. The cache takes ownership of the Mat, and will release it when it is evicted
+   */
+  synchronized void put(long key, Mat frame) {
+    Mat previous = frames.put(key, frame);
+    if (previous != null) {
+      sizeInBytes -= sizeOf(previous);
+      previous.release();
+    }
+    sizeInBytes += sizeOf(frame);
+    Iterator<Map.Entry<Long, Mat>> iterator = frames.entrySet().iterator();
+    while (sizeInBytes > maxBytes && frames.size() > 1) {
+      Mat eldest = iterator.next().getValue();
+      iterator.remove();
+      sizeInBytes -= sizeOf(eldest);
+      eldest.release();
+    }
+  }
+
+  /**
+   * Removes and releases all cached frames.
+   */
+  synchronized void clear() {
+    frames.values().forEach(Mat::release);
+    frames.clear();
+    sizeInBytes = 0;
+  }
+
+  /**
+   * Gets the number of cached frames.
+   */
+  synchronized int size() {
+    return frames.size();
+  }
+
+  /**
+   * Gets the total size of the cached images, in bytes.
+   */
+  synchronized long sizeInBytes() {
+    return sizeInBytes;
+  }
+
+  private static long sizeOf(Mat frame) {
+    return frame.total() * frame.elemSize();
+  }
+
+}
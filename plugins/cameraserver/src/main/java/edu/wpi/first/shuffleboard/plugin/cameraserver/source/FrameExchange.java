@@ -0,0 +1,143 @@
+package edu.wpi.first.shuffleboard.plugin.cameraserver.source;
+
+import org.opencv.core.Mat;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands frames from a single producer thread to any number of consumers without copying them. The producer writes
+ * into a frame it has {@link #obtain() obtained} from a pool of free frames, then {@link #publish publishes} it as the
+ * latest frame. Consumers {@link #acquireLatest() acquire} the latest frame and {@link Frame#release() release} it
+ * when they are done with it. A frame is only returned to the pool, and written to again, once it is no longer the
+ * latest frame and every consumer has released it, so consumers never see a frame while it is being written.
+ *
+ * <p>The pool grows as needed; with one consumer at a time, it holds at most three frames: one being written, the
+ * latest one, and one being read.
+ */
+public final class FrameExchange {
+
+  private final Queue<Frame> free = new ConcurrentLinkedQueue<>();
+  private final AtomicReference<Frame> latest = new AtomicReference<>();
+  private long publishedCount = 0; // Only accessed by the producer
+  private volatile boolean closed = false;
+
+  /**
+   * Gets a free frame for the producer to write into. The producer owns the frame until it is published or
+   * discarded. This must only be called by the producer.
+   */
+  Frame obtain() {
+    Frame frame = free.poll();
+    return frame == null ? new Frame(this) : frame;
+  }
+
+  /**
+   * Publishes a frame as the latest frame. The producer must not modify the frame after publishing it. This must only
+   * be called by the producer.
+   *
+   * @param frame the frame to publish
+   */
+  void publish(Frame frame) {
+    frame.number = ++publishedCount;
+    // The reference held by the exchange for the latest frame. Set after writing the frame number so consumers that
+    // acquire the frame see it
+    frame.refs.set(1);
+    Frame previous = latest.getAndSet(frame);
+    if (previous != null) {
+      previous.release();
+    }
+  }
+
+  /**
+   * Returns a frame that was obtained but not published to the pool. This must only be called by the producer.
+   */
+  void discard(Frame frame) {
+    recycle(frame);
+  }
+
+  /**
+   * Acquires the latest published frame. The frame will not be modified until it is released.
+   *
+   * @return the latest frame, or null if no frame has been published. The caller must {@link Frame#release() release}
+   *         the frame once it is done with it
+   */
+  public Frame acquireLatest() {
+    while (true) {
+      Frame frame = latest.get();
+      if (frame == null) {
+        return null;
+      }
+      int refs = frame.refs.get();
+      if (refs > 0 && frame.refs.compareAndSet(refs, refs + 1)) {
+        return frame;
+      }
+      // The frame was replaced and recycled after it was read; try again with the new latest frame
+    }
+  }
+
+  /**
+   * Releases all frames that are not in use. Frames that are still acquired by consumers are freed when they are
+   * released.
+   */
+  void close() {
+    closed = true;
+    Frame last = latest.getAndSet(null);
+    if (last != null) {
+      last.release();
+    }
+    Frame frame;
+    while ((frame = free.poll()) != null) {
+      frame.image.release();
+    }
+  }
+
+  private void recycle(Frame frame) {
+    if (closed) {
+      frame.image.release();
+    } else {
+      free.add(frame);
+    }
+  }
+
+  /**
+   * A frame passed through an exchange.
+   */
+  public static final class Frame {
+
+    private final FrameExchange exchange;
+    private final Mat image = new Mat();
+    private final AtomicInteger refs = new AtomicInteger(0);
+    private long number;
+
+    private Frame(FrameExchange exchange) {
+      this.exchange = exchange;
+    }
+
+    /**
+     * Gets the image of this frame. The image must not be used after this frame is released.
+     */
+    public Mat getImage() {
+      return image;
+    }
+
+    /**
+     * Gets the number of this frame. Each frame published by an exchange has a higher number than the one before it.
+     */
+    public long getNumber() {
+      return number;
+    }
+
+    /**
+     * Releases this frame. It must not be used after it is released.
+     */
+    public void release() {
+      if (refs.decrementAndGet() == 0) {
+        exchange.recycle(this);
+      }
+    }
+
+  }
+
+}
@@ -4,19 +4,22 @@ import edu.wpi.first.shuffleboard.api.components.IntegerField;
 import edu.wpi.first.shuffleboard.api.prefs.Group;
 import edu.wpi.first.shuffleboard.api.prefs.Setting;
 import edu.wpi.first.shuffleboard.api.properties.SavePropertyFrom;
+import edu.wpi.first.shuffleboard.api.util.FxUtils;
 import edu.wpi.first.shuffleboard.api.widget.Description;
 import edu.wpi.first.shuffleboard.api.widget.ParametrizedController;
 import edu.wpi.first.shuffleboard.api.widget.SimpleAnnotatedWidget;
 import edu.wpi.first.shuffleboard.plugin.cameraserver.data.CameraServerData;
+import edu.wpi.first.shuffleboard.plugin.cameraserver.data.LazyCameraServerData;
 import edu.wpi.first.shuffleboard.plugin.cameraserver.data.Resolution;
 import edu.wpi.first.shuffleboard.plugin.cameraserver.recording.serialization.ImageConverter;
 import edu.wpi.first.shuffleboard.plugin.cameraserver.source.CameraServerSource;
+import edu.wpi.first.shuffleboard.plugin.cameraserver.source.FrameExchange;
 
 import com.google.common.collect.ImmutableList;
 import com.jfoenix.controls.JFXSlider;
 
 import org.fxmisc.easybind.EasyBind;
-import org.opencv.core.Core;
+import org.fxmisc.easybind.monadic.MonadicBinding;
 import org.opencv.core.Mat;
 
 import java.util.List;
@@ -68,8 +71,10 @@ public class CameraServerWidget extends SimpleAnnotatedWidget<CameraServerData>
   @FXML
   private Node crosshairs;
 
-  private final Mat displayMat = new Mat();
   private final ImageConverter converter = new ImageConverter();
+  private MonadicBinding<Boolean> showing;
+  private Mat shownFrame;
+  private long shownFrameNumber = -1;
 
   private final BooleanProperty showControls = new SimpleBooleanProperty(this, "showControls", true);
   private final BooleanProperty showCrosshair = new SimpleBooleanProperty(this, "showCrosshair", true);
@@ -87,15 +92,21 @@ public class CameraServerWidget extends SimpleAnnotatedWidget<CameraServerData>
 
   @FXML
   private void initialize() {
-    imageView.imageProperty().bind(EasyBind.combine(dataOrDefault, rotation, (data, rotation) -> {
-      if (data.getImage() == null) {
-        return emptyImage;
-      } else {
-        data.getImage().copyTo(displayMat);
-        rotation.rotate(displayMat);
-        return converter.convert(displayMat);
+    // Frames are not converted while this widget is hidden, and are not streamed unless another client shows them
+    showing = FxUtils.showing(root);
+    showing.addListener((__, was, isShowing) -> {
+      updateImage(true);
+      if (getSource() instanceof CameraServerSource) {
+        ((CameraServerSource) getSource()).setClientShowing(this, isShowing);
       }
-    }));
+    });
+    dataOrDefault.addListener((__, old, data) -> updateImage(false));
+    // Recorded frames are read at a size to fit the widget, so a resized widget may need a different image
+    root.widthProperty().addListener(__ -> updateImage(false));
+    root.heightProperty().addListener(__ -> updateImage(false));
+    updateImage(true);
+    // Rotate the view instead of the pixels so frames don't need to be copied
+    imageView.rotateProperty().bind(EasyBind.map(rotation, Rotation::getDegrees));
     fpsLabel.textProperty().bind(dataOrDefault.map(CameraServerData::getFps).map(fps -> {
       if (fps < 0) {
         return "--- FPS";
@@ -115,8 +126,10 @@ public class CameraServerWidget extends SimpleAnnotatedWidget<CameraServerData>
     height.setMaxValue(CameraServerSource.MAX_RESOLUTION.getHeight());
 
     sourceProperty().addListener((__, old, source) -> {
+      shownFrameNumber = -1;
       if (source instanceof CameraServerSource) {
         CameraServerSource newSource = (CameraServerSource) source;
+        newSource.setClientShowing(this, showing.get());
         if (source.hasClients()) {
           compressionSlider.setValue(newSource.getTargetCompression());
           frameRateField.setNumber(newSource.getTargetFps());
@@ -138,6 +151,67 @@ public class CameraServerWidget extends SimpleAnnotatedWidget<CameraServerData>
     });
   }
 
+  private void updateImage(boolean force) {
+    if (!showing.get()) {
+      // The latest frame will be shown when this widget is shown again
+      return;
+    }
+    CameraServerData data = dataOrDefault.get();
+    if (getSource() instanceof CameraServerSource && !(data instanceof LazyCameraServerData)) {
+      updateLiveImage((CameraServerSource) getSource(), force);
+      return;
+    }
+    shownFrameNumber = -1;
+    int maxSize = maxImageSize();
+    Mat image = data.getImage(maxSize, maxSize);
+    if (image == shownFrame && !force) {
+      // Telemetry updates change the data without changing the frame
+      return;
+    }
+    shownFrame = image;
+    if (image == null) {
+      imageView.setImage(emptyImage);
+    } else {
+      imageView.setImage(converter.convert(image));
+    }
+  }
+
+  /**
+   * Shows the latest frame grabbed from a live stream. The frame is acquired while it is converted, so the source can't
+   * overwrite it even if this widget falls behind the stream.
+   */
+  private void updateLiveImage(CameraServerSource source, boolean force) {
+    shownFrame = null;
+    FrameExchange.Frame frame = source.acquireLatestFrame();
+    if (frame == null) {
+      shownFrameNumber = -1;
+      imageView.setImage(emptyImage);
+      return;
+    }
+    try {
+      if (frame.getNumber() == shownFrameNumber && !force) {
+        // Telemetry updates change the data without changing the frame
+        return;
+      }
+      shownFrameNumber = frame.getNumber();
+      imageView.setImage(converter.convert(frame.getImage()));
+    } finally {
+      frame.release();
+    }
+  }
+
+  /**
+   * Gets the largest size, in pixels on the screen, that an image could be displayed at in this widget in either
+   * direction. This doesn't depend on the size of the image, so that a smaller image doesn't shrink the widget.
+   */
+  private int maxImageSize() {
+    double scale = 1;
+    if (root.getScene() != null && root.getScene().getWindow() != null) {
+      scale = Math.max(root.getScene().getWindow().getOutputScaleX(), root.getScene().getWindow().getOutputScaleY());
+    }
+    return (int) Math.ceil(Math.max(root.getWidth(), root.getHeight()) * scale);
+  }
+
   @Override
   public List<Group> getSettings() {
     return ImmutableList.of(
@@ -185,17 +259,17 @@ public class CameraServerWidget extends SimpleAnnotatedWidget<CameraServerData>
   }
 
   public enum Rotation {
-    NONE("None", image -> {}),
-    QUARTER_CW("90 degrees clockwise", image -> Core.rotate(image, image, Core.ROTATE_90_CLOCKWISE)),
-    QUARTER_CCW("90 degrees counter-clockwise", image -> Core.rotate(image, image, Core.ROTATE_90_COUNTERCLOCKWISE)),
-    HALF("180 degrees", image -> Core.rotate(image, image, Core.ROTATE_180));
+    NONE("None", 0),
+    QUARTER_CW("90 degrees clockwise", 90),
+    QUARTER_CCW("90 degrees counter-clockwise", -90),
+    HALF("180 degrees", 180);
 
     private final String humanReadable;
-    private final RotationStrategy rotationStrategy;
+    private final double degrees;
 
-    Rotation(String humanReadable, RotationStrategy rotationStrategy) {
+    Rotation(String humanReadable, double degrees) {
       this.humanReadable = humanReadable;
-      this.rotationStrategy = rotationStrategy;
+      this.degrees = degrees;
     }
 
     @Override
@@ -203,15 +277,14 @@ public class CameraServerWidget extends SimpleAnnotatedWidget<CameraServerData>
       return humanReadable;
     }
 
-    void rotate(Mat image) {
-      rotationStrategy.rotate(image);
+    /**
+     * Gets the clockwise rotation of the image, in degrees.
+     */
+    public double getDegrees() {
+      return degrees;
     }
   }
 
-  private interface RotationStrategy {
-    void rotate(Mat src);
-  }
-
   public boolean isShowControls() {
     return showControls.get();
   }
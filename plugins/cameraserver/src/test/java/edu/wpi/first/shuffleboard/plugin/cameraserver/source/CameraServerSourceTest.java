@@ -0,0 +1,135 @@
+package edu.wpi.first.shuffleboard.plugin.cameraserver.source;
+
+import edu.wpi.first.shuffleboard.api.sources.DataSource;
+import edu.wpi.first.shuffleboard.api.sources.recording.Recorder;
+import edu.wpi.first.shuffleboard.api.util.AsyncUtils;
+import edu.wpi.first.shuffleboard.api.util.FxUtils;
+import edu.wpi.first.shuffleboard.api.widget.Sourced;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CameraServerSourceTest {
+
+  private CameraServerSource source;
+
+  @BeforeEach
+  public void setUp() {
+    AsyncUtils.setAsyncRunner(Runnable::run);
+    source = new CameraServerSource("CameraServerSourceTest");
+  }
+
+  @AfterEach
+  public void tearDown() {
+    Recorder.getInstance().setRunning(false);
+    source.close();
+    AsyncUtils.setAsyncRunner(FxUtils::runOnFxThread);
+  }
+
+  @Test
+  public void testSinkDisabledWhenAllClientsHidden() {
+    Sourced first = new MockClient();
+    Sourced second = new MockClient();
+    source.addClient(first);
+    source.addClient(second);
+
+    source.setClientShowing(first, false);
+    final boolean enabledWithOneShowing = source.isSinkEnabled();
+    source.setClientShowing(second, false);
+
+    assertAll(
+        () -> assertTrue(enabledWithOneShowing, "Sink should be enabled while any client is showing"),
+        () -> assertFalse(source.isDemanded(), "Frames should not be demanded when every client is hidden"),
+        () -> assertFalse(source.isSinkEnabled(), "Sink should be disabled when every client is hidden")
+    );
+  }
+
+  @Test
+  public void testSinkReEnabledWhenClientShown() {
+    Sourced client = new MockClient();
+    source.addClient(client);
+    source.setClientShowing(client, false);
+    final boolean enabledWhileHidden = source.isSinkEnabled();
+
+    source.setClientShowing(client, true);
+
+    assertAll(
+        () -> assertFalse(enabledWhileHidden, "Sink should be disabled while the client is hidden"),
+        () -> assertTrue(source.isDemanded(), "Frames should be demanded once the client is shown"),
+        () -> assertTrue(source.isSinkEnabled(), "Sink should be enabled once the client is shown")
+    );
+  }
+
+  @Test
+  public void testSinkReEnabledWhenRecordingStarts() {
+    Sourced client = new MockClient();
+    source.addClient(client);
+    source.setClientShowing(client, false);
+    final boolean enabledWhileHidden = source.isSinkEnabled();
+
+    Recorder.getInstance().setRunning(true);
+
+    assertAll(
+        () -> assertFalse(enabledWhileHidden, "Sink should be disabled while the client is hidden"),
+        () -> assertTrue(source.isDemanded(), "Frames should be demanded while recording"),
+        () -> assertTrue(source.isSinkEnabled(), "Sink should be enabled while recording")
+    );
+  }
+
+  @Test
+  public void testAwaitDemandUnblocks() throws InterruptedException {
+    Sourced client = new MockClient();
+    source.addClient(client);
+    source.setClientShowing(client, false);
+
+    CountDownLatch demanded = new CountDownLatch(1);
+    Thread waiter = new Thread(() -> {
+      try {
+        source.awaitDemand();
+        demanded.countDown();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }, "CameraServerSourceTest-awaitDemand");
+    waiter.setDaemon(true);
+    waiter.start();
+
+    final boolean returnedWhileHidden = demanded.await(100, TimeUnit.MILLISECONDS);
+    source.setClientShowing(client, true);
+    final boolean returnedWhenShown = demanded.await(5, TimeUnit.SECONDS);
+    waiter.interrupt();
+
+    assertAll(
+        () -> assertFalse(returnedWhileHidden, "awaitDemand should block while no client is showing"),
+        () -> assertTrue(returnedWhenShown, "awaitDemand should return once a client is shown")
+    );
+  }
+
+  private static final class MockClient implements Sourced {
+
+    private final ObservableList<DataSource> sources = FXCollections.observableArrayList();
+
+    @Override
+    public void addSource(DataSource source) {
+      sources.add(source);
+    }
+
+    @Override
+    public ObservableList<DataSource> getSources() {
+      return sources;
+    }
+
+  }
+
+}
@@ -23,6 +23,7 @@ import java.util.logging.Logger;
 import static edu.wpi.first.shuffleboard.plugin.cameraserver.source.CameraStreamAdapter.videoFilePath;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
@@ -120,6 +121,69 @@ public class CameraStreamAdapterTest {
     image2Copy.release();
   }
 
+  @Test
+  public void testSubmitFrames() throws IOException {
+    File file = File.createTempFile("test-recording", ".sbr");
+    adapter.setCurrentFile(file);
+
+    Loader.load(opencv_java.class);
+
+    final Mat image = new Mat(64, 64, CvType.CV_8UC3, new Scalar(0xFF, 0x00, 0x00));
+    final Mat resized = new Mat(32, 32, CvType.CV_8UC3, new Scalar(0x00, 0xFF, 0x00));
+
+    final EncodedCameraServerData frame1 = adapter.submitFrame(file, new CameraServerData("name", image, 123, 456));
+    final EncodedCameraServerData frame2 = adapter.submitFrame(file, new CameraServerData("name", image, 321, 654));
+    final EncodedCameraServerData frame3 = adapter.submitFrame(file, new CameraServerData("name", resized, 321, 654));
+
+    assertAll("Frame positions",
+        () -> assertEquals(0, frame1.getFileNum()),
+        () -> assertEquals(0, frame1.getFrameNum()),
+        () -> assertEquals(0, frame2.getFileNum()),
+        () -> assertEquals(1, frame2.getFrameNum()),
+        () -> assertEquals(1, frame3.getFileNum(), "Changing resolution should start a new file"),
+        () -> assertEquals(0, frame3.getFrameNum()),
+        () -> assertFalse(image.empty(), "Submitting a frame should not release the image")
+    );
+
+    final byte[] frame2Bytes = adapter.serialize(frame2);
+    adapter.cleanUp(); // finish writing video files
+
+    final CameraServerData deserializedFrame2 = adapter.deserialize(frame2Bytes, 0);
+    Mat deserializedImage = deserializedFrame2.getImage();
+    adapter.cleanUp(); // close video file
+
+    deleteTempFiles(file);
+    new File(videoFilePath(file, "name", 1)).delete();
+
+    assertNotNull(deserializedImage, "Deserialized frame had no image");
+    assertEquals(image.total(), deserializedImage.total(), "Loaded frame has wrong size");
+    image.release();
+    resized.release();
+  }
+
+  @Test
+  public void testSubmitFrameForOtherRecording() throws IOException {
+    File previous = File.createTempFile("test-recording", ".sbr");
+    File current = File.createTempFile("test-recording", ".sbr");
+    adapter.setCurrentFile(current);
+
+    Loader.load(opencv_java.class);
+
+    final Mat image = new Mat(64, 64, CvType.CV_8UC3, new Scalar(0xFF, 0x00, 0x00));
+    final EncodedCameraServerData frame = adapter.submitFrame(previous, new CameraServerData("name", image, 0, 0));
+    adapter.cleanUp();
+    image.release();
+
+    final boolean videoWritten = new File(videoFilePath(previous, "name", 0)).exists();
+    previous.delete();
+    current.delete();
+
+    assertAll("Frames for a recording other than the current one should be dropped",
+        () -> assertNull(frame),
+        () -> assertFalse(videoWritten, "A video file was written for the other recording")
+    );
+  }
+
   @Test
   public void testVideoFileName() {
     assertAll("Video file names",
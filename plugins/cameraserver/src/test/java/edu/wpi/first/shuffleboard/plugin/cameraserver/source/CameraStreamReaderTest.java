@@ -0,0 +1,156 @@
+package edu.wpi.first.shuffleboard.plugin.cameraserver.source;
+
+import edu.wpi.first.shuffleboard.plugin.cameraserver.data.CameraServerData;
+
+import org.bytedeco.javacpp.Loader;
+import org.bytedeco.opencv.opencv_java;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opencv.core.Core;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.Scalar;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static edu.wpi.first.shuffleboard.plugin.cameraserver.source.CameraStreamAdapter.videoFilePath;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CameraStreamReaderTest {
+
+  private static final String CAMERA_NAME = "name";
+
+  /**
+   * The number of frames in the test video. Spans a few groups of pictures, with the last one incomplete.
+   */
+  private static final int FRAME_COUNT = CameraStreamSaver.GOP_SIZE * 3 + 4;
+
+  private File file;
+  private CameraStreamReader reader;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    Loader.load(opencv_java.class);
+    file = File.createTempFile("test-recording", ".sbr");
+    CameraStreamSaver saver = new CameraStreamSaver(CAMERA_NAME, file);
+    for (int i = 0; i < FRAME_COUNT; i++) {
+      // The saver releases the image once it has been copied
+      Mat image = new Mat(64, 64, CvType.CV_8UC3, Scalar.all(brightness(i)));
+      saver.serializeFrame(new CameraServerData(CAMERA_NAME, image, 30, 100_000));
+    }
+    saver.finish();
+    reader = new CameraStreamReader(CAMERA_NAME, file);
+  }
+
+  @AfterEach
+  public void tearDown() throws Exception {
+    reader.finish();
+    if (System.getenv("CI") == null) {
+      file.delete();
+      new File(videoFilePath(file, CAMERA_NAME, 0)).delete();
+    }
+  }
+
+  /**
+   * Gets the brightness of every pixel in a frame of the test video. Each frame is a different shade of gray, so frames
+   * can be told apart after a lossy round trip through the encoder.
+   */
+  private static int brightness(int frameNum) {
+    return 20 + 6 * frameNum;
+  }
+
+  private void assertFrame(int frameNum) throws IOException {
+    Mat frame = reader.readFrame(frameNum);
+    assertNotNull(frame, "No image for frame " + frameNum);
+    double actual = Core.mean(frame).val[0];
+    frame.release();
+    assertEquals(brightness(frameNum), actual, 2.5, "Wrong image for frame " + frameNum);
+  }
+
+  @Test
+  public void testScaleShift() {
+    assertAll(
+        () -> assertEquals(0, CameraStreamReader.scaleShift(640, 480, 0, 0), "No size should not downscale"),
+        () -> assertEquals(0, CameraStreamReader.scaleShift(640, 480, 1920, 1080)),
+        () -> assertEquals(0, CameraStreamReader.scaleShift(640, 480, 400, 400)),
+        () -> assertEquals(1, CameraStreamReader.scaleShift(640, 480, 320, 320)),
+        () -> assertEquals(1, CameraStreamReader.scaleShift(640, 480, 200, 200)),
+        () -> assertEquals(2, CameraStreamReader.scaleShift(640, 480, 120, 120)),
+        () -> assertEquals(CameraStreamReader.MAX_SCALE_SHIFT, CameraStreamReader.scaleShift(640, 480, 1, 1))
+    );
+  }
+
+  @Test
+  public void testKeyframeIndex() throws IOException {
+    assertFrame(0);
+    int[] keyframes = reader.getKeyframes();
+    assertAll(
+        () -> assertNotNull(keyframes, "Keyframes should have been read"),
+        () -> assertEquals(0, keyframes[0], "Video should start with a keyframe"),
+        () -> assertTrue(keyframes.length >= FRAME_COUNT / CameraStreamSaver.GOP_SIZE,
+            "Every group of pictures should start with a keyframe")
+    );
+  }
+
+  @Test
+  public void testReadFrames() throws IOException {
+    final int gop = CameraStreamSaver.GOP_SIZE;
+
+    // Cross-GOP seek from the start of the file
+    assertFrame(2 * gop + 6);
+    // Backward, into the first GOP
+    assertFrame(5);
+    // Forward within the same GOP
+    assertFrame(9);
+    // Forward into a later GOP
+    assertFrame(gop + 3);
+    // Backward within the same GOP
+    assertFrame(gop + 1);
+    // Last frame
+    assertFrame(FRAME_COUNT - 1);
+  }
+
+  @Test
+  public void testScrubBackIsCached() throws IOException {
+    final int gop = CameraStreamSaver.GOP_SIZE;
+    final int target = gop + gop / 2;
+    assertFrame(target);
+    final long missesBeforeScrub = reader.getCacheMissCount();
+
+    // Every frame from the start of the GOP to the target was decoded on the way to it
+    for (int i = target - 1; i >= gop; i--) {
+      assertFrame(i);
+    }
+
+    assertEquals(missesBeforeScrub, reader.getCacheMissCount(), "Frames read after scrubbing back should be cached");
+  }
+
+  @Test
+  public void testPrefetchWhilePlaying() throws Exception {
+    assertFrame(0);
+    assertFrame(1);
+    final int lastPrefetched = 1 + CameraStreamReader.PREFETCH_FRAMES;
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!reader.isCached(lastPrefetched) && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    final long missesBeforePlaying = reader.getCacheMissCount();
+
+    for (int i = 2; i <= lastPrefetched; i++) {
+      assertFrame(i);
+    }
+    final long missesWhilePlaying = reader.getCacheMissCount() - missesBeforePlaying;
+
+    // Reading backward cancels prefetching, but still reads the right frame
+    assertFrame(0);
+
+    assertEquals(0, missesWhilePlaying, "Frames after the most recently read frame should have been prefetched");
+  }
+
+}
@@ -0,0 +1,78 @@
+package edu.wpi.first.shuffleboard.plugin.cameraserver.source;
+
+import edu.wpi.first.shuffleboard.api.util.ThreadUtils;
+import edu.wpi.first.shuffleboard.plugin.cameraserver.data.CameraServerData;
+
+import org.bytedeco.javacpp.Loader;
+import org.bytedeco.opencv.opencv_java;
+import org.junit.jupiter.api.Test;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.Scalar;
+
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static edu.wpi.first.shuffleboard.plugin.cameraserver.source.CameraStreamAdapter.videoFilePath;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class CameraStreamSaverTest {
+
+  @Test
+  public void testDropsFramesWhenEncoderFallsBehind() throws Exception {
+    File file = File.createTempFile("test-recording", ".sbr");
+    Loader.load(opencv_java.class);
+
+    // Hold up the encoder so every frame buffer fills up
+    ExecutorService encoder = Executors.newSingleThreadExecutor(ThreadUtils::makeDaemonThread);
+    CountDownLatch encoderBlocked = new CountDownLatch(1);
+    encoder.execute(() -> {
+      try {
+        encoderBlocked.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    CameraStreamSaver saver = new CameraStreamSaver("name", file, encoder);
+
+    final Mat image = new Mat(16, 16, CvType.CV_8UC3, new Scalar(0xFF, 0x00, 0x00));
+    final CameraServerData data = new CameraServerData("name", image, 30, 1000);
+    EncodedCameraServerData lastQueued = null;
+    for (int i = 0; i < CameraStreamSaver.MAX_QUEUED_FRAMES; i++) {
+      lastQueued = saver.submitFrame(data);
+    }
+    final EncodedCameraServerData queued = lastQueued;
+    final EncodedCameraServerData dropped = saver.submitFrame(data);
+    final long droppedCount = saver.getDroppedFrameCount();
+
+    encoderBlocked.countDown();
+    saver.finish();
+    image.release();
+    deleteTempFiles(file);
+
+    assertAll(
+        () -> assertNotNull(queued, "Frames should be queued while buffers are free"),
+        () -> assertEquals(CameraStreamSaver.MAX_QUEUED_FRAMES - 1, queued.getFrameNum()),
+        () -> assertNull(dropped, "Frame should be dropped when every buffer is in use"),
+        () -> assertEquals(1, droppedCount),
+        () -> assertEquals(CameraStreamSaver.MAX_QUEUED_FRAMES, saver.getEncodedFrameCount()),
+        () -> assertEquals(CameraStreamSaver.MAX_QUEUED_FRAMES, saver.getFrameNum(),
+            "Dropped frames should not take up a frame number")
+    );
+  }
+
+  private void deleteTempFiles(File file) {
+    if (System.getenv("CI") != null) {
+      // On a CI platform, don't need to clean up
+      return;
+    }
+    file.delete();
+    new File(videoFilePath(file, "name", 0)).delete();
+  }
+
+}
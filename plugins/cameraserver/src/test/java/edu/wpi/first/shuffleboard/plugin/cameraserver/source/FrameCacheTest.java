@@ -0,0 +1,87 @@
+package edu.wpi.first.shuffleboard.plugin.cameraserver.source;
+
+import org.bytedeco.javacpp.Loader;
+import org.bytedeco.opencv.opencv_java;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.opencv.core.CvType;
+import org.opencv.core.Mat;
+import org.opencv.core.Scalar;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FrameCacheTest {
+
+  private static final int FRAME_BYTES = 8 * 8 * 3;
+
+  @BeforeAll
+  public static void loadOpenCv() {
+    Loader.load(opencv_java.class);
+  }
+
+  private static Mat frame(int value) {
+    return new Mat(8, 8, CvType.CV_8UC3, new Scalar(value, value, value));
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsed() {
+    FrameCache cache = new FrameCache(FRAME_BYTES * 2);
+    cache.put(0, frame(0));
+    cache.put(1, frame(1));
+    cache.get(0).release(); // 1 is now the least recently used frame
+    cache.put(2, frame(2));
+
+    assertAll(
+        () -> assertEquals(2, cache.size()),
+        () -> assertEquals(FRAME_BYTES * 2, cache.sizeInBytes()),
+        () -> assertTrue(cache.contains(0), "Recently used frame was evicted"),
+        () -> assertFalse(cache.contains(1), "Least recently used frame was not evicted"),
+        () -> assertTrue(cache.contains(2), "Newest frame was evicted")
+    );
+    cache.clear();
+  }
+
+  @Test
+  public void testKeepsNewestFrameOverLimit() {
+    FrameCache cache = new FrameCache(FRAME_BYTES / 2);
+    cache.put(0, frame(0));
+    cache.put(1, frame(1));
+
+    assertAll(
+        () -> assertEquals(1, cache.size()),
+        () -> assertFalse(cache.contains(0)),
+        () -> assertTrue(cache.contains(1))
+    );
+    cache.clear();
+  }
+
+  @Test
+  public void testGetSharesPixels() {
+    FrameCache cache = new FrameCache(FRAME_BYTES * 2);
+    Mat original = frame(42);
+    long dataAddr = original.dataAddr();
+    cache.put(0, original);
+
+    Mat first = cache.get(0);
+    Mat second = cache.get(0);
+    cache.clear();
+
+    // The pixels stay valid after being evicted until the returned frames are released
+    assertAll(
+        () -> assertNotNull(first),
+        () -> assertEquals(dataAddr, first.dataAddr()),
+        () -> assertEquals(dataAddr, second.dataAddr()),
+        () -> assertEquals(42, first.get(0, 0)[0]),
+        () -> assertNull(cache.get(0)),
+        () -> assertEquals(0, cache.sizeInBytes())
+    );
+    first.release();
+    second.release();
+  }
+
+}
@@ -0,0 +1,75 @@
+package edu.wpi.first.shuffleboard.plugin.cameraserver.source;
+
+import org.bytedeco.javacpp.Loader;
+import org.bytedeco.opencv.opencv_java;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FrameExchangeTest {
+
+  @BeforeAll
+  public static void loadOpenCv() {
+    Loader.load(opencv_java.class);
+  }
+
+  @Test
+  public void testNoFrame() {
+    FrameExchange exchange = new FrameExchange();
+    assertNull(exchange.acquireLatest());
+    exchange.close();
+  }
+
+  @Test
+  public void testAcquireLatest() {
+    FrameExchange exchange = new FrameExchange();
+    FrameExchange.Frame first = exchange.obtain();
+    exchange.publish(first);
+    FrameExchange.Frame second = exchange.obtain();
+    exchange.publish(second);
+
+    FrameExchange.Frame acquired = exchange.acquireLatest();
+    assertAll(
+        () -> assertNotSame(first, second, "A published frame should not be handed back to the producer"),
+        () -> assertSame(second, acquired),
+        () -> assertEquals(2, acquired.getNumber())
+    );
+    acquired.release();
+    exchange.close();
+  }
+
+  @Test
+  public void testAcquiredFrameIsNotReused() {
+    FrameExchange exchange = new FrameExchange();
+    FrameExchange.Frame first = exchange.obtain();
+    exchange.publish(first);
+    FrameExchange.Frame acquired = exchange.acquireLatest();
+
+    // Replace the acquired frame as the latest frame a few times
+    for (int i = 0; i < 5; i++) {
+      FrameExchange.Frame frame = exchange.obtain();
+      assertNotSame(acquired, frame, "An acquired frame should not be written to");
+      exchange.publish(frame);
+    }
+
+    acquired.release();
+    FrameExchange.Frame latest = exchange.acquireLatest();
+    latest.release();
+    // Every frame except the latest one is free again, so the released frame will be reused eventually
+    boolean reused = false;
+    for (int i = 0; i < 6 && !reused; i++) {
+      FrameExchange.Frame frame = exchange.obtain();
+      reused = frame == acquired;
+      exchange.discard(frame);
+    }
+    assertTrue(reused, "A released frame should be reused");
+    exchange.close();
+  }
+
+}
@@ -4,6 +4,7 @@ import edu.wpi.first.shuffleboard.api.components.FilterableTreeItem;
 import edu.wpi.first.shuffleboard.api.components.SourceTreeTable;
 import edu.wpi.first.shuffleboard.api.data.MapData;
 import edu.wpi.first.shuffleboard.api.sources.DataSourceUtils;
+import edu.wpi.first.shuffleboard.api.util.PersistentHashMap;
 import edu.wpi.first.shuffleboard.api.widget.Description;
 import edu.wpi.first.shuffleboard.api.widget.SimpleAnnotatedWidget;
 import edu.wpi.first.shuffleboard.plugin.networktables.sources.NetworkTableSourceEntry;
@@ -11,7 +12,8 @@ import edu.wpi.first.shuffleboard.plugin.networktables.sources.NetworkTableSourc
 
 import edu.wpi.first.networktables.NetworkTable;
 
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 
 import javafx.scene.control.TreeItem;
 import javafx.scene.layout.Pane;
@@ -33,20 +35,22 @@ public class NetworkTableTreeWidget extends SimpleAnnotatedWidget<MapData> {
     tree.setRoot(root);
     tree.setShowRoot(false);
     dataOrDefault.addListener((__, oldData, newData) -> {
-      final Map<String, Object> newMap = newData.asMap();
-      // Remove deleted keys
-      if (oldData != null) {
-        oldData.asMap().entrySet().stream()
-            .filter(e -> !newMap.containsKey(e.getKey()))
-            .forEach(e -> tree.removeEntry(new NetworkTableSourceEntry(e.getKey(), e.getValue())));
-      }
-
-      newData.changesFrom(oldData)
-          .forEach((key, value) -> {
+      final PersistentHashMap<String, Object> newMap = newData.asPersistentMap();
+      final PersistentHashMap<String, Object> oldMap =
+          oldData == null ? PersistentHashMap.empty() : oldData.asPersistentMap();
+      final List<NetworkTableSourceEntry> updated = new ArrayList<>();
+      final List<NetworkTableSourceEntry> removed = new ArrayList<>();
+      // Only the entries that are not shared with the old data need to be visited
+      newMap.diff(
+          oldMap,
+          (key, value) -> {
             if (DataSourceUtils.isNotMetadata(key)) {
-              tree.updateEntry(new NetworkTableSourceEntry(NetworkTable.normalizeKey(key), value));
+              updated.add(new NetworkTableSourceEntry(NetworkTable.normalizeKey(key), value));
             }
-          });
+          },
+          (key, value) -> removed.add(new NetworkTableSourceEntry(key, value)));
+      tree.removeEntries(removed);
+      tree.updateEntries(updated);
     });
   }
 
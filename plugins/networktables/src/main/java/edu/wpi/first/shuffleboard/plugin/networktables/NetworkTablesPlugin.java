@@ -24,12 +24,14 @@ import com.google.common.collect.ImmutableMap;
 
 import edu.wpi.first.networktables.NetworkTableEvent;
 import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.NetworkTableValue;
 import edu.wpi.first.networktables.NetworkTablesJNI;
 
 import java.io.IOException;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.prefs.Preferences;
@@ -112,18 +114,25 @@ public class NetworkTablesPlugin extends Plugin {
         // in the recording (eg "/a/b/c" has 2 tables and 3 copies: "/a", "/a/b", and "/a/b/c")
         // This significantly reduces the size of recording files.
         // We only run this listener while recording to avoid unnecessary network traffic
+        // Values are timestamped by the robot (translated by ntcore into the local NT clock), so the recording reflects
+        // when the data actually changed instead of when the listener thread got around to handling it.
+        // This offset lines the NT clock up with the recording timeline.
+        final long clockOffset = NetworkTablesJNI.now()
+            - TimeUnit.MILLISECONDS.toMicros(Recorder.getInstance().currentTimestamp());
         recorderUid = inst.addListener(
             new String[]{""},
             EnumSet.of(NetworkTableEvent.Kind.kImmediate, NetworkTableEvent.Kind.kValueAll),
             event -> {
-              Object value = event.valueData.value.getValue();
+              NetworkTableValue ntValue = event.valueData.value;
+              Object value = ntValue.getValue();
               String name = NetworkTableUtils.topicNameForEvent(event);
               DataTypes.getDefault().forJavaType(value.getClass())
                   .ifPresent(type -> {
                     Recorder.getInstance().record(
                         NetworkTableSourceType.getInstance().toUri(name),
                         type,
-                        value
+                        value,
+                        TimeUnit.MICROSECONDS.toMillis(ntValue.getTime() - clockOffset)
                     );
                   });
             });
@@ -28,11 +28,12 @@ import java.util.EnumSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Helper class for generating tabs in the UI from data in NetworkTables.
@@ -65,6 +66,23 @@ final class TabGenerator {
   private int dataListener;
   private final Components componentRegistry;
 
+  /**
+   * The topics that have already been placed in the tab structure. Value changes for these topics do not affect the
+   * structure and are ignored by the generator; their widgets get new values through their data sources.
+   */
+  private final Set<String> structuredTopics = ConcurrentHashMap.newKeySet();
+
+  /**
+   * The structured data topics (ie not metadata) in each table, keyed by the path to the table that directly contains
+   * them.
+   */
+  private final Map<String, Set<String>> topicsByTable = new ConcurrentHashMap<>();
+
+  /**
+   * The paths to the direct subtables of each table that contains structured data topics.
+   */
+  private final Map<String, Set<String>> subtablesByTable = new ConcurrentHashMap<>();
+
   TabGenerator(NetworkTableInstance inst, Components componentRegistry) {
     this.inst = inst;
     this.componentRegistry = componentRegistry;
@@ -80,10 +98,10 @@ final class TabGenerator {
         .subscribe(new String[] {}, PubSubOption.hidden(true));
     tabsListener = inst.addListener(tabsSubscriber,
       EnumSet.of(NetworkTableEvent.Kind.kValueAll, NetworkTableEvent.Kind.kImmediate), event -> {
+        // New tabs mark themselves as dirty; existing tabs are unaffected
         for (String tabName : event.valueData.value.getStringArray()) {
           tabs.getTab(tabName);
         }
-        tabs.dirty();
       });
 
     tabSelectionSubscriber = rootMetaTable.getStringTopic(SELECTED_ENTRY_NAME)
@@ -110,7 +128,10 @@ final class TabGenerator {
     dataSubscriber = new MultiSubscriber(inst, new String[] {ROOT_TABLE_NAME + "/"}, PubSubOption.hidden(true));
     dataListener = inst.addListener(
         dataSubscriber,
-        EnumSet.of(NetworkTableEvent.Kind.kValueAll, NetworkTableEvent.Kind.kImmediate),
+        EnumSet.of(
+            NetworkTableEvent.Kind.kValueAll,
+            NetworkTableEvent.Kind.kImmediate,
+            NetworkTableEvent.Kind.kUnpublish),
         this::dataChanged);
   }
 
@@ -126,6 +147,9 @@ final class TabGenerator {
     inst.removeListener(metadataListener);
     dataSubscriber.close();
     inst.removeListener(dataListener);
+    structuredTopics.clear();
+    topicsByTable.clear();
+    subtablesByTable.clear();
   }
 
   /**
@@ -144,41 +168,60 @@ final class TabGenerator {
       return;
     }
     List<String> realHierarchy = NetworkTable.getHierarchy(realPath(name));
-    TabModel tab = tabs.getTab(NetworkTable.basenameKey(realHierarchy.get(2)));
+    String tabTitle = NetworkTable.basenameKey(realHierarchy.get(2));
+    // New tabs mark themselves as dirty when they're created, so only existing tabs need to be marked here
+    boolean newTab = !tabs.getTabs().containsKey(tabTitle);
+    TabModel tab = tabs.getTab(tabTitle);
 
     // Component type
     if (name.endsWith("/" + PREF_COMPONENT_ENTRY_NAME)) {
       String real = realHierarchy.get(realHierarchy.size() - 2);
-      if (tab.getChild(real) == null) {
+      ComponentModel component = tab.getChild(real);
+      if (component == null) {
+        if (LAYOUT_TYPE.equals(inst.getTable(real).getEntry(".type").getString(null))) {
+          // The layout type arrived after the layout's children, which were placed in its parent in the meantime
+          rebuildTable(realHierarchy.subList(0, realHierarchy.size() - 1));
+          if (!newTab) {
+            tabs.dirty(tab);
+          }
+        }
         return;
       }
-      tab.getChild(real).setDisplayType(event.valueData.value.getString());
+      component.setDisplayType(event.valueData.value.getString());
+      tabs.dirty(component);
+      return;
     }
 
     // Component size
     if (name.endsWith("/" + SIZE_ENTRY_NAME)) {
       String real = realHierarchy.get(realHierarchy.size() - 2);
-      if (tab.getChild(real) == null) {
+      ComponentModel component = tab.getChild(real);
+      if (component == null) {
         // No component yet
         return;
       }
       double[] size = event.valueData.value.getDoubleArray();
       if (size.length == 2) {
-        tab.getChild(real).setPreferredSize(new TileSize((int) size[0], (int) size[1]));
+        component.setPreferredSize(new TileSize((int) size[0], (int) size[1]));
       }
+      tabs.dirty(component);
+      return;
     }
 
     // Component position
     if (name.endsWith("/" + POSITION_ENTRY_NAME)) {
       String real = realHierarchy.get(realHierarchy.size() - 2);
-      if (tab.getChild(real) == null) {
+      ComponentModel component = tab.getChild(real);
+      if (component == null) {
         // No component yet
         return;
       }
       double[] pos = event.valueData.value.getDoubleArray();
       if (pos.length == 2) {
-        tab.getChild(real).setPreferredPosition(new GridPoint((int) pos[0], (int) pos[1]));
+        component.setPreferredPosition(new GridPoint((int) pos[0], (int) pos[1]));
       }
+      tabs.dirty(component);
+      return;
     }
 
     // Component (or tab) properties
@@ -192,23 +235,45 @@ final class TabGenerator {
       if (NetworkTable.basenameKey(real).equals(tab.getTitle())) {
         tab.setProperties(properties);
       } else {
-        if (tab.getChild(real) == null) {
+        ComponentModel component = tab.getChild(real);
+        if (component == null) {
           // No component yet to set the properties for. Its properties will be set once it appears
           return;
         }
-        tab.getChild(real).setProperties(properties);
+        component.setProperties(properties);
+        tabs.dirty(component);
+        return;
       }
     }
 
-    tabs.dirty();
+    if (!newTab) {
+      tabs.dirty(tab);
+    }
   }
 
   private void dataChanged(NetworkTableEvent event) {
+    if (event.is(NetworkTableEvent.Kind.kUnpublish)) {
+      // Re-check the structure if the topic is published again
+      String topic = event.topicInfo.name;
+      structuredTopics.remove(topic);
+      List<String> hierarchy = NetworkTable.getHierarchy(topic);
+      if (hierarchy.size() >= 2) {
+        Set<String> siblings = topicsByTable.get(hierarchy.get(hierarchy.size() - 2));
+        if (siblings != null) {
+          siblings.remove(topic);
+        }
+      }
+      return;
+    }
+    String name = event.valueData.getTopic().getName();
+    if (!structuredTopics.add(name)) {
+      // Only the value changed
+      return;
+    }
     for (String tabName : inst.getEntry(TABS_ENTRY_PATH).getStringArray(new String[0])) {
       // Make sure the tabs exist, and in the order specified
       tabs.getTab(tabName);
     }
-    String name = event.valueData.getTopic().getName();
     if (name.startsWith(METADATA_TABLE_NAME)) {
       return;
     }
@@ -223,18 +288,93 @@ final class TabGenerator {
           .takeWhile(s -> !s.contains("/."))
           .collect(Collectors.toList());
       if (tables.size() >= 3) {
-        updateStructure(tables);
-        tabs.dirty();
+        String tabTitle = NetworkTable.basenameKey(tables.get(2));
+        // New tabs mark themselves as dirty when they're created, so only existing tabs need to be marked here
+        boolean newTab = !tabs.getTabs().containsKey(tabTitle);
+        rebuildTable(tables);
+        if (!newTab) {
+          tabs.dirty(tabs.getTab(tabTitle));
+        }
       }
       return;
     }
+    index(hierarchy);
     updateStructure(hierarchy);
   }
 
+  /**
+   * Adds a data topic to the table indexes.
+   *
+   * @param hierarchy the hierarchy of the topic, starting at the root table and ending with the topic itself
+   */
+  private void index(List<String> hierarchy) {
+    int topic = hierarchy.size() - 1;
+    topicsByTable.computeIfAbsent(hierarchy.get(topic - 1), __ -> ConcurrentHashMap.newKeySet())
+        .add(hierarchy.get(topic));
+    for (int i = 1; i < topic - 1; i++) {
+      subtablesByTable.computeIfAbsent(hierarchy.get(i), __ -> ConcurrentHashMap.newKeySet())
+          .add(hierarchy.get(i + 1));
+    }
+  }
+
+  /**
+   * Updates the structure of a table and of all the data topics already seen in it and its subtables. Metadata such
+   * as a layout type can change where those topics belong, so any components that were placed in a container above
+   * the table before its type was known are moved into it.
+   *
+   * @param tables the hierarchy of the table, starting at the root table and ending with the table itself
+   */
+  private void rebuildTable(List<String> tables) {
+    updateStructure(tables);
+    String table = tables.get(tables.size() - 1);
+    TabModel tab = tabs.getTab(NetworkTable.basenameKey(tables.get(2)));
+    if (tab.getChild(table) != null) {
+      removeFromContainersAbove(tab, table);
+    }
+    forEachTopicIn(table, topic -> updateStructure(NetworkTable.getHierarchy(topic)));
+  }
+
+  private void forEachTopicIn(String table, Consumer<String> action) {
+    topicsByTable.getOrDefault(table, Set.of()).forEach(action);
+    for (String subtable : subtablesByTable.getOrDefault(table, Set.of())) {
+      forEachTopicIn(subtable, action);
+    }
+  }
+
+  /**
+   * Removes the components for the contents of a table from the containers above that table, leaving the component
+   * for the table itself and everything inside it untouched.
+   *
+   * @param parent the container to remove components from
+   * @param table  the path to the table
+   */
+  private static void removeFromContainersAbove(ParentModel parent, String table) {
+    String prefix = table + "/";
+    List<ComponentModel> children = List.copyOf(parent.getChildren().values());
+    for (ComponentModel child : children) {
+      String path = child.getPath();
+      if (path.startsWith(prefix)) {
+        parent.removeChild(path);
+      } else if (child instanceof LayoutModel && !path.equals(table)) {
+        removeFromContainersAbove((LayoutModel) child, table);
+      }
+    }
+  }
+
+  /**
+   * Updates the components for the tables and topic in a hierarchy, creating any that do not exist yet. Newly created
+   * components in an existing tab are marked as dirty; new tabs mark themselves as dirty when they're created.
+   *
+   * @param hierarchy the hierarchy to update, starting at the root table
+   */
   private void updateStructure(List<String> hierarchy) {
     // 0='/', 1='/Shuffleboard', 2='/Shuffleboard/<Tab>'
-    TabModel tab = tabs.getTab(NetworkTable.basenameKey(hierarchy.get(2)));
+    String tabTitle = NetworkTable.basenameKey(hierarchy.get(2));
+    boolean newTab = !tabs.getTabs().containsKey(tabTitle);
+    TabModel tab = tabs.getTab(tabTitle);
     ParentModel parent = tab;
+    // The outermost component created by this update; marking it as dirty also covers anything created inside it
+    ComponentModel created = null;
     int index = 0;
     boolean end = false;
     for (String path : hierarchy) {
@@ -256,25 +396,36 @@ final class TabGenerator {
               // No component specified for this layout - its children will be placed in its parent container
               continue;
             }
+            boolean newLayout = !parent.getChildren().containsKey(path);
             LayoutModel layout = parent.getLayout(path, layoutType);
             setSizeAndPosition(path, layout);
             layout.setProperties(properties(path));
+            if (newLayout && created == null) {
+              created = layout;
+            }
             parent = layout;
             break;
           default:
             end = true;
-            updateWidget(parent, path);
+            if (updateWidget(parent, path) && created == null) {
+              created = parent.getChild(path);
+            }
             break;
         }
       } else if (index > 1) {
         end = true;
-        updateWidget(parent, path);
+        if (updateWidget(parent, path) && created == null) {
+          created = parent.getChild(path);
+        }
       }
       index++;
       if (end) {
         break;
       }
     }
+    if (created != null && !newTab) {
+      tabs.dirty(created);
+    }
   }
 
   // Helper functions
@@ -285,12 +436,10 @@ final class TabGenerator {
    * @param path the path to the data to get a data source for
    */
   private MappableSupplier<? extends DataSource<?>> sourceForPath(String path) {
-    Topic[] topics = inst.getTopics("/", NetworkTableType.kString.getValue());
-    Optional<String> customUri = Stream.of(topics)
-        .filter(t -> t.getName().equals(path + "/.ShuffleboardURI"))
-        .map(t -> inst.getEntry(t.getName()).getString(null))
-        .filter(Objects::nonNull)
-        .findFirst();
+    Topic uriTopic = inst.getTopic(path + "/.ShuffleboardURI");
+    Optional<String> customUri = Optional.of(uriTopic)
+        .filter(t -> t.exists() && t.getType() == NetworkTableType.kString)
+        .map(t -> inst.getEntry(t.getName()).getString(null));
     if (customUri.isPresent()) {
       return () -> SourceTypes.getDefault().forUri(customUri.get());
     } else {
@@ -353,8 +502,11 @@ final class TabGenerator {
    *
    * @param parent the parent to add a newly created widget to
    * @param path   the path to the widget
+   *
+   * @return true if the widget was created, false if it already existed
    */
-  private void updateWidget(ParentModel parent, String path) {
+  private boolean updateWidget(ParentModel parent, String path) {
+    boolean newWidget = parent.getChild(path) == null;
     var sourceSupplier = sourceForPath(path);
     WidgetModel widget = parent.getOrCreate(
         path,
@@ -368,6 +520,7 @@ final class TabGenerator {
         ),
         properties(path));
     setSizeAndPosition(path, widget);
+    return newWidget;
   }
 
   private void setSizeAndPosition(String path, ComponentModel component) {
@@ -7,7 +7,7 @@ import edu.wpi.first.shuffleboard.api.sources.AbstractDataSource;
 import edu.wpi.first.shuffleboard.api.sources.DataSource;
 import edu.wpi.first.shuffleboard.api.sources.SourceType;
 import edu.wpi.first.shuffleboard.api.sources.Sources;
-import edu.wpi.first.shuffleboard.api.util.AsyncUtils;
+import edu.wpi.first.shuffleboard.api.util.CoalescingDispatcher;
 import edu.wpi.first.shuffleboard.plugin.networktables.util.NetworkTableUtils;
 import edu.wpi.first.networktables.GenericSubscriber;
 import edu.wpi.first.networktables.MultiSubscriber;
@@ -38,6 +38,8 @@ public abstract class NetworkTableSource<T> extends AbstractDataSource<T> {
   private GenericSubscriber singleSub;
   private int listenerUid = -1;
   private volatile boolean ntUpdate = false;
+  // The number of topic events seen for each topic. Only accessed from the NetworkTables listener thread
+  private final Map<String, Integer> topicEventCounts = new ConcurrentHashMap<>();
 
   /**
    * Creates a network table source that listens to values under the given key. The key can be
@@ -81,14 +83,7 @@ public abstract class NetworkTableSource<T> extends AbstractDataSource<T> {
           NetworkTableEvent.Kind.kValueAll),
         event -> {
           if (isConnected()) {
-            AsyncUtils.runAsync(() -> {
-              try {
-                ntUpdate = true;
-                listener.onChange(fullTableKey, event);
-              } finally {
-                ntUpdate = false;
-              }
-            });
+            dispatch(listener, fullTableKey, event);
           }
         });
     } else {
@@ -107,19 +102,38 @@ public abstract class NetworkTableSource<T> extends AbstractDataSource<T> {
         event -> {
           String name = NetworkTableUtils.topicNameForEvent(event);
           if (isConnected()) {
-            AsyncUtils.runAsync(() -> {
-              try {
-                ntUpdate = true;
-                listener.onChange(name, event);
-              } finally {
-                ntUpdate = false;
-              }
-            });
+            dispatch(listener, name, event);
           }
         });
     }
   }
 
+  /**
+   * Passes an event to the listener on the JavaFX application thread. Value events are coalesced by topic, so if
+   * several values for the same topic arrive before the application thread gets to them, only the most recent one is
+   * passed to the listener. This keeps a flood of updates from queueing more work than the application thread can keep
+   * up with. Topic events such as publishes and unpublishes are never coalesced, and are passed to the listener in
+   * order with the value events around them.
+   */
+  private void dispatch(TableListener listener, String name, NetworkTableEvent event) {
+    final TopicKey key;
+    if (event.is(NetworkTableEvent.Kind.kValueAll)) {
+      key = new TopicKey(this, name, topicEventCounts.getOrDefault(name, 0), false);
+    } else {
+      // Values submitted after this event get a new key, so they can't replace values that were submitted before it
+      // and still run before it
+      key = new TopicKey(this, name, topicEventCounts.merge(name, 1, Integer::sum), true);
+    }
+    CoalescingDispatcher.getDefault().submit(key, () -> {
+      try {
+        ntUpdate = true;
+        listener.onChange(name, event);
+      } finally {
+        ntUpdate = false;
+      }
+    });
+  }
+
   /**
    * Checks if this source is singular; i.e. is for a single entry only.
    *
@@ -173,6 +187,55 @@ public abstract class NetworkTableSource<T> extends AbstractDataSource<T> {
 
   }
 
+  /**
+   * Coalescing key for events for a topic. Several sources may listen to the same topic, so the source is part of the
+   * key. Values are only coalesced with values that arrived after the same topic event, and each topic event has a
+   * key of its own.
+   */
+  private static final class TopicKey {
+
+    private final NetworkTableSource<?> source;
+    private final String topic;
+    private final int topicEventCount;
+    private final boolean topicEvent;
+
+    TopicKey(NetworkTableSource<?> source, String topic, int topicEventCount, boolean topicEvent) {
+      this.source = source;
+      this.topic = topic;
+      this.topicEventCount = topicEventCount;
+      this.topicEvent = topicEvent;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof TopicKey)) {
+        return false;
+      }
+      TopicKey that = (TopicKey) obj;
+      return source == that.source
+          && topic.equals(that.topic)
+          && topicEventCount == that.topicEventCount
+          && topicEvent == that.topicEvent;
+    }
+
+    @Override
+    public int hashCode() {
+      int hash = 31 * System.identityHashCode(source) + topic.hashCode();
+      hash = 31 * hash + topicEventCount;
+      return 31 * hash + Boolean.hashCode(topicEvent);
+    }
+
+    @Override
+    public String toString() {
+      return source.getId() + " -> " + topic + (topicEvent ? " (topic event " : " (values after topic event ")
+          + topicEventCount + ")";
+    }
+
+  }
+
   /**
    * Removes a cached NetworkTable source for the given source ID.
    */
@@ -11,6 +11,7 @@ import edu.wpi.first.shuffleboard.api.sources.Sources;
 import edu.wpi.first.shuffleboard.api.sources.recording.TimestampedData;
 import edu.wpi.first.shuffleboard.api.util.AsyncUtils;
 import edu.wpi.first.shuffleboard.api.util.FxUtils;
+import edu.wpi.first.shuffleboard.api.util.UniqueObservableList;
 import edu.wpi.first.shuffleboard.plugin.networktables.NetworkTablesPlugin;
 import edu.wpi.first.shuffleboard.plugin.networktables.util.NetworkTableUtils;
 import edu.wpi.first.networktables.MultiSubscriber;
@@ -25,8 +26,11 @@ import com.google.gson.Gson;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
-
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -36,13 +40,16 @@ public final class NetworkTableSourceType extends SourceType implements AutoClos
 
   private static NetworkTableSourceType instance;
 
-  private final ObservableList<String> availableSourceIds = FXCollections.observableArrayList();
+  private final UniqueObservableList<String> availableSourceIds = new UniqueObservableList<>();
   private final ObservableMap<String, Object> availableSources = FXCollections.observableHashMap();
   /** Maps source URIs to the last known data type. */
   private final Map<String, DataType> availableDataTypes = new HashMap<>();
   private final NetworkTablesPlugin plugin;
   private final MultiSubscriber subscriber;
   private final int topicListener;
+  /** Connection and topic events waiting to be handled on the JavaFX application thread. */
+  private final Queue<Runnable> pendingEvents = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
 
   @SuppressWarnings("JavadocMethod")
   public NetworkTableSourceType(NetworkTablesPlugin plugin) {
@@ -55,7 +62,7 @@ public final class NetworkTableSourceType extends SourceType implements AutoClos
         event -> setConnectionStatus(plugin.getServerId(), event.is(NetworkTableEvent.Kind.kConnected)));
 
     inst.addConnectionListener(true, event -> {
-      AsyncUtils.runAsync(() -> {
+      enqueue(() -> {
         if (event.is(NetworkTableEvent.Kind.kDisconnected)) {
           // Explicitly clear everything on disconnect.
           // Topics that are written to by the dashboard are cached locally and do not receive an
@@ -93,7 +100,37 @@ public final class NetworkTableSourceType extends SourceType implements AutoClos
         EnumSet.of(
           NetworkTableEvent.Kind.kImmediate,
           NetworkTableEvent.Kind.kTopic),
-        event -> AsyncUtils.runAsync(() -> handleEvent(event)));
+        event -> enqueue(() -> handleEvent(event)));
+  }
+
+  /**
+   * Queues an event to be handled on the JavaFX application thread. Events are handled in the order they were queued,
+   * and every event queued before the handler runs is handled in the same batch. Changes to the available source URIs
+   * made by a batch are fired as a single change, so a burst of topic announcements (such as when connecting to a
+   * server with thousands of topics) does not notify listeners once per topic.
+   */
+  private void enqueue(Runnable event) {
+    pendingEvents.add(event);
+    if (drainScheduled.compareAndSet(false, true)) {
+      AsyncUtils.runAsync(this::handlePendingEvents);
+    }
+  }
+
+  private void handlePendingEvents() {
+    drainScheduled.set(false);
+    try {
+      availableSourceIds.runBatch(() -> {
+        Runnable event;
+        while ((event = pendingEvents.poll()) != null) {
+          event.run();
+        }
+      });
+    } finally {
+      // Don't strand the rest of the batch if handling an event failed
+      if (!pendingEvents.isEmpty() && drainScheduled.compareAndSet(false, true)) {
+        AsyncUtils.runAsync(this::handlePendingEvents);
+      }
+    }
   }
 
   @Override
@@ -134,8 +171,7 @@ public final class NetworkTableSourceType extends SourceType implements AutoClos
     FxUtils.runOnFxThread(() -> {
       // Add the data point to the set of available sources
       // Note: recorded data is the individual topics, not complex data
-      if (!availableSourceIds.contains(recordedData.getSourceId())) {
-        availableSourceIds.add(recordedData.getSourceId());
+      if (availableSourceIds.add(recordedData.getSourceId())) {
         availableSources.put(recordedData.getSourceId(), recordedData.getDataType().getName());
       }
 
@@ -231,7 +267,7 @@ public final class NetworkTableSourceType extends SourceType implements AutoClos
       if (delete) {
         availableSourceIds.remove(uri);
         availableDataTypes.remove(uri);
-      } else if (!availableSourceIds.contains(uri)) {
+      } else {
         availableSourceIds.add(uri);
       }
     }
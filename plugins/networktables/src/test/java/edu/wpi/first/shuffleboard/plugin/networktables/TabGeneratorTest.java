@@ -3,6 +3,8 @@ package edu.wpi.first.shuffleboard.plugin.networktables;
 import edu.wpi.first.shuffleboard.api.data.DataType;
 import edu.wpi.first.shuffleboard.api.data.DataTypes;
 import edu.wpi.first.shuffleboard.api.tab.model.ComponentModel;
+import edu.wpi.first.shuffleboard.api.tab.model.StructureChange;
+import edu.wpi.first.shuffleboard.api.tab.model.StructureChangeListener;
 import edu.wpi.first.shuffleboard.api.tab.model.TabModel;
 import edu.wpi.first.shuffleboard.api.tab.model.TabStructure;
 import edu.wpi.first.shuffleboard.api.util.GridPoint;
@@ -23,8 +25,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import javafx.scene.layout.Pane;
 
@@ -140,6 +144,48 @@ public class TabGeneratorTest {
     );
   }
 
+  @Test
+  public void testLayoutTypeAfterChildren() {
+    final String tabName = "Tab";
+    final String layoutName = "Layout";
+    final String layoutType = "LayoutType";
+    final String widgetName = "Widget";
+
+    components.register(new MockComponentType(layoutType));
+    rootMetaTable.getEntry(TabGenerator.TABS_ENTRY_KEY).setStringArray(new String[]{tabName});
+    rootTable.getSubTable(tabName)
+        .getEntry(".type")
+        .setString(TabGenerator.TAB_TYPE);
+    rootTable.getSubTable(tabName)
+        .getSubTable(layoutName)
+        .getEntry(".type")
+        .setString(TabGenerator.LAYOUT_TYPE);
+    rootTable.getSubTable(tabName)
+        .getSubTable(layoutName)
+        .getEntry(widgetName)
+        .setDouble(12.34);
+    generator.start();
+    waitForNtUpdate();
+
+    // The preferred component for the layout arrives after its children have been placed
+    rootMetaTable.getSubTable(tabName)
+        .getSubTable(layoutName)
+        .getEntry(TabGenerator.PREF_COMPONENT_ENTRY_NAME)
+        .setString(layoutType);
+    waitForNtUpdate();
+
+    TabModel tab = generator.getStructure().getTab(tabName);
+    ComponentModel layout = tab.getChild(path(tabName, layoutName));
+    ComponentModel widget = tab.getChild(path(tabName, layoutName, widgetName));
+    assertAll(
+        () -> assertNotNull(layout, "Layout not generated"),
+        () -> assertEquals(layoutType, layout.getDisplayType()),
+        () -> assertNotNull(widget, "Widget not generated"),
+        () -> assertEquals(layout, widget.getParent(), "Widget not moved into the layout"),
+        () -> assertFalse(tab.getChildren().containsKey(widget.getPath()), "Widget still in the tab")
+    );
+  }
+
   @Test
   public void testComplexWidgetInLayout() {
     final String tabName = "Complex Layout";
@@ -223,6 +269,51 @@ public class TabGeneratorTest {
     );
   }
 
+  @Test
+  public void testMetadataBeforeDataInExistingTab() {
+    final String tabName = "ExistingTab";
+    final String widgetName = "Widget";
+
+    rootMetaTable.getEntry(TabGenerator.TABS_ENTRY_KEY).setStringArray(new String[]{tabName});
+    rootTable.getSubTable(tabName)
+        .getEntry(".type")
+        .setString(TabGenerator.TAB_TYPE);
+    generator.start();
+    waitForNtUpdate();
+
+    List<StructureChange> changes = new CopyOnWriteArrayList<>();
+    generator.getStructure().addStructureChangeListener(new StructureChangeListener() {
+      @Override
+      public void structureChanged(TabStructure structure) {
+        changes.add(StructureChange.all());
+      }
+
+      @Override
+      public void structureChanged(TabStructure structure, StructureChange change) {
+        changes.add(change);
+      }
+    });
+
+    // The metadata for the widget arrives before the widget's data
+    rootMetaTable.getSubTable(tabName)
+        .getSubTable(widgetName)
+        .getEntry(TabGenerator.SIZE_ENTRY_NAME)
+        .setDoubleArray(new double[]{2, 3});
+    waitForNtUpdate();
+    rootTable.getSubTable(tabName)
+        .getEntry(widgetName)
+        .setDouble(Math.PI);
+    waitForNtUpdate();
+
+    ComponentModel widget = generator.getStructure().getTab(tabName).getChild(path(tabName, widgetName));
+    assertAll(
+        () -> assertNotNull(widget, "Widget not generated"),
+        () -> assertEquals(new TileSize(2, 3), widget.getPreferredSize(), "Metadata not applied to the widget"),
+        () -> assertTrue(changes.stream().anyMatch(c -> c.getComponent() == widget),
+            "No structure change fired for the new widget: " + changes)
+    );
+  }
+
   @Test
   public void testTabProperties() {
     final String tabName = "TabWithProperties";